@@ -0,0 +1,250 @@
+package clients.benchmarks;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import domains.masters.TownField;
+import domains.parsers.AddressBaseRegistryParser;
+import domains.parsers.FileParsable;
+import domains.parsers.FileParserException;
+import domains.parsers.ParseEngine;
+import domains.parsers.ParseOptions;
+import domains.parsers.ParseStatistics;
+import domains.parsers.SnapshotFileParser;
+
+// 町字ファイルのパース方式ごとの処理時間を計測するクラス
+//
+// 各パース方式で、計測前に数回パースして JIT コンパイルを済ませてから、指定された回数パースした平均時間を表示します。
+// 全てのパース方式で同じ件数のマスターデータが生成されることも確認します。
+// パース結果のマスターデータが保持するメモリ（ヒープの使用量の差）も表示します。
+public class Program {
+    private final Path townFile;
+
+    private final List<ParseEngine> engines;
+
+    private final int parallelism;
+
+    // 読み込む項目（null の場合は全ての項目）
+    private final List<TownField> fields;
+
+    // 読み込む行の全国地方公共団体コードの前方一致（null の場合は全ての行）
+    private final List<String> lgCodes;
+
+    // 各項目を参照された時点で生成するかどうか
+    private final boolean lazy;
+
+    // パース結果のスナップショットを使用するかどうか
+    private final boolean snapshot;
+
+    private final int warmups;
+
+    private final int iterations;
+
+    public static void main(String[] args) throws Exception {
+        try {
+            // "--" で始まる引数はオプションとして扱う
+            var options = new ArrayList<String>();
+            var files   = new ArrayList<String>();
+            for (var arg : args) {
+                if (arg.startsWith("--")) {
+                    options.add(arg);
+                } else {
+                    files.add(arg);
+                }
+            }
+            if (files.size() < 1) {
+                throw new ProgramException("実行時の引数が不足しています。");
+            }
+            var townFile = Paths.get(files.get(0));
+
+            var engines     = new ArrayList<ParseEngine>();
+            var parallelism = 1;
+            List<TownField> fields = null;
+            List<String> lgCodes   = null;
+            var lazy        = false;
+            var snapshot    = false;
+            var warmups     = 3;
+            var iterations  = 5;
+            for (var option : options) {
+                if (option.startsWith("--engine=")) {
+                    engines.add(parseEngineOption(option));
+                } else if (option.startsWith("--parallel=")) {
+                    parallelism = parseIntOption(option);
+                } else if (option.startsWith("--fields=")) {
+                    fields = parseFieldsOption(option);
+                } else if (option.startsWith("--lg-codes=")) {
+                    lgCodes = List.of(option.substring(option.indexOf('=') + 1).split(","));
+                } else if (option.equals("--lazy")) {
+                    lazy = true;
+                } else if (option.equals("--snapshot")) {
+                    snapshot = true;
+                } else if (option.startsWith("--warmups=")) {
+                    warmups = parseIntOption(option);
+                } else if (option.startsWith("--iterations=")) {
+                    iterations = parseIntOption(option);
+                } else {
+                    var message = String.format("'%s' は不明なオプションです。", option);
+                    throw new ProgramException(message);
+                }
+            }
+            if (engines.isEmpty()) {
+                engines.addAll(List.of(ParseEngine.values()));
+            }
+            if (parallelism < 1 || warmups < 0 || iterations < 1) {
+                throw new ProgramException("並列数、計測回数は 1 以上、JIT コンパイルのためのパース回数は 0 以上を指定してください。");
+            }
+
+            new Program(townFile, engines, parallelism, fields, lgCodes, lazy, snapshot, warmups, iterations).run();
+
+        } catch (Exception e) {
+
+            // デバッグ時にスタックトレースを表示する
+            throw e;
+            
+            // 本番時こちらを有効にする
+            //System.err.println(e);
+            //System.exit(1);
+        }
+    }
+
+    // "--name=value" 形式のオプションから、数値を取得します。
+    private static int parseIntOption(String option) throws ProgramException {
+        var value = option.substring(option.indexOf('=') + 1);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            var message = String.format("'%s' の値が数値ではありません。", option);
+            throw new ProgramException(message);
+        }
+    }
+
+    // "--engine=value" 形式のオプションから、パース方式を取得します。
+    // 値は大文字・小文字を区別しません。
+    private static ParseEngine parseEngineOption(String option) throws ProgramException {
+        var value = option.substring(option.indexOf('=') + 1);
+        for (var engine : ParseEngine.values()) {
+            if (engine.name().equalsIgnoreCase(value)) {
+                return engine;
+            }
+        }
+        var message = String.format("'%s' は不明なパース方式です。", option);
+        throw new ProgramException(message);
+    }
+
+    // "--fields=name,name,..." 形式のオプションから、読み込む項目を取得します。
+    // 項目名は大文字・小文字、'_' を区別しません。（例: --fields=lgCode,machiazaId,oaza_cho,chome,koaza,postCode）
+    private static List<TownField> parseFieldsOption(String option) throws ProgramException {
+        var fields = new ArrayList<TownField>();
+        for (var name : option.substring(option.indexOf('=') + 1).split(",")) {
+            var field = TownField.valueOfName(name.strip());
+            if (field == null) {
+                var message = String.format("'%s' は不明な項目です。", name);
+                throw new ProgramException(message);
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    public void run() throws IOException, FileParserException, ProgramException {
+        FileParsable parser = new AddressBaseRegistryParser();
+        if (this.snapshot) {
+            parser = new SnapshotFileParser(parser);
+        }
+        var fileSize = Files.size(this.townFile);
+        var expected = -1;
+
+        System.out.println(String.format("%s (%,d バイト), 並列数 %d", this.townFile, fileSize, this.parallelism));
+        if (this.fields != null) {
+            System.out.println(String.format("読み込む項目: %s", this.fields));
+        }
+        if (this.lgCodes != null) {
+            System.out.println(String.format("全国地方公共団体コードの絞り込み: %s", this.lgCodes));
+        }
+        if (this.lazy) {
+            System.out.println("各項目を参照された時点で生成します。");
+        }
+        if (this.snapshot) {
+            System.out.println("パース結果のスナップショットを使用します。（初回のパースで書き出し、以降は読み込みます）");
+        }
+        for (var engine : this.engines) {
+            var statistics = new ParseStatistics();
+            var builder    = new ParseOptions.Builder()
+                .parallelism(this.parallelism)
+                .engine(engine)
+                .statistics(statistics);
+            if (this.fields != null) {
+                builder.fields(this.fields);
+            }
+            if (this.lgCodes != null) {
+                builder.lgCodes(this.lgCodes);
+            }
+            var options = builder.lazy(this.lazy).build();
+
+            // JIT コンパイルを済ませる
+            for (var i = 0; i < this.warmups; i++) {
+                parser.parseTownFile(this.townFile, options);
+            }
+
+            var total = 0L;
+            var count = 0;
+            for (var i = 0; i < this.iterations; i++) {
+                var start   = System.nanoTime();
+                var masters = parser.parseTownFile(this.townFile, options);
+                total      += System.nanoTime() - start;
+                count       = masters.size();
+            }
+
+            // 全てのパース方式で同じ件数であることを確認する
+            if (expected >= 0 && count != expected) {
+                var message = String.format("%s の件数が他のパース方式と異なります。(想定:%d, 実際:%d)", engine, expected, count);
+                throw new ProgramException(message);
+            }
+            expected = count;
+
+            var millis   = total / 1_000_000.0 / this.iterations;
+            var megabyte = fileSize / 1024.0 / 1024.0;
+            var retained = measureRetainedBytes(parser, options) / 1024.0 / 1024.0;
+            var message  = String.format("%-6s: %,10.1f ミリ秒, %,8.1f MB/秒, %,d 件, 保持メモリ %,.1f MB",
+                engine, millis, megabyte / (millis / 1000.0), count, retained);
+            if (statistics.getBlockClassifier() != null) {
+                message += String.format(" (構造文字の索引: %s)", statistics.getBlockClassifier());
+            }
+            System.out.println(message);
+        }
+    }
+
+    // このメソッドは、1回パースし、パース結果のマスターデータが保持するメモリを見積もります。
+    // パースの前後で GC を実行し、ヒープの使用量の差を返します。
+    private long measureRetainedBytes(FileParsable parser, ParseOptions options) throws FileParserException {
+        var before  = usedHeapBytes();
+        var masters = parser.parseTownFile(this.townFile, options);
+        var after   = usedHeapBytes();
+        Reference.reachabilityFence(masters);
+        return after - before;
+    }
+    private static long usedHeapBytes() {
+        var runtime = Runtime.getRuntime();
+        for (var i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private Program(Path townFile, List<ParseEngine> engines, int parallelism, List<TownField> fields, List<String> lgCodes, boolean lazy, boolean snapshot, int warmups, int iterations) {
+        this.townFile    = townFile;
+        this.engines     = engines;
+        this.parallelism = parallelism;
+        this.fields      = fields;
+        this.lgCodes     = lgCodes;
+        this.lazy        = lazy;
+        this.snapshot    = snapshot;
+        this.warmups     = warmups;
+        this.iterations  = iterations;
+    }
+}
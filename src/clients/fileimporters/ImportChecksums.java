@@ -0,0 +1,183 @@
+package clients.fileimporters;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+import domains.databases.DatabaseManagerException;
+import domains.databases.MasterWriter;
+import domains.masters.CityMaster;
+import domains.masters.PrefMaster;
+import domains.masters.TownField;
+import domains.masters.TownMaster;
+
+// このクラスは、取り込み情報テーブルに記録する、マスターデータの内容のハッシュ値（SHA-256）を計算します。
+//
+// ハッシュ値は、ファイルのバイト列ではなく、検証済みのマスターデータの各項目から計算します。
+// ファイルの形式（CSV, ZIP アーカイブ、都道府県別のファイル）や、正規化前の表記が異なっても、同じ内容であれば同じ値になります。
+// 町字マスターは、全国地方公共団体コードの先頭2桁（都道府県）ごとに計算し、変更のあった都道府県のみを書き換えられるようにします。
+final class ImportChecksums {
+    // 取り込み情報テーブルの対象
+    static final String PREF_TARGET        = "mt_pref";
+    static final String CITY_TARGET        = "mt_city";
+    static final String TOWN_TARGET_PREFIX = "mt_town:";
+
+    // 町字マスターを分ける、全国地方公共団体コードの先頭の桁数（都道府県）
+    static final int TOWN_SLICE_LENGTH = 2;
+
+    // 項目の区切り（UTF-8 のバイト列に現れない値）と、null を表す値
+    private static final byte SEPARATOR = (byte)0xFF;
+    private static final byte NULL      = (byte)0xFE;
+
+    // このメソッドは、都道府県マスターデータのハッシュ値を返します。
+    static String ofPrefMasters(Collection<PrefMaster> masters) {
+        var digest = newDigest();
+        for (var master : masters) {
+            update(digest, master.getLgCode());
+            update(digest, master.getPref());
+            update(digest, master.getPrefKana());
+            update(digest, master.getPrefRoma());
+            update(digest, master.getEfctDate());
+            update(digest, master.getAbltDate());
+            update(digest, master.getRemarks());
+        }
+        return toHex(digest);
+    }
+
+    // このメソッドは、市区町村マスターデータのハッシュ値を返します。
+    static String ofCityMasters(Collection<CityMaster> masters) {
+        var digest = newDigest();
+        for (var master : masters) {
+            update(digest, master.getLgCode());
+            update(digest, master.getPref());
+            update(digest, master.getPrefKana());
+            update(digest, master.getPrefRoma());
+            update(digest, master.getCounty());
+            update(digest, master.getCountyKana());
+            update(digest, master.getCountyRoma());
+            update(digest, master.getCity());
+            update(digest, master.getCityKana());
+            update(digest, master.getCityRoma());
+            update(digest, master.getWard());
+            update(digest, master.getWardKana());
+            update(digest, master.getWardRoma());
+            update(digest, master.getEfctDate());
+            update(digest, master.getAbltDate());
+            update(digest, master.getRemarks());
+        }
+        return toHex(digest);
+    }
+
+    // このメソッドは、町字マスターデータの都道府県ごとのハッシュ値を返します。
+    static Map<String, String> ofTownMasters(Collection<TownMaster> masters) {
+        var slices = new TownSlices();
+        for (var master : masters) {
+            slices.add(master);
+        }
+        return slices.toChecksums();
+    }
+
+    // このメソッドは、全国地方公共団体コードが属する都道府県（先頭2桁）を返します。
+    static String sliceOf(String lgCode) {
+        return lgCode.substring(0, TOWN_SLICE_LENGTH);
+    }
+
+    // このメソッドは、町字テーブルの都道府県の、取り込み情報テーブルの対象を返します。
+    static String townTargetOf(String slice) {
+        return TOWN_TARGET_PREFIX + slice;
+    }
+
+    // このクラスは、町字マスターデータを1件ずつ受け取り、都道府県ごとのハッシュ値を計算します。
+    // 同じ都道府県の町字マスターは、受け取った順に計算します。
+    static final class TownSlices {
+        private final Map<String, MessageDigest> digests = new TreeMap<>();
+
+        void add(TownMaster master) {
+            var digest = this.digests.computeIfAbsent(sliceOf(master.getLgCode()), slice -> newDigest());
+            for (var field : TownField.values()) {
+                var value = field.get(master);
+                update(digest, value == null ? null : value.toString());
+            }
+        }
+
+        // このメソッドは、都道府県の、それまでに受け取った町字マスターデータのハッシュ値を返します。（続けて受け取ることができます）
+        String checksumOf(String slice) {
+            var digest = this.digests.get(slice);
+            if (digest == null) {
+                return null;
+            }
+            try {
+                return toHex((MessageDigest)digest.clone());
+            } catch (CloneNotSupportedException e) {
+                // SHA-256 の標準の実装は複製に対応しているため、ここには到達しない
+                throw new IllegalStateException(e);
+            }
+        }
+
+        // このメソッドは、都道府県ごとのハッシュ値を返します。（checksumOf() と同様に、続けて受け取ることができます）
+        Map<String, String> toChecksums() {
+            var checksums = new TreeMap<String, String>();
+            for (var slice : this.digests.keySet()) {
+                checksums.put(slice, this.checksumOf(slice));
+            }
+            return checksums;
+        }
+    }
+
+    // このクラスは、書き込む町字マスターデータの都道府県ごとのハッシュ値を計算しながら、元のライターへ書き込みます。
+    // 1件ずつ書き込みながら計算するため、全件をメモリ上に保持しません。
+    static final class TownSliceWriter implements MasterWriter<TownMaster> {
+        private final MasterWriter<TownMaster> writer;
+
+        private final TownSlices slices = new TownSlices();
+        TownSlices getSlices() { return this.slices; }
+
+        @Override
+        public void write(TownMaster master) throws DatabaseManagerException {
+            this.writer.write(master);
+            this.slices.add(master);
+        }
+
+        @Override
+        public void close() throws DatabaseManagerException {
+            this.writer.close();
+        }
+
+        TownSliceWriter(MasterWriter<TownMaster> writer) {
+            this.writer = writer;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 は、すべての Java 実行環境での実装が必須のため、ここには到達しない
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update(NULL);
+        } else {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update(SEPARATOR);
+    }
+
+    private static void update(MessageDigest digest, LocalDate value) {
+        update(digest, value == null ? null : value.toString());
+    }
+
+    private static String toHex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ImportChecksums() {}
+}
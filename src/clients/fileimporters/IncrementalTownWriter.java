@@ -0,0 +1,114 @@
+package clients.fileimporters;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import domains.databases.DatabaseManageable;
+import domains.databases.DatabaseManagerException;
+import domains.databases.MasterWriter;
+import domains.masters.TownMaster;
+
+// このクラスは、町字マスターデータを都道府県ごとに書き換えながらハッシュ値を計算し、
+// 前回の取り込み時とハッシュ値が同じ都道府県の書き換えを取り消すライターです。
+//
+// 町字ファイルを1度読み込むだけで、内容が変わった都道府県のみを書き換えられます。（ハッシュ値を求めるために先に読み込む必要はありません）
+// 都道府県の最初の町字マスターを受け取った時点でセーブポイントを設定し、その都道府県の行を削除してから書き込みます。
+// 別の都道府県の町字マスター（またはファイルの終端）を受け取った時点で、その都道府県のハッシュ値を前回のハッシュ値と比較し、
+// 同じ場合はセーブポイントまでロールバックして、削除した行を元に戻します。
+//
+// 町字ファイルは都道府県ごとにまとまっている前提ですが、同じ都道府県が離れて現れた場合も正しく書き込みます。
+// 2回目以降に現れた場合は、削除せずに続きを書き込み、ロールバックしません。
+// （1回目をロールバックした場合は、元に戻した行が1回目に受け取った町字マスターと同じ内容のため、続きを書き込めば全体が揃います）
+// 前回の取り込み時に含まれていて、今回の町字ファイルに含まれない都道府県の行は、close() で削除します。
+// 接続は自動コミットを無効にしてから渡してください。
+final class IncrementalTownWriter implements MasterWriter<TownMaster> {
+    private final DatabaseManageable dbManager;
+
+    private final Connection connection;
+
+    // 前回の取り込み時の、都道府県ごとのハッシュ値
+    private final Map<String, String> previous;
+
+    private final ImportChecksums.TownSlices slices = new ImportChecksums.TownSlices();
+    ImportChecksums.TownSlices getSlices() { return this.slices; }
+
+    // 書き込みを開始した都道府県
+    private final Set<String> started = new HashSet<>();
+
+    // 書き換えた都道府県（ロールバックしなかった都道府県）
+    private final Set<String> rewritten = new HashSet<>();
+    Set<String> getRewritten() { return this.rewritten; }
+
+    // 書き込み中の都道府県と、そのセーブポイント、ライター（都道府県ごとに開き、閉じる時点で未実行の書き込みを実行する）
+    private String slice = null;
+    private boolean first = false;
+    private Savepoint savepoint = null;
+    private MasterWriter<TownMaster> writer = null;
+
+    @Override
+    public void write(TownMaster master) throws DatabaseManagerException {
+        var slice = ImportChecksums.sliceOf(master.getLgCode());
+        if (!slice.equals(this.slice)) {
+            this.finishSlice();
+            this.startSlice(slice);
+        }
+        this.writer.write(master);
+        this.slices.add(master);
+    }
+
+    @Override
+    public void close() throws DatabaseManagerException {
+        this.finishSlice();
+        // 今回の町字ファイルに含まれない都道府県の行を削除する
+        List<String> removed = new ArrayList<>();
+        for (var slice : this.previous.keySet()) {
+            if (!this.started.contains(slice)) {
+                removed.add(slice);
+            }
+        }
+        if (!removed.isEmpty()) {
+            this.dbManager.clearTownMasters(this.connection, removed);
+            this.rewritten.addAll(removed);
+        }
+    }
+
+    private void startSlice(String slice) throws DatabaseManagerException {
+        this.savepoint = this.dbManager.setSavepoint(this.connection);
+        this.first = this.started.add(slice);
+        if (this.first) {
+            this.dbManager.clearTownMasters(this.connection, List.of(slice));
+        }
+        this.slice  = slice;
+        this.writer = this.dbManager.openTownMasterWriter(this.connection);
+    }
+
+    private void finishSlice() throws DatabaseManagerException {
+        if (this.slice == null) {
+            return;
+        }
+        // ロールバックの前に、未実行の書き込みを実行する
+        this.writer.close();
+        // 2回目以降に現れた場合は、それまでの書き込みを含めて比較できないため、ロールバックしない
+        var unchanged = this.first && this.slices.checksumOf(this.slice).equals(this.previous.get(this.slice));
+        if (unchanged) {
+            this.dbManager.rollbackToSavepoint(this.connection, this.savepoint);
+        } else {
+            this.dbManager.releaseSavepoint(this.connection, this.savepoint);
+            this.rewritten.add(this.slice);
+        }
+        this.slice     = null;
+        this.writer    = null;
+        this.savepoint = null;
+    }
+
+    IncrementalTownWriter(DatabaseManageable dbManager, Connection connection, Map<String, String> previous) {
+        this.dbManager  = dbManager;
+        this.connection = connection;
+        this.previous   = previous;
+    }
+}
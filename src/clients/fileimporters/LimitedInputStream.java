@@ -0,0 +1,64 @@
+package clients.fileimporters;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// このクラスは、読み込んだバイト数が上限を超えた時点で IOException をスローする入力ストリームです。
+// 標準入力など、読み込む前にサイズを確認できない入力に、ファイルと同じサイズの上限を適用するために使用します。
+// 入力全体をバッファリングせずに数えるため、パイプラインの途中でもメモリ使用量は増えません。
+final class LimitedInputStream extends FilterInputStream {
+    // 入力の名前（エラーメッセージに使用）
+    private final String name;
+
+    // 読み込めるバイト数の上限
+    private final long limit;
+
+    // 読み込んだバイト数
+    private long count = 0;
+
+    @Override
+    public int read() throws IOException {
+        var b = super.read();
+        if (b >= 0) {
+            this.add(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        var n = super.read(b, off, len);
+        if (n > 0) {
+            this.add(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        var skipped = super.skip(n);
+        this.add(skipped);
+        return skipped;
+    }
+
+    // 読み込んだバイト数を正しく数えるため、読み戻しには対応しない
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void add(long n) throws IOException {
+        this.count += n;
+        if (this.count > this.limit) {
+            var message = String.format("入力が大きすぎます。(%s, 上限 %,d バイト)", this.name, this.limit);
+            throw new IOException(message);
+        }
+    }
+
+    LimitedInputStream(InputStream stream, String name, long limit) {
+        super(stream);
+        this.name  = name;
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,68 @@
+package clients.fileimporters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import domains.databases.DatabaseManagerException;
+import domains.databases.MasterWriter;
+import domains.parsers.FileParserException;
+import domains.parsers.MasterReader;
+
+// このクラスは、マスターデータを読み込むスレッドから、書き込むスレッドへ、一定件数ごとにまとめて受け渡します。
+//
+// 受け渡しには上限のあるキューを使用するため、書き込みが追いつかない場合は、読み込み側がキューに空きができるまで待機します。
+// これにより、ファイルサイズに関わらず、メモリ上に保持するマスターデータは一定件数までに抑えられます。
+// 読み込み側、書き込み側は、それぞれ1つのスレッドから使用してください。
+final class MasterPipeline<T> {
+    // 1回に受け渡す件数
+    private static final int BATCH_SIZE = 1000;
+
+    // キューに保持できるまとまりの数
+    private static final int QUEUE_CAPACITY = 8;
+
+    private final BlockingQueue<List<T>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    // 読み込みの終了を表すまとまり（参照で比較する）
+    private final List<T> end = new ArrayList<>();
+
+    // このメソッドは、リーダーからマスターデータを読み込み、一定件数ごとにキューへ追加します。
+    // 読み込みが終わると、キューに終了を追加します。
+    // エラーが発生した場合は、書き込み側が待ち続けないように、未処理のまとまりを破棄して終了を追加します。
+    void produce(MasterReader<T> reader) throws FileParserException, InterruptedException {
+        try {
+            var batch = new ArrayList<T>(BATCH_SIZE);
+            T master;
+            while ((master = reader.read()) != null) {
+                batch.add(master);
+                if (batch.size() >= BATCH_SIZE) {
+                    this.queue.put(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                this.queue.put(batch);
+            }
+            this.queue.put(this.end);
+        } catch (FileParserException | InterruptedException | RuntimeException e) {
+            this.queue.clear();
+            this.queue.offer(this.end);
+            throw e;
+        }
+    }
+
+    // このメソッドは、キューからマスターデータを取り出し、終了が追加されるまでライターへ書き込みます。
+    // 読み込み側でエラーが発生した場合も正常に終了するため、呼び出し側で読み込み側の結果を確認してください。
+    void consume(MasterWriter<T> writer) throws DatabaseManagerException, InterruptedException {
+        while (true) {
+            var batch = this.queue.take();
+            if (batch == this.end) {
+                return;
+            }
+            for (var master : batch) {
+                writer.write(master);
+            }
+        }
+    }
+}
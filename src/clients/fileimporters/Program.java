@@ -1,26 +1,55 @@
 package clients.fileimporters;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 
 import domains.parsers.FileParsable;
 import domains.parsers.FileParserException;
+import domains.parsers.MasterReader;
+import domains.parsers.ParseEngine;
+import domains.parsers.ParseOptions;
+import domains.parsers.ParseStatistics;
+import domains.parsers.SnapshotFileParser;
 import domains.databases.DatabaseManageable;
 import domains.databases.DatabaseManagerException;
+import domains.databases.MasterWriter;
 import domains.masters.CityMaster;
+import domains.masters.InvalidMasterException;
+import domains.masters.MasterReferenceValidator;
 import domains.masters.PrefMaster;
 import domains.masters.TownMaster;
 
 // ファイルを読み込んでデータベースに書き込むクラス
 public class Program {
+    // 標準入力から読み込むことを示すファイルの引数
+    private static final String STDIN = "-";
+
+    // 町字ファイルをメモリ上に読み込む場合に使用できるメモリの、最大ヒープサイズに対する既定の割合（%）
+    private static final int DEFAULT_HEAP_BUDGET_PERCENT = 50;
+
+    // 各ファイル（入力ストリーム）のサイズの上限（バイト）
+    // 都道府県、市区町村ファイルは常にメモリ上に読み込むため、現在のサイズに十分な余裕を持たせた固定の上限とします。
+    // 町字ファイルは、メモリ使用量を保持メモリの見積もりで制御するため、既定の上限を大きくし、--max-town-size=N で変更できるようにします。
+    private static final long MAX_PREF_FILE_BYTES = 1L << 20;
+    private static final long MAX_CITY_FILE_BYTES = 64L << 20;
+    private static final long DEFAULT_MAX_TOWN_FILE_BYTES = 16L << 30;
+
     private final FileParsable parser;
     
     private final DatabaseManageable dbManager;
@@ -31,29 +60,177 @@ public class Program {
 
     private Path townFile = null;
 
+    // 各ファイルの代わりに読み込む入力ストリーム（標準入力など）
+    private InputStream prefStream = null;
+
+    private InputStream cityStream = null;
+
+    private InputStream townStream = null;
+
+    // 都道府県別の町字ファイル（ディレクトリ、ワイルドカードで指定された場合）
+    private List<Path> townFiles = null;
+
+    // 町字ファイルを1件ずつ読み込み、そのままデータベースへ書き込むかどうか
+    private boolean townStreaming = false;
+
+    // 町字ファイルの読み込みと、データベースへの書き込みを並行して行うかどうか
+    private boolean townPipeline = false;
+
+    // 町字ファイルをメモリ上に読み込む場合に使用できるメモリ（バイト）
+    // ストリーミング、パイプラインを指定していない場合、見積もった保持メモリがこれを超える町字ファイルは、ストリーミングで取り込みます。
+    private long townHeapBudget = 0;
+
+    // 町字ファイルのパースに使用するスレッド数
+    private int townParallelism = 1;
+
+    // 町字マスターデータの検証に使用するスレッド数（1 の場合は、読み込み中に1件ずつ検証します）
+    private int townValidationParallelism = 1;
+
+    // 町字ファイルのパース時の統計情報の加算先
+    private ParseStatistics townStatistics = null;
+
+    // 町字ファイルのパース方式
+    private ParseEngine townEngine = ParseEngine.Text;
+
+    // 取り込む町字の全国地方公共団体コードの前方一致（null の場合は全件）
+    // 指定した場合は、町字テーブルの該当する行のみを削除して、置き換えます。
+    private List<String> townLgCodes = null;
+
+    // 前回の取り込み時と内容が同じテーブル、都道府県も書き換えるかどうか
+    // false の場合は、取り込み情報テーブルに記録したハッシュ値と比較し、内容が異なるテーブル、都道府県のみを書き換えます。
+    private boolean rewriteAll = false;
+
     public static void main(String[] args) throws Exception {
         try {
-            if (args.length < 3) {
+            // "--" で始まる引数はオプションとして扱う
+            var options = new ArrayList<String>();
+            var files   = new ArrayList<String>();
+            for (var arg : args) {
+                if (arg.startsWith("--")) {
+                    options.add(arg);
+                } else {
+                    files.add(arg);
+                }
+            }
+            if (files.size() < 3) {
                 throw new ProgramException("実行時の引数が不足しています。");
             }
-            var prefFile = Paths.get(args[0]);
-            var cityFile = Paths.get(args[1]);
-            var townFile = Paths.get(args[2]);
+            // "-" を指定したファイルは標準入力から読み込む
+            if (files.stream().filter(STDIN::equals).count() > 1) {
+                throw new ProgramException("標準入力（-）は1つのファイルにのみ指定できます。");
+            }
+            var prefStdin = files.get(0).equals(STDIN);
+            var cityStdin = files.get(1).equals(STDIN);
+            var townStdin = files.get(2).equals(STDIN);
+            var prefFile  = prefStdin ? null : Paths.get(files.get(0));
+            var cityFile  = cityStdin ? null : Paths.get(files.get(1));
+            var townFiles = townStdin ? null : expandTownFiles(files.get(2));
+            var townFile  = townStdin || townFiles != null ? null : Paths.get(files.get(2));
+
+            var townStreaming   = false;
+            var townPipeline    = false;
+            var townParallelism = 1;
+            var parallelOption  = false;
+            var validationParallelism = 1;
+            ParseStatistics townStatistics = null;
+            var townEngine      = ParseEngine.Text;
+            List<String> townLgCodes = null;
+            var snapshot        = false;
+            var rewriteAll      = false;
+            var heapBudget      = DEFAULT_HEAP_BUDGET_PERCENT;
+            var maxTownSize     = DEFAULT_MAX_TOWN_FILE_BYTES;
+            Path snapshotDirectory = null;
+            for (var option : options) {
+                if (option.equals("--streaming")) {
+                    townStreaming = true;
+                } else if (option.equals("--pipeline")) {
+                    townPipeline = true;
+                } else if (option.equals("--parallel")) {
+                    townParallelism = Runtime.getRuntime().availableProcessors();
+                    parallelOption  = true;
+                } else if (option.startsWith("--parallel=")) {
+                    townParallelism = parseIntOption(option);
+                    parallelOption  = true;
+                } else if (option.equals("--validation-parallel")) {
+                    validationParallelism = Runtime.getRuntime().availableProcessors();
+                } else if (option.startsWith("--validation-parallel=")) {
+                    validationParallelism = parseIntOption(option);
+                } else if (option.equals("--stats")) {
+                    townStatistics = new ParseStatistics();
+                } else if (option.startsWith("--engine=")) {
+                    townEngine = parseEngineOption(option);
+                } else if (option.startsWith("--lg-codes=")) {
+                    townLgCodes = List.of(option.substring(option.indexOf('=') + 1).split(","));
+                } else if (option.equals("--force")) {
+                    rewriteAll = true;
+                } else if (option.startsWith("--heap-budget=")) {
+                    heapBudget = parseIntOption(option);
+                } else if (option.startsWith("--max-town-size=")) {
+                    maxTownSize = parseIntOption(option) * (1L << 20);
+                } else if (option.equals("--snapshot")) {
+                    snapshot = true;
+                } else if (option.startsWith("--snapshot=")) {
+                    snapshot          = true;
+                    snapshotDirectory = Paths.get(option.substring(option.indexOf('=') + 1));
+                } else {
+                    var message = String.format("'%s' は不明なオプションです。", option);
+                    throw new ProgramException(message);
+                }
+            }
+
+            // 並列数を指定していない場合、都道府県別の町字ファイルは CPU のコア数分のファイルを並行して読み込む
+            if (townFiles != null && !parallelOption) {
+                townParallelism = Runtime.getRuntime().availableProcessors();
+            }
 
             var parser = ServiceLoader.load(FileParsable.class)
                 .findFirst()
                 .orElseThrow(() -> new ProgramException("FileParsable の実装が見つかりません。"));
+
+            // 同じ内容のファイルは、前回のパース結果のスナップショットから読み込む
+            if (snapshot) {
+                parser = new SnapshotFileParser(parser, snapshotDirectory);
+            }
             
             var dbManager = ServiceLoader.load(DatabaseManageable.class)
                 .findFirst()
                 .orElseThrow(() -> new ProgramException("DatabaseManageable の実装が見つかりません。"));
             
-            new Program.Builder(parser, dbManager)
-                .prefFile(prefFile)
-                .cityFile(cityFile)
-                .townFile(townFile)
+            var builder = new Program.Builder(parser, dbManager)
+                .townMaxBytes(maxTownSize);
+            if (prefStdin) {
+                builder.prefStream(System.in);
+            } else {
+                builder.prefFile(prefFile);
+            }
+            if (cityStdin) {
+                builder.cityStream(System.in);
+            } else {
+                builder.cityFile(cityFile);
+            }
+            if (townStdin) {
+                builder.townStream(System.in);
+            } else if (townFiles != null) {
+                builder.townFiles(townFiles);
+            } else {
+                builder.townFile(townFile);
+            }
+            builder
+                .townStreaming(townStreaming)
+                .townPipeline(townPipeline)
+                .townParallelism(townParallelism)
+                .townValidationParallelism(validationParallelism)
+                .townStatistics(townStatistics)
+                .townEngine(townEngine)
+                .townLgCodes(townLgCodes)
+                .rewriteAll(rewriteAll)
+                .townHeapBudget(Runtime.getRuntime().maxMemory() / 100 * heapBudget)
                 .build()
                 .run();
+
+            if (townStatistics != null) {
+                System.out.println(townStatistics);
+            }
             
         } catch (Exception e) {
 
@@ -66,6 +243,64 @@ public class Program {
         }
     }
 
+    // "--name=value" 形式のオプションから、数値を取得します。
+    private static int parseIntOption(String option) throws ProgramException {
+        var value = option.substring(option.indexOf('=') + 1);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            var message = String.format("'%s' の値が数値ではありません。", option);
+            throw new ProgramException(message);
+        }
+    }
+
+    // 町字ファイルの引数を、都道府県別の町字ファイルの一覧に展開します。
+    // ディレクトリの場合は、ディレクトリ直下の CSV ファイル、ZIP アーカイブを、
+    // ワイルドカード（*, ?）を含む場合は、一致するファイルを、ファイル名の順に返します。
+    // どちらでもない場合は、1つの町字ファイルとして扱うため null を返します。
+    private static List<Path> expandTownFiles(String arg) throws IOException, ProgramException {
+        Path directory;
+        String glob;
+        if (arg.contains("*") || arg.contains("?")) {
+            var separator = Math.max(arg.lastIndexOf('/'), arg.lastIndexOf('\\'));
+            directory = Paths.get(separator >= 0 ? arg.substring(0, separator + 1) : ".");
+            glob      = arg.substring(separator + 1);
+        } else if (Files.isDirectory(Paths.get(arg))) {
+            directory = Paths.get(arg);
+            glob      = "*.{csv,CSV,zip,ZIP}";
+        } else {
+            return null;
+        }
+
+        var townFiles = new ArrayList<Path>();
+        try (var stream = Files.newDirectoryStream(directory, glob)) {
+            for (var path : stream) {
+                if (Files.isRegularFile(path)) {
+                    townFiles.add(path);
+                }
+            }
+        }
+        if (townFiles.isEmpty()) {
+            var message = String.format("'%s' に一致する町字ファイルがありません。", arg);
+            throw new ProgramException(message);
+        }
+        townFiles.sort(null);
+        return townFiles;
+    }
+
+    // "--engine=value" 形式のオプションから、パース方式を取得します。
+    // 値は大文字・小文字を区別しません。
+    private static ParseEngine parseEngineOption(String option) throws ProgramException {
+        var value = option.substring(option.indexOf('=') + 1);
+        for (var engine : ParseEngine.values()) {
+            if (engine.name().equalsIgnoreCase(value)) {
+                return engine;
+            }
+        }
+        var message = String.format("'%s' は不明なパース方式です。", option);
+        throw new ProgramException(message);
+    }
+
     public void run() 
         throws SQLException,
         InterruptedException,
@@ -73,35 +308,43 @@ public class Program {
         ProgramException, 
         FileParserException,
         DatabaseManagerException {
+
+        this.selectTownIngestion();
+        if (this.townPipeline) {
+            this.runPipeline();
+            return;
+        }
         
         Collection<PrefMaster> prefMasters = null;
         Collection<CityMaster> cityMasters = null;
         Collection<TownMaster> townMasters = null;
+        MasterReferenceValidator references = null;
         var executor = Executors.newCachedThreadPool();
         try {
-            var future1 = executor.submit(() -> {
-                if (this.prefFile != null) {
-                    return parser.parsePrefFile(this.prefFile);
-                } else {
-                    return null;
-                }
-            });
-            var future2 = executor.submit(() -> {
-                if (this.cityFile != null) {
-                    return parser.parseCityFile(this.cityFile);
-                } else {
-                    return null;
-                }
-            });
+            var future1 = executor.submit(() -> this.parsePrefMasters());
+            var future2 = executor.submit(() -> this.parseCityMasters());
+            // 町字ファイルの読み込み中に、読み込みを終えた都道府県、市区町村マスターから参照先の索引を作成する
+            var future4 = executor.submit(() -> this.createReferenceValidator(future1.get(), future2.get()));
             var future3 = executor.submit(() -> {
-                if (this.townFile != null) {
-                    return parser.parseTownFile(this.townFile);
+                // ストリーミングの場合（入力ストリームは常にストリーミング）は、書き込み時に1件ずつ読み込む
+                Collection<TownMaster> masters;
+                if (this.townFiles != null && !this.townStreaming) {
+                    masters = parser.parseTownFiles(this.townFiles, this.createTownParseOptions(this.townLgCodes));
+                } else if (this.townFile != null && !this.townStreaming) {
+                    masters = parser.parseTownFile(this.townFile, this.createTownParseOptions(this.townLgCodes));
                 } else {
                     return null;
                 }
+                // 参照先の検証は、全件の読み込み後に、索引の作成を待って先頭から順に行う
+                var validator = future4.get();
+                if (validator != null) {
+                    validator.validate(masters);
+                }
+                return masters;
             });
             prefMasters = future1.get();
             cityMasters = future2.get();
+            references  = future4.get();
             townMasters = future3.get();
         } catch (Exception e) {
             throw e;
@@ -112,18 +355,24 @@ public class Program {
         try (var connection = dbManager.getConnection()) {
             try {
                 connection.setAutoCommit(false);
+                var checksums = dbManager.readImportChecksums(connection);
+                var updates   = new HashMap<String, String>();
                 if (prefMasters != null) {
-                    dbManager.clearPrefMasters(connection);
-                    dbManager.createPrefMasters(connection, prefMasters);
+                    this.importPrefMasters(connection, prefMasters, checksums, updates);
                 }
                 if (cityMasters != null) {
-                    dbManager.clearCityMasters(connection);
-                    dbManager.createCityMasters(connection, cityMasters);
+                    this.importCityMasters(connection, cityMasters, checksums, updates);
                 }
                 if (townMasters != null) {
-                    dbManager.clearTownMasters(connection);
-                    dbManager.createTownMasters(connection, townMasters);
+                    var plan = this.planTownImport(checksums, townMasters);
+                    this.importTownMasters(connection, plan, townMasters);
+                    this.putTownChecksums(plan, null, checksums, updates);
+                } else if (this.hasTownInput() && this.townStreaming) {
+                    var plan = this.planTownImport(checksums, null);
+                    var read = this.copyTownMasters(connection, plan, references, checksums);
+                    this.putTownChecksums(plan, read, checksums, updates);
                 }
+                dbManager.updateImportChecksums(connection, updates);
                 connection.commit();
 
             } catch (Exception e) {
@@ -135,6 +384,397 @@ public class Program {
         }
     }
     
+    // 町字ファイルを、メモリ上に読み込んでから取り込むか、1件ずつ読み込みながら取り込む（ストリーミング）かを選択します。
+    //
+    // ストリーミング、パイプラインが指定されている場合は、そのまま取り込みます。
+    // 入力ストリームは、読み込む前に大きさが分からないため、ストリーミングで取り込みます。
+    // 町字ファイルは、メモリ上に読み込んだ場合の保持メモリを見積もり、上限を超える見込みの場合はストリーミングで取り込みます。
+    // 都道府県別の町字ファイルは、各ファイルの見積もりの合計を上限と比較し、超える見込みの場合は、ファイルを順に1件ずつ読み込んで取り込みます。
+    private void selectTownIngestion() throws FileParserException, ProgramException {
+        if (this.townStreaming || this.townPipeline) {
+            return;
+        }
+        try {
+            if (this.townStream != null) {
+                this.townStreaming = true;
+            } else if (this.townFile != null) {
+                var estimated = TownMemoryEstimator.estimateRetainedBytes(parser, this.townFile, this.createEstimateParseOptions());
+                if (estimated > this.townHeapBudget) {
+                    this.townStreaming = true;
+                    System.out.println(String.format("町字ファイルの保持メモリの見積もり（%,.1f MB）が上限（%,.1f MB）を超えるため、1件ずつ読み込んで取り込みます。",
+                        estimated / 1024.0 / 1024.0, this.townHeapBudget / 1024.0 / 1024.0));
+                }
+            } else if (this.townFiles != null) {
+                var estimated = 0L;
+                for (var file : this.townFiles) {
+                    estimated += TownMemoryEstimator.estimateRetainedBytes(parser, file, this.createEstimateParseOptions());
+                }
+                if (estimated > this.townHeapBudget) {
+                    this.townStreaming = true;
+                    System.out.println(String.format("都道府県別の町字ファイルの保持メモリの見積もり（%,.1f MB）が上限（%,.1f MB）を超えるため、1件ずつ読み込んで取り込みます。",
+                        estimated / 1024.0 / 1024.0, this.townHeapBudget / 1024.0 / 1024.0));
+                }
+            }
+        } catch (IOException e) {
+            throw new ProgramException(e.getMessage());
+        }
+    }
+
+    // 町字ファイルの読み込みと、データベースへの書き込みを並行して行います。
+    //
+    // 町字ファイルは別スレッドで1件ずつ読み込んで検証し、一定件数ごとに上限のあるキューで受け渡します。
+    // 接続を持つこのスレッドは、都道府県、市区町村マスターを書き込んだ後、キューから取り出した町字マスターを書き込みます。
+    // 書き込み中も後続の行の読み込みが進むため、パースとデータベースへの書き込みが重なります。
+    // 書き込みが追いつかない場合は読み込み側が待機するため、メモリ使用量は一定です。
+    // いずれかでエラーが発生した場合は、全体をロールバックします。
+    private void runPipeline() 
+        throws SQLException,
+        InterruptedException,
+        ExecutionException,
+        ProgramException, 
+        FileParserException,
+        DatabaseManagerException {
+
+        var executor = Executors.newCachedThreadPool();
+        try {
+            var future1 = executor.submit(() -> this.parsePrefMasters());
+            var future2 = executor.submit(() -> this.parseCityMasters());
+            var future4 = executor.submit(() -> this.createReferenceValidator(future1.get(), future2.get()));
+
+            try (var connection = dbManager.getConnection()) {
+                try {
+                    connection.setAutoCommit(false);
+                    var checksums = dbManager.readImportChecksums(connection);
+                    var updates   = new HashMap<String, String>();
+                    var plan      = this.hasTownInput() ? this.planTownImport(checksums, null) : null;
+                    var pipeline  = new MasterPipeline<TownMaster>();
+                    var future3   = executor.submit(() -> {
+                        if (plan == null || plan.isSkipped()) {
+                            return null;
+                        }
+                        try (var reader = this.openTownReader(plan, future4.get())) {
+                            pipeline.produce(reader);
+                        }
+                        return null;
+                    });
+
+                    var prefMasters = future1.get();
+                    if (prefMasters != null) {
+                        this.importPrefMasters(connection, prefMasters, checksums, updates);
+                    }
+                    var cityMasters = future2.get();
+                    if (cityMasters != null) {
+                        this.importCityMasters(connection, cityMasters, checksums, updates);
+                    }
+                    Map<String, String> read = null;
+                    if (plan != null && !plan.isSkipped()) {
+                        var writer = this.openTownWriter(connection, plan, checksums);
+                        try (writer) {
+                            pipeline.consume(writer);
+                        }
+                        read = checksumsOf(writer);
+                    }
+                    // 読み込み側でエラーが発生していた場合は、ここで例外がスローされる
+                    future3.get();
+                    if (plan != null) {
+                        this.putTownChecksums(plan, read, checksums, updates);
+                    }
+                    dbManager.updateImportChecksums(connection, updates);
+                    connection.commit();
+
+                } catch (Exception e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            }
+        } finally {
+            // エラー時は、キューの空きを待っている読み込み側も中断する
+            executor.shutdownNow();
+        }
+    }
+
+    // 都道府県ファイル（または入力ストリーム）を読み込みます。指定されていない場合は null を返します。
+    private Collection<PrefMaster> parsePrefMasters() throws FileParserException {
+        if (this.prefFile != null) {
+            return parser.parsePrefFile(this.prefFile);
+        } else if (this.prefStream != null) {
+            return parser.parsePrefFile(this.prefStream);
+        } else {
+            return null;
+        }
+    }
+
+    // 市区町村ファイル（または入力ストリーム）を読み込みます。指定されていない場合は null を返します。
+    private Collection<CityMaster> parseCityMasters() throws FileParserException {
+        if (this.cityFile != null) {
+            return parser.parseCityFile(this.cityFile);
+        } else if (this.cityStream != null) {
+            return parser.parseCityFile(this.cityStream);
+        } else {
+            return null;
+        }
+    }
+
+    // 町字ファイル（都道府県別の町字ファイル、入力ストリームを含む）が指定されているかを判定します。
+    private boolean hasTownInput() {
+        return this.townFile != null || this.townFiles != null || this.townStream != null;
+    }
+
+    // 町字マスターの参照先（市区町村、都道府県マスター）を検証する索引を作成します。
+    // 市区町村ファイルが指定されていない場合は、検証しないため null を返します。
+    private MasterReferenceValidator createReferenceValidator(Collection<PrefMaster> prefMasters, Collection<CityMaster> cityMasters) throws InvalidMasterException {
+        if (cityMasters == null) {
+            return null;
+        }
+        return MasterReferenceValidator.of(prefMasters, cityMasters);
+    }
+
+    // 町字ファイル（または入力ストリーム）を、書き換える範囲に絞り込んで1件ずつ読み込むリーダーを生成します。
+    // 参照先の索引を指定した場合は、読み込むたびに町字マスターの市区町村を検証します。
+    private MasterReader<TownMaster> openTownReader(TownPlan plan, MasterReferenceValidator references) throws FileParserException {
+        return this.openTownInput(this.createTownParseOptions(plan.prefixes, references));
+    }
+
+    // 1件ずつ読み込んだ町字マスターを、町字テーブルへ書き込むライターを生成します。（書き込む前に、書き換える範囲の行を削除します）
+    //
+    // 一部のみを取り込む場合は、該当する範囲の行を削除してから書き込みます。
+    // 前回の取り込み時の都道府県ごとのハッシュ値がある場合は、都道府県ごとに書き換えながらハッシュ値を計算し、
+    // ハッシュ値が前回と同じ都道府県の書き換えを取り消すライターを返します。（町字ファイルは1度だけ読み込みます）
+    // ハッシュ値がない場合、すべて書き換える場合は、全件を削除し、書き込みながらハッシュ値を計算するライターを返します。
+    private MasterWriter<TownMaster> openTownWriter(Connection connection, TownPlan plan, Map<String, String> checksums) throws DatabaseManagerException {
+        if (plan.partial) {
+            this.clearTownMasters(connection, plan);
+            return dbManager.openTownMasterWriter(connection);
+        }
+        var previous = new HashMap<String, String>();
+        for (var entry : checksums.entrySet()) {
+            if (entry.getKey().startsWith(ImportChecksums.TOWN_TARGET_PREFIX)) {
+                previous.put(entry.getKey().substring(ImportChecksums.TOWN_TARGET_PREFIX.length()), entry.getValue());
+            }
+        }
+        if (this.rewriteAll || previous.isEmpty()) {
+            dbManager.clearTownMasters(connection);
+            return new ImportChecksums.TownSliceWriter(dbManager.openTownMasterWriter(connection));
+        }
+        return new IncrementalTownWriter(dbManager, connection, previous);
+    }
+
+    // 書き込みながら計算した町字マスターの都道府県ごとのハッシュ値を返します。（計算していない場合は null）
+    private static Map<String, String> checksumsOf(MasterWriter<TownMaster> writer) {
+        if (writer instanceof ImportChecksums.TownSliceWriter sliceWriter) {
+            return sliceWriter.getSlices().toChecksums();
+        } else if (writer instanceof IncrementalTownWriter incrementalWriter) {
+            return incrementalWriter.getSlices().toChecksums();
+        } else {
+            return null;
+        }
+    }
+
+    // 町字ファイル（都道府県別の町字ファイルは入力された順に1つずつ、または入力ストリーム）を、1件ずつ読み込むリーダーを生成します。
+    private MasterReader<TownMaster> openTownInput(ParseOptions options) throws FileParserException {
+        if (this.townFiles != null) {
+            return parser.openTownFiles(this.townFiles, options);
+        } else if (this.townFile != null) {
+            return parser.openTownFile(this.townFile, options);
+        } else {
+            return parser.openTownFile(this.townStream, options);
+        }
+    }
+
+    // 町字ファイルのパースオプションを生成します。
+    // 全国地方公共団体コードの前方一致（null の場合は全件）に該当する行のみを読み込みます。
+    private ParseOptions createTownParseOptions(List<String> lgCodes) throws FileParserException {
+        return this.createTownParseOptions(lgCodes, null);
+    }
+    private ParseOptions createTownParseOptions(List<String> lgCodes, MasterReferenceValidator references) throws FileParserException {
+        return this.createTownParseOptionsBuilder(lgCodes, references).build();
+    }
+    private ParseOptions.Builder createTownParseOptionsBuilder(List<String> lgCodes, MasterReferenceValidator references) throws FileParserException {
+        var builder = new ParseOptions.Builder()
+            .parallelism(this.townParallelism)
+            .validationParallelism(this.townValidationParallelism)
+            .statistics(this.townStatistics)
+            .engine(this.townEngine)
+            .references(references)
+            .validateHierarchy(true);
+        if (lgCodes != null) {
+            builder.lgCodes(lgCodes);
+        }
+        return builder;
+    }
+
+    // 町字ファイルの保持メモリの見積もりに使用するパースのオプションを生成します。
+    // 見積もりでは先頭の一部のみを読み込むため、キーの重複の検証に使用する集合は、読み込む件数分のみ確保します。
+    // 階層は、先頭の一部だけでは検証できないため、取り込み時に検証します。
+    private ParseOptions createEstimateParseOptions() throws FileParserException {
+        return this.createTownParseOptionsBuilder(null, null)
+            .expectedRecords(TownMemoryEstimator.SAMPLE_RECORDS)
+            .validateHierarchy(false)
+            .build();
+    }
+
+    // 都道府県テーブルを、前回の取り込み時と内容が異なる場合のみ書き換えます。
+    private void importPrefMasters(Connection connection, Collection<PrefMaster> masters, Map<String, String> checksums, Map<String, String> updates) throws DatabaseManagerException {
+        var checksum = ImportChecksums.ofPrefMasters(masters);
+        if (this.rewriteAll || !checksum.equals(checksums.get(ImportChecksums.PREF_TARGET))) {
+            dbManager.clearPrefMasters(connection);
+            dbManager.createPrefMasters(connection, masters);
+        }
+        updates.put(ImportChecksums.PREF_TARGET, checksum);
+    }
+
+    // 市区町村テーブルを、前回の取り込み時と内容が異なる場合のみ書き換えます。
+    private void importCityMasters(Connection connection, Collection<CityMaster> masters, Map<String, String> checksums, Map<String, String> updates) throws DatabaseManagerException {
+        var checksum = ImportChecksums.ofCityMasters(masters);
+        if (this.rewriteAll || !checksum.equals(checksums.get(ImportChecksums.CITY_TARGET))) {
+            dbManager.clearCityMasters(connection);
+            dbManager.createCityMasters(connection, masters);
+        }
+        updates.put(ImportChecksums.CITY_TARGET, checksum);
+    }
+
+    // このクラスは、町字テーブルの書き換える範囲を表します。
+    private static final class TownPlan {
+        // 書き換える全国地方公共団体コードの前方一致（null の場合は全件、空の場合は書き換えない）
+        private final List<String> prefixes;
+
+        // 取り込む町字マスターの都道府県ごとのハッシュ値（null の場合は、書き込みながら計算する）
+        private final Map<String, String> checksums;
+
+        // 指定された全国地方公共団体コードの前方一致のみを取り込むかどうか
+        // この場合は、都道府県の一部のみを書き換えることがあるため、該当する都道府県のハッシュ値を削除します。
+        private final boolean partial;
+
+        boolean isSkipped() {
+            return this.prefixes != null && this.prefixes.isEmpty();
+        }
+
+        private TownPlan(List<String> prefixes, Map<String, String> checksums, boolean partial) {
+            this.prefixes  = prefixes;
+            this.checksums = checksums;
+            this.partial   = partial;
+        }
+    }
+
+    // 町字テーブルの書き換える範囲を求めます。
+    //
+    // 取り込む町字マスターの都道府県ごとのハッシュ値を、前回の取り込み時のハッシュ値と比較し、
+    // 異なる都道府県（今回、前回のいずれかにのみ含まれる都道府県を含む）のみを書き換えます。
+    // 町字マスターが読み込まれていない場合（ストリーミング、パイプライン）は、全件を対象とし、
+    // 書き込みながら都道府県ごとに書き換えるかを判定します。（openTownWriter() を参照）
+    private TownPlan planTownImport(Map<String, String> checksums, Collection<TownMaster> masters) {
+        if (this.townLgCodes != null) {
+            return new TownPlan(this.townLgCodes, null, true);
+        }
+        if (masters == null) {
+            return new TownPlan(null, null, false);
+        }
+        var current = ImportChecksums.ofTownMasters(masters);
+        if (this.rewriteAll) {
+            return new TownPlan(null, current, false);
+        }
+
+        // 前回、今回のいずれかに含まれる都道府県のうち、ハッシュ値が異なる都道府県を書き換える
+        var slices = new TreeSet<String>(current.keySet());
+        for (var target : checksums.keySet()) {
+            if (target.startsWith(ImportChecksums.TOWN_TARGET_PREFIX)) {
+                slices.add(target.substring(ImportChecksums.TOWN_TARGET_PREFIX.length()));
+            }
+        }
+        var changed = new ArrayList<String>();
+        for (var slice : slices) {
+            if (!Objects.equals(current.get(slice), checksums.get(ImportChecksums.townTargetOf(slice)))) {
+                changed.add(slice);
+            }
+        }
+        // すべての都道府県を書き換える場合は、全件を削除してから書き込む
+        if (changed.size() == slices.size()) {
+            return new TownPlan(null, current, false);
+        }
+        return new TownPlan(List.copyOf(changed), current, false);
+    }
+
+    // 町字マスターのうち、書き換える範囲のマスターのみを町字テーブルへ書き込みます。
+    private void importTownMasters(Connection connection, TownPlan plan, Collection<TownMaster> masters) throws DatabaseManagerException {
+        if (plan.isSkipped()) {
+            return;
+        }
+        this.clearTownMasters(connection, plan);
+        if (plan.prefixes == null) {
+            dbManager.createTownMasters(connection, masters);
+            return;
+        }
+        var changed = new ArrayList<TownMaster>();
+        for (var master : masters) {
+            for (var prefix : plan.prefixes) {
+                if (master.getLgCode().startsWith(prefix)) {
+                    changed.add(master);
+                    break;
+                }
+            }
+        }
+        dbManager.createTownMasters(connection, changed);
+    }
+
+    // 町字テーブルの、書き換える範囲の行を削除します。
+    private void clearTownMasters(Connection connection, TownPlan plan) throws DatabaseManagerException {
+        if (plan.prefixes != null) {
+            dbManager.clearTownMasters(connection, plan.prefixes);
+        } else {
+            dbManager.clearTownMasters(connection);
+        }
+    }
+
+    // 取り込んだ町字マスターの都道府県ごとのハッシュ値を、取り込み情報テーブルの更新内容に追加します。
+    // 書き込みながら計算した場合は、計算したハッシュ値（read）を使用します。
+    // 一部のみを取り込んだ場合は、該当する都道府県のハッシュ値を削除し、次回の取り込みで書き換えられるようにします。
+    private void putTownChecksums(TownPlan plan, Map<String, String> read, Map<String, String> checksums, Map<String, String> updates) {
+        if (plan.partial) {
+            for (var target : checksums.keySet()) {
+                if (!target.startsWith(ImportChecksums.TOWN_TARGET_PREFIX)) {
+                    continue;
+                }
+                var slice = target.substring(ImportChecksums.TOWN_TARGET_PREFIX.length());
+                for (var prefix : plan.prefixes) {
+                    if (slice.startsWith(prefix) || prefix.startsWith(slice)) {
+                        updates.put(target, null);
+                        break;
+                    }
+                }
+            }
+            return;
+        }
+        var current = plan.checksums != null ? plan.checksums : read;
+        for (var target : checksums.keySet()) {
+            if (target.startsWith(ImportChecksums.TOWN_TARGET_PREFIX)) {
+                updates.put(target, null);
+            }
+        }
+        for (var entry : current.entrySet()) {
+            updates.put(ImportChecksums.townTargetOf(entry.getKey()), entry.getValue());
+        }
+    }
+
+    // 町字ファイルを、書き換える範囲に絞り込んで1件ずつ読み込み、そのままデータベースへ書き込みます。
+    // 全件をメモリ上に保持しないため、ファイルサイズに関わらず一定のメモリで処理できます。
+    // 書き込みながらハッシュ値を計算した場合は、そのハッシュ値を返します。
+    private Map<String, String> copyTownMasters(Connection connection, TownPlan plan, MasterReferenceValidator references, Map<String, String> checksums) throws FileParserException, DatabaseManagerException {
+        if (plan.isSkipped()) {
+            return null;
+        }
+        var writer = this.openTownWriter(connection, plan, checksums);
+        try (writer;
+            var reader = this.openTownReader(plan, references)) {
+            TownMaster master;
+            while ((master = reader.read()) != null) {
+                writer.write(master);
+            }
+        }
+        return checksumsOf(writer);
+    }
+    
     public static class Builder {
         private final FileParsable parser;
 
@@ -146,10 +786,7 @@ public class Program {
             var validPath = validatePath(file);
 
             // ファイルサイズの確認
-            if (Files.size(validPath) > 4500) {
-                var message = String.format("ファイルサイズが大きすぎます。(%s)", validPath);
-                throw new ProgramException(message);
-            }
+            validateSize(validPath, MAX_PREF_FILE_BYTES);
 
             // 同じファイルを指定していないかを確認する
             if (this.cityFile != null && Files.isSameFile(validPath, this.cityFile)) {
@@ -171,10 +808,7 @@ public class Program {
             var validPath = validatePath(file);
 
             // ファイルサイズの確認
-            if (Files.size(validPath) > 348000) {
-                var message = String.format("ファイルサイズが大きすぎます。(%s)", validPath);
-                throw new ProgramException(message);
-            }
+            validateSize(validPath, MAX_CITY_FILE_BYTES);
 
             // 同じファイルを指定していないかを確認する
             if (this.prefFile != null && Files.isSameFile(validPath, this.prefFile)) {
@@ -196,10 +830,7 @@ public class Program {
             var validPath = validatePath(file);
 
             // ファイルサイズの確認
-            if (Files.size(validPath) > 233952000) {
-                var message = String.format("ファイルサイズが大きすぎます。(%s)", validPath);
-                throw new ProgramException(message);
-            }
+            validateSize(validPath, this.townMaxBytes);
 
             // 同じファイルを指定していないかを確認する
             if (this.prefFile != null && Files.isSameFile(validPath, this.prefFile)) {
@@ -214,7 +845,170 @@ public class Program {
             this.townFile = validPath;
             return this;
         }
+
+        private List<Path> townFiles;
+        public Builder townFiles(Collection<Path> files) throws IOException, ProgramException {
+            var validPaths = new ArrayList<Path>();
+            for (var file : files) {
+                // 問題ないパスかを検証する。
+                var validPath = validatePath(file);
+
+                // ファイルサイズの確認
+                validateSize(validPath, this.townMaxBytes);
+
+                // 同じファイルを指定していないかを確認する
+                if (this.prefFile != null && Files.isSameFile(validPath, this.prefFile)) {
+                    var message = String.format("'%s' は設定済みの都道府県ファイルと同じです。", validPath);
+                    throw new ProgramException(message);
+                }
+                if (this.cityFile != null && Files.isSameFile(validPath, this.cityFile)) {
+                    var message = String.format("'%s' は設定済みの市区町村ファイルと同じです。", validPath);
+                    throw new ProgramException(message);
+                }
+
+                validPaths.add(validPath);
+            }
+            if (validPaths.isEmpty()) {
+                throw new ProgramException("町字ファイルが指定されていません。");
+            }
+
+            this.townFiles = List.copyOf(validPaths);
+            return this;
+        }
         
+        // 入力ストリームは、読み込みながらファイルと同じサイズの上限を確認する
+        // 入力ストリームは、取り込みの終了後も閉じないため、呼び出し元で閉じてください。
+        // 町字ファイルの入力ストリームは、大きさが分からないため、ストリーミングを指定していない場合もストリーミングで取り込みます。
+        private InputStream prefStream;
+        public Builder prefStream(InputStream stream) throws ProgramException {
+            this.prefStream = limitStream(stream, "都道府県ファイル", MAX_PREF_FILE_BYTES);
+            return this;
+        }
+
+        private InputStream cityStream;
+        public Builder cityStream(InputStream stream) throws ProgramException {
+            this.cityStream = limitStream(stream, "市区町村ファイル", MAX_CITY_FILE_BYTES);
+            return this;
+        }
+
+        // 町字ファイルの入力ストリームの上限は、townMaxBytes() の指定順に関わらず適用するため、build() で設定する
+        private InputStream townStream;
+        public Builder townStream(InputStream stream) throws ProgramException {
+            if (stream == null) {
+                throw new ProgramException("町字ファイルの入力ストリームを指定してください。");
+            }
+            this.townStream = stream;
+            return this;
+        }
+
+        // 町字ファイル（都道府県別の町字ファイルはそれぞれ）のサイズの上限
+        // 設定済みの町字ファイルも、指定された上限で検証します。
+        private long townMaxBytes = DEFAULT_MAX_TOWN_FILE_BYTES;
+        public Builder townMaxBytes(long townMaxBytes) throws IOException, ProgramException {
+            if (townMaxBytes <= 0) {
+                var message = String.format("町字ファイルのサイズの上限は 1 バイト以上を指定してください。(%d)", townMaxBytes);
+                throw new ProgramException(message);
+            }
+            if (this.townFile != null) {
+                validateSize(this.townFile, townMaxBytes);
+            }
+            if (this.townFiles != null) {
+                for (var file : this.townFiles) {
+                    validateSize(file, townMaxBytes);
+                }
+            }
+            this.townMaxBytes = townMaxBytes;
+            return this;
+        }
+
+        private boolean townStreaming = false;
+        public Builder townStreaming(boolean townStreaming) {
+            this.townStreaming = townStreaming;
+            return this;
+        }
+
+        private boolean townPipeline = false;
+        public Builder townPipeline(boolean townPipeline) {
+            this.townPipeline = townPipeline;
+            return this;
+        }
+
+        private int townParallelism = 1;
+        public Builder townParallelism(int townParallelism) throws ProgramException {
+            if (townParallelism < 1) {
+                var message = String.format("並列数は 1 以上を指定してください。(%d)", townParallelism);
+                throw new ProgramException(message);
+            }
+            this.townParallelism = townParallelism;
+            return this;
+        }
+
+        private int townValidationParallelism = 1;
+        public Builder townValidationParallelism(int townValidationParallelism) throws ProgramException {
+            if (townValidationParallelism < 1) {
+                var message = String.format("検証の並列数は 1 以上を指定してください。(%d)", townValidationParallelism);
+                throw new ProgramException(message);
+            }
+            this.townValidationParallelism = townValidationParallelism;
+            return this;
+        }
+        
+        private ParseStatistics townStatistics = null;
+        public Builder townStatistics(ParseStatistics townStatistics) {
+            this.townStatistics = townStatistics;
+            return this;
+        }
+
+        private ParseEngine townEngine = ParseEngine.Text;
+        public Builder townEngine(ParseEngine townEngine) throws ProgramException {
+            if (townEngine == null) {
+                throw new ProgramException("パース方式を指定してください。");
+            }
+            this.townEngine = townEngine;
+            return this;
+        }
+
+        private List<String> townLgCodes = null;
+        public Builder townLgCodes(Collection<String> townLgCodes) throws ProgramException {
+            if (townLgCodes != null && townLgCodes.isEmpty()) {
+                throw new ProgramException("取り込む全国地方公共団体コードを指定してください。");
+            }
+            this.townLgCodes = townLgCodes == null ? null : List.copyOf(townLgCodes);
+            return this;
+        }
+
+        private boolean rewriteAll = false;
+        public Builder rewriteAll(boolean rewriteAll) {
+            this.rewriteAll = rewriteAll;
+            return this;
+        }
+
+        // 既定は、最大ヒープサイズの DEFAULT_HEAP_BUDGET_PERCENT %
+        private long townHeapBudget = Runtime.getRuntime().maxMemory() / 100 * DEFAULT_HEAP_BUDGET_PERCENT;
+        public Builder townHeapBudget(long townHeapBudget) throws ProgramException {
+            if (townHeapBudget <= 0) {
+                var message = String.format("町字ファイルに使用できるメモリは 1 バイト以上を指定してください。(%d)", townHeapBudget);
+                throw new ProgramException(message);
+            }
+            this.townHeapBudget = townHeapBudget;
+            return this;
+        }
+
+        private static void validateSize(Path path, long maxBytes) throws IOException, ProgramException {
+            if (Files.size(path) > maxBytes) {
+                var message = String.format("ファイルサイズが大きすぎます。(%s)", path);
+                throw new ProgramException(message);
+            }
+        }
+
+        private static InputStream limitStream(InputStream stream, String name, long maxBytes) throws ProgramException {
+            if (stream == null) {
+                var message = String.format("%sの入力ストリームを指定してください。", name);
+                throw new ProgramException(message);
+            }
+            return new LimitedInputStream(stream, name, maxBytes);
+        }
+
         private Path validatePath(Path path) throws IOException, ProgramException {
             // LinkOption.NOFOLLOW_LINKS を指定してリンクをたどらないようにする
             // また、入力されたパスを標準のパスオブジェクトに変換する
@@ -236,10 +1030,23 @@ public class Program {
         }
 
         public Program build() {
-            var program      = new Program(this.parser, this.dbManager);
-            program.prefFile = this.prefFile;
-            program.cityFile = this.cityFile;
-            program.townFile = this.townFile;
+            var program                       = new Program(this.parser, this.dbManager);
+            program.prefFile                  = this.prefFile;
+            program.cityFile                  = this.cityFile;
+            program.townFile                  = this.townFile;
+            program.prefStream                = this.prefStream;
+            program.cityStream                = this.cityStream;
+            program.townStream                = this.townStream == null ? null : new LimitedInputStream(this.townStream, "町字ファイル", this.townMaxBytes);
+            program.townFiles                 = this.townFiles;
+            program.townStreaming             = this.townStreaming;
+            program.townPipeline              = this.townPipeline;
+            program.townParallelism           = this.townParallelism;
+            program.townValidationParallelism = this.townValidationParallelism;
+            program.townStatistics            = this.townStatistics;
+            program.townEngine                = this.townEngine;
+            program.townLgCodes               = this.townLgCodes;
+            program.rewriteAll                = this.rewriteAll;
+            program.townHeapBudget            = this.townHeapBudget;
             return program;
         }
         
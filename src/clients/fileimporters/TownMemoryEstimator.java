@@ -0,0 +1,117 @@
+package clients.fileimporters;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import domains.masters.TownField;
+import domains.masters.TownKey;
+import domains.parsers.FileParsable;
+import domains.parsers.FileParserException;
+import domains.parsers.ParseOptions;
+
+// このクラスは、町字ファイルをメモリ上に読み込んだ場合に保持するメモリ量を見積もります。
+//
+// ファイルの先頭の一部の町字マスターを読み込み、1件あたりの保持メモリと、1件あたりの入力のバイト数を求め、
+// ファイル全体の入力のバイト数から全件の保持メモリを見積もります。
+// 保持メモリは、町字マスターのオブジェクトと、各項目の文字列・日付のオブジェクトの大きさの合計です。
+// 値の辞書で共有されている値（同じインスタンス）は、サンプル全体で1回だけ数えます。
+// 入力のバイト数は、各項目の値の UTF-8 のバイト数と区切り文字の合計で近似します。（引用符は数えません）
+final class TownMemoryEstimator {
+    // 見積もりに読み込む町字マスターの件数
+    static final int SAMPLE_RECORDS = 2000;
+
+    // ZIP アーカイブ内の ZIP アーカイブの圧縮率の仮定（展開後のバイト数 / 圧縮後のバイト数）
+    // 内側のアーカイブの CSV ファイルの大きさは、展開せずには分からないため、住所データの一般的な圧縮率で見積もる
+    private static final long NESTED_ZIP_RATIO = 10;
+
+    // オブジェクトの大きさ（64 ビット JVM、圧縮参照の場合）
+    private static final long OBJECT_HEADER_BYTES = 12;
+    private static final long REFERENCE_BYTES     = 4;
+    private static final long STRING_BYTES        = 24;
+    private static final long ARRAY_HEADER_BYTES  = 16;
+    private static final long LOCAL_DATE_BYTES    = 24;
+    private static final long TOWN_KEY_BYTES      = 32;
+
+    // 町字マスター1件のオブジェクト（キーと各項目の参照）と、一覧の参照の大きさ
+    private static final long MASTER_BYTES = align(OBJECT_HEADER_BYTES + REFERENCE_BYTES * (TownField.values().length + 1)) + REFERENCE_BYTES;
+
+    private static final String ZIP_EXTENSION = ".zip";
+    private static final String CSV_EXTENSION = ".csv";
+
+    // このメソッドは、町字ファイルの全件をメモリ上に読み込んだ場合の保持メモリ（バイト）を見積もります。
+    static long estimateRetainedBytes(FileParsable parser, Path file, ParseOptions options) throws IOException, FileParserException {
+        var inputBytes = inputBytesOf(file);
+
+        var counted        = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        var records        = 0L;
+        var sampleInput    = 0L;
+        var sampleRetained = 0L;
+        try (var reader = parser.openTownFile(file, options)) {
+            for (var master = reader.read(); master != null && records < SAMPLE_RECORDS; master = reader.read()) {
+                records++;
+                sampleRetained += MASTER_BYTES + retainedBytesOf(master.getTownKey(), counted);
+                for (var field : TownField.values()) {
+                    var value = field.get(master);
+                    sampleRetained += retainedBytesOf(value, counted);
+                    sampleInput    += (value == null ? 0 : value.toString().getBytes(StandardCharsets.UTF_8).length) + 1;
+                }
+            }
+        }
+        if (records == 0 || sampleInput == 0) {
+            return 0;
+        }
+        // 全件の保持メモリ = 1件あたりの保持メモリ * (入力のバイト数 / 1件あたりの入力のバイト数)
+        return (long)((double)inputBytes / sampleInput * sampleRetained);
+    }
+
+    // このメソッドは、町字ファイルの入力のバイト数（ZIP アーカイブの場合は展開後の CSV ファイルの合計）を返します。
+    static long inputBytesOf(Path file) throws IOException {
+        try (var zip = new ZipFile(file.toFile())) {
+            var total = 0L;
+            for (var entry : Collections.list(zip.entries())) {
+                var name = entry.getName().toLowerCase(Locale.ROOT);
+                var size = Math.max(entry.getSize(), entry.getCompressedSize());
+                if (name.endsWith(CSV_EXTENSION)) {
+                    total += size;
+                } else if (name.endsWith(ZIP_EXTENSION)) {
+                    total += size * NESTED_ZIP_RATIO;
+                }
+            }
+            return total;
+        } catch (ZipException e) {
+            // ZIP アーカイブでない場合は、CSV ファイルとして扱う
+            return Files.size(file);
+        }
+    }
+
+    // 値の保持メモリ（既に数えたインスタンスの場合は 0）
+    private static long retainedBytesOf(Object value, Set<Object> counted) {
+        if (value == null || !counted.add(value)) {
+            return 0;
+        }
+        if (value instanceof LocalDate) {
+            return LOCAL_DATE_BYTES;
+        }
+        if (value instanceof TownKey) {
+            return TOWN_KEY_BYTES;
+        }
+        var text   = value.toString();
+        var latin1 = text.chars().allMatch(c -> c <= 0xFF);
+        return STRING_BYTES + align(ARRAY_HEADER_BYTES + (long)text.length() * (latin1 ? 1 : 2));
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private TownMemoryEstimator() {}
+}
@@ -0,0 +1,108 @@
+package clients.linters;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+import domains.masters.LintReport;
+import domains.masters.MasterLinter;
+import domains.parsers.AddressBaseRegistryLinter;
+import domains.parsers.FileParserException;
+
+// 都道府県ファイル、市区町村ファイル、町字ファイルを、データベースに取り込まずに検証するクラス
+//
+// 各ファイルを先頭から1件ずつ読み込み、最初の違反で中止せずに、すべての違反を1つのレポートにまとめて表示します。
+// レポートには、違反の詳細（ファイル、行番号、規則、メッセージ）、規則ごと・全国地方公共団体コードごとの違反の件数、
+// 規則ごとの検証時間を表示します。
+public class Program {
+    private final Path prefFile;
+
+    private final Path cityFile;
+
+    private final Path townFile;
+
+    // 詳細を表示する違反の件数
+    private final int maxDetails;
+
+    public static void main(String[] args) throws Exception {
+        try {
+            // "--" で始まる引数はオプションとして扱う
+            var options = new ArrayList<String>();
+            var files   = new ArrayList<String>();
+            for (var arg : args) {
+                if (arg.startsWith("--")) {
+                    options.add(arg);
+                } else {
+                    files.add(arg);
+                }
+            }
+            if (files.size() < 3) {
+                throw new ProgramException("実行時の引数が不足しています。");
+            }
+            var prefFile = Paths.get(files.get(0));
+            var cityFile = Paths.get(files.get(1));
+            var townFile = Paths.get(files.get(2));
+
+            var maxDetails = LintReport.DEFAULT_MAX_DETAILS;
+            for (var option : options) {
+                if (option.startsWith("--max-details=")) {
+                    maxDetails = parseIntOption(option);
+                } else {
+                    var message = String.format("'%s' は不明なオプションです。", option);
+                    throw new ProgramException(message);
+                }
+            }
+            if (maxDetails < 0) {
+                throw new ProgramException("詳細を表示する違反の件数は 0 以上を指定してください。");
+            }
+
+            var violations = new Program(prefFile, cityFile, townFile, maxDetails).run();
+            if (violations > 0) {
+                System.exit(1);
+            }
+
+        } catch (Exception e) {
+
+            // デバッグ時にスタックトレースを表示する
+            throw e;
+
+            // 本番時こちらを有効にする
+            //System.err.println(e);
+            //System.exit(1);
+        }
+    }
+
+    // "--name=value" 形式のオプションから、数値を取得します。
+    private static int parseIntOption(String option) throws ProgramException {
+        var value = option.substring(option.indexOf('=') + 1);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            var message = String.format("'%s' の値が数値ではありません。", option);
+            throw new ProgramException(message);
+        }
+    }
+
+    // 3つのファイルを検証してレポートを表示し、違反の件数を返します。
+    public long run() throws FileParserException {
+        var report = new LintReport(this.maxDetails);
+        var linter = new AddressBaseRegistryLinter(new MasterLinter(report));
+
+        var start = System.nanoTime();
+        linter.lintPrefFile(this.prefFile);
+        linter.lintCityFile(this.cityFile);
+        linter.lintTownFile(this.townFile);
+        var millis = (System.nanoTime() - start) / 1_000_000;
+
+        report.print(System.out);
+        System.out.println(String.format("* 処理時間 %,d ミリ秒", millis));
+        return report.getViolationCount();
+    }
+
+    private Program(Path prefFile, Path cityFile, Path townFile, int maxDetails) {
+        this.prefFile   = prefFile;
+        this.cityFile   = cityFile;
+        this.townFile   = townFile;
+        this.maxDetails = maxDetails;
+    }
+}
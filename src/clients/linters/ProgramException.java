@@ -0,0 +1,10 @@
+package clients.linters;
+
+// このクラスは、Programクラスで発生した例外のラッパー、または独自例外を表します。
+final class ProgramException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    ProgramException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,9 @@
 package domains.databases;
 
 import java.sql.Connection;
+import java.sql.Savepoint;
 import java.util.Collection;
+import java.util.Map;
 
 import domains.masters.CityMaster;
 import domains.masters.PrefMaster;
@@ -28,6 +30,11 @@ public interface DatabaseManageable {
     // マスターデータを町字テーブルへ新規作成するメソッドを実装してください。
     void createTownMasters(Connection connection, Collection<TownMaster> masters) throws DatabaseManagerException;
 
+    // INSERT
+    // 実装クラスでは、入力された接続を使用して、
+    // 町字マスターデータを1件ずつ町字テーブルへ新規作成するライターを生成するメソッドを実装してください。
+    MasterWriter<TownMaster> openTownMasterWriter(Connection connection) throws DatabaseManagerException;
+
     // DELETE
     // 実装クラスでは、入力された接続を使用して、
     // 都道府県テーブルの全件削除を行うメソッドを実装してください。
@@ -42,4 +49,32 @@ public interface DatabaseManageable {
     // 実装クラスでは、入力された接続を使用して、
     // 町字テーブルの全件削除を行うメソッドを実装してください。
     void clearTownMasters(Connection connection) throws DatabaseManagerException;
+
+    // DELETE
+    // 実装クラスでは、入力された接続を使用して、
+    // 町字テーブルから、全国地方公共団体コードが入力された前方一致（都道府県 "13"、市区町村 "131016" など）のいずれかに該当する行のみを削除するメソッドを実装してください。
+    void clearTownMasters(Connection connection, Collection<String> lgCodePrefixes) throws DatabaseManagerException;
+
+    // SELECT
+    // 実装クラスでは、入力された接続を使用して、
+    // 取り込み情報テーブルから、前回の取り込み時の対象（テーブル、または町字テーブルの都道府県）ごとのハッシュ値を取得するメソッドを実装してください。
+    Map<String, String> readImportChecksums(Connection connection) throws DatabaseManagerException;
+
+    // DELETE, INSERT
+    // 実装クラスでは、入力された接続を使用して、
+    // 取り込み情報テーブルの、入力された対象ごとのハッシュ値を置き換えるメソッドを実装してください。
+    // ハッシュ値が null の対象は、削除してください。
+    void updateImportChecksums(Connection connection, Map<String, String> checksums) throws DatabaseManagerException;
+
+    // SAVEPOINT
+    // 実装クラスでは、入力された接続（自動コミットが無効なもの）に、セーブポイントを設定するメソッドを実装してください。
+    Savepoint setSavepoint(Connection connection) throws DatabaseManagerException;
+
+    // ROLLBACK TO SAVEPOINT
+    // 実装クラスでは、入力された接続を使用して、入力されたセーブポイント以降の変更を取り消すメソッドを実装してください。
+    void rollbackToSavepoint(Connection connection, Savepoint savepoint) throws DatabaseManagerException;
+
+    // RELEASE SAVEPOINT
+    // 実装クラスでは、入力された接続を使用して、入力されたセーブポイントを解放する（変更を確定せずに残す）メソッドを実装してください。
+    void releaseSavepoint(Connection connection, Savepoint savepoint) throws DatabaseManagerException;
 }
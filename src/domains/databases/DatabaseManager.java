@@ -1,8 +1,12 @@
 package domains.databases;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import domains.masters.CityMaster;
 import domains.masters.PrefMaster;
@@ -191,6 +195,15 @@ abstract class DatabaseManager implements DatabaseManageable {
         }
     }
     private void createTownMastersExecute(Connection connection, Collection<TownMaster> masters) throws SQLException {
+        try (var statement = connection.prepareStatement(createTownMastersSql())) {
+            for (var master : masters) {
+                setTownMasterParameters(statement, master);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+    private static String createTownMastersSql() {
         var sql = "";
         sql += "INSERT INTO mt_town (\n";
         sql += "  lg_code, machiaza_id, machiaza_type, pref, pref_kana, pref_roma, county, county_kana, county_roma, city,"; 
@@ -203,176 +216,230 @@ abstract class DatabaseManager implements DatabaseManageable {
         sql += "  ?, ?, ?, ?, ?, ?, ?, ?, ?, ?,";
         sql += "  ?, ?, ?, ?, ?, ?, ?, ?";
         sql += ")";
+        return sql;
+    }
+    private static void setTownMasterParameters(PreparedStatement statement, TownMaster master) throws SQLException {
+        // setObject() は方がコードが揃うので美しいが、
+        // 想定外のデータをセットする可能性があるので望ましくない。
+        statement.setString(1, master.getLgCode());
+        statement.setString(2, master.getMachiazaId());
+        statement.setString(3, master.getMachiazaType());
+        statement.setString(4, master.getPref());
+        if (master.getPrefKana() != null) {
+            statement.setString(5, master.getPrefKana());
+        } else {
+            statement.setNull(5, java.sql.Types.VARCHAR);
+        }
+        if (master.getPrefRoma() != null) {
+            statement.setString(6, master.getPrefRoma());
+        } else {
+            statement.setNull(6, java.sql.Types.VARCHAR);
+        }
+        if (master.getCounty() != null) {
+            statement.setString(7, master.getCounty());
+        } else {
+            statement.setNull(7, java.sql.Types.VARCHAR);
+        }
+        if (master.getCountyKana() != null) {
+            statement.setString(8, master.getCountyKana());
+        } else {
+            statement.setNull(8, java.sql.Types.VARCHAR);
+        }
+        if (master.getCountyRoma() != null) {
+            statement.setString(9, master.getCountyRoma());
+        } else {
+            statement.setNull(9, java.sql.Types.VARCHAR);
+        }
+        statement.setString(10, master.getCity());
+        if (master.getCityKana() != null) {
+            statement.setString(11, master.getCityKana());
+        } else {
+            statement.setNull(11, java.sql.Types.VARCHAR);
+        }
+        if (master.getCityRoma() != null) {
+            statement.setString(12, master.getCityRoma());
+        } else {
+            statement.setNull(12, java.sql.Types.VARCHAR);
+        }
+        if (master.getWard() != null) {
+            statement.setString(13, master.getWard());
+        } else {
+            statement.setNull(13, java.sql.Types.VARCHAR);
+        }
+        if (master.getWardKana() != null) {
+            statement.setString(14, master.getWardKana());
+        } else {
+            statement.setNull(14, java.sql.Types.VARCHAR);
+        }
+        if (master.getWardRoma() != null) {
+            statement.setString(15, master.getWardRoma());
+        } else {
+            statement.setNull(15, java.sql.Types.VARCHAR);
+        }
+        if (master.getOazaCho() != null) {
+            statement.setString(16, master.getOazaCho());
+        } else {
+            statement.setNull(16, java.sql.Types.VARCHAR);
+        }
+        if (master.getOazaChoKana() != null) {
+            statement.setString(17, master.getOazaChoKana());
+        } else {
+            statement.setNull(17, java.sql.Types.VARCHAR);
+        }
+        if (master.getOazaChoRoma() != null) {
+            statement.setString(18, master.getOazaChoRoma());
+        } else {
+            statement.setNull(18, java.sql.Types.VARCHAR);
+        }
+        if (master.getChome() != null) {
+            statement.setString(19, master.getChome());
+        } else {
+            statement.setNull(19, java.sql.Types.VARCHAR);
+        }
+        if (master.getChomeKana() != null) {
+            statement.setString(20, master.getChomeKana());
+        } else {
+            statement.setNull(20, java.sql.Types.VARCHAR);
+        }
+        if (master.getChomeNumber() != null) {
+            statement.setString(21, master.getChomeNumber());
+        } else {
+            statement.setNull(21, java.sql.Types.VARCHAR);
+        }
+        if (master.getKoaza() != null) {
+            statement.setString(22, master.getKoaza());
+        } else {
+            statement.setNull(22, java.sql.Types.VARCHAR);
+        }
+        if (master.getKoazaKana() != null) {
+            statement.setString(23, master.getKoazaKana());
+        } else {
+            statement.setNull(23, java.sql.Types.VARCHAR);
+        }
+        if (master.getKoazaRoma() != null) {
+            statement.setString(24, master.getKoazaRoma());
+        } else {
+            statement.setNull(24, java.sql.Types.VARCHAR);
+        }
+        if (master.getMachiazaDist() != null) {
+            statement.setString(25, master.getMachiazaDist());
+        } else {
+            statement.setNull(25, java.sql.Types.VARCHAR);
+        }
+        statement.setString(26, master.getRsdtAddrFlg());
+        if (master.getRsdtAddrMtdCode() != null) {
+            statement.setString(27, master.getRsdtAddrMtdCode());
+        } else {
+            statement.setNull(27, java.sql.Types.VARCHAR);
+        }
+        if (master.getOazaChoAkaFlg() != null) {
+            statement.setString(28, master.getOazaChoAkaFlg());
+        } else {
+            statement.setNull(28, java.sql.Types.VARCHAR);
+        }
+        if (master.getKoazaAkaCode() != null) {
+            statement.setString(29, master.getKoazaAkaCode());
+        } else {
+            statement.setNull(29, java.sql.Types.VARCHAR);
+        }
+        if (master.getOazaChoGsiUncmn() != null) {
+            statement.setString(30, master.getOazaChoGsiUncmn());
+        } else {
+            statement.setNull(30, java.sql.Types.VARCHAR);
+        }
+        if (master.getKoazaGsiUncmn() != null) {
+            statement.setString(31, master.getKoazaGsiUncmn());
+        } else {
+            statement.setNull(31, java.sql.Types.VARCHAR);
+        }
+        if (master.getStatusFlg() != null) {
+            statement.setString(32, master.getStatusFlg());
+        } else {
+            statement.setNull(32, java.sql.Types.VARCHAR);
+        }
+        if (master.getWakeNumFlg() != null) {
+            statement.setString(33, master.getWakeNumFlg());
+        } else {
+            statement.setNull(33, java.sql.Types.VARCHAR);
+        }
+        statement.setDate(34, java.sql.Date.valueOf(master.getEfctDate()));
+        if (master.getAbltDate() != null) {
+            statement.setDate(35, java.sql.Date.valueOf(master.getAbltDate()));
+        } else {
+            statement.setNull(35, java.sql.Types.DATE);
+        }
+        if (master.getSrcCode() != null) {
+            statement.setString(36, master.getSrcCode());
+        } else {
+            statement.setNull(36, java.sql.Types.VARCHAR);
+        }
+        if (master.getPostCode() != null) {
+            statement.setString(37, master.getPostCode());
+        } else {
+            statement.setNull(37, java.sql.Types.VARCHAR);
+        }
+        if (master.getRemarks() != null) {
+            statement.setString(38, master.getRemarks());
+        } else {
+            statement.setNull(38, java.sql.Types.VARCHAR);
+        }
+    }
 
-        try (var statement = connection.prepareStatement(sql)) {
-            for (var master : masters) {
-                // setObject() は方がコードが揃うので美しいが、
-                // 想定外のデータをセットする可能性があるので望ましくない。
-                statement.setString(1, master.getLgCode());
-                statement.setString(2, master.getMachiazaId());
-                statement.setString(3, master.getMachiazaType());
-                statement.setString(4, master.getPref());
-                if (master.getPrefKana() != null) {
-                    statement.setString(5, master.getPrefKana());
-                } else {
-                    statement.setNull(5, java.sql.Types.VARCHAR);
-                }
-                if (master.getPrefRoma() != null) {
-                    statement.setString(6, master.getPrefRoma());
-                } else {
-                    statement.setNull(6, java.sql.Types.VARCHAR);
-                }
-                if (master.getCounty() != null) {
-                    statement.setString(7, master.getCounty());
-                } else {
-                    statement.setNull(7, java.sql.Types.VARCHAR);
-                }
-                if (master.getCountyKana() != null) {
-                    statement.setString(8, master.getCountyKana());
-                } else {
-                    statement.setNull(8, java.sql.Types.VARCHAR);
-                }
-                if (master.getCountyRoma() != null) {
-                    statement.setString(9, master.getCountyRoma());
-                } else {
-                    statement.setNull(9, java.sql.Types.VARCHAR);
-                }
-                statement.setString(10, master.getCity());
-                if (master.getCityKana() != null) {
-                    statement.setString(11, master.getCityKana());
-                } else {
-                    statement.setNull(11, java.sql.Types.VARCHAR);
-                }
-                if (master.getCityRoma() != null) {
-                    statement.setString(12, master.getCityRoma());
-                } else {
-                    statement.setNull(12, java.sql.Types.VARCHAR);
-                }
-                if (master.getWard() != null) {
-                    statement.setString(13, master.getWard());
-                } else {
-                    statement.setNull(13, java.sql.Types.VARCHAR);
-                }
-                if (master.getWardKana() != null) {
-                    statement.setString(14, master.getWardKana());
-                } else {
-                    statement.setNull(14, java.sql.Types.VARCHAR);
-                }
-                if (master.getWardRoma() != null) {
-                    statement.setString(15, master.getWardRoma());
-                } else {
-                    statement.setNull(15, java.sql.Types.VARCHAR);
-                }
-                if (master.getOazaCho() != null) {
-                    statement.setString(16, master.getOazaCho());
-                } else {
-                    statement.setNull(16, java.sql.Types.VARCHAR);
-                }
-                if (master.getOazaChoKana() != null) {
-                    statement.setString(17, master.getOazaChoKana());
-                } else {
-                    statement.setNull(17, java.sql.Types.VARCHAR);
-                }
-                if (master.getOazaChoRoma() != null) {
-                    statement.setString(18, master.getOazaChoRoma());
-                } else {
-                    statement.setNull(18, java.sql.Types.VARCHAR);
-                }
-                if (master.getChome() != null) {
-                    statement.setString(19, master.getChome());
-                } else {
-                    statement.setNull(19, java.sql.Types.VARCHAR);
-                }
-                if (master.getChomeKana() != null) {
-                    statement.setString(20, master.getChomeKana());
-                } else {
-                    statement.setNull(20, java.sql.Types.VARCHAR);
-                }
-                if (master.getChomeNumber() != null) {
-                    statement.setString(21, master.getChomeNumber());
-                } else {
-                    statement.setNull(21, java.sql.Types.VARCHAR);
-                }
-                if (master.getKoaza() != null) {
-                    statement.setString(22, master.getKoaza());
-                } else {
-                    statement.setNull(22, java.sql.Types.VARCHAR);
-                }
-                if (master.getKoazaKana() != null) {
-                    statement.setString(23, master.getKoazaKana());
-                } else {
-                    statement.setNull(23, java.sql.Types.VARCHAR);
-                }
-                if (master.getKoazaRoma() != null) {
-                    statement.setString(24, master.getKoazaRoma());
-                } else {
-                    statement.setNull(24, java.sql.Types.VARCHAR);
-                }
-                if (master.getMachiazaDist() != null) {
-                    statement.setString(25, master.getMachiazaDist());
-                } else {
-                    statement.setNull(25, java.sql.Types.VARCHAR);
-                }
-                statement.setString(26, master.getRsdtAddrFlg());
-                if (master.getRsdtAddrMtdCode() != null) {
-                    statement.setString(27, master.getRsdtAddrMtdCode());
-                } else {
-                    statement.setNull(27, java.sql.Types.VARCHAR);
-                }
-                if (master.getOazaChoAkaFlg() != null) {
-                    statement.setString(28, master.getOazaChoAkaFlg());
-                } else {
-                    statement.setNull(28, java.sql.Types.VARCHAR);
-                }
-                if (master.getKoazaAkaCode() != null) {
-                    statement.setString(29, master.getKoazaAkaCode());
-                } else {
-                    statement.setNull(29, java.sql.Types.VARCHAR);
-                }
-                if (master.getOazaChoGsiUncmn() != null) {
-                    statement.setString(30, master.getOazaChoGsiUncmn());
-                } else {
-                    statement.setNull(30, java.sql.Types.VARCHAR);
-                }
-                if (master.getKoazaGsiUncmn() != null) {
-                    statement.setString(31, master.getKoazaGsiUncmn());
-                } else {
-                    statement.setNull(31, java.sql.Types.VARCHAR);
-                }
-                if (master.getStatusFlg() != null) {
-                    statement.setString(32, master.getStatusFlg());
-                } else {
-                    statement.setNull(32, java.sql.Types.VARCHAR);
-                }
-                if (master.getWakeNumFlg() != null) {
-                    statement.setString(33, master.getWakeNumFlg());
-                } else {
-                    statement.setNull(33, java.sql.Types.VARCHAR);
-                }
-                statement.setDate(34, java.sql.Date.valueOf(master.getEfctDate()));
-                if (master.getAbltDate() != null) {
-                    statement.setDate(35, java.sql.Date.valueOf(master.getAbltDate()));
-                } else {
-                    statement.setNull(35, java.sql.Types.DATE);
-                }
-                if (master.getSrcCode() != null) {
-                    statement.setString(36, master.getSrcCode());
-                } else {
-                    statement.setNull(36, java.sql.Types.VARCHAR);
-                }
-                if (master.getPostCode() != null) {
-                    statement.setString(37, master.getPostCode());
-                } else {
-                    statement.setNull(37, java.sql.Types.VARCHAR);
-                }
-                if (master.getRemarks() != null) {
-                    statement.setString(38, master.getRemarks());
-                } else {
-                    statement.setNull(38, java.sql.Types.VARCHAR);
-                }
-                statement.addBatch();
+    // このメソッドは、町字マスターを1件ずつデータベースに登録するライターを生成するためのデフォルトの実装です。
+    // 必要に応じて、オーバーライドしてください。
+    @Override
+    public MasterWriter<TownMaster> openTownMasterWriter(Connection connection) throws DatabaseManagerException {
+        return this.openTownMasterWriterInternal(connection);
+    }
+    private MasterWriter<TownMaster> openTownMasterWriterInternal(Connection connection) throws DatabaseManagerException {
+        try {
+            return new TownMasterWriter(connection.prepareStatement(createTownMastersSql()));
+        } catch (SQLException e) {
+            throw new DatabaseManagerException(e.getMessage());
+        }
+    }
+
+    // 1回のバッチ実行で登録する件数
+    private static final int WRITER_BATCH_SIZE = 1000;
+
+    // このクラスは、町字マスターを一定件数ごとにまとめてデータベースへ登録するライターです。
+    private static final class TownMasterWriter implements MasterWriter<TownMaster> {
+        private final PreparedStatement statement;
+
+        private int count = 0;
+
+        @Override
+        public void write(TownMaster master) throws DatabaseManagerException {
+            try {
+                this.writeExecute(master);
+            } catch (SQLException e) {
+                throw new DatabaseManagerException(e.getMessage());
             }
-            statement.executeBatch();
+        }
+        private void writeExecute(TownMaster master) throws SQLException {
+            setTownMasterParameters(this.statement, master);
+            this.statement.addBatch();
+            this.count++;
+            if (this.count >= WRITER_BATCH_SIZE) {
+                this.statement.executeBatch();
+                this.count = 0;
+            }
+        }
+
+        @Override
+        public void close() throws DatabaseManagerException {
+            try (this.statement) {
+                if (this.count > 0) {
+                    this.statement.executeBatch();
+                    this.count = 0;
+                }
+            } catch (SQLException e) {
+                throw new DatabaseManagerException(e.getMessage());
+            }
+        }
+
+        private TownMasterWriter(PreparedStatement statement) {
+            this.statement = statement;
         }
     }
     
@@ -435,4 +502,158 @@ abstract class DatabaseManager implements DatabaseManageable {
             statement.executeUpdate();
         }
     }
+
+    // 全国地方公共団体コードの桁数
+    private static final int LG_CODE_LENGTH = 6;
+
+    // このメソッドは、町字マスターを全国地方公共団体コードの前方一致で部分的にクリアするためのデフォルトの実装です。
+    // 前方一致ごとに、該当するコードの範囲（"13" の場合は '130000' から '139999'）を削除するため、
+    // 主キーの先頭の lg_code の索引を使用して、該当する行のみを削除します。
+    // 必要に応じて、オーバーライドしてください。
+    @Override
+    public void clearTownMasters(Connection connection, Collection<String> lgCodePrefixes) throws DatabaseManagerException {
+        this.clearTownMastersInternal(connection, lgCodePrefixes);
+    }
+    private void clearTownMastersInternal(Connection connection, Collection<String> lgCodePrefixes) throws DatabaseManagerException {
+        for (var prefix : lgCodePrefixes) {
+            if (!isValidLgCodePrefix(prefix)) {
+                var message = String.format("全国地方公共団体コードの前方一致には、1桁から6桁の数字を指定してください。('%s')", prefix);
+                throw new DatabaseManagerException(message);
+            }
+        }
+        try {
+            this.clearTownMastersExecute(connection, lgCodePrefixes);
+        } catch (SQLException e) {
+            throw new DatabaseManagerException(e.getMessage());
+        }
+    }
+    private void clearTownMastersExecute(Connection connection, Collection<String> lgCodePrefixes) throws SQLException {
+        var sql = "DELETE FROM mt_town WHERE lg_code BETWEEN ? AND ?";
+        try (var statement = connection.prepareStatement(sql)) {
+            for (var prefix : lgCodePrefixes) {
+                statement.setString(1, padLgCode(prefix, '0'));
+                statement.setString(2, padLgCode(prefix, '9'));
+                statement.executeUpdate();
+            }
+        }
+    }
+    // このメソッドは、取り込み情報テーブルから、対象ごとのハッシュ値を取得するためのデフォルトの実装です。
+    // 必要に応じて、オーバーライドしてください。
+    @Override
+    public Map<String, String> readImportChecksums(Connection connection) throws DatabaseManagerException {
+        return this.readImportChecksumsInternal(connection);
+    }
+    private Map<String, String> readImportChecksumsInternal(Connection connection) throws DatabaseManagerException {
+        try {
+            return this.readImportChecksumsExecute(connection);
+        } catch (SQLException e) {
+            throw new DatabaseManagerException(e.getMessage());
+        }
+    }
+    private Map<String, String> readImportChecksumsExecute(Connection connection) throws SQLException {
+        // 取り込み情報テーブルがない（このテーブルの追加前に作成した）データベースは、テーブルを作成し、ハッシュ値がないものとして扱う
+        this.createImportTableExecute(connection);
+        var sql = "SELECT target, checksum FROM mt_import";
+        var checksums = new HashMap<String, String>();
+        try (var statement = connection.prepareStatement(sql);
+            var resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                checksums.put(resultSet.getString(1), resultSet.getString(2));
+            }
+        }
+        return checksums;
+    }
+
+    private void createImportTableExecute(Connection connection) throws SQLException {
+        var sql = "CREATE TABLE IF NOT EXISTS mt_import (target VARCHAR(16) NOT NULL PRIMARY KEY, checksum VARCHAR(64) NOT NULL)";
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.executeUpdate();
+        }
+    }
+
+    // このメソッドは、取り込み情報テーブルの対象ごとのハッシュ値を置き換えるためのデフォルトの実装です。
+    // 対象ごとに削除してから、ハッシュ値が null でない対象を登録します。
+    // 必要に応じて、オーバーライドしてください。
+    @Override
+    public void updateImportChecksums(Connection connection, Map<String, String> checksums) throws DatabaseManagerException {
+        this.updateImportChecksumsInternal(connection, checksums);
+    }
+    private void updateImportChecksumsInternal(Connection connection, Map<String, String> checksums) throws DatabaseManagerException {
+        try {
+            this.updateImportChecksumsExecute(connection, checksums);
+        } catch (SQLException e) {
+            throw new DatabaseManagerException(e.getMessage());
+        }
+    }
+    private void updateImportChecksumsExecute(Connection connection, Map<String, String> checksums) throws SQLException {
+        if (checksums.isEmpty()) {
+            return;
+        }
+        this.createImportTableExecute(connection);
+        var deleteSql = "DELETE FROM mt_import WHERE target = ?";
+        var insertSql = "INSERT INTO mt_import (target, checksum) VALUES (?, ?)";
+        try (var delete = connection.prepareStatement(deleteSql);
+            var insert = connection.prepareStatement(insertSql)) {
+            for (var entry : checksums.entrySet()) {
+                delete.setString(1, entry.getKey());
+                delete.addBatch();
+                if (entry.getValue() != null) {
+                    insert.setString(1, entry.getKey());
+                    insert.setString(2, entry.getValue());
+                    insert.addBatch();
+                }
+            }
+            delete.executeBatch();
+            insert.executeBatch();
+        }
+    }
+
+    // このメソッドは、セーブポイントを設定するためのデフォルトの実装です。
+    // 必要に応じて、オーバーライドしてください。
+    @Override
+    public Savepoint setSavepoint(Connection connection) throws DatabaseManagerException {
+        return this.setSavepointInternal(connection);
+    }
+    private Savepoint setSavepointInternal(Connection connection) throws DatabaseManagerException {
+        try {
+            return connection.setSavepoint();
+        } catch (SQLException e) {
+            throw new DatabaseManagerException(e.getMessage());
+        }
+    }
+
+    // このメソッドは、セーブポイント以降の変更を取り消すためのデフォルトの実装です。
+    // 必要に応じて、オーバーライドしてください。
+    @Override
+    public void rollbackToSavepoint(Connection connection, Savepoint savepoint) throws DatabaseManagerException {
+        this.rollbackToSavepointInternal(connection, savepoint);
+    }
+    private void rollbackToSavepointInternal(Connection connection, Savepoint savepoint) throws DatabaseManagerException {
+        try {
+            connection.rollback(savepoint);
+        } catch (SQLException e) {
+            throw new DatabaseManagerException(e.getMessage());
+        }
+    }
+
+    // このメソッドは、セーブポイントを解放するためのデフォルトの実装です。
+    // 必要に応じて、オーバーライドしてください。
+    @Override
+    public void releaseSavepoint(Connection connection, Savepoint savepoint) throws DatabaseManagerException {
+        this.releaseSavepointInternal(connection, savepoint);
+    }
+    private void releaseSavepointInternal(Connection connection, Savepoint savepoint) throws DatabaseManagerException {
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new DatabaseManagerException(e.getMessage());
+        }
+    }
+
+    private static boolean isValidLgCodePrefix(String prefix) {
+        return prefix != null && !prefix.isEmpty() && prefix.length() <= LG_CODE_LENGTH && prefix.chars().allMatch(c -> c >= '0' && c <= '9');
+    }
+    private static String padLgCode(String prefix, char pad) {
+        return prefix + String.valueOf(pad).repeat(LG_CODE_LENGTH - prefix.length());
+    }
 }
@@ -0,0 +1,13 @@
+package domains.databases;
+
+// このインターフェースは、マスターデータを1件ずつデータベースへ書き込むライターを定義します。
+// 書き込みは一定件数ごとにまとめて実行されるため、全件をコレクションとして保持する必要はありません。
+// close() を呼び出した時点で、未実行の書き込みがすべて実行されます。
+public interface MasterWriter<T> extends AutoCloseable {
+    // 実装クラスでは、入力されたマスターデータを書き込むメソッドを実装してください。
+    void write(T master) throws DatabaseManagerException;
+
+    // 実装クラスでは、未実行の書き込みを実行し、資源を解放するメソッドを実装してください。
+    @Override
+    void close() throws DatabaseManagerException;
+}
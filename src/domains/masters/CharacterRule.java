@@ -0,0 +1,106 @@
+package domains.masters;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// このクラスは、ValidationType の組み合わせを、文字種類の検証に使用できる形にまとめたものです。
+//
+// 指定された文字種別の範囲を、UTF-16 の文字（65,536 文字）ごとの許可の有無を表すビット集合にまとめます。
+// 検証は、文字列の各文字のビットを参照するだけのため、文字種別の数や範囲の数に関わらず1文字あたりの処理は一定で、
+// 検証時にオブジェクトを生成しません。
+// 同じ組み合わせの規則は1つのインスタンスを共有します。（ValidationType の指定の順序や重複は区別しません）
+// インスタンスは不変のため、複数のスレッドから使用できます。
+final class CharacterRule {
+    // 基本ラテン文字（数字のみ）
+    private static final char[][] RANGE_NUMBER        = {{'\u0030', '\u0039'}};
+    // 基本ラテン文字（英字のみ）
+    private static final char[][] RANGE_ALPHABET      = {{'\u0041', '\u005A'}, {'\u0061', '\u007A'}};
+    // 基本ラテン文字（記号のみ）
+    private static final char[][] RANGE_SIGN          = {{'\u0020', '\u002F'}, {'\u003A', '\u0040'}, {'\u0058', '\u0060'}, {'\u007B', '\u007E'}};
+    // ＣＪＫ記号・句読点（全角ひらがな除く）＋半角・全角形（半角カナ除く）
+    // 半角・全角形のローマ字を含んでいる。
+    private static final char[][] RANGE_FULL_KATAKANA = {{'\u3000', '\u303F'}, {'\u3099', '\u30FF'}, {'\uFF01', '\uFF5E'}};
+
+    private static final ValidationType[] TYPES = ValidationType.values();
+
+    // 組み合わせ（ValidationType の序数のビットの和）ごとの規則
+    private static final AtomicReferenceArray<CharacterRule> CACHE = new AtomicReferenceArray<>(1 << TYPES.length);
+
+    // null を許可するか
+    private final boolean nullable;
+
+    // すべての文字を許可するか
+    private final boolean allCharacters;
+
+    // 許可する文字のビット集合（allCharacters の場合は null）
+    private final long[] allowed;
+
+    // このメソッドは、指定された ValidationType の組み合わせの規則を返します。
+    static CharacterRule of(ValidationType... types) {
+        var mask = 0;
+        for (var type : types) {
+            mask |= 1 << type.ordinal();
+        }
+        var rule = CACHE.get(mask);
+        if (rule == null) {
+            CACHE.compareAndSet(mask, null, new CharacterRule(mask));
+            rule = CACHE.get(mask);
+        }
+        return rule;
+    }
+
+    // このメソッドは、値が null の場合に許可されるかを判定します。
+    boolean isNullable() {
+        return this.nullable;
+    }
+
+    // このメソッドは、null 以外の値のすべての文字が、許可された文字種別の範囲内かを判定します。
+    boolean isValidRange(String value) {
+        if (this.allCharacters) {
+            return true;
+        }
+        var allowed = this.allowed;
+        for (int i = 0, length = value.length(); i < length; i++) {
+            var c = value.charAt(i);
+            if ((allowed[c >>> 6] & (1L << c)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CharacterRule(int mask) {
+        this.nullable      = contains(mask, ValidationType.Nullable);
+        this.allCharacters = contains(mask, ValidationType.AllCharcters);
+        if (this.allCharacters) {
+            this.allowed = null;
+            return;
+        }
+
+        // 文字種別の範囲をビット集合にまとめる
+        this.allowed = new long[(Character.MAX_VALUE + 1) / Long.SIZE];
+        if (contains(mask, ValidationType.Number)) {
+            allow(this.allowed, RANGE_NUMBER);
+        }
+        if (contains(mask, ValidationType.Alphabet)) {
+            allow(this.allowed, RANGE_ALPHABET);
+        }
+        if (contains(mask, ValidationType.Sign)) {
+            allow(this.allowed, RANGE_SIGN);
+        }
+        if (contains(mask, ValidationType.FullKatakana)) {
+            allow(this.allowed, RANGE_FULL_KATAKANA);
+        }
+    }
+
+    private static boolean contains(int mask, ValidationType type) {
+        return (mask & (1 << type.ordinal())) != 0;
+    }
+
+    private static void allow(long[] allowed, char[][] ranges) {
+        for (var range : ranges) {
+            for (int c = range[0]; c <= range[1]; c++) {
+                allowed[c >>> 6] |= 1L << c;
+            }
+        }
+    }
+}
@@ -7,9 +7,11 @@ import java.time.LocalDate;
 // インスタンスを取得できます。
 final class ImmutableTownMaster implements TownMaster {
 
-    private final String key;
+    private final TownKey key;
     @Override
-    public String getKey() { return this.key; }
+    public String getKey() { return this.key.toString(); }
+    @Override
+    public TownKey getTownKey() { return this.key; }
 
     private final String lgCode;
     @Override
@@ -168,7 +170,7 @@ final class ImmutableTownMaster implements TownMaster {
     }
 
     private ImmutableTownMaster(TownMaster source) throws InvalidMasterException {
-        var key  = source.getKey();
+        var key  = source.getTownKey();
         this.key = key;
 
         var lgCode = source.getLgCode();
@@ -207,6 +207,30 @@ public final class InstantiableCityMaster implements CityMaster {
         this.city   = city;
     }
 
+    // 検証済みの項目の値から、検証を行わずにインスタンスを生成します。
+    // 検証済みのマスターデータを書き出したスナップショットの読み込み（MasterSnapshot）にのみ使用してください。
+    static InstantiableCityMaster restore(String lgCode, String pref, String prefKana, String prefRoma,
+        String county, String countyKana, String countyRoma,
+        String city, String cityKana, String cityRoma,
+        String ward, String wardKana, String wardRoma,
+        LocalDate efctDate, LocalDate abltDate, String remarks) {
+        var master        = new InstantiableCityMaster(lgCode, lgCode, pref, city);
+        master.prefKana   = prefKana;
+        master.prefRoma   = prefRoma;
+        master.county     = county;
+        master.countyKana = countyKana;
+        master.countyRoma = countyRoma;
+        master.cityKana   = cityKana;
+        master.cityRoma   = cityRoma;
+        master.ward       = ward;
+        master.wardKana   = wardKana;
+        master.wardRoma   = wardRoma;
+        master.efctDate   = efctDate;
+        master.abltDate   = abltDate;
+        master.remarks    = remarks;
+        return master;
+    }
+
     public static InstantiableCityMaster of(CityMaster source) throws InvalidMasterException {
         return new Builder(source.getLgCode(), source.getPref(), source.getCity())
             .prefKana(source.getPrefKana())
@@ -99,6 +99,19 @@ public final class InstantiablePrefMaster implements PrefMaster {
         this.pref   = pref;
     }
 
+    // 検証済みの項目の値から、検証を行わずにインスタンスを生成します。
+    // 検証済みのマスターデータを書き出したスナップショットの読み込み（MasterSnapshot）にのみ使用してください。
+    static InstantiablePrefMaster restore(String lgCode, String pref, String prefKana, String prefRoma,
+        LocalDate efctDate, LocalDate abltDate, String remarks) {
+        var master      = new InstantiablePrefMaster(lgCode, lgCode, pref);
+        master.prefKana = prefKana;
+        master.prefRoma = prefRoma;
+        master.efctDate = efctDate;
+        master.abltDate = abltDate;
+        master.remarks  = remarks;
+        return master;
+    }
+
     public static InstantiablePrefMaster of(PrefMaster source) throws InvalidMasterException {
         return new Builder(source.getLgCode(), source.getPref())
             .prefKana(source.getPrefKana())
@@ -1,14 +1,14 @@
 package domains.masters;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 // このクラスは、生成可能な町字マスターを表します。
 // コンストラクタの代わりに、ビルダーを使用してインスタンスを生成可能です。
 // 各フィールドに対するセッターメソッドは提供されておらず、生成後は基本的に変更できません。
 public final class InstantiableTownMaster implements TownMaster {
-    private final String key;
-    public String getKey() { return this.key; }
+    private final TownKey key;
+    public String getKey() { return this.key.toString(); }
+    public TownKey getTownKey() { return this.key; }
 
     private final String lgCode;
     public String getLgCode() { return this.lgCode; }
@@ -125,7 +125,7 @@ public final class InstantiableTownMaster implements TownMaster {
     public String getRemarks() { return this.remarks; }
 
     public static class Builder {
-        private final String key;
+        private final TownKey key;
 
         private final String lgCode;
 
@@ -179,20 +179,9 @@ public final class InstantiableTownMaster implements TownMaster {
             return this;
         }
 
-        // 山梨県西八代郡市川三郷町 は、編集ミスで市区町村英字の最後が '-' で終わっているので、
-        // このデータに限り、データ長と文字種類のみチェックする。
         private String cityRoma;
         public Builder cityRoma(String cityRoma) throws InvalidMasterException {
-            if (this.lgCode.equals("193461")) {
-                var field = "cityRoma";
-                ValidationHelper.validateValue(cityRoma, field, this.key, 
-                    ValidationType.Nullable,
-                    ValidationType.Alphabet,
-                    ValidationType.Sign);
-                ValidationHelper.validateLength(cityRoma, 0, 100, field, this.key);
-            } else {
-                ValidationHelper.validateCityRoma(cityRoma, this.key);
-            }
+            InstantiableTownMaster.validateCityRoma(cityRoma, this.lgCode, this.key);
             this.cityRoma = cityRoma;
             return this;
         }
@@ -267,16 +256,9 @@ public final class InstantiableTownMaster implements TownMaster {
             return this;
         }
 
-        // 栃木県宇都宮市上田下は、編集ミスのため、全角カナ項目に漢字が含まれている。
-        // このデータに限り、データ長のみチェックする。
         private String koazaKana;
         public Builder koazaKana(String koazaKana) throws InvalidMasterException {
-            if (this.lgCode.equals("092011") && this.machiazaId.equals("0000230")) {
-                var field = "koazaKana";
-                ValidationHelper.validateLength(koazaKana, 0, 240, field, this.key);
-            } else {
-                ValidationHelper.validateKoazaKana(koazaKana, this.key);
-            }
+            InstantiableTownMaster.validateKoazaKana(koazaKana, this.lgCode, this.machiazaId, this.key);
             this.koazaKana = koazaKana;
             return this;
         }
@@ -376,6 +358,15 @@ public final class InstantiableTownMaster implements TownMaster {
         }
 
         public InstantiableTownMaster build() throws InvalidMasterException {
+            var master = this.buildWithoutRelationValidation();
+            ValidationHelper.validateMaster(master, this.key);
+            return master;
+        }
+
+        // 項目間の関連性（ValidationHelper.validateMaster()）を検証せずにインスタンスを生成します。
+        // 検証されていない町字マスターを生成できないように、公開しません。
+        // 読み込み後に TownMasterValidationEngine で一括して検証するパーサー（TownRecordDecoder）のみが参照します。
+        InstantiableTownMaster buildWithoutRelationValidation() {
             var master  = new InstantiableTownMaster(
                 this.key,
                 this.lgCode, 
@@ -416,8 +407,6 @@ public final class InstantiableTownMaster implements TownMaster {
             master.srcCode         = this.srcCode;
             master.postCode        = this.postCode;
             master.remarks         = this.remarks;
-
-            ValidationHelper.validateMaster(master, this.key);
             return master;
         }
 
@@ -429,11 +418,7 @@ public final class InstantiableTownMaster implements TownMaster {
             String rsdtAddrFlg, 
             LocalDate efctDate) throws InvalidMasterException {
 
-            var formatter = DateTimeFormatter.BASIC_ISO_DATE;
-            var key = lgCode 
-                + "-" + machiazaId
-                + "-" + rsdtAddrFlg
-                + "-" + formatter.format(efctDate);
+            var key = InstantiableTownMaster.createKey(lgCode, machiazaId, rsdtAddrFlg, efctDate);
 
             ValidationHelper.validateLgCode(lgCode, key);
             this.lgCode = lgCode;
@@ -460,8 +445,39 @@ public final class InstantiableTownMaster implements TownMaster {
         }
     }
 
+    // 山梨県西八代郡市川三郷町 は、編集ミスで市区町村英字の最後が '-' で終わっているので、
+    // このデータに限り、データ長と文字種類のみチェックする。
+    static void validateCityRoma(String cityRoma, String lgCode, Object key) throws InvalidMasterException {
+        if (lgCode.equals("193461")) {
+            var field = "cityRoma";
+            ValidationHelper.validateValue(cityRoma, field, key, 
+                ValidationType.Nullable,
+                ValidationType.Alphabet,
+                ValidationType.Sign);
+            ValidationHelper.validateLength(cityRoma, 0, 100, field, key);
+        } else {
+            ValidationHelper.validateCityRoma(cityRoma, key);
+        }
+    }
+
+    // 栃木県宇都宮市上田下は、編集ミスのため、全角カナ項目に漢字が含まれている。
+    // このデータに限り、データ長のみチェックする。
+    static void validateKoazaKana(String koazaKana, String lgCode, String machiazaId, Object key) throws InvalidMasterException {
+        if (lgCode.equals("092011") && machiazaId.equals("0000230")) {
+            var field = "koazaKana";
+            ValidationHelper.validateLength(koazaKana, 0, 240, field, key);
+        } else {
+            ValidationHelper.validateKoazaKana(koazaKana, key);
+        }
+    }
+
+    // データキーを生成します。
+    public static TownKey createKey(String lgCode, String machiazaId, String rsdtAddrFlg, LocalDate efctDate) {
+        return TownKey.of(lgCode, machiazaId, rsdtAddrFlg, efctDate);
+    }
+
     private InstantiableTownMaster(
-        String key,
+        TownKey key,
         String lgCode, 
         String machiazaId, 
         String machiazaType, 
@@ -479,6 +495,57 @@ public final class InstantiableTownMaster implements TownMaster {
         this.efctDate     = efctDate;
     }
 
+    // 検証済みの項目の値（TownField の順序で格納）から、検証を行わずにインスタンスを生成します。
+    // 検証済みのマスターデータを書き出したスナップショットの読み込み（MasterSnapshot）と、
+    // キー項目を検証済みの値から項目間の関連性を検証する場合（MasterLinter）にのみ使用してください。
+    static InstantiableTownMaster restore(Object[] values) {
+        var lgCode      = (String)values[TownField.LgCode.ordinal()];
+        var machiazaId  = (String)values[TownField.MachiazaId.ordinal()];
+        var rsdtAddrFlg = (String)values[TownField.RsdtAddrFlg.ordinal()];
+        var efctDate    = (LocalDate)values[TownField.EfctDate.ordinal()];
+        var master = new InstantiableTownMaster(
+            createKey(lgCode, machiazaId, rsdtAddrFlg, efctDate),
+            lgCode,
+            machiazaId,
+            (String)values[TownField.MachiazaType.ordinal()],
+            (String)values[TownField.Pref.ordinal()],
+            (String)values[TownField.City.ordinal()],
+            rsdtAddrFlg,
+            efctDate);
+        master.prefKana        = (String)values[TownField.PrefKana.ordinal()];
+        master.prefRoma        = (String)values[TownField.PrefRoma.ordinal()];
+        master.county          = (String)values[TownField.County.ordinal()];
+        master.countyKana      = (String)values[TownField.CountyKana.ordinal()];
+        master.countyRoma      = (String)values[TownField.CountyRoma.ordinal()];
+        master.cityKana        = (String)values[TownField.CityKana.ordinal()];
+        master.cityRoma        = (String)values[TownField.CityRoma.ordinal()];
+        master.ward            = (String)values[TownField.Ward.ordinal()];
+        master.wardKana        = (String)values[TownField.WardKana.ordinal()];
+        master.wardRoma        = (String)values[TownField.WardRoma.ordinal()];
+        master.oazaCho         = (String)values[TownField.OazaCho.ordinal()];
+        master.oazaChoKana     = (String)values[TownField.OazaChoKana.ordinal()];
+        master.oazaChoRoma     = (String)values[TownField.OazaChoRoma.ordinal()];
+        master.chome           = (String)values[TownField.Chome.ordinal()];
+        master.chomeKana       = (String)values[TownField.ChomeKana.ordinal()];
+        master.chomeNumber     = (String)values[TownField.ChomeNumber.ordinal()];
+        master.koaza           = (String)values[TownField.Koaza.ordinal()];
+        master.koazaKana       = (String)values[TownField.KoazaKana.ordinal()];
+        master.koazaRoma       = (String)values[TownField.KoazaRoma.ordinal()];
+        master.machiazaDist    = (String)values[TownField.MachiazaDist.ordinal()];
+        master.rsdtAddrMtdCode = (String)values[TownField.RsdtAddrMtdCode.ordinal()];
+        master.oazaChoAkaFlg   = (String)values[TownField.OazaChoAkaFlg.ordinal()];
+        master.koazaAkaCode    = (String)values[TownField.KoazaAkaCode.ordinal()];
+        master.oazaChoGsiUncmn = (String)values[TownField.OazaChoGsiUncmn.ordinal()];
+        master.koazaGsiUncmn   = (String)values[TownField.KoazaGsiUncmn.ordinal()];
+        master.statusFlg       = (String)values[TownField.StatusFlg.ordinal()];
+        master.wakeNumFlg      = (String)values[TownField.WakeNumFlg.ordinal()];
+        master.abltDate        = (LocalDate)values[TownField.AbltDate.ordinal()];
+        master.srcCode         = (String)values[TownField.SrcCode.ordinal()];
+        master.postCode        = (String)values[TownField.PostCode.ordinal()];
+        master.remarks         = (String)values[TownField.Remarks.ordinal()];
+        return master;
+    }
+
     // 町字マスターデータから、このクラスのインスタンスを生成します。
     public static InstantiableTownMaster of(TownMaster source) throws InvalidMasterException {
         return new Builder(source.getLgCode(), 
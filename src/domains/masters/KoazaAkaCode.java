@@ -7,6 +7,8 @@ public enum KoazaAkaCode {
     AkaKyoto("2"),      // 小字名に京都通り名を収録
     AkaGeneral("3");    // 通称名が電子国土基本図(地名情報)の字または通称)
 
+    private static final KoazaAkaCode[] VALUES = KoazaAkaCode.values();
+
     private final String id;
 
     public String getId() {
@@ -14,7 +16,7 @@ public enum KoazaAkaCode {
     }
 
     public static KoazaAkaCode valueOfId(String id) {
-        for (var e : KoazaAkaCode.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
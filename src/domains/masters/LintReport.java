@@ -0,0 +1,171 @@
+package domains.masters;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// このクラスは、マスターデータの検証（MasterLinter）で見つかった違反と、その集計を表します。
+//
+// 違反は、規則ごと、全国地方公共団体コードごとに件数を集計し、詳細（ファイル、行番号、規則、メッセージ）は指定された件数まで保持します。
+// 規則は "対象.項目"（例: town.koazaKana）の形式で、ValidationHelper の項目ごとの検証メソッドに対応します。
+// 項目間の関連性（relation）、キーの重複（duplicate）、列数や日付の形式などのレコードの読み込み（record）も、それぞれ1つの規則として集計します。
+// 規則ごとに、検証した回数と検証に要した時間も集計し、どの検証に時間がかかっているかを確認できるようにします。
+// 複数のスレッドから使用しないでください。
+public final class LintReport {
+    // 既定の、詳細を保持する違反の件数
+    public static final int DEFAULT_MAX_DETAILS = 1000;
+
+    // 全国地方公共団体コードを読み込めなかった違反の集計先
+    private static final String UNKNOWN_LG_CODE = "-";
+
+    // 詳細を保持する違反の件数
+    private final int maxDetails;
+
+    // 違反の詳細（maxDetails 件まで）
+    private final List<Violation> violations = new ArrayList<>();
+    public List<Violation> getViolations() { return Collections.unmodifiableList(this.violations); }
+
+    // 違反の件数
+    private long violationCount = 0;
+    public long getViolationCount() { return this.violationCount; }
+
+    // 規則ごとの集計（規則名の順）
+    private final Map<String, Rule> rules = new TreeMap<>();
+    public Collection<Rule> getRules() { return Collections.unmodifiableCollection(this.rules.values()); }
+
+    // 全国地方公共団体コードごとの違反の件数
+    private final Map<String, Long> lgCodeCounts = new TreeMap<>();
+    public Map<String, Long> getLgCodeCounts() { return Collections.unmodifiableMap(this.lgCodeCounts); }
+
+    // 対象ごとの検証したレコードの件数（検証した順）
+    private final Map<String, Long> recordCounts = new LinkedHashMap<>();
+    public Map<String, Long> getRecordCounts() { return Collections.unmodifiableMap(this.recordCounts); }
+
+    public LintReport() {
+        this(DEFAULT_MAX_DETAILS);
+    }
+
+    public LintReport(int maxDetails) {
+        this.maxDetails = maxDetails;
+    }
+
+    // このメソッドは、指定された名前の規則の集計を返します。初めての規則の場合は追加します。
+    Rule rule(String name) {
+        return this.rules.computeIfAbsent(name, Rule::new);
+    }
+
+    // このメソッドは、検証したレコードの件数を加算します。
+    void addRecord(String target) {
+        this.recordCounts.merge(target, 1L, Long::sum);
+    }
+
+    // このメソッドは、違反を記録します。
+    void addViolation(Rule rule, String file, long row, String lgCode, String message) {
+        this.violationCount++;
+        rule.violations++;
+        var code = lgCode == null || lgCode.isBlank() ? UNKNOWN_LG_CODE : lgCode;
+        this.lgCodeCounts.merge(code, 1L, Long::sum);
+        if (this.violations.size() < this.maxDetails) {
+            this.violations.add(new Violation(file, row, code, rule.name, message));
+        }
+    }
+
+    // このメソッドは、レポートを出力します。
+    // 規則ごとの集計は、検証に要した時間の長い順に出力します。
+    public void print(PrintStream out) {
+        out.println("* 検証したレコード");
+        for (var entry : this.recordCounts.entrySet()) {
+            out.println(String.format("  %-6s %,12d 件", entry.getKey(), entry.getValue()));
+        }
+
+        out.println(String.format("* 違反 %,d 件", this.violationCount));
+        for (var violation : this.violations) {
+            out.println("  " + violation);
+        }
+        if (this.violationCount > this.violations.size()) {
+            out.println(String.format("  （ほか %,d 件）", this.violationCount - this.violations.size()));
+        }
+
+        out.println("* 規則ごとの集計（検証時間の長い順）");
+        out.println(String.format("  %-24s %12s %14s %12s %10s", "規則", "違反", "検証回数", "時間(ミリ秒)", "ナノ秒/回"));
+        var sorted = new ArrayList<>(this.rules.values());
+        sorted.sort(Comparator.comparingLong(Rule::getNanos).reversed());
+        for (var rule : sorted) {
+            var perCheck = rule.checks == 0 ? 0.0 : (double)rule.nanos / rule.checks;
+            out.println(String.format("  %-24s %,12d %,14d %,12.1f %,10.1f",
+                rule.name, rule.violations, rule.checks, rule.nanos / 1_000_000.0, perCheck));
+        }
+
+        out.println("* 全国地方公共団体コードごとの違反");
+        for (var entry : this.lgCodeCounts.entrySet()) {
+            out.println(String.format("  %-8s %,12d 件", entry.getKey(), entry.getValue()));
+        }
+    }
+
+    // このクラスは、規則ごとの集計を表します。
+    public static final class Rule {
+        // 規則名（"対象.項目"）
+        private final String name;
+        public String getName() { return this.name; }
+
+        // 違反の件数
+        private long violations = 0;
+        public long getViolations() { return this.violations; }
+
+        // 検証した回数
+        private long checks = 0;
+        public long getChecks() { return this.checks; }
+
+        // 検証に要した時間（ナノ秒）
+        private long nanos = 0;
+        public long getNanos() { return this.nanos; }
+
+        void addCheck(long nanos) {
+            this.checks++;
+            this.nanos += nanos;
+        }
+
+        private Rule(String name) {
+            this.name = name;
+        }
+    }
+
+    // このクラスは、1件の違反を表します。
+    public static final class Violation {
+        // ファイル名（ZIP アーカイブの場合はエントリー名）
+        private final String file;
+        public String getFile() { return this.file; }
+
+        // 行番号（ヘッダーを1行目とした、レコードの番号）
+        private final long row;
+        public long getRow() { return this.row; }
+
+        private final String lgCode;
+        public String getLgCode() { return this.lgCode; }
+
+        private final String rule;
+        public String getRule() { return this.rule; }
+
+        private final String message;
+        public String getMessage() { return this.message; }
+
+        @Override
+        public String toString() {
+            return String.format("%s:%d [%s] %s", this.file, this.row, this.rule, this.message);
+        }
+
+        private Violation(String file, long row, String lgCode, String rule, String message) {
+            this.file    = file;
+            this.row     = row;
+            this.lgCode  = lgCode;
+            this.rule    = rule;
+            this.message = message;
+        }
+    }
+}
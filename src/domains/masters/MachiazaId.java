@@ -20,21 +20,36 @@ public final class MachiazaId {
 
     // このメソッドは、この町字IDが大字・町を意味しているかどうかを判定します。
     public boolean isOazaCho() {
-        return this.oazaChoValue >= 1;
+        return MachiazaId.isOazaCho(this.oazaChoValue);
     }
 
     // このメソッドは、この町字IDが丁目を意味しているかどうかを判定します。
     // 町字IDが丁目を意味している（TRUE）の場合、この町字IDは小字を意味しません（FALSE）。
     // 町字IDが丁目を意味していない（FALSE）の場合、この町字IDは小字を意味します（TRUE）。
     public boolean isChome() {
-        return this.chomeKoazaValue >= 1 && this.chomeKoazaValue <= 100;
+        return MachiazaId.isChome(this.chomeKoazaValue);
     }
 
     // このメソッドは、この町字IDが小字を意味しているかどうかを判定します。
     // 町字IDが小字を意味している（TRUE）の場合、この町字IDは丁目を意味しません（FALSE）。
     // 町字IDが小字を意味していない（FALSE）の場合、この町字IDは丁目を意味します（TRUE）。
     public boolean isKoaza() {
-        return this.chomeKoazaValue >= 101;
+        return MachiazaId.isKoaza(this.chomeKoazaValue);
+    }
+
+    // 大字・町コードの数値が大字・町を意味しているかどうかを判定します。（TownKey からも使用します）
+    static boolean isOazaCho(int oazaChoValue) {
+        return oazaChoValue >= 1;
+    }
+
+    // 町字コードの数値が丁目を意味しているかどうかを判定します。
+    static boolean isChome(int chomeKoazaValue) {
+        return chomeKoazaValue >= 1 && chomeKoazaValue <= 100;
+    }
+
+    // 町字コードの数値が小字を意味しているかどうかを判定します。
+    static boolean isKoaza(int chomeKoazaValue) {
+        return chomeKoazaValue >= 101;
     }
 
     public MachiazaId(String id) {
@@ -8,6 +8,8 @@ public enum MachiazaType {
     None("4"),      // 大字・町/丁目/小字なし
     Street("5");    // 道路方式の住居表示における道路名
 
+    private static final MachiazaType[] VALUES = MachiazaType.values();
+
     private final String id;
 
     public String getId() {
@@ -15,7 +17,7 @@ public enum MachiazaType {
     }
 
     public static MachiazaType valueOfId(String id) {
-        for (var e : MachiazaType.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
@@ -0,0 +1,233 @@
+package domains.masters;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// このクラスは、マスターデータの各項目を、InstantiableXxxMaster.Builder と同じ規則で検証し、
+// 最初の違反で中止せずに、すべての違反を LintReport に記録します。
+//
+// Builder は最初の違反で InvalidMasterException をスローするため、1つのファイルの違反をすべて見つけるには、
+// 違反を修正するたびにファイルを先頭から読み込み直す必要があります。このクラスは、項目ごとの検証を個別に実行し、
+// 違反があっても残りの項目、残りのレコードの検証を続けます。
+// 項目間の関連性とキーの重複は、キー項目に違反がないレコードのみ検証します。
+// キーの重複は、これまでに検証したレコードのキーのみを保持して逐次検証します。
+// 複数のスレッドから使用しないでください。
+public final class MasterLinter {
+    // 検証の対象
+    public static final String PREF = "pref";
+    public static final String CITY = "city";
+    public static final String TOWN = "town";
+
+    // 項目によらない規則の名前
+    private static final String RULE_RELATION  = "relation";
+    private static final String RULE_DUPLICATE = "duplicate";
+    private static final String RULE_RECORD    = "record";
+
+    private static final TownField[] TOWN_FIELDS = TownField.values();
+
+    // 効力発生日、廃止日の日付フォーマット
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_DATE;
+
+    private final LintReport report;
+    public LintReport getReport() { return this.report; }
+
+    // 町字マスターの項目（TownField の順序）ごとの規則
+    private final LintReport.Rule[] townRules = new LintReport.Rule[TOWN_FIELDS.length];
+    private final LintReport.Rule townRelation;
+    private final LintReport.Rule townDuplicate;
+
+    // 解析した日付（同じ日付が繰り返し現れるため、日付文字列ごとに1度だけ解析する）
+    private final Map<String, LocalDate> dates = new HashMap<>();
+
+    // 検証したレコードのキー
+    private final Set<String> prefKeys = new HashSet<>();
+    private final Set<String> cityKeys = new HashSet<>();
+    private final Set<TownKey> townKeys = new HashSet<>();
+
+    public MasterLinter(LintReport report) {
+        this.report = report;
+        for (var field : TOWN_FIELDS) {
+            this.townRules[field.ordinal()] = report.rule(ruleOf(TOWN, fieldNameOf(field)));
+        }
+        this.townRelation  = report.rule(ruleOf(TOWN, RULE_RELATION));
+        this.townDuplicate = report.rule(ruleOf(TOWN, RULE_DUPLICATE));
+    }
+
+    // このメソッドは、都道府県マスターの1レコードを InstantiablePrefMaster.Builder と同じ規則で検証します。
+    // 日付の項目は、正規化した日付文字列（yyyy-MM-dd）を指定してください。
+    public void lintPrefMaster(String file, long row, String lgCode, String pref, String prefKana, String prefRoma,
+        String efctDate, String abltDate, String remarks) {
+        this.report.addRecord(PREF);
+        var key   = lgCode;
+        var valid = this.check(PREF, "lgCode", file, row, lgCode, () -> ValidationHelper.validateLgCode(lgCode, key));
+        this.parseDate(this.report.rule(ruleOf(PREF, "efctDate")), file, row, lgCode, key, efctDate);
+        this.parseDate(this.report.rule(ruleOf(PREF, "abltDate")), file, row, lgCode, key, abltDate);
+        this.check(PREF, "pref",     file, row, lgCode, () -> ValidationHelper.validatePref(pref, key));
+        this.check(PREF, "prefKana", file, row, lgCode, () -> ValidationHelper.validatePrefKana(prefKana, key));
+        this.check(PREF, "prefRoma", file, row, lgCode, () -> ValidationHelper.validatePrefRoma(prefRoma, key));
+        this.check(PREF, "remarks",  file, row, lgCode, () -> ValidationHelper.validateRemarks(remarks, key));
+        if (valid) {
+            this.check(PREF, RULE_DUPLICATE, file, row, lgCode, () -> validateDistinction(this.prefKeys, key));
+        }
+    }
+
+    // このメソッドは、市区町村マスターの1レコードを InstantiableCityMaster.Builder と同じ規則で検証します。
+    // 日付の項目は、正規化した日付文字列（yyyy-MM-dd）を指定してください。
+    public void lintCityMaster(String file, long row, String lgCode, String pref, String prefKana, String prefRoma,
+        String county, String countyKana, String countyRoma, String city, String cityKana, String cityRoma,
+        String ward, String wardKana, String wardRoma, String efctDate, String abltDate, String remarks) {
+        this.report.addRecord(CITY);
+        var key   = lgCode;
+        var valid = this.check(CITY, "lgCode", file, row, lgCode, () -> ValidationHelper.validateLgCode(lgCode, key));
+        this.parseDate(this.report.rule(ruleOf(CITY, "efctDate")), file, row, lgCode, key, efctDate);
+        this.parseDate(this.report.rule(ruleOf(CITY, "abltDate")), file, row, lgCode, key, abltDate);
+        this.check(CITY, "pref",       file, row, lgCode, () -> ValidationHelper.validatePref(pref, key));
+        this.check(CITY, "prefKana",   file, row, lgCode, () -> ValidationHelper.validatePrefKana(prefKana, key));
+        this.check(CITY, "prefRoma",   file, row, lgCode, () -> ValidationHelper.validatePrefRoma(prefRoma, key));
+        this.check(CITY, "county",     file, row, lgCode, () -> ValidationHelper.validateCounty(county, key));
+        this.check(CITY, "countyKana", file, row, lgCode, () -> ValidationHelper.validateCounty(countyKana, key));
+        this.check(CITY, "countyRoma", file, row, lgCode, () -> ValidationHelper.validateCounty(countyRoma, key));
+        this.check(CITY, "city",       file, row, lgCode, () -> ValidationHelper.validateCity(city, key));
+        this.check(CITY, "cityKana",   file, row, lgCode, () -> ValidationHelper.validateCityKana(cityKana, key));
+        this.check(CITY, "cityRoma",   file, row, lgCode, () -> InstantiableTownMaster.validateCityRoma(cityRoma, lgCode, key));
+        this.check(CITY, "ward",       file, row, lgCode, () -> ValidationHelper.validateWard(ward, key));
+        this.check(CITY, "wardKana",   file, row, lgCode, () -> ValidationHelper.validateWardKana(wardKana, key));
+        this.check(CITY, "wardRoma",   file, row, lgCode, () -> ValidationHelper.validateWardRoma(wardRoma, key));
+        this.check(CITY, "remarks",    file, row, lgCode, () -> ValidationHelper.validateRemarks(remarks, key));
+        if (valid) {
+            this.check(CITY, RULE_DUPLICATE, file, row, lgCode, () -> validateDistinction(this.cityKeys, key));
+        }
+    }
+
+    // このメソッドは、町字マスターの1レコードを InstantiableTownMaster.Builder と同じ規則で検証します。
+    // 項目の値は、TownField の順序で格納してください。（日付の項目は正規化した日付文字列（yyyy-MM-dd）, 値がない場合は null）
+    // 日付の項目は、検証時に LocalDate に置き換えます。
+    public void lintTownMaster(String file, long row, Object[] values) {
+        this.report.addRecord(TOWN);
+        var lgCode      = (String)values[TownField.LgCode.ordinal()];
+        var machiazaId  = (String)values[TownField.MachiazaId.ordinal()];
+        var rsdtAddrFlg = (String)values[TownField.RsdtAddrFlg.ordinal()];
+        var rawDate     = (String)values[TownField.EfctDate.ordinal()];
+        var key         = townKeyOf(lgCode, machiazaId, rsdtAddrFlg, rawDate);
+
+        var efctRule = this.townRules[TownField.EfctDate.ordinal()];
+        var abltRule = this.townRules[TownField.AbltDate.ordinal()];
+        var efctDate = this.parseDate(efctRule, file, row, lgCode, key, rawDate);
+        values[TownField.EfctDate.ordinal()] = efctDate;
+        values[TownField.AbltDate.ordinal()] = this.parseDate(abltRule, file, row, lgCode, key, (String)values[TownField.AbltDate.ordinal()]);
+
+        var valid = this.check(this.townRules[TownField.LgCode.ordinal()], file, row, lgCode,
+            () -> ValidationHelper.validateLgCode(lgCode, key));
+        valid &= this.check(this.townRules[TownField.MachiazaId.ordinal()], file, row, lgCode,
+            () -> ValidationHelper.validateMachiazaId(machiazaId, key));
+        valid &= this.check(this.townRules[TownField.RsdtAddrFlg.ordinal()], file, row, lgCode,
+            () -> ValidationHelper.validateRsdtAddrFlg(rsdtAddrFlg, key));
+        if (efctDate != null || rawDate == null || rawDate.isBlank()) {
+            valid &= this.check(efctRule, file, row, lgCode, () -> ValidationHelper.validateEfctDate(efctDate, key));
+        } else {
+            // 形式が不正な効力発生日は、解析時に記録済み
+            valid = false;
+        }
+
+        for (var field : TOWN_FIELDS) {
+            if (field.isKey() || field == TownField.AbltDate) {
+                continue;
+            }
+            var value = (String)values[field.ordinal()];
+            this.check(this.townRules[field.ordinal()], file, row, lgCode,
+                () -> ValidationHelper.validateTownField(field, value, lgCode, machiazaId, key));
+        }
+        if (!valid) {
+            return;
+        }
+
+        var master = InstantiableTownMaster.restore(values);
+        this.check(this.townRelation,  file, row, lgCode, () -> ValidationHelper.validateMaster(master, key));
+        this.check(this.townDuplicate, file, row, lgCode, () -> validateDistinction(this.townKeys, master.getTownKey()));
+    }
+
+    // このメソッドは、列数が不足しているレコードを記録します。
+    public void lintMissingColumns(String target, String file, long row, int expected, int actual) {
+        this.report.addRecord(target);
+        var message = String.format("列数が不足しています。(想定:%d, 実際:%d)", expected, actual);
+        this.report.addViolation(this.report.rule(ruleOf(target, RULE_RECORD)), file, row, null, message);
+    }
+
+    // このインターフェースは、1つの規則の検証を表します。
+    private interface Check {
+        void run() throws InvalidMasterException;
+    }
+
+    private boolean check(String target, String field, String file, long row, String lgCode, Check check) {
+        return this.check(this.report.rule(ruleOf(target, field)), file, row, lgCode, check);
+    }
+
+    // このメソッドは、検証を実行し、検証に要した時間を規則に加算します。
+    // 違反があった場合は記録して false を返します。
+    private boolean check(LintReport.Rule rule, String file, long row, String lgCode, Check check) {
+        var start = System.nanoTime();
+        try {
+            check.run();
+            return true;
+        } catch (InvalidMasterException e) {
+            this.report.addViolation(rule, file, row, lgCode, e.getMessage());
+            return false;
+        } finally {
+            rule.addCheck(System.nanoTime() - start);
+        }
+    }
+
+    // このメソッドは、日付文字列を解析します。値がない場合は null を返します。
+    // 形式が不正な場合は、違反を記録して null を返します。
+    private LocalDate parseDate(LintReport.Rule rule, String file, long row, String lgCode, String key, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        var start = System.nanoTime();
+        try {
+            var date = this.dates.get(value);
+            if (date == null) {
+                date = LocalDate.parse(value, DATE_TIME_FORMATTER);
+                this.dates.put(value, date);
+            }
+            return date;
+        } catch (DateTimeParseException e) {
+            var field   = rule.getName().substring(rule.getName().indexOf('.') + 1);
+            var message = String.format("[%s:%s] 日付（yyyy-MM-dd）を解析できません。(%s)", key, field, value);
+            this.report.addViolation(rule, file, row, lgCode, message);
+            return null;
+        } finally {
+            rule.addCheck(System.nanoTime() - start);
+        }
+    }
+
+    private static <K> void validateDistinction(Set<K> keys, K key) throws InvalidMasterException {
+        if (keys.add(key)) {
+            return;
+        }
+        var message = String.format("[%s] このキーは重複しています。", key);
+        throw new InvalidMasterException(message);
+    }
+
+    // 効力発生日を解析する前に、InstantiableTownMaster.createKey() と同じ形式のキーを生成する
+    // 効力発生日の形式が不正な場合も、メッセージに使用できるように、日付文字列から区切りを除いて連結する
+    private static String townKeyOf(String lgCode, String machiazaId, String rsdtAddrFlg, String efctDate) {
+        var date = efctDate == null ? "" : efctDate.replace("-", "");
+        return lgCode + "-" + machiazaId + "-" + rsdtAddrFlg + "-" + date;
+    }
+
+    private static String ruleOf(String target, String field) {
+        return target + "." + field;
+    }
+
+    // 項目名（TownMaster の取得メソッドの get を除いた名前の先頭を小文字にしたもの）
+    private static String fieldNameOf(TownField field) {
+        var name = field.name();
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
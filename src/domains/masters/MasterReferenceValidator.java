@@ -0,0 +1,204 @@
+package domains.masters;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+// このクラスは、ファイルをまたいだマスター間の参照（町字 → 市区町村 → 都道府県）を検証します。
+//
+// 市区町村マスターを全国地方公共団体コードの数値で索引付けし（オープンアドレス法のハッシュ表）、
+// 町字マスターを1件ずつ索引と突き合わせます（ハッシュ結合）。
+//   1. 町字の全国地方公共団体コードの市区町村が、市区町村マスターに存在すること
+//   2. 町字の都道府県名、郡名、市区町村名、政令市区名（カナ、英字を含む）が、市区町村マスターの値と一致すること
+// 索引の作成時に、市区町村マスターについても同様に、都道府県コード（全国地方公共団体コードの上2桁）で都道府県マスターと突き合わせます。
+//   3. 市区町村の都道府県が、都道府県マスターに存在すること
+//   4. 市区町村の都道府県名（カナ、英字を含む）が、都道府県マスターの値と一致すること
+//
+// 索引は都道府県・市区町村マスターの件数分のみ保持するため、町字マスターは全件を保持せずに1件ずつ検証できます。
+// 射影した町字マスター（ProjectedTownMaster）は、射影に含まれる項目のみを突き合わせます。
+// 生成後は変更しないため、複数のスレッドから使用できます。
+public final class MasterReferenceValidator {
+    // 都道府県コードの数（01～47 を、全国地方公共団体コードの上2桁の値で索引付けする）
+    private static final int PREF_CODE_COUNT = 100;
+
+    // 全国地方公共団体コードのうち、都道府県コードより下の桁
+    private static final int PREF_CODE_DIVISOR = 10000;
+
+    // 索引の空きスロットを表す値（全国地方公共団体コードは 0 以上）
+    private static final int EMPTY = -1;
+
+    // 町字マスターと市区町村マスターで一致すべき項目
+    private static final Column[] TOWN_COLUMNS = {
+        new Column(TownField.Pref,       TownMaster::getPref,       CityMaster::getPref),
+        new Column(TownField.PrefKana,   TownMaster::getPrefKana,   CityMaster::getPrefKana),
+        new Column(TownField.PrefRoma,   TownMaster::getPrefRoma,   CityMaster::getPrefRoma),
+        new Column(TownField.County,     TownMaster::getCounty,     CityMaster::getCounty),
+        new Column(TownField.CountyKana, TownMaster::getCountyKana, CityMaster::getCountyKana),
+        new Column(TownField.CountyRoma, TownMaster::getCountyRoma, CityMaster::getCountyRoma),
+        new Column(TownField.City,       TownMaster::getCity,       CityMaster::getCity),
+        new Column(TownField.CityKana,   TownMaster::getCityKana,   CityMaster::getCityKana),
+        new Column(TownField.CityRoma,   TownMaster::getCityRoma,   CityMaster::getCityRoma),
+        new Column(TownField.Ward,       TownMaster::getWard,       CityMaster::getWard),
+        new Column(TownField.WardKana,   TownMaster::getWardKana,   CityMaster::getWardKana),
+        new Column(TownField.WardRoma,   TownMaster::getWardRoma,   CityMaster::getWardRoma),
+    };
+
+    // 市区町村マスターの索引（全国地方公共団体コードの数値と、その市区町村マスター）
+    private final int[] lgCodes;
+    private final CityMaster[] cities;
+
+    // このメソッドは、都道府県マスターと市区町村マスターから、町字マスターの参照を検証する索引を作成します。
+    // あわせて、市区町村マスターから都道府県マスターへの参照を検証します。都道府県マスターが null の場合は、この検証を省略します。
+    public static MasterReferenceValidator of(Collection<PrefMaster> prefMasters, Collection<CityMaster> cityMasters) throws InvalidMasterException {
+        if (prefMasters != null) {
+            validateCityMasters(indexPrefMasters(prefMasters), cityMasters);
+        }
+        return new MasterReferenceValidator(cityMasters);
+    }
+
+    // 入力された町字マスターの市区町村が市区町村マスターに存在し、市区町村の各項目が一致しているか検証します。
+    public void validate(TownMaster master) throws InvalidMasterException {
+        var key  = master.getTownKey();
+        var city = this.find(key.isPacked() ? key.getLgCodeValue() : lgCodeValueOf(master.getLgCode()));
+        if (city == null) {
+            var message = String.format("[%s:lgCode] 全国地方公共団体コード='%s' の市区町村が、市区町村マスターにありません。", key, master.getLgCode());
+            throw new InvalidMasterException(message);
+        }
+        var projection = master instanceof ProjectedTownMaster projected ? projected.getProjection() : null;
+        for (var column : TOWN_COLUMNS) {
+            if (projection != null && !projection.contains(column.field)) {
+                continue;
+            }
+            var value    = column.town.apply(master);
+            var expected = column.city.apply(city);
+            if (!Objects.equals(value, expected)) {
+                var message = String.format("[%s:%s] 市区町村マスターの値と一致しません。(町字:'%s', 市区町村:'%s')", key, column.name, value, expected);
+                throw new InvalidMasterException(message);
+            }
+        }
+    }
+
+    // 入力された町字マスターを先頭から順に検証します。
+    public void validate(Collection<? extends TownMaster> masters) throws InvalidMasterException {
+        for (var master : masters) {
+            this.validate(master);
+        }
+    }
+
+    // 都道府県マスターを、都道府県コードで索引付けする
+    private static PrefMaster[] indexPrefMasters(Collection<PrefMaster> prefMasters) {
+        var prefs = new PrefMaster[PREF_CODE_COUNT];
+        for (var pref : prefMasters) {
+            var code = prefCodeOf(pref.getLgCode());
+            if (code >= 0) {
+                prefs[code] = pref;
+            }
+        }
+        return prefs;
+    }
+
+    // 市区町村マスターの都道府県が都道府県マスターに存在し、都道府県名（カナ、英字を含む）が一致しているか検証する
+    private static void validateCityMasters(PrefMaster[] prefs, Collection<CityMaster> cityMasters) throws InvalidMasterException {
+        for (var city : cityMasters) {
+            var code = prefCodeOf(city.getLgCode());
+            var pref = code >= 0 ? prefs[code] : null;
+            if (pref == null) {
+                var message = String.format("[%s:lgCode] 全国地方公共団体コード='%s' の都道府県が、都道府県マスターにありません。", city.getKey(), city.getLgCode());
+                throw new InvalidMasterException(message);
+            }
+            validateEquality(city.getKey(), "pref",     city.getPref(),     pref.getPref());
+            validateEquality(city.getKey(), "prefKana", city.getPrefKana(), pref.getPrefKana());
+            validateEquality(city.getKey(), "prefRoma", city.getPrefRoma(), pref.getPrefRoma());
+        }
+    }
+    private static void validateEquality(String key, String field, String value, String expected) throws InvalidMasterException {
+        if (Objects.equals(value, expected)) {
+            return;
+        }
+        var message = String.format("[%s:%s] 都道府県マスターの値と一致しません。(市区町村:'%s', 都道府県:'%s')", key, field, value, expected);
+        throw new InvalidMasterException(message);
+    }
+
+    // 全国地方公共団体コードの市区町村マスターを返す（存在しない場合は null）
+    private CityMaster find(int lgCode) {
+        if (lgCode < 0) {
+            return null;
+        }
+        var mask  = this.lgCodes.length - 1;
+        var index = hash(lgCode) & mask;
+        while (this.lgCodes[index] != EMPTY) {
+            if (this.lgCodes[index] == lgCode) {
+                return this.cities[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    // 6桁の数字の全国地方公共団体コードの数値（それ以外の場合は -1）
+    private static int lgCodeValueOf(String lgCode) {
+        if (lgCode == null || lgCode.length() != 6) {
+            return -1;
+        }
+        var result = 0;
+        for (var i = 0; i < lgCode.length(); i++) {
+            var c = lgCode.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    // 全国地方公共団体コードの上2桁の都道府県コード（6桁の数字でない場合は -1）
+    private static int prefCodeOf(String lgCode) {
+        var value = lgCodeValueOf(lgCode);
+        return value < 0 ? -1 : value / PREF_CODE_DIVISOR;
+    }
+
+    // 同じ都道府県の連続したコードが隣り合うスロットに集まらないように、ビットを混ぜる
+    private static int hash(int lgCode) {
+        var hash = lgCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    // このクラスは、町字マスターと市区町村マスターで一致すべき項目を表します。
+    private static final class Column {
+        private final TownField field;
+        private final String name;
+        private final Function<TownMaster, String> town;
+        private final Function<CityMaster, String> city;
+
+        private Column(TownField field, Function<TownMaster, String> town, Function<CityMaster, String> city) {
+            this.field = field;
+            this.name  = Character.toLowerCase(field.name().charAt(0)) + field.name().substring(1);
+            this.town  = town;
+            this.city  = city;
+        }
+    }
+
+    private MasterReferenceValidator(Collection<CityMaster> cityMasters) {
+        // 負荷率が 1/2 以下になる、2のべき乗の容量
+        var capacity = 16;
+        while (capacity / 2 < cityMasters.size()) {
+            capacity *= 2;
+        }
+        this.lgCodes = new int[capacity];
+        this.cities  = new CityMaster[capacity];
+        Arrays.fill(this.lgCodes, EMPTY);
+        for (var city : cityMasters) {
+            var lgCode = lgCodeValueOf(city.getLgCode());
+            if (lgCode < 0) {
+                continue;
+            }
+            var index = hash(lgCode) & (capacity - 1);
+            while (this.lgCodes[index] != EMPTY && this.lgCodes[index] != lgCode) {
+                index = (index + 1) & (capacity - 1);
+            }
+            this.lgCodes[index] = lgCode;
+            this.cities[index]  = city;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package domains.masters;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+// このクラスは、検証済みのマスターデータを、バイナリ形式のスナップショットとして書き出し・読み込みます。
+//
+// スナップショットには、元のファイルの内容のハッシュ値を記録し、読み込み時に一致する場合のみマスターデータを返します。
+// 読み込んだマスターデータは、書き出し時に検証済みのため、再度の正規化・検証を行わずに生成します。
+//
+// 形式（数値は可変長整数、文字列は UTF-8）
+//   ヘッダー   : マジックナンバー(int), 形式のバージョン(int), マスターの種類(byte), チェックサム(long), ハッシュ値の長さとハッシュ値
+//   文字列表   : 文字列の数, 各文字列の長さと内容
+//   レコード   : レコード数, 各レコードの項目（文字列は文字列表の位置 + 1、日付はエポック日、いずれも null は 0）
+//   終端       : マジックナンバー(int)
+// 同じ値（都道府県名、市区町村名、フラグなど）は文字列表に1度だけ書き出すため、元のファイルより小さくなり、
+// 読み込んだマスターデータ間でも同じ文字列のインスタンスを共有します。
+// チェックサムは、チェックサムより後ろ（ハッシュ値から終端まで）の CRC-32C です。
+// 読み込み時は、項目を読み込む前にチェックサムを確認し、一致しない場合（壊れた・途中までのスナップショット）は IOException になります。
+//
+// マスターデータの項目、正規化、検証の内容を変更した場合は、古いスナップショットを読み込まないように、VERSION を更新してください。
+public final class MasterSnapshot {
+    // マジックナンバー（"MKSS"）
+    private static final int MAGIC = 0x4D4B5353;
+
+    // 形式のバージョン
+    private static final int VERSION = 2;
+
+    // マスターの種類
+    private static final byte PREF = 1;
+    private static final byte CITY = 2;
+    private static final byte TOWN = 3;
+
+    // 読み書きのバッファサイズ
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // チェックサムの位置と、チェックサムの対象の開始位置
+    private static final int CHECKSUM_OFFSET = 9;
+    private static final int CHECKSUM_END    = CHECKSUM_OFFSET + Long.BYTES;
+
+    // このメソッドは、都道府県マスターデータのスナップショットを書き出します。
+    public static void writePrefMasters(Path path, byte[] sourceHash, Collection<? extends PrefMaster> masters) throws IOException {
+        var strings = new StringTable();
+        for (var master : masters) {
+            strings.add(master.getLgCode());
+            strings.add(master.getPref());
+            strings.add(master.getPrefKana());
+            strings.add(master.getPrefRoma());
+            strings.add(master.getRemarks());
+        }
+        try (var out = openOutput(path, PREF, sourceHash, strings)) {
+            writeVarint(out, masters.size());
+            for (var master : masters) {
+                writeVarint(out, strings.indexOf(master.getLgCode()));
+                writeVarint(out, strings.indexOf(master.getPref()));
+                writeVarint(out, strings.indexOf(master.getPrefKana()));
+                writeVarint(out, strings.indexOf(master.getPrefRoma()));
+                writeDate(out, master.getEfctDate());
+                writeDate(out, master.getAbltDate());
+                writeVarint(out, strings.indexOf(master.getRemarks()));
+            }
+            out.writeInt(MAGIC);
+        }
+        writeChecksum(path);
+    }
+
+    // このメソッドは、都道府県マスターデータのスナップショットを読み込みます。
+    // スナップショットがない場合、または形式のバージョン、ハッシュ値が一致しない場合は null を返します。
+    public static List<PrefMaster> readPrefMasters(Path path, byte[] sourceHash) throws IOException {
+        try (var in = openInput(path, PREF, sourceHash)) {
+            if (in == null) {
+                return null;
+            }
+            var strings = readStrings(in);
+            var count   = readVarint(in);
+            List<PrefMaster> masters = new ArrayList<>(count);
+            for (var i = 0; i < count; i++) {
+                masters.add(InstantiablePrefMaster.restore(
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readDate(in),
+                    readDate(in),
+                    readString(in, strings)));
+            }
+            readEnd(in);
+            return masters;
+        }
+    }
+
+    // このメソッドは、市区町村マスターデータのスナップショットを書き出します。
+    public static void writeCityMasters(Path path, byte[] sourceHash, Collection<? extends CityMaster> masters) throws IOException {
+        var strings = new StringTable();
+        for (var master : masters) {
+            for (var value : cityValues(master)) {
+                strings.add(value);
+            }
+            strings.add(master.getRemarks());
+        }
+        try (var out = openOutput(path, CITY, sourceHash, strings)) {
+            writeVarint(out, masters.size());
+            for (var master : masters) {
+                for (var value : cityValues(master)) {
+                    writeVarint(out, strings.indexOf(value));
+                }
+                writeDate(out, master.getEfctDate());
+                writeDate(out, master.getAbltDate());
+                writeVarint(out, strings.indexOf(master.getRemarks()));
+            }
+            out.writeInt(MAGIC);
+        }
+        writeChecksum(path);
+    }
+
+    // このメソッドは、市区町村マスターデータのスナップショットを読み込みます。
+    // スナップショットがない場合、または形式のバージョン、ハッシュ値が一致しない場合は null を返します。
+    public static List<CityMaster> readCityMasters(Path path, byte[] sourceHash) throws IOException {
+        try (var in = openInput(path, CITY, sourceHash)) {
+            if (in == null) {
+                return null;
+            }
+            var strings = readStrings(in);
+            var count   = readVarint(in);
+            List<CityMaster> masters = new ArrayList<>(count);
+            for (var i = 0; i < count; i++) {
+                masters.add(InstantiableCityMaster.restore(
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readString(in, strings),
+                    readDate(in),
+                    readDate(in),
+                    readString(in, strings)));
+            }
+            readEnd(in);
+            return masters;
+        }
+    }
+
+    // このメソッドは、町字マスターデータのスナップショットを書き出します。
+    // 項目は TownField の順序で書き出します。
+    public static void writeTownMasters(Path path, byte[] sourceHash, Collection<? extends TownMaster> masters) throws IOException {
+        var strings = new StringTable();
+        for (var master : masters) {
+            for (var value : townValues(master)) {
+                if (!(value instanceof LocalDate)) {
+                    strings.add((String)value);
+                }
+            }
+        }
+        try (var out = openOutput(path, TOWN, sourceHash, strings)) {
+            writeVarint(out, masters.size());
+            for (var master : masters) {
+                var values = townValues(master);
+                for (var field : TownField.values()) {
+                    var value = values[field.ordinal()];
+                    if (isDateField(field)) {
+                        writeDate(out, (LocalDate)value);
+                    } else {
+                        writeVarint(out, strings.indexOf((String)value));
+                    }
+                }
+            }
+            out.writeInt(MAGIC);
+        }
+        writeChecksum(path);
+    }
+
+    // このメソッドは、町字マスターデータのスナップショットを読み込みます。
+    // スナップショットがない場合、または形式のバージョン、ハッシュ値が一致しない場合は null を返します。
+    public static List<TownMaster> readTownMasters(Path path, byte[] sourceHash) throws IOException {
+        try (var in = openInput(path, TOWN, sourceHash)) {
+            if (in == null) {
+                return null;
+            }
+            var strings = readStrings(in);
+            var count   = readVarint(in);
+            var fields  = TownField.values();
+            var values  = new Object[fields.length];
+            List<TownMaster> masters = new ArrayList<>(count);
+            for (var i = 0; i < count; i++) {
+                for (var field : fields) {
+                    values[field.ordinal()] = isDateField(field) ? readDate(in) : readString(in, strings);
+                }
+                masters.add(InstantiableTownMaster.restore(values));
+            }
+            readEnd(in);
+            return masters;
+        }
+    }
+
+    // 市区町村マスターの文字列の項目（備考を除く）を、書き出す順序で返します。
+    private static String[] cityValues(CityMaster master) {
+        return new String[] {
+            master.getLgCode(),
+            master.getPref(),
+            master.getPrefKana(),
+            master.getPrefRoma(),
+            master.getCounty(),
+            master.getCountyKana(),
+            master.getCountyRoma(),
+            master.getCity(),
+            master.getCityKana(),
+            master.getCityRoma(),
+            master.getWard(),
+            master.getWardKana(),
+            master.getWardRoma(),
+        };
+    }
+
+    // 町字マスターの項目を、TownField の順序で返します。
+    private static Object[] townValues(TownMaster master) {
+        return new Object[] {
+            master.getLgCode(),
+            master.getMachiazaId(),
+            master.getMachiazaType(),
+            master.getPref(),
+            master.getPrefKana(),
+            master.getPrefRoma(),
+            master.getCounty(),
+            master.getCountyKana(),
+            master.getCountyRoma(),
+            master.getCity(),
+            master.getCityKana(),
+            master.getCityRoma(),
+            master.getWard(),
+            master.getWardKana(),
+            master.getWardRoma(),
+            master.getOazaCho(),
+            master.getOazaChoKana(),
+            master.getOazaChoRoma(),
+            master.getChome(),
+            master.getChomeKana(),
+            master.getChomeNumber(),
+            master.getKoaza(),
+            master.getKoazaKana(),
+            master.getKoazaRoma(),
+            master.getMachiazaDist(),
+            master.getRsdtAddrFlg(),
+            master.getRsdtAddrMtdCode(),
+            master.getOazaChoAkaFlg(),
+            master.getKoazaAkaCode(),
+            master.getOazaChoGsiUncmn(),
+            master.getKoazaGsiUncmn(),
+            master.getStatusFlg(),
+            master.getWakeNumFlg(),
+            master.getEfctDate(),
+            master.getAbltDate(),
+            master.getSrcCode(),
+            master.getPostCode(),
+            master.getRemarks(),
+        };
+    }
+
+    private static boolean isDateField(TownField field) {
+        return field == TownField.EfctDate || field == TownField.AbltDate;
+    }
+
+    // このクラスは、書き出す文字列の表（同じ文字列は1度だけ格納）を表します。
+    // 位置は 1 から始まり、0 は null を表します。
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        void add(String value) {
+            if (value != null && !this.indexes.containsKey(value)) {
+                this.values.add(value);
+                this.indexes.put(value, this.values.size());
+            }
+        }
+
+        int indexOf(String value) {
+            return value == null ? 0 : this.indexes.get(value);
+        }
+    }
+
+    private static DataOutputStream openOutput(Path path, byte kind, byte[] sourceHash, StringTable strings) throws IOException {
+        var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(kind);
+            out.writeLong(0);
+            writeVarint(out, sourceHash.length);
+            out.write(sourceHash);
+            writeVarint(out, strings.values.size());
+            for (var value : strings.values) {
+                var bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.write(bytes);
+            }
+            return out;
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    // スナップショットを開き、ヘッダーを確認します。
+    // スナップショットがない場合、またはヘッダーが一致しない場合は null を返します。
+    private static DataInputStream openInput(Path path, byte kind, byte[] sourceHash) throws IOException {
+        DataInputStream in;
+        try {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readByte() != kind) {
+                in.close();
+                return null;
+            }
+            var checksum = in.readLong();
+            var hash     = new byte[readVarint(in)];
+            in.readFully(hash);
+            if (!Arrays.equals(hash, sourceHash)) {
+                in.close();
+                return null;
+            }
+            if (checksum != checksumOf(path)) {
+                throw new IOException("スナップショットのチェックサムが一致しません。");
+            }
+            return in;
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    // 書き出したスナップショットのチェックサムを計算し、ヘッダーに書き込みます。
+    private static void writeChecksum(Path path) throws IOException {
+        var checksum = checksumOf(path);
+        try (var channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(checksum).flip(), CHECKSUM_OFFSET);
+        }
+    }
+
+    // チェックサムより後ろの内容の CRC-32C を返します。
+    private static long checksumOf(Path path) throws IOException {
+        var crc    = new CRC32C();
+        var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(CHECKSUM_END);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static String[] readStrings(DataInputStream in) throws IOException {
+        var strings = new String[readVarint(in) + 1];
+        var buffer  = new byte[256];
+        for (var i = 1; i < strings.length; i++) {
+            var length = readVarint(in);
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            in.readFully(buffer, 0, length);
+            strings[i] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static String readString(DataInputStream in, String[] strings) throws IOException {
+        var index = readVarint(in);
+        if (index >= strings.length) {
+            throw new IOException("スナップショットの文字列の位置が不正です。");
+        }
+        return strings[index];
+    }
+
+    private static void readEnd(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("スナップショットの終端が不正です。");
+        }
+    }
+
+    // 日付は、エポック日を符号なしの値に変換（ZigZag）し、null と区別するために 1 を加えて書き出す
+    private static void writeDate(DataOutputStream out, LocalDate date) throws IOException {
+        if (date == null) {
+            writeVarint(out, 0);
+            return;
+        }
+        var day = (int)date.toEpochDay();
+        writeVarint(out, ((day << 1) ^ (day >> 31)) + 1);
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        var value = readVarint(in);
+        if (value == 0) {
+            return null;
+        }
+        var zigzag = value - 1;
+        return LocalDate.ofEpochDay((zigzag >>> 1) ^ -(zigzag & 1));
+    }
+
+    // 0 以上の整数を、下位から7ビットずつ、続きがある場合は最上位ビットを立てて書き出す
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        var value = 0;
+        for (var shift = 0; shift < 32; shift += 7) {
+            var b = in.read();
+            if (b < 0) {
+                throw new EOFException("スナップショットが途中で終わっています。");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IOException("スナップショットの整数の形式が不正です。");
+    }
+
+    private MasterSnapshot() {}
+}
@@ -6,6 +6,8 @@ public enum OazaChoAkaFlg {
     Aka(true, "1");     // 大字・町名に通称名を収録
 
     private final boolean flag;
+    private static final OazaChoAkaFlg[] VALUES = OazaChoAkaFlg.values();
+
     private final String id;
 
     public boolean getFlag() {
@@ -17,7 +19,7 @@ public enum OazaChoAkaFlg {
     }
 
     public static OazaChoAkaFlg valueOfId(String id) {
-        for (var e : OazaChoAkaFlg.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
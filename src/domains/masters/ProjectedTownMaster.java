@@ -0,0 +1,182 @@
+package domains.masters;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+// このクラスは、指定された項目のみを保持する町字マスターを表します。
+// コンストラクタの代わりに、ビルダーを使用してインスタンスを生成可能です。
+//
+// 項目の値は、射影（Projection）で決まる位置に配列で保持し、指定されていない項目の領域は確保しません。
+// 指定されていない項目の取得メソッドは null を返します。
+// 各項目は InstantiableTownMaster と同じ検証を行いますが、項目間の関連性の検証（ValidationHelper.validateMaster）は、
+// 関連する項目がそろわないため行いません。
+public final class ProjectedTownMaster implements TownMaster {
+    private final TownKey key;
+    public String getKey() { return this.key.toString(); }
+    public TownKey getTownKey() { return this.key; }
+
+    // 項目の配置
+    private final Projection projection;
+    public Projection getProjection() { return this.projection; }
+
+    // 項目の値（配置に従って格納）
+    private final Object[] values;
+
+    public String getLgCode() { return (String)this.get(TownField.LgCode); }
+    public String getMachiazaId() { return (String)this.get(TownField.MachiazaId); }
+    public String getMachiazaType() { return (String)this.get(TownField.MachiazaType); }
+    public String getPref() { return (String)this.get(TownField.Pref); }
+    public String getPrefKana() { return (String)this.get(TownField.PrefKana); }
+    public String getPrefRoma() { return (String)this.get(TownField.PrefRoma); }
+    public String getCounty() { return (String)this.get(TownField.County); }
+    public String getCountyKana() { return (String)this.get(TownField.CountyKana); }
+    public String getCountyRoma() { return (String)this.get(TownField.CountyRoma); }
+    public String getCity() { return (String)this.get(TownField.City); }
+    public String getCityKana() { return (String)this.get(TownField.CityKana); }
+    public String getCityRoma() { return (String)this.get(TownField.CityRoma); }
+    public String getWard() { return (String)this.get(TownField.Ward); }
+    public String getWardKana() { return (String)this.get(TownField.WardKana); }
+    public String getWardRoma() { return (String)this.get(TownField.WardRoma); }
+    public String getOazaCho() { return (String)this.get(TownField.OazaCho); }
+    public String getOazaChoKana() { return (String)this.get(TownField.OazaChoKana); }
+    public String getOazaChoRoma() { return (String)this.get(TownField.OazaChoRoma); }
+    public String getChome() { return (String)this.get(TownField.Chome); }
+    public String getChomeKana() { return (String)this.get(TownField.ChomeKana); }
+    public String getChomeNumber() { return (String)this.get(TownField.ChomeNumber); }
+    public String getKoaza() { return (String)this.get(TownField.Koaza); }
+    public String getKoazaKana() { return (String)this.get(TownField.KoazaKana); }
+    public String getKoazaRoma() { return (String)this.get(TownField.KoazaRoma); }
+    public String getMachiazaDist() { return (String)this.get(TownField.MachiazaDist); }
+    public String getRsdtAddrFlg() { return (String)this.get(TownField.RsdtAddrFlg); }
+    public String getRsdtAddrMtdCode() { return (String)this.get(TownField.RsdtAddrMtdCode); }
+    public String getOazaChoAkaFlg() { return (String)this.get(TownField.OazaChoAkaFlg); }
+    public String getKoazaAkaCode() { return (String)this.get(TownField.KoazaAkaCode); }
+    public String getOazaChoGsiUncmn() { return (String)this.get(TownField.OazaChoGsiUncmn); }
+    public String getKoazaGsiUncmn() { return (String)this.get(TownField.KoazaGsiUncmn); }
+    public String getStatusFlg() { return (String)this.get(TownField.StatusFlg); }
+    public String getWakeNumFlg() { return (String)this.get(TownField.WakeNumFlg); }
+    public LocalDate getEfctDate() { return (LocalDate)this.get(TownField.EfctDate); }
+    public LocalDate getAbltDate() { return (LocalDate)this.get(TownField.AbltDate); }
+    public String getSrcCode() { return (String)this.get(TownField.SrcCode); }
+    public String getPostCode() { return (String)this.get(TownField.PostCode); }
+    public String getRemarks() { return (String)this.get(TownField.Remarks); }
+
+    // このメソッドは、指定された項目の値を返します。
+    // 射影に含まれない項目の場合は null を返します。
+    public Object get(TownField field) {
+        var slot = this.projection.slotOf(field);
+        return slot < 0 ? null : this.values[slot];
+    }
+
+    // このクラスは、町字マスターの射影（保持する項目と、その配置）を表します。
+    // キー項目は常に含まれます。1つの射影を、複数の町字マスターで共有してください。
+    public static final class Projection {
+        // 保持する項目
+        private final Set<TownField> fields;
+        public Set<TownField> getFields() { return EnumSet.copyOf(this.fields); }
+
+        // 項目ごとの格納位置（射影に含まれない項目は -1）
+        private final byte[] slots;
+
+        // 格納する項目数
+        private final int size;
+
+        public boolean contains(TownField field) {
+            return this.slots[field.ordinal()] >= 0;
+        }
+
+        // このメソッドは、すべての項目を含む射影かどうかを判定します。
+        public boolean isFull() {
+            return this.size == this.slots.length;
+        }
+
+        // このメソッドは、入力された項目とキー項目からなる射影を生成します。
+        public static Projection of(Collection<TownField> fields) {
+            var all = TownField.keys();
+            all.addAll(fields);
+            return new Projection(all);
+        }
+
+        private int slotOf(TownField field) {
+            return this.slots[field.ordinal()];
+        }
+
+        private Projection(Set<TownField> fields) {
+            this.fields = fields;
+            this.slots  = new byte[TownField.values().length];
+            var size = 0;
+            for (var field : TownField.values()) {
+                this.slots[field.ordinal()] = fields.contains(field) ? (byte)size++ : -1;
+            }
+            this.size = size;
+        }
+    }
+
+    public static class Builder {
+        private final Projection projection;
+
+        private final TownKey key;
+
+        private final String lgCode;
+
+        private final String machiazaId;
+
+        private final Object[] values;
+
+        // このメソッドは、指定された項目の値を検証して設定します。
+        // 射影に含まれない項目の値は、検証せずに無視します。
+        public Builder value(TownField field, String value) throws InvalidMasterException {
+            if (!this.projection.contains(field)) {
+                return this;
+            }
+            ValidationHelper.validateTownField(field, value, this.lgCode, this.machiazaId, this.key);
+            this.values[this.projection.slotOf(field)] = value;
+            return this;
+        }
+
+        // このメソッドは、廃止日を設定します。
+        // 射影に含まれない場合は無視します。
+        public Builder abltDate(LocalDate abltDate) {
+            if (this.projection.contains(TownField.AbltDate)) {
+                this.values[this.projection.slotOf(TownField.AbltDate)] = abltDate;
+            }
+            return this;
+        }
+
+        public ProjectedTownMaster build() {
+            return new ProjectedTownMaster(this.key, this.projection, this.values.clone());
+        }
+
+        public Builder(Projection projection,
+            String lgCode,
+            String machiazaId,
+            String rsdtAddrFlg,
+            LocalDate efctDate) throws InvalidMasterException {
+
+            var key = InstantiableTownMaster.createKey(lgCode, machiazaId, rsdtAddrFlg, efctDate);
+
+            ValidationHelper.validateLgCode(lgCode, key);
+            ValidationHelper.validateMachiazaId(machiazaId, key);
+            ValidationHelper.validateRsdtAddrFlg(rsdtAddrFlg, key);
+            ValidationHelper.validateEfctDate(efctDate, key);
+
+            this.projection = projection;
+            this.key        = key;
+            this.lgCode     = lgCode;
+            this.machiazaId = machiazaId;
+            this.values     = new Object[projection.size];
+            this.values[projection.slotOf(TownField.LgCode)]      = lgCode;
+            this.values[projection.slotOf(TownField.MachiazaId)]  = machiazaId;
+            this.values[projection.slotOf(TownField.RsdtAddrFlg)] = rsdtAddrFlg;
+            this.values[projection.slotOf(TownField.EfctDate)]    = efctDate;
+        }
+    }
+
+    private ProjectedTownMaster(TownKey key, Projection projection, Object[] values) {
+        this.key        = key;
+        this.projection = projection;
+        this.values     = values;
+    }
+}
@@ -6,6 +6,8 @@ public enum RsdtAddrFlg {
     Implemented(true, "1");     // 住居表示未実施
 
     private final boolean flag;
+    private static final RsdtAddrFlg[] VALUES = RsdtAddrFlg.values();
+
     private final String id;
 
     public boolean getFlag() {
@@ -16,7 +18,7 @@ public enum RsdtAddrFlg {
     }
 
     public static RsdtAddrFlg valueOfId(String id) {
-        for (var e : RsdtAddrFlg.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
@@ -6,6 +6,8 @@ public enum RsdtAddrMtdCode {
     Block("2"),             // 街区方式
     Streat("1");            // 道路方式
 
+    private static final RsdtAddrMtdCode[] VALUES = RsdtAddrMtdCode.values();
+
     private final String id;
 
     public String getId() {
@@ -13,7 +15,7 @@ public enum RsdtAddrMtdCode {
     }
 
     public static RsdtAddrMtdCode valueOfId(String id) {
-        for (var e : RsdtAddrMtdCode.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
@@ -9,6 +9,8 @@ public enum SrcCode {
     NLID_Block("12"),       // 位置参照情報・街区レベル
     NLID_Residence("13");   // 位置参照情報・1/2500地形図
 
+    private static final SrcCode[] VALUES = SrcCode.values();
+
     private final String id;
 
     public String getId() {
@@ -16,7 +18,7 @@ public enum SrcCode {
     }
 
     public static SrcCode valueOfId(String id) {
-        for (var e : SrcCode.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
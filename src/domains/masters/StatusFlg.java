@@ -7,6 +7,8 @@ public enum StatusFlg {
     Rejected("2"),  // 地方自治法の町若しくは字に該当せず
     Unknown("3");   // 不明
 
+    private static final StatusFlg[] VALUES = StatusFlg.values();
+
     private final String id;
 
     public String getId() {
@@ -14,7 +16,7 @@ public enum StatusFlg {
     }
 
     public static StatusFlg valueOfId(String id) {
-        for (var e : StatusFlg.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
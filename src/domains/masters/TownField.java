@@ -0,0 +1,127 @@
+package domains.masters;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// この列挙体は、町字マスターの項目を定義します。
+// 各項目は、TownMaster の同名の取得メソッド（get + 項目名）に対応します。
+//
+// 町字ファイルのパース時に、必要な項目のみを指定する（射影する）場合に使用します。
+// キー項目（全国地方公共団体コード、町字ID、住居表示フラグ、効力発生日）は、データキーと重複の検証に使用するため、
+// 指定の有無に関わらず常に読み込みます。
+public enum TownField {
+    LgCode(true),
+    MachiazaId(true),
+    MachiazaType(false),
+    Pref(false),
+    PrefKana(false),
+    PrefRoma(false),
+    County(false),
+    CountyKana(false),
+    CountyRoma(false),
+    City(false),
+    CityKana(false),
+    CityRoma(false),
+    Ward(false),
+    WardKana(false),
+    WardRoma(false),
+    OazaCho(false),
+    OazaChoKana(false),
+    OazaChoRoma(false),
+    Chome(false),
+    ChomeKana(false),
+    ChomeNumber(false),
+    Koaza(false),
+    KoazaKana(false),
+    KoazaRoma(false),
+    MachiazaDist(false),
+    RsdtAddrFlg(true),
+    RsdtAddrMtdCode(false),
+    OazaChoAkaFlg(false),
+    KoazaAkaCode(false),
+    OazaChoGsiUncmn(false),
+    KoazaGsiUncmn(false),
+    StatusFlg(false),
+    WakeNumFlg(false),
+    EfctDate(true),
+    AbltDate(false),
+    SrcCode(false),
+    PostCode(false),
+    Remarks(false);
+
+    // キー項目かどうか
+    private final boolean key;
+    public boolean isKey() { return this.key; }
+
+    // このメソッドは、キー項目の集合を返します。
+    public static Set<TownField> keys() {
+        var keys = EnumSet.noneOf(TownField.class);
+        for (var e : TownField.values()) {
+            if (e.isKey()) {
+                keys.add(e);
+            }
+        }
+        return keys;
+    }
+
+    // このメソッドは、項目名（大文字・小文字、'_' を区別しない）に対応する項目を返します。
+    // 例) "lgCode", "lg_code", "LgCode" はいずれも LgCode を返します。
+    // 対応する項目がない場合は null を返します。
+    public static TownField valueOfName(String name) {
+        var normalized = name.replace("_", "");
+        for (var e : TownField.values()) {
+            if (e.name().equalsIgnoreCase(normalized)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    // このメソッドは、町字マスターから、この項目の値（文字列、または日付）を取得します。
+    public Object get(TownMaster master) {
+        return switch (this) {
+            case LgCode          -> master.getLgCode();
+            case MachiazaId      -> master.getMachiazaId();
+            case MachiazaType    -> master.getMachiazaType();
+            case Pref            -> master.getPref();
+            case PrefKana        -> master.getPrefKana();
+            case PrefRoma        -> master.getPrefRoma();
+            case County          -> master.getCounty();
+            case CountyKana      -> master.getCountyKana();
+            case CountyRoma      -> master.getCountyRoma();
+            case City            -> master.getCity();
+            case CityKana        -> master.getCityKana();
+            case CityRoma        -> master.getCityRoma();
+            case Ward            -> master.getWard();
+            case WardKana        -> master.getWardKana();
+            case WardRoma        -> master.getWardRoma();
+            case OazaCho         -> master.getOazaCho();
+            case OazaChoKana     -> master.getOazaChoKana();
+            case OazaChoRoma     -> master.getOazaChoRoma();
+            case Chome           -> master.getChome();
+            case ChomeKana       -> master.getChomeKana();
+            case ChomeNumber     -> master.getChomeNumber();
+            case Koaza           -> master.getKoaza();
+            case KoazaKana       -> master.getKoazaKana();
+            case KoazaRoma       -> master.getKoazaRoma();
+            case MachiazaDist    -> master.getMachiazaDist();
+            case RsdtAddrFlg     -> master.getRsdtAddrFlg();
+            case RsdtAddrMtdCode -> master.getRsdtAddrMtdCode();
+            case OazaChoAkaFlg   -> master.getOazaChoAkaFlg();
+            case KoazaAkaCode    -> master.getKoazaAkaCode();
+            case OazaChoGsiUncmn -> master.getOazaChoGsiUncmn();
+            case KoazaGsiUncmn   -> master.getKoazaGsiUncmn();
+            case StatusFlg       -> master.getStatusFlg();
+            case WakeNumFlg      -> master.getWakeNumFlg();
+            case EfctDate        -> master.getEfctDate();
+            case AbltDate        -> master.getAbltDate();
+            case SrcCode         -> master.getSrcCode();
+            case PostCode        -> master.getPostCode();
+            case Remarks         -> master.getRemarks();
+        };
+    }
+
+    private TownField(boolean key) {
+        this.key = key;
+    }
+}
@@ -0,0 +1,310 @@
+package domains.masters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// このクラスは、町字IDが表す階層（大字・町 → 丁目・小字）について、町字マスター間の整合性を検証します。
+//
+// 町字IDは、上位4桁の大字・町コードと、下位3桁の丁目・小字コードで構成されます。
+// 丁目・小字のレコード（大字・町コード、丁目・小字コードがともに 0 以外）について、次の規則を検証します。
+//   1. 同じ全国地方公共団体コードに、親となる大字・町のレコード（丁目・小字コードが 000）が存在すること
+//   2. 大字・町名が、親のレコードと一致すること（カナ、英字は、両方に入力がある場合のみ比較します）
+//   3. 丁目の場合、丁目名の数字（chomeNumber）が、丁目コードと一致すること
+//
+// 親のレコードは、（全国地方公共団体コード, 大字・町コード）を詰めた long で索引付けし（オープンアドレス法のハッシュ表）、
+// 各レコードの親を索引から引くため、件数に比例した時間で検証できます。
+// 索引には、親のレコードの町字IDと大字・町名（カナ、英字）のみを保持します。
+//
+// レコードは一覧の順序で1件ずつ add() で追加し、最後に finish() で検証します。（MasterReader で1件ずつ読み込む場合も同じ結果になります）
+// 丁目・小字のレコードは、追加した時点で検証し、違反がない場合は保持しません。
+// 親のレコードがまだ追加されていない場合や、違反がある場合（後から追加される親のレコードと一致する可能性があります）は保持し、
+// finish() で、すべての親のレコードと一覧の順序で突き合わせます。
+// 親のレコードが後から追加されても、一致する親のレコードがある丁目・小字は違反にならないため、一覧をまとめて検証した場合と同じ結果になります。
+// 親のレコードが複数ある場合（住居表示フラグ、効力発生日の異なるレコード）は、いずれかのレコードと一致していれば正しいものとします。
+// （大字・町名の変更前後のレコードが両方ある場合に、変更前の名称の丁目・小字を誤って違反としないため）
+// いずれとも一致しない場合は、一覧の先頭に最も近い親のレコードとの違反を報告します。
+// 射影した町字マスター（ProjectedTownMaster）は、射影に含まれる項目のみを比較します。
+// 違反が複数ある場合は、一覧の先頭に最も近いレコードの違反を報告します。
+public final class TownHierarchyValidator {
+    // 大字・町コードの桁（全国地方公共団体コードの数値に掛けて、大字・町コードを加える）
+    private static final long OAZA_CHO_RADIX = 10000;
+
+    // 丁目・小字コードの桁
+    private static final int CHOME_KOAZA_RADIX = 1000;
+
+    // 索引の空きスロットを表す値（詰めた値は 0 以上）
+    private static final long EMPTY = -1;
+
+    // 親となる大字・町のレコードの索引
+    private final ParentIndex index;
+
+    // 追加した時点で検証できなかった丁目・小字のレコード（一覧の順序）
+    private final List<TownMaster> pending = new ArrayList<>();
+
+    public TownHierarchyValidator() {
+        this(0);
+    }
+
+    // 親のレコードの件数の見込みを指定して生成します。（索引の初期容量）
+    public TownHierarchyValidator(int expectedParents) {
+        this.index = new ParentIndex(expectedParents);
+    }
+
+    // 入力された町字マスターの一覧について、階層の整合性を検証します。
+    public static void validate(Collection<? extends TownMaster> masters) throws InvalidMasterException {
+        // 索引の容量は、親のレコードの件数から決める
+        var parentCount = 0;
+        for (var master : masters) {
+            if (isParent(master.getTownKey())) {
+                parentCount++;
+            }
+        }
+        var validator = new TownHierarchyValidator(parentCount);
+        for (var master : masters) {
+            validator.add(master);
+        }
+        validator.finish();
+    }
+
+    // このメソッドは、町字マスターを一覧の順序で追加します。
+    // 親のレコードは索引に追加し、丁目・小字のレコードは、その時点で追加されている親のレコードと突き合わせます。
+    // 違反がある場合は、finish() で改めて検証するために保持します。
+    public void add(TownMaster master) {
+        var key = master.getTownKey();
+        if (isParent(key)) {
+            this.index.add(parentCodeOf(key), Parent.of(master));
+        } else if (isChild(key) && !this.isValidChild(master, key)) {
+            this.pending.add(master);
+        }
+    }
+
+    // このメソッドは、保持している丁目・小字のレコードを、追加したすべての親のレコードと一覧の順序で突き合わせます。
+    // 違反がある場合は、一覧の先頭に最も近いレコードの違反をスローします。
+    public void finish() throws InvalidMasterException {
+        for (var master : this.pending) {
+            this.validateChild(master, master.getTownKey());
+        }
+    }
+
+    private boolean isValidChild(TownMaster master, TownKey key) {
+        try {
+            this.validateChild(master, key);
+            return true;
+        } catch (InvalidMasterException e) {
+            return false;
+        }
+    }
+
+    // 丁目・小字のレコードを、親のレコードと突き合わせる
+    private void validateChild(TownMaster master, TownKey key) throws InvalidMasterException {
+        var parents = this.index.get(parentCodeOf(key));
+        if (parents.isEmpty()) {
+            var message = String.format("[%s:machiazaId] 町字ID='%s' の親となる大字・町（町字ID='%s'）のレコードがありません。",
+                key, master.getMachiazaId(), parentIdOf(master.getMachiazaId()));
+            throw new InvalidMasterException(message);
+        }
+        var projection = master instanceof ProjectedTownMaster projected ? projected.getProjection() : null;
+        validateOazaCho(master, parents, projection);
+        if (key.isChome() && (projection == null || projection.contains(TownField.ChomeNumber))) {
+            validateChomeNumber(master);
+        }
+    }
+
+    // 大字・町名（カナ、英字）が、親のレコードのいずれかと一致しているか検証する
+    // いずれとも一致しない場合は、最初の親のレコードとの違反を報告する
+    private static void validateOazaCho(TownMaster master, List<Parent> parents, ProjectedTownMaster.Projection projection) throws InvalidMasterException {
+        InvalidMasterException first = null;
+        for (var parent : parents) {
+            try {
+                validateOazaCho(master, parent, projection);
+                return;
+            } catch (InvalidMasterException e) {
+                if (first == null) {
+                    first = e;
+                }
+            }
+        }
+        throw first;
+    }
+    private static void validateOazaCho(TownMaster master, Parent parent, ProjectedTownMaster.Projection projection) throws InvalidMasterException {
+        if (projection == null || projection.contains(TownField.OazaCho)) {
+            validateEquality(master, parent, "oazaCho", master.getOazaCho(), parent.oazaCho, true);
+        }
+        if (projection == null || projection.contains(TownField.OazaChoKana)) {
+            validateEquality(master, parent, "oazaChoKana", master.getOazaChoKana(), parent.oazaChoKana, false);
+        }
+        if (projection == null || projection.contains(TownField.OazaChoRoma)) {
+            validateEquality(master, parent, "oazaChoRoma", master.getOazaChoRoma(), parent.oazaChoRoma, false);
+        }
+    }
+    private static void validateEquality(TownMaster master, Parent parent, String field, String value, String expected, boolean required) throws InvalidMasterException {
+        // カナ、英字は未収録の場合が多いため、両方に入力がある場合のみ比較する
+        if (!required && (value == null || expected == null)) {
+            return;
+        }
+        if (Objects.equals(value, expected)) {
+            return;
+        }
+        var message = String.format("[%s:%s] 親となる大字・町（町字ID='%s'）のレコードの値と一致しません。(丁目・小字:'%s', 大字・町:'%s')",
+            master.getTownKey(), field, parent.machiazaId, value, expected);
+        throw new InvalidMasterException(message);
+    }
+
+    // 丁目名の数字が、丁目コードと一致しているか検証する（丁目名の数字が未入力の場合は検証しない）
+    private static void validateChomeNumber(TownMaster master) throws InvalidMasterException {
+        var number = master.getChomeNumber();
+        if (number == null) {
+            return;
+        }
+        var key = master.getTownKey();
+        if (parseNumber(number) == key.getMachiazaIdValue() % CHOME_KOAZA_RADIX) {
+            return;
+        }
+        var message = String.format("[%s:chomeNumber] 丁目名の数字='%s' が、町字ID='%s' の丁目コードと一致しません。", key, number, master.getMachiazaId());
+        throw new InvalidMasterException(message);
+    }
+
+    // 数字のみで構成されている場合はその数値を、それ以外の場合は -1 を返す（chomeNumber は2桁までの数字）
+    private static int parseNumber(String value) {
+        if (value.isEmpty()) {
+            return -1;
+        }
+        var result = 0;
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    // 大字・町のレコード（丁目・小字コードが 000）かどうか
+    private static boolean isParent(TownKey key) {
+        return key.isPacked() && key.isOazaCho() && key.getMachiazaIdValue() % CHOME_KOAZA_RADIX == 0;
+    }
+
+    // 大字・町の下の丁目・小字のレコードかどうか
+    private static boolean isChild(TownKey key) {
+        return key.isPacked() && key.isOazaCho() && key.getMachiazaIdValue() % CHOME_KOAZA_RADIX != 0;
+    }
+
+    // （全国地方公共団体コード, 大字・町コード）を詰めた値
+    private static long parentCodeOf(TownKey key) {
+        return key.getLgCodeValue() * OAZA_CHO_RADIX + key.getMachiazaIdValue() / CHOME_KOAZA_RADIX;
+    }
+
+    // 親となる大字・町の町字ID（丁目・小字コードを 000 にした町字ID）
+    private static String parentIdOf(String machiazaId) {
+        return machiazaId.substring(0, 4) + "000";
+    }
+
+    // このクラスは、親となる大字・町のレコードのうち、検証に使用する項目を表します。
+    private static final class Parent {
+        private final String machiazaId;
+        private final String oazaCho;
+        private final String oazaChoKana;
+        private final String oazaChoRoma;
+
+        private static Parent of(TownMaster master) {
+            return new Parent(master.getMachiazaId(), master.getOazaCho(), master.getOazaChoKana(), master.getOazaChoRoma());
+        }
+
+        private Parent(String machiazaId, String oazaCho, String oazaChoKana, String oazaChoRoma) {
+            this.machiazaId  = machiazaId;
+            this.oazaCho     = oazaCho;
+            this.oazaChoKana = oazaChoKana;
+            this.oazaChoRoma = oazaChoRoma;
+        }
+    }
+
+    // このクラスは、（全国地方公共団体コード, 大字・町コード）から親となる大字・町のレコードを引く索引です。
+    // 大半の大字・町はレコードが1件のため、最初のレコードのみを配列に格納し、2件目以降は別の HashMap に格納します。
+    // 件数が容量の 1/2 を超える場合は、容量を2倍にして格納し直します。
+    private static final class ParentIndex {
+        private long[] codes;
+        private Parent[] parents;
+        private int size = 0;
+
+        // 2件目以降の親のレコード（必要になった時点で生成する）
+        private Map<Long, List<Parent>> versions = null;
+
+        // 親のレコードを、一覧の順序で追加する
+        private void add(long code, Parent parent) {
+            var index = this.indexOf(code);
+            if (this.codes[index] == EMPTY) {
+                if ((this.size + 1) * 2 > this.codes.length) {
+                    this.grow();
+                    index = this.indexOf(code);
+                }
+                this.codes[index]   = code;
+                this.parents[index] = parent;
+                this.size++;
+                return;
+            }
+            if (this.versions == null) {
+                this.versions = new HashMap<>();
+            }
+            this.versions.computeIfAbsent(code, c -> new ArrayList<>()).add(parent);
+        }
+
+        // 親のレコードを、一覧の順序で返す（ない場合は空の一覧）
+        private List<Parent> get(long code) {
+            var parent = this.parents[this.indexOf(code)];
+            if (parent == null) {
+                return List.of();
+            }
+            var others = this.versions == null ? null : this.versions.get(code);
+            if (others == null) {
+                return List.of(parent);
+            }
+            var result = new ArrayList<Parent>(others.size() + 1);
+            result.add(parent);
+            result.addAll(others);
+            return result;
+        }
+
+        // 値が格納されているスロット、または格納すべき空きスロットの位置を返す
+        private int indexOf(long code) {
+            var mask  = this.codes.length - 1;
+            var hash  = code * 0x9E3779B97F4A7C15L;
+            var index = (int)(hash ^ (hash >>> 32)) & mask;
+            while (this.codes[index] != EMPTY && this.codes[index] != code) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        private void grow() {
+            var codes   = this.codes;
+            var parents = this.parents;
+            this.codes   = new long[codes.length * 2];
+            this.parents = new Parent[codes.length * 2];
+            Arrays.fill(this.codes, EMPTY);
+            for (var i = 0; i < codes.length; i++) {
+                if (codes[i] != EMPTY) {
+                    var index = this.indexOf(codes[i]);
+                    this.codes[index]   = codes[i];
+                    this.parents[index] = parents[i];
+                }
+            }
+        }
+
+        // 件数の見込み（親のレコードの件数）で負荷率が 1/2 以下になる、2のべき乗の容量で生成する
+        private ParentIndex(int expectedSize) {
+            var capacity = 16;
+            while (capacity / 2 < expectedSize) {
+                capacity *= 2;
+            }
+            this.codes   = new long[capacity];
+            this.parents = new Parent[capacity];
+            Arrays.fill(this.codes, EMPTY);
+        }
+    }
+}
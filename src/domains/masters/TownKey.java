@@ -0,0 +1,190 @@
+package domains.masters;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// このクラスは、町字マスターのデータキー（全国地方公共団体コード、町字ID、住居表示フラグ、効力発生日）を表します。
+//
+// キー項目を文字列で連結せずに、2つの long に詰めて保持します。
+//   code: 全国地方公共団体コード（6桁, 20ビット）、町字ID（7桁, 24ビット）、住居表示フラグ（1桁, 4ビット）
+//   date: 効力発生日（1970-01-01 からの日数）
+// 比較、ハッシュ値、並べ替えは long のみで行い、文字列（"lgCode-machiazaId-rsdtAddrFlg-yyyyMMdd"）は toString() の呼び出し時にのみ生成します。
+// 並び順は、文字列のキーの辞書順と同じです。
+// キー項目が検証前で、桁数や文字種類が上記に当てはまらない場合は、エラーメッセージに使用できるように文字列のキーを保持します。
+// この場合、比較、ハッシュ値、並べ替えは文字列で行います。
+public final class TownKey implements Comparable<TownKey> {
+    private static final int LG_CODE_LENGTH       = 6;
+    private static final int MACHIAZA_ID_LENGTH   = 7;
+    private static final int RSDT_ADDR_FLG_LENGTH = 1;
+
+    private static final int MACHIAZA_ID_SHIFT = 4;
+    private static final int LG_CODE_SHIFT     = 28;
+
+    // 文字列のキーを保持する場合の code
+    private static final long UNPACKED = -1;
+
+    private final long code;
+    private final long date;
+
+    // 詰められなかった場合の文字列のキー（詰めた場合は null）
+    private final String text;
+
+    // このメソッドは、キー項目からデータキーを生成します。
+    public static TownKey of(String lgCode, String machiazaId, String rsdtAddrFlg, LocalDate efctDate) {
+        var lgCodeValue      = digitsOf(lgCode, LG_CODE_LENGTH);
+        var machiazaIdValue  = digitsOf(machiazaId, MACHIAZA_ID_LENGTH);
+        var rsdtAddrFlgValue = digitsOf(rsdtAddrFlg, RSDT_ADDR_FLG_LENGTH);
+        if (lgCodeValue < 0 || machiazaIdValue < 0 || rsdtAddrFlgValue < 0 || efctDate == null) {
+            var text = lgCode
+                + "-" + machiazaId
+                + "-" + rsdtAddrFlg
+                + "-" + (efctDate == null ? null : DateTimeFormatter.BASIC_ISO_DATE.format(efctDate));
+            return new TownKey(UNPACKED, 0, text);
+        }
+        var code = (long)lgCodeValue << LG_CODE_SHIFT
+            | (long)machiazaIdValue << MACHIAZA_ID_SHIFT
+            | rsdtAddrFlgValue;
+        return new TownKey(code, efctDate.toEpochDay(), null);
+    }
+
+    // このメソッドは、キー項目を詰めて保持しているかどうかを判定します。
+    public boolean isPacked() {
+        return this.text == null;
+    }
+
+    // このメソッドは、全国地方公共団体コードの数値を返します。
+    public int getLgCodeValue() {
+        return (int)(this.packedCode() >>> LG_CODE_SHIFT);
+    }
+
+    // このメソッドは、町字IDの数値を返します。
+    public int getMachiazaIdValue() {
+        return (int)((this.packedCode() >>> MACHIAZA_ID_SHIFT) & 0xFFFFFF);
+    }
+
+    // このメソッドは、効力発生日（1970-01-01 からの日数）を返します。
+    public long getEfctEpochDay() {
+        this.packedCode();
+        return this.date;
+    }
+
+    // このメソッドは、町字IDが大字・町を意味しているかどうかを判定します。（MachiazaId.isOazaCho() と同じ）
+    public boolean isOazaCho() {
+        return MachiazaId.isOazaCho(this.getMachiazaIdValue() / 1000);
+    }
+
+    // このメソッドは、町字IDが丁目を意味しているかどうかを判定します。（MachiazaId.isChome() と同じ）
+    public boolean isChome() {
+        return MachiazaId.isChome(this.getMachiazaIdValue() % 1000);
+    }
+
+    // このメソッドは、町字IDが小字を意味しているかどうかを判定します。（MachiazaId.isKoaza() と同じ）
+    public boolean isKoaza() {
+        return MachiazaId.isKoaza(this.getMachiazaIdValue() % 1000);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TownKey)) {
+            return false;
+        }
+        var other = (TownKey)obj;
+        if (this.text != null || other.text != null) {
+            return this.text != null && this.text.equals(other.text);
+        }
+        return this.code == other.code && this.date == other.date;
+    }
+
+    @Override
+    public int hashCode() {
+        if (this.text != null) {
+            return this.text.hashCode();
+        }
+        var hash = this.code * 0x9E3779B97F4A7C15L + this.date;
+        return (int)(hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public int compareTo(TownKey other) {
+        if (this.text != null || other.text != null) {
+            return this.toString().compareTo(other.toString());
+        }
+        var result = Long.compare(this.code, other.code);
+        return result != 0 ? result : Long.compare(this.date, other.date);
+    }
+
+    // このメソッドは、文字列のキー（"lgCode-machiazaId-rsdtAddrFlg-yyyyMMdd"）を返します。
+    // エラーメッセージ以外では使用しないでください。
+    @Override
+    public String toString() {
+        if (this.text != null) {
+            return this.text;
+        }
+        var builder = new StringBuilder(LG_CODE_LENGTH + MACHIAZA_ID_LENGTH + RSDT_ADDR_FLG_LENGTH + 11);
+        appendDigits(builder, this.getLgCodeValue(), LG_CODE_LENGTH);
+        builder.append('-');
+        appendDigits(builder, this.getMachiazaIdValue(), MACHIAZA_ID_LENGTH);
+        builder.append('-');
+        builder.append((char)('0' + (this.code & 0xF)));
+        builder.append('-');
+        builder.append(DateTimeFormatter.BASIC_ISO_DATE.format(LocalDate.ofEpochDay(this.date)));
+        return builder.toString();
+    }
+
+    // 詰めたキー項目（TownKeySet で使用します）
+    long getCode() {
+        return this.code;
+    }
+
+    long getDate() {
+        return this.date;
+    }
+
+    // 詰めたキー項目からデータキーを生成します。（TownKeySet で使用します）
+    static TownKey ofPacked(long code, long date) {
+        return new TownKey(code, date, null);
+    }
+
+    // 詰めていない場合、キー項目の数値は取得できない
+    // （キー項目を検証する前に、町字IDの数値を参照することはない）
+    private long packedCode() {
+        if (this.text != null) {
+            var message = String.format("[%s] キー項目が検証されていません。", this.text);
+            throw new IllegalStateException(message);
+        }
+        return this.code;
+    }
+
+    // 指定された桁数の数字（0-9）のみで構成されている場合はその数値を、それ以外の場合は -1 を返す
+    private static int digitsOf(String value, int length) {
+        if (value == null || value.length() != length) {
+            return -1;
+        }
+        var result = 0;
+        for (var i = 0; i < length; i++) {
+            var c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static void appendDigits(StringBuilder builder, int value, int length) {
+        var digits = Integer.toString(value);
+        for (var i = digits.length(); i < length; i++) {
+            builder.append('0');
+        }
+        builder.append(digits);
+    }
+
+    private TownKey(long code, long date, String text) {
+        this.code = code;
+        this.date = date;
+        this.text = text;
+    }
+}
@@ -0,0 +1,173 @@
+package domains.masters;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// このクラスは、町字マスターのデータキー（TownKey）の集合を表します。
+//
+// キーを TownKey のインスタンスとして保持せずに、詰めた2つの long を配列に直接格納する、オープンアドレス法（線形探索）のハッシュ集合です。
+// HashSet<TownKey> と異なり、1件ごとのエントリーのオブジェクトを生成しないため、1件あたりのメモリは 20 バイト * (1 / 負荷率) です。
+// 入力のバイト数から件数を見積もって初期容量を決めることで、読み込み中の再ハッシュを避けます。
+// 各キーには追加された順番も格納し、merge() で重複が複数ある場合に、最も先に追加されたキーを報告できるようにします。
+// 詰められないキー（検証前のキー）は、別の HashMap に格納します。
+// 複数のスレッドから使用しないでください。スレッドごとに作成した集合は、merge() でまとめられます。
+public final class TownKeySet {
+    // 町字ファイルの1レコードあたりのバイト数の下限の目安（実際のファイルは 170 バイト前後）
+    // 件数を多めに見積もり、読み込み中に容量を拡張しないようにする
+    private static final int RECORD_BYTES = 128;
+
+    // 入力のバイト数から見積もる件数の上限（見積もりが過大な場合に、大きな配列を確保しないようにする）
+    private static final int MAX_EXPECTED_SIZE = 1 << 22;
+
+    private static final int DEFAULT_CAPACITY = 1 << 10;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // 空きスロットを表す code（詰めたキーの code は 0 以上）
+    private static final long EMPTY = -1;
+
+    private long[] codes;
+    private long[] dates;
+
+    // 各スロットのキーが追加された順番（0 から）
+    private int[] orders;
+
+    private int size = 0;
+    public int size() { return this.size; }
+
+    // 詰められないキーと、追加された順番（必要になった時点で生成する）
+    private Map<TownKey, Integer> unpacked = null;
+
+    public TownKeySet() {
+        this(DEFAULT_CAPACITY / 2);
+    }
+
+    // 指定された件数まで、容量を拡張せずに格納できる集合を生成します。
+    public TownKeySet(int expectedSize) {
+        this.allocate(capacityOf(expectedSize));
+    }
+
+    // このメソッドは、町字ファイルのバイト数から件数を見積もり、その件数を格納できる集合を生成します。
+    public static TownKeySet forInputBytes(long inputBytes) {
+        var expected = Math.min(inputBytes / RECORD_BYTES, MAX_EXPECTED_SIZE);
+        return new TownKeySet((int)expected);
+    }
+
+    // このメソッドは、キーを追加します。既に含まれている場合は false を返します。
+    public boolean add(TownKey key) {
+        if (!key.isPacked()) {
+            if (this.unpacked == null) {
+                this.unpacked = new HashMap<>();
+            }
+            if (this.unpacked.putIfAbsent(key, this.size) != null) {
+                return false;
+            }
+            this.size++;
+            return true;
+        }
+        return this.add(key.getCode(), key.getDate());
+    }
+
+    // このメソッドは、キーが含まれているかを判定します。
+    public boolean contains(TownKey key) {
+        if (!key.isPacked()) {
+            return this.unpacked != null && this.unpacked.containsKey(key);
+        }
+        return this.codes[this.indexOf(key.getCode(), key.getDate())] != EMPTY;
+    }
+
+    // このメソッドは、他の集合のキーをすべて追加し、両方の集合に含まれていたキーのうち、他の集合に最も先に追加されたキーを返します。
+    // 重複がない場合は null を返します。
+    // 他の集合が、この集合のキーより後に読み込んだ範囲のキーである場合、単一スレッドで1件ずつ追加した場合に最初に重複するキーと同じになります。
+    // 重複が見つかった場合も、残りのキーの追加を続けます。
+    public TownKey merge(TownKeySet other) {
+        TownKey duplicate = null;
+        var     order     = Integer.MAX_VALUE;
+        for (var i = 0; i < other.codes.length; i++) {
+            var code = other.codes[i];
+            if (code != EMPTY && !this.add(code, other.dates[i]) && other.orders[i] < order) {
+                duplicate = TownKey.ofPacked(code, other.dates[i]);
+                order     = other.orders[i];
+            }
+        }
+        if (other.unpacked != null) {
+            for (var entry : other.unpacked.entrySet()) {
+                if (!this.add(entry.getKey()) && entry.getValue() < order) {
+                    duplicate = entry.getKey();
+                    order     = entry.getValue();
+                }
+            }
+        }
+        return duplicate;
+    }
+
+    private boolean add(long code, long date) {
+        var index = this.indexOf(code, date);
+        if (this.codes[index] != EMPTY) {
+            return false;
+        }
+        this.codes[index]  = code;
+        this.dates[index]  = date;
+        this.orders[index] = this.size;
+        this.size++;
+        // 負荷率が 1/2 を超えたら容量を2倍にする
+        if (this.size * 2L > this.codes.length) {
+            this.grow();
+        }
+        return true;
+    }
+
+    // キーが格納されているスロット、または格納すべき空きスロットの位置を返す
+    private int indexOf(long code, long date) {
+        var mask  = this.codes.length - 1;
+        var index = hash(code, date) & mask;
+        while (this.codes[index] != EMPTY) {
+            if (this.codes[index] == code && this.dates[index] == date) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void grow() {
+        var codes  = this.codes;
+        var dates  = this.dates;
+        var orders = this.orders;
+        if (codes.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("データキーの件数が上限を超えました。");
+        }
+        this.allocate(codes.length * 2);
+        for (var i = 0; i < codes.length; i++) {
+            if (codes[i] != EMPTY) {
+                var index = this.indexOf(codes[i], dates[i]);
+                this.codes[index]  = codes[i];
+                this.dates[index]  = dates[i];
+                this.orders[index] = orders[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.codes  = new long[capacity];
+        this.dates  = new long[capacity];
+        this.orders = new int[capacity];
+        Arrays.fill(this.codes, EMPTY);
+    }
+
+    // 負荷率が 1/2 以下になる、2のべき乗の容量
+    private static int capacityOf(int expectedSize) {
+        var capacity = DEFAULT_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity / 2 < expectedSize) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    // 連続した町字IDのキーが隣り合うスロットに集まらないように、ビットを混ぜる
+    private static int hash(long code, long date) {
+        var hash = (code * 0x9E3779B97F4A7C15L) ^ (date * 0xC2B2AE3D27D4EB4FL);
+        return (int)(hash ^ (hash >>> 29) ^ (hash >>> 43));
+    }
+}
@@ -26,9 +26,16 @@ import java.time.LocalDate;
 // [5]
 // 廃止（過去）レコードを保持する場合、または実施日が未来だが実施確定しているレコードを保持する場合（公示済みで未定の換地処分日が実施日ケース等）に、「効力発生日」「廃止日」の項目を使用する。
 public interface TownMaster {
-    // データキー
+    // データキー（"lgCode-machiazaId-rsdtAddrFlg-yyyyMMdd"）
     String getKey();
 
+    // データキー（キー項目を詰めたもの）
+    // 比較、ハッシュ値の計算を文字列のキーより少ないコストで行えるため、重複の検証などにはこちらを使用します。
+    // 既定では、呼び出すたびにキー項目から生成します。実装クラスでは、生成済みのデータキーを返すようにオーバーライドしてください。
+    default TownKey getTownKey() {
+        return TownKey.of(this.getLgCode(), this.getMachiazaId(), this.getRsdtAddrFlg(), this.getEfctDate());
+    }
+
     // 1. 全国地方公共団体コード
     // 町字の上位階層の行政区域となる市区町村を一意に識別するためのコード。
     // 総務省「全国地方公共団体コード」に従って6桁のコードを収録。
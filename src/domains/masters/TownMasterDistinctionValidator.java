@@ -0,0 +1,42 @@
+package domains.masters;
+
+// このクラスは、町字マスターを1件ずつ受け取り、マスター間に重複がないかを逐次検証します。
+// 全件を保持せずにキーのみを TownKeySet に保持し、重複したキーを受け取った時点でエラーにします。
+// 複数のスレッドで分担して読み込む場合は、スレッド（範囲、ファイル）ごとに作成して検証し、読み込み後に merge() でまとめます。
+public final class TownMasterDistinctionValidator {
+    private final TownKeySet keys;
+
+    public TownMasterDistinctionValidator() {
+        this.keys = new TownKeySet();
+    }
+
+    // キーの集合を指定します。（TownKeySet.forInputBytes() で、町字ファイルのバイト数から初期容量を決めた集合など）
+    public TownMasterDistinctionValidator(TownKeySet keys) {
+        this.keys = keys;
+    }
+
+    // 入力された町字マスターのキーが、これまでに検証したマスターと重複していないか検証します。
+    public void validate(TownMaster master) throws InvalidMasterException {
+        var key = master.getTownKey();
+        if (this.keys.add(key)) {
+            return;
+        }
+        throw duplicated(key);
+    }
+
+    // 他のスレッドで検証したキーをまとめ、これまでに検証したマスターと重複していないか検証します。
+    // 他のスレッドのマスターが、これまでに検証したマスターより後に読み込んだ範囲のものである場合、
+    // 重複が複数あっても、単一スレッドで1件ずつ検証した場合と同じキー（他のスレッドで最も先に検証したキー）を報告します。
+    public void merge(TownMasterDistinctionValidator other) throws InvalidMasterException {
+        var key = this.keys.merge(other.keys);
+        if (key == null) {
+            return;
+        }
+        throw duplicated(key);
+    }
+
+    private static InvalidMasterException duplicated(TownKey key) {
+        var message = String.format("[%s] このキーは重複しています。", key);
+        return new InvalidMasterException(message);
+    }
+}
@@ -0,0 +1,183 @@
+package domains.masters;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// このクラスは、読み込み済みの町字マスターの一覧を、ForkJoinPool で並列に検証します。
+//
+// 1. レコードごとの規則（ValidationHelper.validateMaster() の項目間の関連性）
+//    一覧を範囲に分割し、一定件数以下になるまで二分したタスクを、ワークスティーリングで各スレッドに割り当てます。
+// 2. 一覧全体の規則（キーの重複）
+//    キーのハッシュ値で一覧をシャードに分け、シャードごとに TownKeySet で重複を検証し、その結果をまとめます。
+//    同じキーは必ず同じシャードに入るため、シャードをまたいだ重複は発生しません。
+//
+// 両方の違反のうち、一覧の先頭に最も近いレコードの違反を報告するため、単一スレッドで先頭から検証した場合と同じエラーになります。
+// （同じレコードが両方に違反する場合は、単一スレッドの場合と同じく、項目間の関連性の違反を報告します）
+// 先頭に近い違反が見つかった後は、それより後ろの範囲の検証を省略します。
+// 項目ごとの規則（InstantiableTownMaster.Builder の各メソッド）は、読み込み時に検証済みである必要があります。
+public final class TownMasterValidationEngine {
+    // これ以下の件数の範囲は、分割せずに1つのタスクで検証する
+    private static final int BATCH_SIZE = 2048;
+
+    // 1スレッドあたりのシャードの数（シャードごとの件数の偏りを吸収する）
+    private static final int SHARDS_PER_THREAD = 4;
+
+    // シャードの数の上限（シャード番号は byte で保持する）
+    private static final int MAX_SHARDS = 64;
+
+    private final int parallelism;
+
+    public TownMasterValidationEngine(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    // 町字マスターの一覧を検証します。
+    public void validate(Collection<? extends TownMaster> masters) throws InvalidMasterException {
+        var pool = new ForkJoinPool(this.parallelism);
+        try {
+            this.validateInternal(pool, masters.toArray(new TownMaster[0]));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    private void validateInternal(ForkJoinPool pool, TownMaster[] masters) throws InvalidMasterException {
+        var shardCount = Math.min(this.parallelism * SHARDS_PER_THREAD, MAX_SHARDS);
+        var shards     = new byte[masters.length];
+
+        // レコードごとの規則を検証し、あわせて各レコードのシャードを求める
+        var first    = new AtomicInteger(Integer.MAX_VALUE);
+        var violated = pool.invoke(new RelationTask(masters, 0, masters.length, shards, shardCount, first));
+
+        // シャードごとにキーの重複を検証し、先頭に最も近い違反を選ぶ
+        // 関連性の違反より後ろのレコードは、シャードを求めていないため検証しない
+        var tasks = new ArrayList<ForkJoinTask<Violation>>();
+        for (var shard = 0; shard < shardCount; shard++) {
+            tasks.add(pool.submit(new DistinctionTask(masters, shards, (byte)shard, masters.length / shardCount, first)));
+        }
+        for (var task : tasks) {
+            violated = Violation.first(violated, task.join());
+        }
+        if (violated != null) {
+            throw violated.exception;
+        }
+    }
+
+    // このクラスは、違反と、違反したレコードの位置を表します。
+    private static final class Violation {
+        private final int index;
+
+        private final InvalidMasterException exception;
+
+        // 先頭に近い方の違反を返す
+        private static Violation first(Violation a, Violation b) {
+            if (a == null) {
+                return b;
+            } else if (b == null) {
+                return a;
+            }
+            return a.index <= b.index ? a : b;
+        }
+
+        // 違反を記録し、先頭に最も近い違反の位置を更新する
+        private static Violation of(int index, InvalidMasterException exception, AtomicInteger first) {
+            first.accumulateAndGet(index, Math::min);
+            return new Violation(index, exception);
+        }
+
+        private Violation(int index, InvalidMasterException exception) {
+            this.index     = index;
+            this.exception = exception;
+        }
+    }
+
+    // このクラスは、[from, to) の範囲のレコードごとの規則を検証するタスクです。
+    private static final class RelationTask extends RecursiveTask<Violation> {
+        private static final long serialVersionUID = 1L;
+
+        private final TownMaster[] masters;
+        private final int from;
+        private final int to;
+        private final byte[] shards;
+        private final int shardCount;
+        private final AtomicInteger first;
+
+        @Override
+        protected Violation compute() {
+            // 先頭に近い範囲で違反が見つかっている場合は、検証を省略する
+            if (this.from > this.first.get()) {
+                return null;
+            }
+            if (this.to - this.from > BATCH_SIZE) {
+                var middle = (this.from + this.to) >>> 1;
+                var left   = new RelationTask(this.masters, this.from, middle, this.shards, this.shardCount, this.first);
+                var right  = new RelationTask(this.masters, middle, this.to, this.shards, this.shardCount, this.first);
+                right.fork();
+                var violation = left.compute();
+                return Violation.first(violation, right.join());
+            }
+            for (var i = this.from; i < this.to; i++) {
+                var master = this.masters[i];
+                var key    = master.getTownKey();
+                this.shards[i] = (byte)Math.floorMod(key.hashCode(), this.shardCount);
+                try {
+                    ValidationHelper.validateMaster(master, key);
+                } catch (InvalidMasterException e) {
+                    return Violation.of(i, e, this.first);
+                }
+            }
+            return null;
+        }
+
+        private RelationTask(TownMaster[] masters, int from, int to, byte[] shards, int shardCount, AtomicInteger first) {
+            this.masters    = masters;
+            this.from       = from;
+            this.to         = to;
+            this.shards     = shards;
+            this.shardCount = shardCount;
+            this.first      = first;
+        }
+    }
+
+    // このクラスは、1つのシャードのキーの重複を、一覧の先頭から順に検証するタスクです。
+    private static final class DistinctionTask extends RecursiveTask<Violation> {
+        private static final long serialVersionUID = 1L;
+
+        private final TownMaster[] masters;
+        private final byte[] shards;
+        private final byte shard;
+        private final int expectedSize;
+        private final AtomicInteger first;
+
+        @Override
+        protected Violation compute() {
+            var validator = new TownMasterDistinctionValidator(new TownKeySet(this.expectedSize));
+            for (var i = 0; i < this.masters.length; i++) {
+                if (this.shards[i] != this.shard) {
+                    continue;
+                }
+                // より先頭に近い違反が見つかっている場合は、検証を省略する
+                if (i > this.first.get()) {
+                    return null;
+                }
+                try {
+                    validator.validate(this.masters[i]);
+                } catch (InvalidMasterException e) {
+                    return Violation.of(i, e, this.first);
+                }
+            }
+            return null;
+        }
+
+        private DistinctionTask(TownMaster[] masters, byte[] shards, byte shard, int expectedSize, AtomicInteger first) {
+            this.masters      = masters;
+            this.shards       = shards;
+            this.shard        = shard;
+            this.expectedSize = expectedSize;
+            this.first        = first;
+        }
+    }
+}
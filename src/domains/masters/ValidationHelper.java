@@ -1,27 +1,26 @@
 package domains.masters;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public final class ValidationHelper {
+    // 各メソッドの key は、エラーメッセージに表示するデータキーです。
+    // 町字マスターの TownKey は、エラーメッセージを生成する場合にのみ文字列に変換されます。
 
     // 対象データが指定された桁数であることを検証します。
-    public static void validateLength(String value, int length, String fieldName, String key) throws InvalidMasterException {
+    public static void validateLength(String value, int length, String fieldName, Object key) throws InvalidMasterException {
         ValidationHelper.validateLengthInternal(value, length, fieldName, key);
     }
-    private static void validateLengthInternal(String value, int length, String fieldName, String key) throws InvalidMasterException {
+    private static void validateLengthInternal(String value, int length, String fieldName, Object key) throws InvalidMasterException {
         ValidationHelper.validateLengthInternal(value, length, length, fieldName, key);
     }
     // 対象データが指定された範囲の桁数であることを検証します。
-    public static void validateLength(String value, int min, int max, String fieldName, String key) throws InvalidMasterException {
+    public static void validateLength(String value, int min, int max, String fieldName, Object key) throws InvalidMasterException {
         ValidationHelper.validateLengthInternal(value, min, max, fieldName, key);
     }
-    private static void validateLengthInternal(String value, int min, int max, String fieldName, String key) throws InvalidMasterException {
+    private static void validateLengthInternal(String value, int min, int max, String fieldName, Object key) throws InvalidMasterException {
         if (ValidationHelper.isValidLengthInternal(value, min, max)) {
             return;
         }
@@ -41,90 +40,38 @@ public final class ValidationHelper {
         }
     }
 
-    // 基本ラテン文字（数字のみ）
-    private static final char[][] RANGE_NUMBER        = {{'\u0030', '\u0039'}};
-    // 基本ラテン文字（英字のみ）
-    private static final char[][] RANGE_ALPHABET      = {{'\u0041', '\u005A'}, {'\u0061', '\u007A'}};
-    // 基本ラテン文字（記号のみ）
-    private static final char[][] RANGE_SIGN          = {{'\u0020', '\u002F'}, {'\u003A', '\u0040'}, {'\u0058', '\u0060'}, {'\u007B', '\u007E'}};
-    // ＣＪＫ記号・句読点（全角ひらがな除く）＋半角・全角形（半角カナ除く）
-    // 半角・全角形のローマ字を含んでいる。
-    private static final char[][] RANGE_FULL_KATAKANA = {{'\u3000', '\u303F'}, {'\u3099', '\u30FF'}, {'\uFF01', '\uFF5E'}};
+    // 項目ごとの文字種類の規則（ValidationType の組み合わせごとに、事前に作成しておく）
+    private static final CharacterRule RULE_NUMBER                        = CharacterRule.of(ValidationType.Number);
+    private static final CharacterRule RULE_ALL_CHARACTERS                = CharacterRule.of(ValidationType.AllCharcters);
+    private static final CharacterRule RULE_NULLABLE_NUMBER               = CharacterRule.of(ValidationType.Nullable, ValidationType.Number);
+    private static final CharacterRule RULE_NULLABLE_NUMBER_SIGN          = CharacterRule.of(ValidationType.Nullable, ValidationType.Number, ValidationType.Sign);
+    private static final CharacterRule RULE_NULLABLE_ALPHABET_SIGN        = CharacterRule.of(ValidationType.Nullable, ValidationType.Alphabet, ValidationType.Sign);
+    private static final CharacterRule RULE_NULLABLE_NUMBER_ALPHABET_SIGN = CharacterRule.of(ValidationType.Nullable, ValidationType.Number, ValidationType.Alphabet, ValidationType.Sign);
+    private static final CharacterRule RULE_NULLABLE_FULL_KATAKANA        = CharacterRule.of(ValidationType.Nullable, ValidationType.FullKatakana);
+    private static final CharacterRule RULE_NULLABLE_ALL_CHARACTERS       = CharacterRule.of(ValidationType.Nullable, ValidationType.AllCharcters);
 
     // 入力されたデータの文字種類を検証します。
-    public static void validateValue(String value, String fieldName, String key, ValidationType... types) throws InvalidMasterException {
-        ValidationHelper.validateValueInternal(value, fieldName, key, types);
+    public static void validateValue(String value, String fieldName, Object key, ValidationType... types) throws InvalidMasterException {
+        ValidationHelper.validateValueInternal(value, fieldName, key, CharacterRule.of(types));
     }
-    private static void validateValueInternal(String value, String fieldName, String key, ValidationType... types) throws InvalidMasterException {
+    // 入力されたデータの文字種類を、事前に作成した規則で検証します。
+    // Null の場合は、ValidationType.Nullable を指定していなければエラーになります。
+    // Null 以外の場合は、ValidationType.AllCharcters を指定していなければ、すべての文字が指定された文字種別の範囲内かを検証します。
+    private static void validateValueInternal(String value, String fieldName, Object key, CharacterRule rule) throws InvalidMasterException {
         if (value == null) {
-            ValidationHelper.validateNull(value, fieldName, key, types);
-        } else {
-            ValidationHelper.validateNotNullValue(value, fieldName, key, types);
-        }
-    }
-    // 入力されたデータが Null の場合を検証します。
-    // ValidationType.Nullable を指定せずこの処理が呼び出された場合は、エラーになります。
-    private static void validateNull(String value, String fieldName, String key, ValidationType[] types) throws InvalidMasterException {
-        var typeList = List.of(types);
-        if (typeList.contains(ValidationType.Nullable)) {
-            return;
-        }
-        var message = String.format("[%s:%s] このデータ項目は Not Null です。", key, fieldName);
-        throw new InvalidMasterException(message);
-    }
-    // 入力されたデータが Null 以外の場合を検証します。
-    // ValidationType.AllCharcters を指定していない場合、実際のチェックが行われます。
-    private static void validateNotNullValue(String value, String fieldName, String key, ValidationType[] types) throws InvalidMasterException {
-        var typeList = List.of(types);
-        if (typeList.contains(ValidationType.AllCharcters)) {
-            return;
-        }
-
-        // 文字種別の範囲を取得
-        var rangeGroups = new ArrayList<char[][]>();
-        if (typeList.contains(ValidationType.Number)) {
-            rangeGroups.add(RANGE_NUMBER);
-        }
-        if (typeList.contains(ValidationType.Alphabet)) {
-            rangeGroups.add(RANGE_ALPHABET);
-        }
-        if (typeList.contains(ValidationType.Sign)) {
-            rangeGroups.add(RANGE_SIGN);
-        }
-        if (typeList.contains(ValidationType.FullKatakana)) {
-            rangeGroups.add(RANGE_FULL_KATAKANA);
+            if (rule.isNullable()) {
+                return;
+            }
+            var message = String.format("[%s:%s] このデータ項目は Not Null です。", key, fieldName);
+            throw new InvalidMasterException(message);
         }
-        // Java SE 11 以降では、Stream<E>.toList() が利用できる。
-        // Stream<E>.collect(Collectors.toList())よりすっきりしている。
-        var ranges = rangeGroups.stream()
-            .flatMap(Stream::of)
-            .collect(Collectors.toList());
-
-        ValidationHelper.validateRange(value, fieldName, key, ranges);
-    }
-    private static void validateRange(String value, String fieldName, String key, Collection<char[]> ranges) throws InvalidMasterException {
-        if (ValidationHelper.isValidRange(value, ranges)) {
+        if (rule.isValidRange(value)) {
             return;
         }
         var message = String.format("[%s:%s] データが想定範囲外の文字を含んでいます。", key, fieldName);
         throw new InvalidMasterException(message);
     }
-    private static boolean isValidRange(String value, Collection<char[]> ranges) throws InvalidMasterException {
-        for (var c : value.toCharArray()) {
-            var hit = false;
-            for (var range : ranges) {
-                if (c >= range[0] && c <= range[1]) {
-                    hit = true;
-                    break;
-                }
-            }
-            if (!hit) {
-                return false;
-            }
-        }
-        return true;
-    }
-    
+
     // 検証エラー時に表示するエラー発生フィールド名
     private static final String FIELD_LG_CODE            = "lgCode";
     private static final String FIELD_MACHIAZA_ID        = "machiazaId";
@@ -165,32 +112,32 @@ public final class ValidationHelper {
     private static final String FIELD_REMARKS            = "remarks";
 
     // 入力された地方公共団体コードを検証します。
-    public static void validateLgCode(String value, String key) throws InvalidMasterException {
+    public static void validateLgCode(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateLgCodeInternal(value, key);
     }
-    private static void validateLgCodeInternal(String value, String key) throws InvalidMasterException {
+    private static void validateLgCodeInternal(String value, Object key) throws InvalidMasterException {
         var field = FIELD_LG_CODE;
-        ValidationHelper.validateValueInternal(value, field, key, ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 6, field, key);
     }
     
     // 入力された町字IDを検証します。
-    public static void validateMachiazaId(String value, String key) throws InvalidMasterException {
+    public static void validateMachiazaId(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateMachiazaIdInternal(value, key);
     }
-    private static void validateMachiazaIdInternal(String value, String key) throws InvalidMasterException {
+    private static void validateMachiazaIdInternal(String value, Object key) throws InvalidMasterException {
         var field = FIELD_MACHIAZA_ID;
-        ValidationHelper.validateValueInternal(value, field, key, ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 7, field, key);
     }
     
     // 入力された町字区分コードを検証します。
-    public static void validateMachiazaType(String value, String key) throws InvalidMasterException {
+    public static void validateMachiazaType(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateMachiazaTypeInternal(value, key);
     }
-    private static void validateMachiazaTypeInternal(String value, String key) throws InvalidMasterException {
+    private static void validateMachiazaTypeInternal(String value, Object key) throws InvalidMasterException {
         var field = FIELD_MACHIAZA_TYPE;
-        ValidationHelper.validateValueInternal(value, field, key, ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 1, field, key);
         
         if (ValidationHelper.isValidMachiazaType(value)) {
@@ -218,76 +165,64 @@ public final class ValidationHelper {
     }
     
     // 入力されたと都道府県名を検証します。
-    public static void validatePref(String value, String key) throws InvalidMasterException {
+    public static void validatePref(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validatePrefInternal(value, key);
     }
-    private static void validatePrefInternal(String value, String key) throws InvalidMasterException {
+    private static void validatePrefInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_PREF;
-        ValidationHelper.validateValueInternal(value, field, key, ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 10, field, key);
     }
     
     // 入力された都道府県名カナを検証します。
-    public static void validatePrefKana(String value, String key) throws InvalidMasterException {
+    public static void validatePrefKana(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validatePrefKanaInternal(value, key);
     }
-    private static void validatePrefKanaInternal(String value, String key) throws InvalidMasterException {
+    private static void validatePrefKanaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_PREF_KANA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.FullKatakana);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_FULL_KATAKANA);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
     }
     
     // 入力された都道府県名英字を検証します。
-    public static void validatePrefRoma(String value, String key) throws InvalidMasterException {
+    public static void validatePrefRoma(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validatePrefRomaInternal(value, key);
     }
-    private static void validatePrefRomaInternal(String value, String key) throws InvalidMasterException {
+    private static void validatePrefRomaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_PREF_ROMA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Alphabet,
-            ValidationType.Sign);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALPHABET_SIGN);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
     }
     
     // 入力された郡名を検証します。
-    public static void validateCounty(String value, String key) throws InvalidMasterException {
+    public static void validateCounty(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateCountyInternal(value, key);
     }
-    private static void validateCountyInternal(String value, String key) throws InvalidMasterException {
+    private static void validateCountyInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_COUNTY;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 24, field, key);
     }
     
     // 入力された郡名カナを検証します。
-    public static void validateCountyKana(String value, String key) throws InvalidMasterException {
+    public static void validateCountyKana(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateCountyKanaInternal(value, key);
     }
-    private static void validateCountyKanaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateCountyKanaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_COUNTY_KANA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.FullKatakana);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_FULL_KATAKANA);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
     }
     
     private static final String COUNTY_ROMA_SUFFIX = "-gun";
     
     // 入力された郡名英字を検証します。
-    public static void validateCountyRoma(String value, String key) throws InvalidMasterException {
+    public static void validateCountyRoma(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateCountyRomaInternal(value, key);
     }
-    private static void validateCountyRomaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateCountyRomaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_COUNTY_ROMA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Alphabet,
-            ValidationType.Sign);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALPHABET_SIGN);
         ValidationHelper.validateLengthInternal(value, 0, 100, field, key);
 
         if (ValidationHelper.isValidCountyRomaInternal(value)) {
@@ -301,24 +236,22 @@ public final class ValidationHelper {
     }
     
     // 入力された市区町村名を検証します。
-    public static void validateCity(String value, String key) throws InvalidMasterException {
+    public static void validateCity(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateCityInternal(value, key);
     }
-    private static void validateCityInternal(String value, String key) throws InvalidMasterException {
+    private static void validateCityInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_CITY;
-        ValidationHelper.validateValueInternal(value, field, key, ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 24, field, key);
     }
     
     // 入力された市区町村名カナを検証します。
-    public static void validateCityKana(String value, String key) throws InvalidMasterException {
+    public static void validateCityKana(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateCityKanaInternal(value, key);
     }
-    private static void validateCityKanaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateCityKanaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_CITY_KANA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.FullKatakana);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_FULL_KATAKANA);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
     }
     
@@ -330,15 +263,12 @@ public final class ValidationHelper {
     private static final String CITY_ROMA_SUFFIX_SON   = "-son";
 
     // 入力された市区町村名英字を検証します。
-    public static void validateCityRoma(String value, String key) throws InvalidMasterException {
+    public static void validateCityRoma(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateCityRomaInternal(value, key);
     }
-    private static void validateCityRomaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateCityRomaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_CITY_ROMA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Alphabet,
-            ValidationType.Sign);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALPHABET_SIGN);
         ValidationHelper.validateLengthInternal(value, 0, 100, field, key);
 
         if (ValidationHelper.isValidCityRomaInternal(value)) {
@@ -364,41 +294,34 @@ public final class ValidationHelper {
     }
     
     // 入力された政令都市区名を検証します。
-    public static void validateWard(String value, String key) throws InvalidMasterException {
+    public static void validateWard(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateWardInternal(value, key);
     }
-    private static void validateWardInternal(String value, String key) throws InvalidMasterException {
+    private static void validateWardInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_WARD;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 24, field, key);
     }
     
     // 入力された政令市区名カナを検証します。
-    public static void validateWardKana(String value, String key) throws InvalidMasterException {
+    public static void validateWardKana(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateWardKanaInternal(value, key);
     }
-    private static void validateWardKanaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateWardKanaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_WARD_KANA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.FullKatakana);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_FULL_KATAKANA);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
     }
     
     private static final String WARD_ROMA_SUFFIX_KU = "-ku";
     
     // 入力された政令市区名英字を検証します。
-    public static void validateWardRoma(String value, String key) throws InvalidMasterException {
+    public static void validateWardRoma(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateWardRomaInternal(value, key);
     }
-    private static void validateWardRomaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateWardRomaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_WARD_ROMA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Alphabet,
-            ValidationType.Sign);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALPHABET_SIGN);
         ValidationHelper.validateLengthInternal(value, 0, 100, field, key);
 
         if (ValidationHelper.isValidWardRomaInternal(value)) {
@@ -412,40 +335,32 @@ public final class ValidationHelper {
     }
     
     // 入力された大字・町名を検証します。
-    public static void validateOazaCho(String value, String key) throws InvalidMasterException {
+    public static void validateOazaCho(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateOazaChoInternal(value, key);
     }
-    private static void validateOazaChoInternal(String value, String key) throws InvalidMasterException {
+    private static void validateOazaChoInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_OAZA_CHO;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 120, field, key);
     }
     
     // 入力された大字・町名カナを検証します。
-    public static void validateOazaChoKana(String value, String key) throws InvalidMasterException {
+    public static void validateOazaChoKana(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateOazaChoKanaInternal(value, key);
     }
-    private static void validateOazaChoKanaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateOazaChoKanaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_OAZA_CHO_KANA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.FullKatakana);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_FULL_KATAKANA);
         ValidationHelper.validateLengthInternal(value, 0, 240, field, key);
     }
     
     // 入力された大字・町名英字を検証します。
-    public static void validateOazaChoRoma(String value, String key) throws InvalidMasterException {
+    public static void validateOazaChoRoma(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateOazaChoRomaInternal(value, key);
     }
-    private static void validateOazaChoRomaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateOazaChoRomaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_OAZA_CHO_ROMA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number,
-            ValidationType.Alphabet,
-            ValidationType.Sign);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER_ALPHABET_SIGN);
         ValidationHelper.validateLengthInternal(value, 0, 180, field, key);
     }
     
@@ -453,14 +368,12 @@ public final class ValidationHelper {
     private static final String CHOME_WORD2 = "丁";
     
     // 入力された丁目名を検証します。
-    public static void validateChome(String value, String key) throws InvalidMasterException {
+    public static void validateChome(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateChomeInternal(value, key);
     }
-    private static void validateChomeInternal(String value, String key) throws InvalidMasterException {
+    private static void validateChomeInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_CHOME;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 32, field, key);
 
         if (ValidationHelper.isValidChomeInternal(value)) {
@@ -479,14 +392,12 @@ public final class ValidationHelper {
     private static final String CHOME_KANA_WORD2 = "チョウ";
     
     // 入力された丁目名カナを検証します。
-    public static void validateChomeKana(String value, String key) throws InvalidMasterException {
+    public static void validateChomeKana(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateChomeKanaInternal(value, key);
     }
-    private static void validateChomeKanaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateChomeKanaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_CHOME_KANA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.FullKatakana);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_FULL_KATAKANA);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
 
         if (ValidationHelper.isValidChomeKanaInternal(value)) {
@@ -501,74 +412,62 @@ public final class ValidationHelper {
     }
     
     // 入力された丁目名数字を検証します。
-    public static void validateChomeNumber(String value, String key) throws InvalidMasterException {
+    public static void validateChomeNumber(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateChomeNumberInternal(value, key);
     }
-    private static void validateChomeNumberInternal(String value, String key) throws InvalidMasterException {
+    private static void validateChomeNumberInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_CHOME_NUMBER;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 0, 2, field, key);
     }
     
     // 入力された小字名を検証します。
-    public static void validateKoaza(String value, String key) throws InvalidMasterException {
+    public static void validateKoaza(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateKoazaInternal(value, key);
     }
-    private static void validateKoazaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateKoazaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_KOAZA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 120, field, key);
     }
     
     // 入力された小字名カナを検証します。
-    public static void validateKoazaKana(String value, String key) throws InvalidMasterException {
+    public static void validateKoazaKana(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateKoazaKanaInternal(value, key);
     }
-    private static void validateKoazaKanaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateKoazaKanaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_KOAZA_KANA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.FullKatakana);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_FULL_KATAKANA);
         ValidationHelper.validateLengthInternal(value, 0, 240, field, key);
     }
     
     // 入力された小字名英字を検証します。
-    public static void validateKoazaRoma(String value, String key) throws InvalidMasterException {
+    public static void validateKoazaRoma(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateKoazaRomaInternal(value, key);
     }
-    private static void validateKoazaRomaInternal(String value, String key) throws InvalidMasterException {
+    private static void validateKoazaRomaInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_KOAZA_ROMA;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number,
-            ValidationType.Alphabet,
-            ValidationType.Sign);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER_ALPHABET_SIGN);
         ValidationHelper.validateLengthInternal(value, 0, 180, field, key);
     }
     
     // 入力された同一町字識別情報を検証します。
-    public static void validateMachiazaDist(String value, String key) throws InvalidMasterException {
+    public static void validateMachiazaDist(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateMachiazaDistInternal(value, key);
     }
-    private static void validateMachiazaDistInternal(String value, String key) throws InvalidMasterException {
+    private static void validateMachiazaDistInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_MACHIAZA_DIST;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 120, field, key);
     }
     
     // 入力された住居表示フラグを検証します。
-    public static void validateRsdtAddrFlg(String value, String key) throws InvalidMasterException {
+    public static void validateRsdtAddrFlg(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateRsdtAddrFlgInternal(value, key);
     }
-    private static void validateRsdtAddrFlgInternal(String value, String key) throws InvalidMasterException {
+    private static void validateRsdtAddrFlgInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_RSDT_ADD_FLG;
-        ValidationHelper.validateValueInternal(value, field, key, ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 1, field, key);
 
         if (ValidationHelper.isValidRsdtAddrFlgInternal(value)) {
@@ -589,14 +488,12 @@ public final class ValidationHelper {
     }
     
     // 入力された住居表示方式コードを検証します。
-    public static void validateRsdtAddrMtdCode(String value, String key) throws InvalidMasterException {
+    public static void validateRsdtAddrMtdCode(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateRsdtAddrMtdCodeInternal(value, key);
     }
-    private static void validateRsdtAddrMtdCodeInternal(String value, String key) throws InvalidMasterException {
+    private static void validateRsdtAddrMtdCodeInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_RSDT_ADDR_MTD_CODE;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 0, 1, field, key);
         
         if (ValidationHelper.isValidRsdtAddrMtdCodeInternal(value)) {
@@ -620,14 +517,12 @@ public final class ValidationHelper {
     }
     
     // 入力された大字・町_通称フラグを検証します。
-    public static void validateOazaChoAkaFlg(String value, String key) throws InvalidMasterException {
+    public static void validateOazaChoAkaFlg(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateOazaChoAkaFlgInternal(value, key);
     }
-    private static void validateOazaChoAkaFlgInternal(String value, String key) throws InvalidMasterException {
+    private static void validateOazaChoAkaFlgInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_OAZA_CHO_AKA_FLG;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 0, 1, field, key);
 
         if (ValidationHelper.isValidOazaChoAkaFlgInternal(value)) {
@@ -648,14 +543,12 @@ public final class ValidationHelper {
     }
     
     // 入力された小字_通称フラグを検証します。
-    public static void validateKoazaAkaCode(String value, String key) throws InvalidMasterException {
+    public static void validateKoazaAkaCode(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateKoazaAkaCodeInternal(value, key);
     }
-    private static void validateKoazaAkaCodeInternal(String value, String key) throws InvalidMasterException {
+    private static void validateKoazaAkaCodeInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_KOAZA_AKA_CODE;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 0, 1, field, key);
 
         if (ValidationHelper.isValidKoazaAkaCodeInternal(value)) {
@@ -680,38 +573,32 @@ public final class ValidationHelper {
     }
     
     // 入力された大字・町_外字フラグを検証します。
-    public static void validateOazaChoGsiUncmn(String value, String key) throws InvalidMasterException {
+    public static void validateOazaChoGsiUncmn(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateOazaChoGsiUncmnInternal(value, key);
     }
-    private static void validateOazaChoGsiUncmnInternal(String value, String key) throws InvalidMasterException {
+    private static void validateOazaChoGsiUncmnInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_OAZA_CHO_GSI_UNCMN;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
     }
     
     // 入力された小字_外字フラグを検証します。
-    public static void validateKoazaGsiUncmn(String value, String key) throws InvalidMasterException {
+    public static void validateKoazaGsiUncmn(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateKoazaGsiUncmnInternal(value, key);
     }
-    private static void validateKoazaGsiUncmnInternal(String value, String key) throws InvalidMasterException {
+    private static void validateKoazaGsiUncmnInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_KOAZA_GSI_UNCMN;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 50, field, key);
     }
     
     // 入力された状態フラグを検証します。
-    public static void validateStatusFlg(String value, String key) throws InvalidMasterException {
+    public static void validateStatusFlg(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateStatusFlgInternal(value, key);
     }
-    private static void validateStatusFlgInternal(String value, String key) throws InvalidMasterException {
+    private static void validateStatusFlgInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_STATUS_FLG;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 0, 1, field, key);
 
         if (ValidationHelper.isValidStatusFlgInternal(value)) {
@@ -736,14 +623,12 @@ public final class ValidationHelper {
     }
     
     // 入力された起番フラグを検証します。
-    public static void validateWakeNumFlg(String value, String key) throws InvalidMasterException {
+    public static void validateWakeNumFlg(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateWakeNumFlgInternal(value, key);
     }
-    private static void validateWakeNumFlgInternal(String value, String key) throws InvalidMasterException {
+    private static void validateWakeNumFlgInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_WAKE_NUM_FLG;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 0, 1, field, key);
 
         if (ValidationHelper.isValidWakeNumFlgInternal(value)) {
@@ -769,10 +654,10 @@ public final class ValidationHelper {
     // 効力発生日は特殊に扱われており、都道府県マスター・市区町村マスターでは省略可能ですが、
     // 町域マスターでは必須かつキー項目となっています。
     // その為、町域マスターでの検証にのみ、このメソッドを使用してください。
-    public static void validateEfctDate(LocalDate value, String key) throws InvalidMasterException {
+    public static void validateEfctDate(LocalDate value, Object key) throws InvalidMasterException {
         ValidationHelper.validateEfctDateInternal(value, key);
     }
-    private static void validateEfctDateInternal(LocalDate value, String key) throws InvalidMasterException {
+    private static void validateEfctDateInternal(LocalDate value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_EFCT_DATE;
         if (value != null) {
             return;
@@ -783,14 +668,12 @@ public final class ValidationHelper {
     }
     
     // 入力された原典資料コードを検証します。
-    public static void validateSrcCode(String value, String key) throws InvalidMasterException {
+    public static void validateSrcCode(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateSrcCodeInternal(value, key);
     }
-    private static void validateSrcCodeInternal(String value, String key) throws InvalidMasterException {
+    private static void validateSrcCodeInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_SRC_CODE;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER);
         ValidationHelper.validateLengthInternal(value, 0, 2, field, key);
 
         if (ValidationHelper.isValidSrcCodeInternal(value)) {
@@ -819,35 +702,77 @@ public final class ValidationHelper {
     }
     
     // 入力された郵便番号を検証します。
-    public static void validatePostCode(String value, String key) throws InvalidMasterException {
+    public static void validatePostCode(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validatePostCodeInternal(value, key);
     }
-    private static void validatePostCodeInternal(String value, String key) throws InvalidMasterException {
+    private static void validatePostCodeInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_POST_CODE;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.Number,
-            ValidationType.Sign);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_NUMBER_SIGN);
         ValidationHelper.validateLengthInternal(value, 0, 80, field, key);
     }
     
     // 入力された備考を検証します。
-    public static void validateRemarks(String value, String key) throws InvalidMasterException {
+    public static void validateRemarks(String value, Object key) throws InvalidMasterException {
         ValidationHelper.validateRemarksInternal(value, key);
     }
-    private static void validateRemarksInternal(String value, String key) throws InvalidMasterException {
+    private static void validateRemarksInternal(String value, Object key) throws InvalidMasterException {
         var field = ValidationHelper.FIELD_REMARKS;
-        ValidationHelper.validateValueInternal(value, field, key, 
-            ValidationType.Nullable,
-            ValidationType.AllCharcters);
+        ValidationHelper.validateValueInternal(value, field, key, RULE_NULLABLE_ALL_CHARACTERS);
         ValidationHelper.validateLengthInternal(value, 0, 256, field, key);
     }
 
+    // 町字マスターの項目（文字列の項目）を、InstantiableTownMaster.Builder と同じ規則で検証します。
+    // 項目間の関連性は検証しません。キー項目、日付の項目を指定した場合は InvalidMasterException をスローします。
+    public static void validateTownField(TownField field, String value, String lgCode, String machiazaId, Object key) throws InvalidMasterException {
+        ValidationHelper.validateTownFieldInternal(field, value, lgCode, machiazaId, key);
+    }
+    private static void validateTownFieldInternal(TownField field, String value, String lgCode, String machiazaId, Object key) throws InvalidMasterException {
+        switch (field) {
+            case MachiazaType    -> ValidationHelper.validateMachiazaType(value, key);
+            case Pref            -> ValidationHelper.validatePref(value, key);
+            case PrefKana        -> ValidationHelper.validatePrefKana(value, key);
+            case PrefRoma        -> ValidationHelper.validatePrefRoma(value, key);
+            case County          -> ValidationHelper.validateCounty(value, key);
+            case CountyKana      -> ValidationHelper.validateCountyKana(value, key);
+            case CountyRoma      -> ValidationHelper.validateCountyRoma(value, key);
+            case City            -> ValidationHelper.validateCity(value, key);
+            case CityKana        -> ValidationHelper.validateCityKana(value, key);
+            case CityRoma        -> InstantiableTownMaster.validateCityRoma(value, lgCode, key);
+            case Ward            -> ValidationHelper.validateWard(value, key);
+            case WardKana        -> ValidationHelper.validateWardKana(value, key);
+            case WardRoma        -> ValidationHelper.validateWardRoma(value, key);
+            case OazaCho         -> ValidationHelper.validateOazaCho(value, key);
+            case OazaChoKana     -> ValidationHelper.validateOazaChoKana(value, key);
+            case OazaChoRoma     -> ValidationHelper.validateOazaChoRoma(value, key);
+            case Chome           -> ValidationHelper.validateChome(value, key);
+            case ChomeKana       -> ValidationHelper.validateChomeKana(value, key);
+            case ChomeNumber     -> ValidationHelper.validateChomeNumber(value, key);
+            case Koaza           -> ValidationHelper.validateKoaza(value, key);
+            case KoazaKana       -> InstantiableTownMaster.validateKoazaKana(value, lgCode, machiazaId, key);
+            case KoazaRoma       -> ValidationHelper.validateKoazaRoma(value, key);
+            case MachiazaDist    -> ValidationHelper.validateMachiazaDist(value, key);
+            case RsdtAddrMtdCode -> ValidationHelper.validateRsdtAddrMtdCode(value, key);
+            case OazaChoAkaFlg   -> ValidationHelper.validateOazaChoAkaFlg(value, key);
+            case KoazaAkaCode    -> ValidationHelper.validateKoazaAkaCode(value, key);
+            case OazaChoGsiUncmn -> ValidationHelper.validateOazaChoGsiUncmn(value, key);
+            case KoazaGsiUncmn   -> ValidationHelper.validateKoazaGsiUncmn(value, key);
+            case StatusFlg       -> ValidationHelper.validateStatusFlg(value, key);
+            case WakeNumFlg      -> ValidationHelper.validateWakeNumFlg(value, key);
+            case SrcCode         -> ValidationHelper.validateSrcCode(value, key);
+            case PostCode        -> ValidationHelper.validatePostCode(value, key);
+            case Remarks         -> ValidationHelper.validateRemarks(value, key);
+            default -> {
+                var message = String.format("[%s:%s] この項目は文字列で設定できません。", key, field);
+                throw new InvalidMasterException(message);
+            }
+        }
+    }
+
     // 町域マスターの各データ間の相互関係を検証します。
-    public static void validateMaster(TownMaster master, String key) throws InvalidMasterException {
+    public static void validateMaster(TownMaster master, Object key) throws InvalidMasterException {
         ValidationHelper.validateMasterInternal(master, key);
     }
-    private static void validateMasterInternal(TownMaster master, String key) throws InvalidMasterException {
+    private static void validateMasterInternal(TownMaster master, Object key) throws InvalidMasterException {
         ValidationHelper.validateRelationOfMachiazaIdAndOazaChoInternal(master);
         ValidationHelper.validateRelationOfMachiazaIdAndOazaChoAndChomeAndKoazasInternal(master);
         ValidationHelper.validateRealtionOfMachiazaTypeAndChomeAndKoazasInternal(master);
@@ -867,9 +792,9 @@ public final class ValidationHelper {
         var message = String.format("[%s:%s] 町字ID='%s' と 大字・町名（カナ・英字）の関連性が不正です。", key, field, master.getMachiazaId());
         throw new InvalidMasterException(message);
     }
-    private static boolean isValidRelationOfMachiazaIdAndOazaCho(TownMaster master) {
-        var id = new MachiazaId(master.getMachiazaId());
-        if (id.isOazaCho()) {
+    private static boolean isValidRelationOfMachiazaIdAndOazaCho(TownMaster master) throws InvalidMasterException {
+        var id = ValidationHelper.machiazaIdValueOf(master);
+        if (MachiazaId.isOazaCho(id / 1000)) {
             // 大字・町（カナ、英字）は未収録の場合が多いため、一時的にコメントアウト
             //return master.getOazaCho() != null && master.getOazaChoKana() != null && master.getOazaChoRoma() != null;
             return master.getOazaCho() != null;
@@ -892,12 +817,12 @@ public final class ValidationHelper {
             key, field, master.getMachiazaId());
         throw new InvalidMasterException(message);
     }
-    private static boolean isValidRelationOfMachiazaIdAndOazaChoAndChomeAndKoazas(TownMaster master) {
-        var id = new MachiazaId(master.getMachiazaId());
+    private static boolean isValidRelationOfMachiazaIdAndOazaChoAndChomeAndKoazas(TownMaster master) throws InvalidMasterException {
+        var id = ValidationHelper.machiazaIdValueOf(master);
 
-        if (id.isOazaCho()) {
+        if (MachiazaId.isOazaCho(id / 1000)) {
             // 大字・町あり(0001-9999)、丁目あり・小字なし(001-100)
-            if (id.isChome()) {
+            if (MachiazaId.isChome(id % 1000)) {
                 // 大字・町（カナ、英字）は未収録の場合が多いため、一時的にコメントアウト
                 //return master.getOazaCho() != null && master.getOazaChoKana() != null && master.getOazaChoRoma() != null
                 //    && master.getChome() != null && master.getChomeKana() != null && master.getChomeNumber() != null
@@ -908,7 +833,7 @@ public final class ValidationHelper {
                 //return master.getOazaCho() == null && master.getOazaChoKana() == null && master.getOazaChoRoma() == null;
 
             // 大字・町あり(0001-9999)、丁目なし・小字あり(101-999)
-            } else if (id.isKoaza()) {
+            } else if (MachiazaId.isKoaza(id % 1000)) {
                 //return master.getOazaCho() != null && master.getOazaChoKana() != null && master.getOazaChoRoma() != null
                 //    && master.getChome()   == null && master.getChomeKana()   == null && master.getChomeNumber() == null
                 //    && master.getKoaza()   != null && master.getKoazaKana()   != null && master.getKoazaRoma() != null;
@@ -929,13 +854,13 @@ public final class ValidationHelper {
             }
         } else {
             // 大字・町なし(0000)、丁目あり・小字なし(001-100)
-            if (id.isChome()) {
+            if (MachiazaId.isChome(id % 1000)) {
                 return master.getOazaCho() == null && master.getOazaChoKana() == null && master.getOazaChoRoma() == null
                     && master.getChome()   != null && master.getChomeKana()   != null && master.getChomeNumber() != null
                     && master.getKoaza()   == null && master.getKoazaKana()   == null && master.getKoazaRoma()   == null;
 
             // 大字・町なし(0000)、丁目なし・小字あり(101-999)
-            } else if (id.isKoaza()) {
+            } else if (MachiazaId.isKoaza(id % 1000)) {
                 // 小字（カナ、英字）は未収録の場合が多いため、一時的にコメントアウト
                 //return master.getOazaCho() == null && master.getOazaChoKana() == null && master.getOazaChoRoma() == null
                 //    && master.getChome()   == null && master.getChomeKana()   == null && master.getChomeNumber() == null
@@ -992,16 +917,16 @@ public final class ValidationHelper {
         var message = String.format("[%s:%s] 小字_通称フラグ='%s' は京都府の小字のみに適用できます。", key, field, master.getKoazaAkaCode());
         throw new InvalidMasterException(message);
     }
-    private static boolean isValidRelationOfKoazaAkaCodeAndKyotoInternal(TownMaster master) {
+    private static boolean isValidRelationOfKoazaAkaCodeAndKyotoInternal(TownMaster master) throws InvalidMasterException {
         var koazaAkaCode = KoazaAkaCode.valueOfId(master.getKoazaAkaCode());
         if (koazaAkaCode != KoazaAkaCode.AkaKyoto) {
             return true;
         }
 
-        var machiazaId   = new MachiazaId(master.getMachiazaId());
+        var machiazaId   = ValidationHelper.machiazaIdValueOf(master);
         var machiazaType = MachiazaType.valueOfId(master.getMachiazaType());
         return master.getLgCode().startsWith("26")
-            && machiazaId.isKoaza()
+            && MachiazaId.isKoaza(machiazaId % 1000)
             && machiazaType == MachiazaType.Koaza
             //&& master.getPref().equals("京都府")
             //&& master.getPrefKana().equals("キョウトフ")
@@ -1009,6 +934,23 @@ public final class ValidationHelper {
             && koazaAkaCode == KoazaAkaCode.AkaKyoto;
     }
 
+    // 町字IDの数値を返します。
+    // キー項目を詰めたデータキーの場合はその値を使用し、そうでない場合（キー項目が未検証の場合）は町字IDを数値に変換します。
+    // 町字IDが7桁の数字でない場合は、関連性を判定できないため、InvalidMasterException を投げます。
+    private static int machiazaIdValueOf(TownMaster master) throws InvalidMasterException {
+        var key = master.getTownKey();
+        if (key.isPacked()) {
+            return key.getMachiazaIdValue();
+        }
+        var machiazaId = master.getMachiazaId();
+        if (machiazaId != null && machiazaId.length() == 7 && machiazaId.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return Integer.parseInt(machiazaId);
+        }
+        var field   = ValidationHelper.FIELD_MACHIAZA_ID;
+        var message = String.format("[%s:%s] 町字ID='%s' が不正なため、関連性を検証できません。", master.getKey(), field, machiazaId);
+        throw new InvalidMasterException(message);
+    }
+
     // 大字・町_外字フラグと大字・町の関連性を検証します。
     // 1. 大字・町_外字フラグが未入力の場合、大字・町も未入力である必要があります。
     // 2. 大字・町_外字フラグが '0' の場合に限り、大字・町が未入力であることが許容されます。
@@ -1131,23 +1073,12 @@ public final class ValidationHelper {
     }
 
     // 町域マスター間に重複がないか検証します。
+    // キーを順に TownKeySet に追加し、最初に重複したキーでエラーにします。
     private static void validateDistinctionOfTownMasters(Collection<TownMaster> townMasters) throws InvalidMasterException {
-        var key = ValidationHelper.getFirstDistinctionOfTownMasters(townMasters);
-        if (key == null) {
-            return;
+        var validator = new TownMasterDistinctionValidator(new TownKeySet(townMasters.size()));
+        for (var master : townMasters) {
+            validator.validate(master);
         }
-        var message = String.format("[%s] このキーは重複しています。", key);
-        throw new InvalidMasterException(message);
-    }
-    private static String getFirstDistinctionOfTownMasters(Collection<TownMaster> townMasters) {
-        var groups = townMasters.stream()
-            .collect(Collectors.groupingBy(TownMaster::getKey, Collectors.counting()));
-        
-        return groups.entrySet().stream()
-            .filter(entry -> entry.getValue() > 1)
-            .map(Map.Entry::getKey)
-            .findFirst()
-            .orElse(null);
     }
 
     private ValidationHelper() {}
@@ -6,6 +6,8 @@ public enum WakeNumFlg {
     Applied("1"),       // 起番
     NotApplied("2");    // 非起番
 
+    private static final WakeNumFlg[] VALUES = WakeNumFlg.values();
+
     private final String id;
 
     public String getId() {
@@ -13,7 +15,7 @@ public enum WakeNumFlg {
     }
 
     public static WakeNumFlg valueOfId(String id) {
-        for (var e : WakeNumFlg.values()) {
+        for (var e : VALUES) {
             if (e.getId().equals(id)) {
                 return e;
             }
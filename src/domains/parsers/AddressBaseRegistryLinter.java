@@ -0,0 +1,170 @@
+package domains.parsers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import domains.masters.MasterLinter;
+
+// このクラスは、アドレスベースレジストリのファイルを、データベースに取り込まずに検証するクラスです。
+//
+// 各ファイルを先頭から1件ずつ読み込み、AddressBaseRegistryParser と同じ規則で列の値を取り出して、MasterLinter で検証します。
+// パースと異なり、項目の違反があってもエラーにせず、すべての違反を MasterLinter の LintReport に記録して読み込みを続けます。
+// 列数が不足しているレコードも、違反として記録して読み飛ばします。
+// 引用符が閉じられていない、ヘッダーに必須の列がないなど、以降のレコードを読み込めない場合のみ FileParserException をスローします。
+// 行番号は、ヘッダーを1行目とした、レコードの番号です。（ZIP アーカイブの場合は、エントリーごとに数えます）
+// 読み込んだマスターデータは保持しないため、ファイルの大きさに関わらずメモリ使用量は一定です。（重複の検証に使用するキーを除く）
+public final class AddressBaseRegistryLinter {
+    private static final TownColumn[] TOWN_COLUMNS = TownColumn.values();
+
+    private final MasterLinter linter;
+
+    public AddressBaseRegistryLinter(MasterLinter linter) {
+        this.linter = linter;
+    }
+
+    // このメソッドは、入力されたファイルパスの都道府県ファイルを検証します。
+    public void lintPrefFile(Path path) throws FileParserException {
+        try {
+            lintPrefFileInternal(path);
+        } catch (IOException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private void lintPrefFileInternal(Path path) throws IOException, FileParserException {
+        var record = new CsvTokenizer();
+        try (var source = CsvFileSource.open(path)) {
+            for (var reader = source.next(); reader != null; reader = source.next()) {
+                var file = fileNameOf(path, source);
+                var row  = 1L;
+                // ヘッダーを読み飛ばす
+                reader.readLine();
+
+                while (AddressBaseRegistryParser.readRecord(reader, record)) {
+                    row++;
+                    if (record.size() < AddressBaseRegistryParser.PREF_COLUMN_COUNT) {
+                        this.linter.lintMissingColumns(MasterLinter.PREF, file, row, AddressBaseRegistryParser.PREF_COLUMN_COUNT, record.size());
+                        continue;
+                    }
+                    this.linter.lintPrefMaster(file, row,
+                        record.getNormalized(0),
+                        record.get(1),
+                        optional(record, 2),
+                        optionalNormalized(record, 3),
+                        optionalNormalized(record, 4),
+                        optionalNormalized(record, 5),
+                        optional(record, 6));
+                }
+            }
+        }
+    }
+
+    // このメソッドは、入力されたファイルパスの市区町村ファイルを検証します。
+    public void lintCityFile(Path path) throws FileParserException {
+        try {
+            lintCityFileInternal(path);
+        } catch (IOException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private void lintCityFileInternal(Path path) throws IOException, FileParserException {
+        var record = new CsvTokenizer();
+        try (var source = CsvFileSource.open(path)) {
+            for (var reader = source.next(); reader != null; reader = source.next()) {
+                var file = fileNameOf(path, source);
+                var row  = 1L;
+                // ヘッダーを読み飛ばす
+                reader.readLine();
+
+                while (AddressBaseRegistryParser.readRecord(reader, record)) {
+                    row++;
+                    if (record.size() < AddressBaseRegistryParser.CITY_COLUMN_COUNT) {
+                        this.linter.lintMissingColumns(MasterLinter.CITY, file, row, AddressBaseRegistryParser.CITY_COLUMN_COUNT, record.size());
+                        continue;
+                    }
+                    this.linter.lintCityMaster(file, row,
+                        record.getNormalized(0),
+                        record.get(1),
+                        optional(record, 2),
+                        optionalNormalized(record, 3),
+                        optional(record, 4),
+                        optional(record, 5),
+                        optionalNormalized(record, 6),
+                        record.get(7),
+                        optional(record, 8),
+                        optionalNormalized(record, 9),
+                        optional(record, 10),
+                        optional(record, 11),
+                        optionalNormalized(record, 12),
+                        optionalNormalized(record, 13),
+                        optionalNormalized(record, 14),
+                        optional(record, 15));
+                }
+            }
+        }
+    }
+
+    // このメソッドは、入力されたファイルパスの町字ファイルを検証します。
+    // 列は、AddressBaseRegistryParser と同様に、ヘッダーの列名で対応付けます。
+    public void lintTownFile(Path path) throws FileParserException {
+        try {
+            lintTownFileInternal(path);
+        } catch (IOException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private void lintTownFileInternal(Path path) throws IOException, FileParserException {
+        var record = new CsvTokenizer();
+        var values = new Object[TOWN_COLUMNS.length];
+        try (var source = CsvFileSource.open(path)) {
+            for (var reader = source.next(); reader != null; reader = source.next()) {
+                var file = fileNameOf(path, source);
+                var row  = 1L;
+                // ヘッダーから列の並びを読み取る
+                var header = reader.readLine();
+                if (header == null) {
+                    continue;
+                }
+                var decoder = TownRecordDecoder.of(header);
+
+                while (AddressBaseRegistryParser.readRecord(reader, record)) {
+                    row++;
+                    if (record.size() < decoder.getColumnCount()) {
+                        this.linter.lintMissingColumns(MasterLinter.TOWN, file, row, decoder.getColumnCount(), record.size());
+                        continue;
+                    }
+                    for (var column : TOWN_COLUMNS) {
+                        values[column.getField().ordinal()] = extract(record, decoder, column);
+                    }
+                    this.linter.lintTownMaster(file, row, values);
+                }
+            }
+        }
+    }
+
+    // このメソッドは、TownRecordDecoder と同じ規則で列の値を取り出します。
+    // 辞書による共有は行わず、日付の項目は解析せずに（正規化した）日付文字列のまま返します。
+    private static String extract(CsvRecord record, TownRecordDecoder decoder, TownColumn column) {
+        var index = decoder.columnIndexOf(column.getField());
+        if (index < 0 || (!column.isRequired() && record.isBlank(index))) {
+            return null;
+        }
+        return switch (column.getExtraction()) {
+            case Raw, Shared, Date                            -> record.get(index);
+            case Normalized, SharedNormalized, NormalizedDate -> record.getNormalized(index);
+        };
+    }
+
+    private static String optional(CsvRecord record, int index) {
+        return !record.isBlank(index) ? record.get(index) : null;
+    }
+
+    private static String optionalNormalized(CsvRecord record, int index) {
+        return !record.isBlank(index) ? record.getNormalized(index) : null;
+    }
+
+    // ZIP アーカイブの場合はエントリー名、それ以外の場合はファイル名を返す
+    private static String fileNameOf(Path path, CsvFileSource source) {
+        var entryName = source.getEntryName();
+        return entryName != null ? entryName : path.getFileName().toString();
+    }
+}
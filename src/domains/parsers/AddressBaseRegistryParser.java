@@ -1,36 +1,95 @@
 package domains.parsers;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.Normalizer;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import domains.masters.PrefMaster;
 import domains.masters.CityMaster;
 import domains.masters.TownMaster;
 import domains.masters.InstantiablePrefMaster;
 import domains.masters.InstantiableCityMaster;
-import domains.masters.InstantiableTownMaster;
 import domains.masters.InvalidMasterException;
+import domains.masters.MasterReferenceValidator;
+import domains.masters.ProjectedTownMaster;
+import domains.masters.TownHierarchyValidator;
+import domains.masters.TownKeySet;
+import domains.masters.TownMasterDistinctionValidator;
+import domains.masters.TownMasterValidationEngine;
 import domains.masters.ValidationHelper;
 
 // このクラスは、アドレスベースレジストリのファイルパースを行うクラスです。
 public final class AddressBaseRegistryParser implements FileParsable {
 
-    // 文字列の正規化形式
-    // 都道府県名英字、地方公共団体コードなどの、文字列（英字）項目や、文字列（数値）項目に対して正規化を行う形式。
-    // 都道府県名、都道府県名カナなどの、文字列、文字列（全角カナ）項目に対しては使用しない。
-    private static final Normalizer.Form NORMALIZATION_FORM = Normalizer.Form.NFKC;
+    // 文字列（英字）項目や、文字列（数値）項目は TextNormalizer で正規化する。
+    // 都道府県名、都道府県名カナなどの、文字列、文字列（全角カナ）項目に対しては正規化しない。
 
     // 効力発生日、廃止日の日付フォーマット文字列
     //private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_DATE;
 
+    // 各ファイルの列数
+    static final int PREF_COLUMN_COUNT = 7;
+    static final int CITY_COLUMN_COUNT = 16;
+
+    // このメソッドは、ファイルから1レコードを読み込み、列に分割します。
+    // 引用符で囲まれた列が改行を含む場合は、複数行を1レコードとして読み込みます。
+    // ファイルの終端に達した場合は false を返します。
+    static boolean readRecord(BufferedReader reader, CsvTokenizer record) throws IOException, FileParserException {
+        return readRecord(reader, record, null);
+    }
+    // filter が null でない場合は、絞り込みに該当しないことが行の先頭で確定した行を、列に分割せずに読み飛ばします。
+    private static boolean readRecord(BufferedReader reader, CsvTokenizer record, LgCodeFilter filter) throws IOException, FileParserException {
+        var line = reader.readLine();
+        while (line != null && filter != null && filter.rejects(line)) {
+            line = reader.readLine();
+        }
+        if (line == null) {
+            return false;
+        }
+        while (!record.tokenize(line)) {
+            var next = reader.readLine();
+            if (next == null) {
+                throw new FileParserException("引用符で囲まれた列が閉じられていません。");
+            }
+            line = line + "\n" + next;
+        }
+        return true;
+    }
+
+    // このメソッドは、レコードの列数が想定の列数以上であることを検証します。
+    private static void validateColumnCount(CsvRecord record, int count) throws FileParserException {
+        if (record.size() >= count) {
+            return;
+        }
+        var message = String.format("列数が不足しています。(想定:%d, 実際:%d)", count, record.size());
+        throw new FileParserException(message);
+    }
+
     // このメソッドは、入力されたファイルパスのファイルを読み込み、都道府県マスターデータを生成します。
     @Override
     public Collection<PrefMaster> parsePrefFile(Path path) throws FileParserException {
@@ -40,22 +99,44 @@ public final class AddressBaseRegistryParser implements FileParsable {
             throw new FileParserException(e.getMessage());
         }
     }
-    private Collection<PrefMaster> parsePrefFileInternal(Path path) throws IOException, InvalidMasterException {
+    private Collection<PrefMaster> parsePrefFileInternal(Path path) throws IOException, InvalidMasterException, FileParserException {
+        try (var source = CsvFileSource.open(path)) {
+            return parsePrefSource(source);
+        }
+    }
+
+    // このメソッドは、入力ストリームを読み込み、都道府県マスターデータを生成します。
+    // 入力ストリームは閉じません。
+    @Override
+    public Collection<PrefMaster> parsePrefFile(InputStream stream) throws FileParserException {
+        try {
+            return parsePrefStreamInternal(stream);
+        } catch (IOException | InvalidMasterException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private Collection<PrefMaster> parsePrefStreamInternal(InputStream stream) throws IOException, InvalidMasterException, FileParserException {
+        try (var source = CsvFileSource.open(stream)) {
+            return parsePrefSource(source);
+        }
+    }
+    private static Collection<PrefMaster> parsePrefSource(CsvFileSource source) throws IOException, InvalidMasterException, FileParserException {
         List<PrefMaster> masters = new ArrayList<>();
-        try (var reader = Files.newBufferedReader(path)) {
+        var record = new CsvTokenizer();
+        for (var reader = source.next(); reader != null; reader = source.next()) {
             // ヘッダーを読み飛ばす
-            var line = reader.readLine();
-
-            while ((line = reader.readLine()) != null) {
-                var items = line.split(",", -1);
-                
-                var lgCode   = Normalizer.normalize(items[0], NORMALIZATION_FORM);
-                var pref     = items[1];
-                var prefKana = !items[2].isBlank() ? items[2] : null;
-                var prefRoma = !items[3].isBlank() ? Normalizer.normalize(items[3], NORMALIZATION_FORM) : null;
-                var efctDate = !items[4].isBlank() ? LocalDate.parse(Normalizer.normalize(items[4], NORMALIZATION_FORM), DATE_TIME_FORMATTER) : null;
-                var abltDate = !items[5].isBlank() ? LocalDate.parse(Normalizer.normalize(items[5], NORMALIZATION_FORM), DATE_TIME_FORMATTER) : null;
-                var remarks  = !items[6].isBlank() ? items[6] : null;
+            reader.readLine();
+
+            while (readRecord(reader, record)) {
+                validateColumnCount(record, PREF_COLUMN_COUNT);
+            
+                var lgCode   = TextNormalizer.normalize(record.get(0));
+                var pref     = record.get(1);
+                var prefKana = !record.isBlank(2) ? record.get(2) : null;
+                var prefRoma = !record.isBlank(3) ? TextNormalizer.normalize(record.get(3)) : null;
+                var efctDate = !record.isBlank(4) ? LocalDate.parse(TextNormalizer.normalize(record.get(4)), DATE_TIME_FORMATTER) : null;
+                var abltDate = !record.isBlank(5) ? LocalDate.parse(TextNormalizer.normalize(record.get(5)), DATE_TIME_FORMATTER) : null;
+                var remarks  = !record.isBlank(6) ? record.get(6) : null;
 
                 var master = new InstantiablePrefMaster.Builder(lgCode, pref)
                     .prefKana(prefKana)
@@ -81,32 +162,54 @@ public final class AddressBaseRegistryParser implements FileParsable {
             throw new FileParserException(e.getMessage());
         } 
     }
-    private Collection<CityMaster> parseCityFileInternal(Path path) throws IOException, InvalidMasterException {
+    private Collection<CityMaster> parseCityFileInternal(Path path) throws IOException, InvalidMasterException, FileParserException {
+        try (var source = CsvFileSource.open(path)) {
+            return parseCitySource(source);
+        }
+    }
+
+    // このメソッドは、入力ストリームを読み込み、市区町村マスターデータを生成します。
+    // 入力ストリームは閉じません。
+    @Override
+    public Collection<CityMaster> parseCityFile(InputStream stream) throws FileParserException {
+        try {
+            return parseCityStreamInternal(stream);
+        } catch (IOException | InvalidMasterException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private Collection<CityMaster> parseCityStreamInternal(InputStream stream) throws IOException, InvalidMasterException, FileParserException {
+        try (var source = CsvFileSource.open(stream)) {
+            return parseCitySource(source);
+        }
+    }
+    private static Collection<CityMaster> parseCitySource(CsvFileSource source) throws IOException, InvalidMasterException, FileParserException {
         List<CityMaster> masters = new ArrayList<>();
-        try (var reader = Files.newBufferedReader(path)) {
+        var record = new CsvTokenizer();
+        for (var reader = source.next(); reader != null; reader = source.next()) {
             // ヘッダーを読み飛ばす
-            var line = reader.readLine();
-
-            while ((line = reader.readLine()) != null) {
-                var items = line.split(",", -1);
-
-                var lgCode     = Normalizer.normalize(items[0], NORMALIZATION_FORM);
-                var pref       = items[1];
-                var prefKana   = !items[2].isBlank()  ? items[2] : null;
-                var prefRoma   = !items[3].isBlank()  ? Normalizer.normalize(items[3], NORMALIZATION_FORM)  : null;
-                var county     = !items[4].isBlank()  ? items[4] : null;
-                var countyKana = !items[5].isBlank()  ? items[5] : null;
-                var countyRoma = !items[6].isBlank()  ? Normalizer.normalize(items[6], NORMALIZATION_FORM)  : null;
-                var city       = items[7];
-                var cityKana   = !items[8].isBlank()  ? items[8] : null;
-                var cityRoma   = !items[9].isBlank()  ? Normalizer.normalize(items[9], NORMALIZATION_FORM) : null;
-                var ward       = !items[10].isBlank() ? items[10] : null;
-                var wardKana   = !items[11].isBlank() ? items[11] : null;
-                var wardRoma   = !items[12].isBlank() ? Normalizer.normalize(items[12], NORMALIZATION_FORM) : null;
-                var efctDate   = !items[13].isBlank() ? LocalDate.parse(Normalizer.normalize(items[13], NORMALIZATION_FORM), DATE_TIME_FORMATTER) : null;
-                var abltDate   = !items[14].isBlank() ? LocalDate.parse(Normalizer.normalize(items[14], NORMALIZATION_FORM), DATE_TIME_FORMATTER) : null;
-                var remarks    = !items[15].isBlank() ? items[15] : null;
-                
+            reader.readLine();
+
+            while (readRecord(reader, record)) {
+                validateColumnCount(record, CITY_COLUMN_COUNT);
+
+                var lgCode     = TextNormalizer.normalize(record.get(0));
+                var pref       = record.get(1);
+                var prefKana   = !record.isBlank(2)  ? record.get(2) : null;
+                var prefRoma   = !record.isBlank(3)  ? TextNormalizer.normalize(record.get(3))  : null;
+                var county     = !record.isBlank(4)  ? record.get(4) : null;
+                var countyKana = !record.isBlank(5)  ? record.get(5) : null;
+                var countyRoma = !record.isBlank(6)  ? TextNormalizer.normalize(record.get(6))  : null;
+                var city       = record.get(7);
+                var cityKana   = !record.isBlank(8)  ? record.get(8) : null;
+                var cityRoma   = !record.isBlank(9)  ? TextNormalizer.normalize(record.get(9)) : null;
+                var ward       = !record.isBlank(10) ? record.get(10) : null;
+                var wardKana   = !record.isBlank(11) ? record.get(11) : null;
+                var wardRoma   = !record.isBlank(12) ? TextNormalizer.normalize(record.get(12)) : null;
+                var efctDate   = !record.isBlank(13) ? LocalDate.parse(TextNormalizer.normalize(record.get(13)), DATE_TIME_FORMATTER) : null;
+                var abltDate   = !record.isBlank(14) ? LocalDate.parse(TextNormalizer.normalize(record.get(14)), DATE_TIME_FORMATTER) : null;
+                var remarks    = !record.isBlank(15) ? record.get(15) : null;
+            
                 var master = new InstantiableCityMaster.Builder(lgCode, pref, city)
                     .prefKana(prefKana)
                     .prefRoma(prefRoma)
@@ -122,7 +225,7 @@ public final class AddressBaseRegistryParser implements FileParsable {
                     .abltDate(abltDate)
                     .remarks(remarks)
                     .build();
-                
+            
                 masters.add(master);
             }
         }
@@ -133,105 +236,781 @@ public final class AddressBaseRegistryParser implements FileParsable {
     // このメソッドは、入力されたファイルパスのファイルを読み込み、町丁目マスターデータを生成します。
     @Override
     public Collection<TownMaster> parseTownFile(Path path) throws FileParserException {
+        return parseTownFile(path, ParseOptions.DEFAULT);
+    }
+
+    // このメソッドは、入力されたファイルパスのファイルをオプションに従って読み込み、町丁目マスターデータを生成します。
+    @Override
+    public Collection<TownMaster> parseTownFile(Path path, ParseOptions options) throws FileParserException {
         try {
-            var masters = parseTownFileInternal(path);
+            var dictionary = new ValueDictionary();
+            Collection<TownMaster> masters;
+            if (options.getParallelism() > 1) {
+                masters = parseTownFileParallel(path, options, dictionary);
+            } else if (options.getEngine() != ParseEngine.Text && !CsvFileSource.isZip(path)) {
+                masters = parseTownFileMapped(path, options, dictionary);
+            } else {
+                masters = parseTownFileInternal(path, options, dictionary);
+            }
+            validateDeferred(masters, options);
+            validateReferences(masters, options);
+            validateHierarchy(masters, options);
+            dictionary.report(options.getStatistics());
+            if (options.getEngine() == ParseEngine.Vector && options.getStatistics() != null) {
+                options.getStatistics().setBlockClassifier(BLOCK_CLASSIFIER.name());
+            }
             return masters;
         } catch (IOException | InvalidMasterException e) {
             throw new FileParserException(e.getMessage());
         }
     }
-    private Collection<TownMaster> parseTownFileInternal(Path path) throws IOException, InvalidMasterException {
+    private Collection<TownMaster> parseTownFileInternal(Path path, ParseOptions options, ValueDictionary dictionary) throws IOException, InvalidMasterException, FileParserException {
         List<TownMaster> masters = new ArrayList<>();
-        try (var reader = Files.newBufferedReader(path)) {
-            // ヘッダーを読み飛ばす
-            var line = reader.readLine();
-
-            while ((line = reader.readLine()) != null) {
-                var items = line.split(",", -1);
-
-                var lgCode          = Normalizer.normalize(items[0], NORMALIZATION_FORM);
-                var machiazaId      = Normalizer.normalize(items[1], NORMALIZATION_FORM);
-                var machiazaType    = Normalizer.normalize(items[2], NORMALIZATION_FORM);
-                var pref            = items[3];
-                var prefKana        = !items[4].isBlank()  ? items[4] : null;
-                var prefRoma        = !items[5].isBlank()  ? Normalizer.normalize(items[5], NORMALIZATION_FORM) : null;
-                var county          = !items[6].isBlank()  ? items[6] : null;
-                var countyKana      = !items[7].isBlank()  ? items[7] : null;
-                var countyRoma      = !items[8].isBlank()  ? Normalizer.normalize(items[8], NORMALIZATION_FORM) : null;
-                var city            = items[9];
-                var cityKana        = !items[10].isBlank() ? items[10] : null;
-                var cityRoma        = !items[11].isBlank() ? Normalizer.normalize(items[11], NORMALIZATION_FORM) : null;
-                var ward            = !items[12].isBlank() ? items[12] : null;
-                var wardKana        = !items[13].isBlank() ? items[13] : null;
-                var wardRoma        = !items[14].isBlank() ? Normalizer.normalize(items[14], NORMALIZATION_FORM) : null;
-                var oazaCho         = !items[15].isBlank() ? items[15] : null;
-                var oazaChoKana     = !items[16].isBlank() ? items[16] : null;
-                var oazaChoRoma     = !items[17].isBlank() ? Normalizer.normalize(items[17], NORMALIZATION_FORM) : null;
-                var chome           = !items[18].isBlank() ? items[18] : null;
-                var chomeKana       = !items[19].isBlank() ? items[19] : null;
-                var chomeNumber     = !items[20].isBlank() ? Normalizer.normalize(items[20], NORMALIZATION_FORM) : null;
-                var koaza           = !items[21].isBlank() ? items[21] : null;
-                var koazaKana       = !items[22].isBlank() ? items[22] : null;
-                var koazaRoma       = !items[23].isBlank() ? Normalizer.normalize(items[23], NORMALIZATION_FORM) : null;
-                var machiazaDist    = !items[24].isBlank() ? items[24] : null;
-                var rsdtAddrFlg     = Normalizer.normalize(items[25], NORMALIZATION_FORM);
-                var rsdtAddrMtdCode = !items[26].isBlank() ? Normalizer.normalize(items[26], NORMALIZATION_FORM) : null;
-                var oazaChoAkaFlg   = !items[27].isBlank() ? Normalizer.normalize(items[27], NORMALIZATION_FORM) : null;
-                var koazaAkaCode    = !items[28].isBlank() ? Normalizer.normalize(items[28], NORMALIZATION_FORM) : null;
-                var oazaChoGsiUncmn = !items[29].isBlank() ? Normalizer.normalize(items[29], NORMALIZATION_FORM) : null;
-                var koazaGsiUncmn   = !items[30].isBlank() ? Normalizer.normalize(items[30], NORMALIZATION_FORM) : null;
-                var statusFlg       = !items[31].isBlank() ? Normalizer.normalize(items[31], NORMALIZATION_FORM) : null;
-                var wakeNumFlag     = !items[32].isBlank() ? Normalizer.normalize(items[32], NORMALIZATION_FORM) : null;
-                var efctDate        = LocalDate.parse(Normalizer.normalize(items[33], NORMALIZATION_FORM), DATE_TIME_FORMATTER);
-                var abltDate        = !items[34].isBlank() ? LocalDate.parse(items[34], DATE_TIME_FORMATTER) : null;
-                var srcCode         = !items[35].isBlank() ? Normalizer.normalize(items[35], NORMALIZATION_FORM) : null;
-                var postCode        = !items[36].isBlank() ? Normalizer.normalize(items[36], NORMALIZATION_FORM) : null;
-                var remarks         = !items[37].isBlank() ? items[37] : null;
-                
-                var master = new InstantiableTownMaster.Builder(lgCode, 
-                    machiazaId, 
-                    machiazaType, 
-                    pref, 
-                    city, 
-                    rsdtAddrFlg, 
-                    efctDate)
-                    .prefKana(prefKana)
-                    .prefRoma(prefRoma)
-                    .county(county)
-                    .countyKana(countyKana)
-                    .countyRoma(countyRoma)
-                    .cityKana(cityKana)
-                    .cityRoma(cityRoma)
-                    .ward(ward)
-                    .wardKana(wardKana)
-                    .wardRoma(wardRoma)
-                    .oazaCho(oazaCho)
-                    .oazaChoKana(oazaChoKana)
-                    .oazaChoRoma(oazaChoRoma)
-                    .chome(chome)
-                    .chomeKana(chomeKana)
-                    .chomeNumber(chomeNumber)
-                    .koaza(koaza)
-                    .koazaKana(koazaKana)
-                    .koazaRoma(koazaRoma)
-                    .machiazaDist(machiazaDist)
-                    .rsdtAddrMtdCode(rsdtAddrMtdCode)
-                    .oazaChoAkaFlg(oazaChoAkaFlg)
-                    .koazaAkaCode(koazaAkaCode)
-                    .oazaChoGsiUncmn(oazaChoGsiUncmn)
-                    .koazaGsiUncmn(koazaGsiUncmn)
-                    .statusFlg(statusFlg)
-                    .wakeNumFlg(wakeNumFlag)
-                    .abltDate(abltDate)
-                    .srcCode(srcCode)
-                    .postCode(postCode)
-                    .remarks(remarks)
-                    .build();
-                
+        var validator = newValidator(options, Files.size(path));
+        try (var source = CsvFileSource.open(path)) {
+            parseTownSource(source, options, masters, dictionary, validator, null);
+        }
+        return masters;
+    }
+
+    // このメソッドは、入力ストリームをオプションに従って読み込み、町丁目マスターデータを生成します。
+    // 入力ストリームは先頭から順に単一スレッドで読み込むため、オプションの並列数、パース方式、遅延生成は使用しません。
+    // 入力ストリームは閉じません。
+    @Override
+    public Collection<TownMaster> parseTownFile(InputStream stream, ParseOptions options) throws FileParserException {
+        try {
+            var dictionary = new ValueDictionary();
+            var masters    = parseTownStreamInternal(stream, options, dictionary);
+            validateDeferred(masters, options);
+            validateReferences(masters, options);
+            validateHierarchy(masters, options);
+            dictionary.report(options.getStatistics());
+            return masters;
+        } catch (IOException | InvalidMasterException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private Collection<TownMaster> parseTownStreamInternal(InputStream stream, ParseOptions options, ValueDictionary dictionary) throws IOException, InvalidMasterException, FileParserException {
+        List<TownMaster> masters = new ArrayList<>();
+        var validator = options.defersValidation() ? null : new TownMasterDistinctionValidator();
+        try (var source = CsvFileSource.open(stream)) {
+            parseTownSource(source, options, masters, dictionary, validator, null);
+        }
+        return masters;
+    }
+    // オプションで射影が指定された場合は、射影に含まれる列のみを、絞り込みが指定された場合は、該当する行のみを読み込みます。
+    // マスター間の重複は、1件ごとに validator で検証します。
+    // cancelled が null でない場合は、1件ごとに中止されていないかを確認します。
+    private static void parseTownSource(CsvFileSource source, ParseOptions options, List<TownMaster> masters, ValueDictionary dictionary, TownMasterDistinctionValidator validator, AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException {
+        var record = new CsvTokenizer();
+        var filter = options.getLgCodeFilter();
+        for (var reader = source.next(); reader != null; reader = source.next()) {
+            // ヘッダーから列の並びを読み取る
+            var header = reader.readLine();
+            if (header == null) {
+                continue;
+            }
+            var decoder   = TownRecordDecoder.of(header, options.getProjection(), false, options.defersValidation());
+            var rawFilter = rawLgCodeFilter(filter, decoder);
+
+            while (readRecord(reader, record, rawFilter)) {
+                checkCancelled(cancelled);
+                if (!acceptsLgCode(filter, decoder, record)) {
+                    continue;
+                }
+                var master = decoder.decode(record, dictionary);
+                if (validator != null) {
+                    validator.validate(master);
+                }
                 masters.add(master);
             }
         }
-        ValidationHelper.validateTownMasters(masters);
+    }
+
+    // このメソッドは、行の先頭で判定する絞り込みを返します。
+    // 全国地方公共団体コードが先頭の列でない場合は、行の先頭では判定できないため null を返します。
+    private static LgCodeFilter rawLgCodeFilter(LgCodeFilter filter, TownRecordDecoder decoder) {
+        return filter != null && decoder.getLgCodeIndex() == 0 ? filter : null;
+    }
+
+    // このメソッドは、列に分割したレコードの全国地方公共団体コードが、絞り込みに該当するかを判定します。
+    // 列数が不足している場合は、変換時にエラーにするため true を返します。
+    private static boolean acceptsLgCode(LgCodeFilter filter, TownRecordDecoder decoder, CsvRecord record) {
+        if (filter == null || record.size() <= decoder.getLgCodeIndex()) {
+            return true;
+        }
+        return filter.matches(record.getNormalized(decoder.getLgCodeIndex()));
+    }
+
+    // 構造文字の索引の生成に使用するブロック分類（Vector API が使用できない場合は1バイトずつ分類する）
+    private static final BlockClassifier BLOCK_CLASSIFIER = BlockClassifier.load();
+
+    // バイト列でのパース時に、1回でメモリマップする範囲の最大サイズ
+    private static final long MAX_MAPPED_BYTES = 1L << 30;
+
+    // このメソッドは、町字ファイルをメモリマップし、UTF-8 のバイト列のまま単一スレッドでパースします。
+    // パース方式が Vector の場合は、構造文字の索引を使用して列に分割します。
+    // ファイルを文字列に変換しないため、英数字の列や、直前の行と同じ値の列はデコードせずに済みます。
+    private Collection<TownMaster> parseTownFileMapped(Path path, ParseOptions options, ValueDictionary dictionary) throws IOException, InvalidMasterException, FileParserException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // ヘッダーから列の並びを読み取る
+            var start   = findNextLineStart(channel, 0);
+            var decoder = readTownHeader(channel, start, options);
+            var count  = (int)((channel.size() - start) / MAX_MAPPED_BYTES) + 1;
+            var ranges = splitLineRanges(channel, start, count);
+
+            List<TownMaster> masters = new ArrayList<>();
+            var validator = newValidator(options, channel.size() - start);
+            for (var i = 0; i < ranges.length - 1; i++) {
+                masters.addAll(parseTownRange(channel, ranges[i], ranges[i + 1], options.getEngine(), decoder, options.getLgCodeFilter(), dictionary, validator, null));
+            }
+            return masters;
+        }
+    }
+
+    // 並列パース時に、1スレッドあたりに割り当てる範囲の数
+    // スレッド数より多く分割することで、範囲ごとの処理時間の偏りを吸収する。
+    private static final int RANGES_PER_THREAD = 4;
+
+    // このメソッドは、町字ファイルを行単位の範囲に分割し、各範囲を並列にパースします。
+    // 各範囲はメモリマップしたファイルから直接読み込み、結果はファイル内の順序で連結します。
+    // いずれかの範囲でエラーが発生した場合は、後ろの範囲の読み込みを中止し、ファイルの先頭に最も近い範囲のエラーを返すため、
+    // 単一スレッドでのパースと同じエラーになります。
+    // ZIP アーカイブの場合は、アーカイブ直下のエントリー単位で並列に展開、パースします。
+    private Collection<TownMaster> parseTownFileParallel(Path path, ParseOptions options, ValueDictionary dictionary) throws IOException, InvalidMasterException, FileParserException {
+        if (CsvFileSource.isZip(path)) {
+            return parseTownArchiveParallel(path, options, dictionary);
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // ヘッダーから列の並びを読み取る
+            var start   = findNextLineStart(channel, 0);
+            var decoder = readTownHeader(channel, start, options);
+            var ranges = splitLineRanges(channel, start, options.getParallelism() * RANGES_PER_THREAD);
+
+            var pool = new ForkJoinPool(options.getParallelism());
+            try {
+                var parsers    = new ArrayList<TownTask>();
+                var validators = new ArrayList<TownMasterDistinctionValidator>();
+                for (var i = 0; i < ranges.length - 1; i++) {
+                    var rangeStart = ranges[i];
+                    var rangeEnd   = ranges[i + 1];
+                    var validator  = newValidator(options, rangeEnd - rangeStart);
+                    validators.add(validator);
+                    parsers.add(cancelled -> parseTownRange(channel, rangeStart, rangeEnd, options.getEngine(), decoder, options.getLgCodeFilter(), dictionary, validator, cancelled));
+                }
+
+                return joinTownTasks(submitTownTasks(pool, parsers), validators);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+    // このメソッドは、ZIP アーカイブ直下のエントリー（都道府県別の CSV ファイルや ZIP アーカイブなど）を並列に展開し、パースします。
+    // 各エントリーは独立して圧縮されているため、一時ファイルに展開せずにそれぞれのスレッドで直接読み込みます。
+    // 結果はアーカイブ内の順序で連結するため、単一スレッドでのパースと同じ結果、同じエラーになります。
+    // いずれかのエントリーでエラーが発生した場合は、後ろのエントリーの読み込みを中止します。
+    private Collection<TownMaster> parseTownArchiveParallel(Path path, ParseOptions options, ValueDictionary dictionary) throws IOException, InvalidMasterException, FileParserException {
+        try (var file = new ZipFile(path.toFile())) {
+            var pool = new ForkJoinPool(options.getParallelism());
+            try {
+                var parsers    = new ArrayList<TownTask>();
+                var validators = new ArrayList<TownMasterDistinctionValidator>();
+                for (var entry : CsvFileSource.listEntries(file)) {
+                    var validator = newValidator(options, Math.max(entry.getSize(), 0));
+                    validators.add(validator);
+                    parsers.add(cancelled -> parseTownEntry(file, entry, options, dictionary, validator, cancelled));
+                }
+
+                return joinTownTasks(submitTownTasks(pool, parsers), validators);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+    private static List<TownMaster> parseTownEntry(ZipFile file, ZipEntry entry, ParseOptions options, ValueDictionary dictionary, TownMasterDistinctionValidator validator, AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException {
+        List<TownMaster> masters = new ArrayList<>();
+        try (var source = CsvFileSource.open(file, entry)) {
+            parseTownSource(source, options, masters, dictionary, validator, cancelled);
+        }
+        return masters;
+    }
+
+    // このインターフェースは、範囲（エントリー）ごとのパースを表します。
+    // cancelled が true になった場合は、読み込みを中止します。
+    private interface TownTask {
+        List<TownMaster> parse(AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException;
+    }
+
+    // このメソッドは、範囲（エントリー）ごとのパースを、ファイル内の順序で並列に開始します。
+    // いずれかの範囲でエラーが発生した場合は、その範囲より後ろの範囲の読み込みを中止します。
+    // 前の範囲には、よりファイルの先頭に近いエラーがある可能性があるため、中止せずに読み込みを続けます。
+    private static List<ForkJoinTask<List<TownMaster>>> submitTownTasks(ForkJoinPool pool, List<TownTask> parsers) {
+        var cancels = new AtomicBoolean[parsers.size()];
+        for (var i = 0; i < cancels.length; i++) {
+            cancels[i] = new AtomicBoolean(false);
+        }
+        var tasks = new ArrayList<ForkJoinTask<List<TownMaster>>>();
+        for (var i = 0; i < cancels.length; i++) {
+            var index  = i;
+            var parser = parsers.get(i);
+            tasks.add(pool.submit(() -> {
+                try {
+                    return parser.parse(cancels[index]);
+                } catch (IOException | InvalidMasterException | FileParserException | RuntimeException e) {
+                    for (var j = index + 1; j < cancels.length; j++) {
+                        cancels[j].set(true);
+                    }
+                    throw e;
+                }
+            }));
+        }
+        return tasks;
+    }
+
+    // このメソッドは、範囲（エントリー、ファイル）ごとのタスクの結果を、ファイル内の順序で確認して連結します。
+    // 各範囲の結果を確認する前に、その範囲で検証したキーをそれまでの範囲のキーとまとめ、範囲をまたいだ重複がないかを検証します。
+    // 範囲内の重複は、各範囲の読み込み中に検証済みです。
+    // 範囲のキーは、その範囲でエラーになった行より前の行のキーのみで、merge() は範囲内で最も前の行の重複を報告するため、
+    // 範囲をまたいだ重複とその他のエラーのうち、ファイルの先頭に最も近い行のエラーを返します。（単一スレッドでのパースと同じエラーになります）
+    // 検証を読み込み後に行う場合（validator が null の場合）は、重複を検証しません。
+    private static List<TownMaster> joinTownTasks(List<? extends Future<List<TownMaster>>> tasks, List<TownMasterDistinctionValidator> validators) throws IOException, InvalidMasterException, FileParserException {
+        List<TownMaster> masters = new ArrayList<>();
+        for (var i = 0; i < tasks.size(); i++) {
+            List<TownMaster> result;
+            try {
+                result = joinTownTask(tasks.get(i));
+            } catch (IOException | InvalidMasterException | FileParserException | RuntimeException e) {
+                mergeValidator(validators, i);
+                throw e;
+            }
+            mergeValidator(validators, i);
+            masters.addAll(result);
+        }
         return masters;
     }
+    private static void mergeValidator(List<TownMasterDistinctionValidator> validators, int index) throws InvalidMasterException {
+        if (index == 0 || validators.get(0) == null) {
+            return;
+        }
+        validators.get(0).merge(validators.get(index));
+    }
+
+    // このメソッドは、キーの重複を読み込み中に検証する validator を生成します。
+    // 検証を読み込み後に行う場合は、null を返します。
+    private static TownMasterDistinctionValidator newValidator(ParseOptions options, long inputBytes) {
+        if (options.defersValidation()) {
+            return null;
+        }
+        return new TownMasterDistinctionValidator(TownKeySet.forInputBytes(inputBytes));
+    }
+
+    // このメソッドは、読み込み中に省略した項目間の関連性とキーの重複を、読み込み後にまとめて並列に検証します。
+    private static void validateDeferred(Collection<TownMaster> masters, ParseOptions options) throws InvalidMasterException {
+        if (options.defersValidation()) {
+            new TownMasterValidationEngine(options.getValidationParallelism()).validate(masters);
+        }
+    }
+
+    // このメソッドは、オプションで指定された場合に、町字IDの階層の整合性を読み込み後に検証します。
+    // 遅延生成した町字マスターは検証しません。（遅延生成は、読み込み方式によって全件に適用されるか、いずれにも適用されないかのどちらかです）
+    static void validateHierarchy(Collection<TownMaster> masters, ParseOptions options) throws InvalidMasterException {
+        if (!options.validatesHierarchy()) {
+            return;
+        }
+        if (options.isLazy() && masters.stream().anyMatch(LazyTownMaster.class::isInstance)) {
+            return;
+        }
+        TownHierarchyValidator.validate(masters);
+    }
+
+    // このメソッドは、オプションで参照先の検証が指定された場合に、町字マスターの市区町村を検証します。
+    private static void validateReferences(Collection<TownMaster> masters, ParseOptions options) throws InvalidMasterException {
+        if (options.getReferences() != null) {
+            options.getReferences().validate(masters);
+        }
+    }
+
+    private static List<TownMaster> joinTownTask(Future<List<TownMaster>> task) throws IOException, InvalidMasterException, FileParserException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e.getMessage());
+        } catch (ExecutionException e) {
+            // ForkJoinPool は検査例外を RuntimeException で包むため、原因をたどって元の例外を取り出す
+            for (var cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException)cause;
+                } else if (cause instanceof InvalidMasterException) {
+                    throw (InvalidMasterException)cause;
+                } else if (cause instanceof FileParserException) {
+                    throw (FileParserException)cause;
+                }
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            }
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    // このメソッドは、指定された範囲のファイルをメモリマップし、1行ずつ町字マスターデータを生成します。
+    // パース方式が Bytes の場合は、行を文字列に変換せずに UTF-8 のバイト列のまま列に分割します。
+    // パース方式が Vector の場合は、さらに構造文字の索引を生成し、索引から列の位置を求めます。
+    // 範囲の開始位置と終了位置は、レコードの先頭（引用符で囲まれた列の外）に揃っている必要があります。（splitLineRanges() で分割した範囲）
+    private static List<TownMaster> parseTownRange(FileChannel channel, long start, long end, ParseEngine engine, TownRecordDecoder decoder, LgCodeFilter filter, ValueDictionary dictionary, TownMasterDistinctionValidator validator, AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException {
+        if (start >= end) {
+            return new ArrayList<>();
+        }
+        var buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        if (engine == ParseEngine.Bytes) {
+            return parseTownBytes(buffer, decoder, filter, dictionary, validator, cancelled);
+        } else if (engine == ParseEngine.Vector) {
+            return parseTownIndexed(buffer, decoder, filter, dictionary, validator, cancelled);
+        }
+        return parseTownLines(buffer, decoder, filter, dictionary, validator, cancelled);
+    }
+    private static List<TownMaster> parseTownLines(ByteBuffer buffer, TownRecordDecoder decoder, LgCodeFilter filter, ValueDictionary dictionary, TownMasterDistinctionValidator validator, AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException {
+        List<TownMaster> masters = new ArrayList<>();
+        var charsetDecoder = StandardCharsets.UTF_8.newDecoder();
+        var record         = new CsvTokenizer();
+        var rawFilter      = rawLgCodeFilter(filter, decoder);
+        var limit          = buffer.limit();
+        var position       = 0;
+        while (position < limit) {
+            var lineEnd = findLineEnd(buffer, position);
+            // 絞り込みに該当しない行は、文字列に変換せずに読み飛ばす
+            if (rawFilter != null && rawFilter.rejects(buffer, position, lineEnd)) {
+                position = lineEnd + 1;
+                continue;
+            }
+            var line    = decodeLine(charsetDecoder, buffer, position, lineEnd);
+            position    = lineEnd + 1;
+
+            // 引用符で囲まれた列が改行を含む場合は、次の行をつなげる
+            while (!record.tokenize(line)) {
+                if (position >= limit) {
+                    throw new FileParserException("引用符で囲まれた列が閉じられていません。");
+                }
+                lineEnd  = findLineEnd(buffer, position);
+                line     = line + "\n" + decodeLine(charsetDecoder, buffer, position, lineEnd);
+                position = lineEnd + 1;
+            }
+            checkCancelled(cancelled);
+            if (acceptsLgCode(filter, decoder, record)) {
+                var master = decoder.decode(record, dictionary);
+                if (validator != null) {
+                    validator.validate(master);
+                }
+                masters.add(master);
+            }
+        }
+        return masters;
+    }
+    private static List<TownMaster> parseTownBytes(ByteBuffer buffer, TownRecordDecoder decoder, LgCodeFilter filter, ValueDictionary dictionary, TownMasterDistinctionValidator validator, AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException {
+        List<TownMaster> masters = new ArrayList<>();
+        var record    = new Utf8CsvTokenizer(buffer);
+        var rawFilter = rawLgCodeFilter(filter, decoder);
+        var limit     = buffer.limit();
+        var position  = 0;
+        try {
+            while (position < limit) {
+                var lineEnd = findLineEnd(buffer, position);
+                // 絞り込みに該当しない行は、列に分割せずに読み飛ばす
+                if (rawFilter != null && rawFilter.rejects(buffer, position, lineEnd)) {
+                    position = lineEnd + 1;
+                    continue;
+                }
+
+                // 引用符で囲まれた列が改行を含む場合は、次の行までを1レコードとする
+                while (!record.tokenize(position, trimLineEnd(buffer, position, lineEnd))) {
+                    if (lineEnd >= limit) {
+                        throw new FileParserException("引用符で囲まれた列が閉じられていません。");
+                    }
+                    lineEnd = findLineEnd(buffer, lineEnd + 1);
+                }
+                position = lineEnd + 1;
+                checkCancelled(cancelled);
+                if (acceptsLgCode(filter, decoder, record)) {
+                    var master = decoder.decode(record, dictionary);
+                    if (validator != null) {
+                        validator.validate(master);
+                    }
+                    masters.add(master);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // 不正な UTF-8 のバイト列は、列の値を参照した時点で検出される
+            throw e.getCause();
+        }
+        return masters;
+    }
+    private static List<TownMaster> parseTownIndexed(ByteBuffer buffer, TownRecordDecoder decoder, LgCodeFilter filter, ValueDictionary dictionary, TownMasterDistinctionValidator validator, AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException {
+        List<TownMaster> masters = new ArrayList<>();
+        var index     = new StructuralIndex(buffer, BLOCK_CLASSIFIER);
+        var record    = new Utf8CsvTokenizer(buffer);
+        var rawFilter = rawLgCodeFilter(filter, decoder);
+        var limit     = buffer.limit();
+        var position  = 0;
+        try {
+            while (position < limit) {
+                // 絞り込みに該当しない行は、列に分割せずに読み飛ばす
+                if (rawFilter != null) {
+                    var lineEnd = findLineEnd(buffer, position);
+                    if (rawFilter.rejects(buffer, position, lineEnd)) {
+                        position = lineEnd + 1;
+                        continue;
+                    }
+                }
+                var recordEnd = record.tokenize(index, position);
+                if (recordEnd < 0) {
+                    throw new FileParserException("引用符で囲まれた列が閉じられていません。");
+                }
+                position = recordEnd + 1;
+                checkCancelled(cancelled);
+                if (acceptsLgCode(filter, decoder, record)) {
+                    var master = decoder.decode(record, dictionary);
+                    if (validator != null) {
+                        validator.validate(master);
+                    }
+                    masters.add(master);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // 不正な UTF-8 のバイト列は、列の値を参照した時点で検出される
+            throw e.getCause();
+        }
+        return masters;
+    }
+    private static int trimLineEnd(ByteBuffer buffer, int start, int end) {
+        // 改行コードが CRLF の場合は、CR を取り除く
+        if (end > start && buffer.get(end - 1) == '\r') {
+            return end - 1;
+        }
+        return end;
+    }
+    private static int findLineEnd(ByteBuffer buffer, int position) {
+        var limit = buffer.limit();
+        while (position < limit && buffer.get(position) != '\n') {
+            position++;
+        }
+        return position;
+    }
+    private static String decodeLine(CharsetDecoder decoder, ByteBuffer buffer, int start, int end) throws IOException {
+        // 改行コードが CRLF の場合は、CR を取り除く
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        return decoder.decode(buffer.slice(start, end - start)).toString();
+    }
+
+    // このメソッドは、ファイルの先頭から end までのヘッダー行を読み込み、列の並びとオプション（射影、遅延生成）に対応する変換処理を返します。
+    private static TownRecordDecoder readTownHeader(FileChannel channel, long end, ParseOptions options) throws IOException, FileParserException {
+        var buffer = ByteBuffer.allocate((int)end);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+        }
+        buffer.flip();
+        var decoder = StandardCharsets.UTF_8.newDecoder();
+        var limit   = buffer.limit();
+        // 改行コードを取り除く
+        if (limit > 0 && buffer.get(limit - 1) == '\n') {
+            limit--;
+        }
+        return TownRecordDecoder.of(decodeLine(decoder, buffer, 0, limit), options.getProjection(), options.isLazy(), options.defersValidation());
+    }
+
+    // このメソッドは、ファイルの指定位置から開始して、次の行の先頭位置を返します。
+    // 次の行が存在しない場合は、ファイルサイズを返します。
+    private static long findNextLineStart(FileChannel channel, long position) throws IOException {
+        var size   = channel.size();
+        var buffer = ByteBuffer.allocate(8192);
+        while (position < size) {
+            buffer.clear();
+            var read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (var i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // このメソッドは、ファイルの指定位置から終端までを、レコードの先頭に揃えた範囲に分割します。
+    // 戻り値は範囲の境界位置の配列で、i 番目の範囲は [boundaries[i], boundaries[i + 1]) です。
+    // 境界は、引用符で囲まれた列の外にある改行の次の位置に置くため、列の中に改行を含むレコードが範囲をまたぐことはありません。
+    private static long[] splitLineRanges(FileChannel channel, long start, int count) throws IOException {
+        var size       = channel.size();
+        var boundaries = new long[count + 1];
+        boundaries[0]  = start;
+        var scanner    = new RecordBoundaryScanner(channel, start, BLOCK_CLASSIFIER);
+        for (var i = 1; i < count; i++) {
+            var approximate = start + (size - start) * i / count;
+            // 直前の境界より前には戻さない
+            var from = Math.max(approximate, boundaries[i - 1]);
+            if (from == boundaries[i - 1]) {
+                boundaries[i] = from;
+                continue;
+            }
+            scanner.skipTo(from - 1);
+            boundaries[i] = scanner.nextRecordStart();
+        }
+        boundaries[count] = size;
+        return boundaries;
+    }
+
+    // このメソッドは、入力された複数のファイル（都道府県別の町字ファイルなど）を、オプションの並列数で並行して読み込み、町字マスターデータを生成します。
+    // 各ファイルは1つのスレッドで読み込み、結果は入力されたファイルの順序で連結します。
+    // いずれかのファイルでエラーが発生した場合は、他のファイルの読み込みを中止し、最初に発生したエラーを返します。
+    @Override
+    public Collection<TownMaster> parseTownFiles(Collection<Path> paths, ParseOptions options) throws FileParserException {
+        try {
+            var dictionary = new ValueDictionary();
+            var masters    = parseTownFilesInternal(paths, options, dictionary);
+            validateDeferred(masters, options);
+            validateReferences(masters, options);
+            validateHierarchy(masters, options);
+            dictionary.report(options.getStatistics());
+            if (options.getEngine() == ParseEngine.Vector && options.getStatistics() != null) {
+                options.getStatistics().setBlockClassifier(BLOCK_CLASSIFIER.name());
+            }
+            return masters;
+        } catch (IOException | InvalidMasterException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private Collection<TownMaster> parseTownFilesInternal(Collection<Path> paths, ParseOptions options, ValueDictionary dictionary) throws IOException, InvalidMasterException, FileParserException {
+        var pool      = new ForkJoinPool(options.getParallelism());
+        var cancelled = new AtomicBoolean(false);
+        try {
+            var completion = new ExecutorCompletionService<List<TownMaster>>(pool);
+            var tasks      = new ArrayList<Future<List<TownMaster>>>();
+            var validators = new ArrayList<TownMasterDistinctionValidator>();
+            for (var path : paths) {
+                var validator = newValidator(options, Files.size(path));
+                validators.add(validator);
+                tasks.add(completion.submit(() -> parseTownFileUnit(path, options, dictionary, validator, cancelled)));
+            }
+
+            // 完了した順に結果を確認し、最初のエラーで他のファイルの読み込みを中止する
+            for (var i = 0; i < tasks.size(); i++) {
+                var task = completion.take();
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    cancelled.set(true);
+                    joinTownTask(task);
+                }
+            }
+
+            return joinTownTasks(tasks, validators);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e.getMessage());
+        } finally {
+            cancelled.set(true);
+            pool.shutdownNow();
+        }
+    }
+    private static List<TownMaster> parseTownFileUnit(Path path, ParseOptions options, ValueDictionary dictionary, TownMasterDistinctionValidator validator, AtomicBoolean cancelled) throws IOException, InvalidMasterException, FileParserException {
+        List<TownMaster> masters = new ArrayList<>();
+        if (options.getEngine() == ParseEngine.Text || CsvFileSource.isZip(path)) {
+            try (var source = CsvFileSource.open(path)) {
+                parseTownSource(source, options, masters, dictionary, validator, cancelled);
+            }
+            return masters;
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // ヘッダーから列の並びを読み取る
+            var start   = findNextLineStart(channel, 0);
+            var decoder = readTownHeader(channel, start, options);
+            var count  = (int)((channel.size() - start) / MAX_MAPPED_BYTES) + 1;
+            var ranges = splitLineRanges(channel, start, count);
+            for (var i = 0; i < ranges.length - 1; i++) {
+                masters.addAll(parseTownRange(channel, ranges[i], ranges[i + 1], options.getEngine(), decoder, options.getLgCodeFilter(), dictionary, validator, cancelled));
+            }
+        }
+        return masters;
+    }
+
+    // このメソッドは、他のスレッドでエラーが発生し、読み込みが中止されていないかを確認します。
+    // 中止されている場合は、CancellationException をスローします。
+    private static void checkCancelled(AtomicBoolean cancelled) {
+        if (cancelled != null && cancelled.get()) {
+            throw new CancellationException("他のファイル（範囲）でエラーが発生したため、読み込みを中止しました。");
+        }
+    }
+
+    // このメソッドは、入力されたファイルパスのファイルを開き、町字マスターデータを1件ずつ読み込むリーダーを生成します。
+    @Override
+    public MasterReader<TownMaster> openTownFile(Path path) throws FileParserException {
+        return openTownFile(path, ParseOptions.DEFAULT);
+    }
+
+    // このメソッドは、入力されたファイルパスのファイルをオプションに従って開き、町字マスターデータを1件ずつ読み込むリーダーを生成します。
+    // リーダーは常に単一スレッドで読み込むため、オプションの並列数は使用しません。
+    @Override
+    public MasterReader<TownMaster> openTownFile(Path path, ParseOptions options) throws FileParserException {
+        try {
+            return openTownFileInternal(path, options);
+        } catch (IOException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private MasterReader<TownMaster> openTownFileInternal(Path path, ParseOptions options) throws IOException {
+        var source = CsvFileSource.open(path);
+        return new TownFileReader(source, Collections.emptyIterator(), options, newKeySet(options, Files.size(path)));
+    }
+
+    // このメソッドは、入力された複数のファイル（都道府県別の町字ファイルなど）を入力された順序で1つずつ開き、町字マスターデータを1件ずつ読み込むリーダーを生成します。
+    // 開いているファイルは常に1つで、重複の検証に使用するキーの集合をファイル間で共有します。
+    @Override
+    public MasterReader<TownMaster> openTownFiles(Collection<Path> paths, ParseOptions options) throws FileParserException {
+        try {
+            return openTownFilesInternal(paths, options);
+        } catch (IOException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private MasterReader<TownMaster> openTownFilesInternal(Collection<Path> paths, ParseOptions options) throws IOException {
+        if (paths.isEmpty()) {
+            throw new IOException("町字ファイルが指定されていません。");
+        }
+        var inputBytes = 0L;
+        for (var path : paths) {
+            inputBytes += Files.size(path);
+        }
+        var remaining = List.copyOf(paths).iterator();
+        var source    = CsvFileSource.open(remaining.next());
+        return new TownFileReader(source, remaining, options, newKeySet(options, inputBytes));
+    }
+
+    // このメソッドは、入力ストリームをオプションに従って読み込み、町字マスターデータを1件ずつ読み込むリーダーを生成します。
+    // リーダーを閉じても、入力ストリームは閉じません。
+    @Override
+    public MasterReader<TownMaster> openTownFile(InputStream stream, ParseOptions options) throws FileParserException {
+        try {
+            return openTownStreamInternal(stream, options);
+        } catch (IOException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private MasterReader<TownMaster> openTownStreamInternal(InputStream stream, ParseOptions options) throws IOException {
+        var source = CsvFileSource.open(stream);
+        return new TownFileReader(source, Collections.emptyIterator(), options, newKeySet(options, 0));
+    }
+
+    // このメソッドは、MasterReader で重複の検証に使用するキーの集合を生成します。
+    // オプションで件数の見込みが指定されている場合はその件数、そうでない場合は入力のバイト数から初期容量を決めます。
+    private static TownKeySet newKeySet(ParseOptions options, long inputBytes) {
+        if (options.getExpectedRecords() > 0) {
+            return new TownKeySet(options.getExpectedRecords());
+        }
+        return inputBytes > 0 ? TownKeySet.forInputBytes(inputBytes) : new TownKeySet();
+    }
+
+    // このクラスは、町字ファイルを1行ずつ解析する町字マスターデータのリーダーです。
+    // マスター間の重複は、読み込んだ順に逐次検証します。
+    // オプションで階層の検証が指定された場合は、読み込んだ順に TownHierarchyValidator に追加し、
+    // 終端に達した時点で（null を返す代わりに）違反をスローします。メモリ上に読み込む場合と同じ違反になります。
+    // ZIP アーカイブの場合は、含まれている CSV ファイルを順に読み込みます。
+    // 複数のファイルを読み込む場合は、読み込み中のファイルの終端に達した時点で、次のファイルを開きます。
+    private static final class TownFileReader implements MasterReader<TownMaster> {
+        private CsvFileSource source;
+
+        // 続けて読み込むファイル
+        private final Iterator<Path> remaining;
+
+        private BufferedReader reader;
+
+        private TownRecordDecoder decoder;
+
+        private final ProjectedTownMaster.Projection projection;
+
+        private final LgCodeFilter filter;
+
+        private LgCodeFilter rawFilter;
+
+        private final CsvTokenizer record = new CsvTokenizer();
+
+        private final ValueDictionary dictionary = new ValueDictionary();
+
+        private final ParseStatistics statistics;
+
+        private final TownMasterDistinctionValidator distinctionValidator;
+
+        private final MasterReferenceValidator references;
+
+        // 階層の検証（指定されていない場合は null）
+        private final TownHierarchyValidator hierarchy;
+
+        @Override
+        public TownMaster read() throws FileParserException {
+            try {
+                return this.readInternal();
+            } catch (IOException | InvalidMasterException e) {
+                throw new FileParserException(e.getMessage());
+            }
+        }
+        private TownMaster readInternal() throws IOException, InvalidMasterException, FileParserException {
+            do {
+                while (this.reader == null || !readRecord(this.reader, this.record, this.rawFilter)) {
+                    this.reader = this.source.next();
+                    if (this.reader == null) {
+                        if (!this.remaining.hasNext()) {
+                            if (this.hierarchy != null) {
+                                this.hierarchy.finish();
+                            }
+                            return null;
+                        }
+                        this.source.close();
+                        this.source = CsvFileSource.open(this.remaining.next());
+                        continue;
+                    }
+                    // ヘッダーから列の並びを読み取る
+                    var header = this.reader.readLine();
+                    if (header == null) {
+                        this.reader = null;
+                        continue;
+                    }
+                    this.decoder   = TownRecordDecoder.of(header, this.projection);
+                    this.rawFilter = rawLgCodeFilter(this.filter, this.decoder);
+                }
+            } while (!acceptsLgCode(this.filter, this.decoder, this.record));
+            var master = this.decoder.decode(this.record, this.dictionary);
+            this.distinctionValidator.validate(master);
+            if (this.references != null) {
+                this.references.validate(master);
+            }
+            if (this.hierarchy != null) {
+                this.hierarchy.add(master);
+            }
+            return master;
+        }
+
+        @Override
+        public void close() throws FileParserException {
+            this.dictionary.report(this.statistics);
+            try {
+                this.source.close();
+            } catch (IOException e) {
+                throw new FileParserException(e.getMessage());
+            }
+        }
+
+        private TownFileReader(CsvFileSource source, Iterator<Path> remaining, ParseOptions options, TownKeySet keys) {
+            this.source               = source;
+            this.remaining            = remaining;
+            this.projection           = options.getProjection();
+            this.filter               = options.getLgCodeFilter();
+            this.statistics           = options.getStatistics();
+            this.distinctionValidator = new TownMasterDistinctionValidator(keys);
+            this.references           = options.getReferences();
+            this.hierarchy            = options.validatesHierarchy() ? new TownHierarchyValidator() : null;
+        }
+    }
 }
@@ -0,0 +1,31 @@
+package domains.parsers;
+
+import java.nio.ByteBuffer;
+
+// このインターフェースは、バイト列を 64 バイトのブロックごとに分類し、構造文字の位置のビットマップを生成します。
+//
+// ブロック内の i バイト目が対象の文字である場合に、ビットマップの i ビット目を立てます。
+// 分類の種類は StructuralIndex の SEPARATOR, QUOTE, NON_ASCII で、masks[種類][ブロック] に格納します。
+interface BlockClassifier {
+    // 1ブロックのバイト数
+    int BLOCK_SIZE = 64;
+
+    // このメソッドは、バイト列の [offset, offset + length) を分類し、masks の先頭のブロックから格納します。
+    // length が BLOCK_SIZE の倍数でない場合、最後のブロックは length までのバイトのみ分類します。
+    void classify(ByteBuffer buffer, int offset, int length, long[][] masks);
+
+    // この名前は、統計情報などで使用している分類方式を表示するために使用します。
+    String name();
+
+    // このメソッドは、使用可能な分類方式を返します。
+    // Vector API（jdk.incubator.vector モジュール）が使用できる場合は SIMD 命令で、使用できない場合は1バイトずつ分類します。
+    // Vector API を使用するには、実行時に --add-modules jdk.incubator.vector を指定してください。
+    static BlockClassifier load() {
+        try {
+            var type = Class.forName("domains.parsers.VectorBlockClassifier");
+            return (BlockClassifier)type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarBlockClassifier();
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package domains.parsers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+// このクラスは、パース対象の CSV ファイルを順に読み込むための入力元を表します。
+//
+// 通常の CSV ファイルの場合は、そのファイルを1つだけ読み込みます。
+// ZIP アーカイブの場合は、一時ファイルに展開せずに、含まれている CSV ファイルをアーカイブ内の順に読み込みます。
+// アーカイブ内の ZIP アーカイブ（都道府県別の ZIP をまとめた ZIP など）も、同様に展開しながら読み込みます。
+// 入力ストリーム（標準入力や、他のプロセスの出力など）から読み込むこともできます。
+// ZIP アーカイブは、展開後のバイト数が読み込んだアーカイブのバイト数に対して大きすぎる場合（ZIP 爆弾など）、エラーにします。
+final class CsvFileSource implements Closeable {
+
+    // ZIP アーカイブの先頭4バイト（ローカルファイルヘッダーのシグネチャ）
+    private static final byte[] ZIP_SIGNATURE = {0x50, 0x4B, 0x03, 0x04};
+
+    // CSV ファイル、ZIP アーカイブの拡張子
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String ZIP_EXTENSION = ".zip";
+
+    // 展開後のバイト数の上限は、読み込んだアーカイブのバイト数 × MAX_INFLATION_RATIO + INFLATION_ALLOWANCE_BYTES
+    // （配布されている CSV ファイルの圧縮率は 1/10 程度のため、十分な余裕があります。小さなアーカイブは一定のバイト数まで許容します）
+    private static final long MAX_INFLATION_RATIO       = 200;
+    private static final long INFLATION_ALLOWANCE_BYTES = 1L << 20;
+
+    // 通常の CSV ファイルのリーダー（ZIP アーカイブの場合は null）
+    private final BufferedReader plainReader;
+
+    // 通常の CSV ファイルのリーダーを返したかどうか
+    private boolean plainReturned;
+
+    // 展開中の ZIP アーカイブ（外側のアーカイブから順に積む）
+    private final Deque<ZipInputStream> archives = new ArrayDeque<>();
+
+    // 読み込んだアーカイブと、展開した CSV ファイルのバイト数（通常の CSV ファイルの場合は null）
+    private final InflationCounter counter;
+
+    // 読み込み中の CSV ファイルのエントリー名（ZIP アーカイブでない場合は null）
+    private String entryName = null;
+    String getEntryName() { return this.entryName; }
+
+    // このメソッドは、入力されたファイルパスのファイルを開きます。
+    // ファイルの先頭が ZIP アーカイブのシグネチャである場合は、ZIP アーカイブとして開きます。
+    static CsvFileSource open(Path path) throws IOException {
+        if (isZip(path)) {
+            var counter = new InflationCounter();
+            return new CsvFileSource(new ZipInputStream(new BufferedInputStream(new CountingInputStream(Files.newInputStream(path), counter, false))), counter);
+        }
+        return new CsvFileSource(newReader(Files.newInputStream(path)));
+    }
+
+    // このメソッドは、入力ストリームを開きます。
+    // ストリームの先頭が ZIP アーカイブのシグネチャである場合は、ZIP アーカイブとして読み込みます。
+    // 入力ストリームは呼び出し元で閉じてください。（close() を呼び出しても、入力ストリームは閉じません）
+    static CsvFileSource open(InputStream stream) throws IOException {
+        var buffered = new BufferedInputStream(new EntryInputStream(stream));
+        buffered.mark(ZIP_SIGNATURE.length);
+        var header = buffered.readNBytes(ZIP_SIGNATURE.length);
+        buffered.reset();
+        if (Arrays.equals(header, ZIP_SIGNATURE)) {
+            var counter = new InflationCounter();
+            return new CsvFileSource(new ZipInputStream(new CountingInputStream(buffered, counter, false)), counter);
+        }
+        return new CsvFileSource(newReader(buffered));
+    }
+
+    // このメソッドは、ZIP アーカイブのエントリーを開きます。
+    // エントリーが ZIP アーカイブの場合は、その中の CSV ファイルを順に読み込みます。
+    // 展開後のバイト数は、エントリーの圧縮後のサイズと比較します。
+    static CsvFileSource open(ZipFile file, ZipEntry entry) throws IOException {
+        var stream  = file.getInputStream(entry);
+        var counter = new InflationCounter();
+        counter.compressed = Math.max(entry.getCompressedSize(), 0);
+        if (isZipEntry(entry.getName())) {
+            return new CsvFileSource(new ZipInputStream(new BufferedInputStream(stream)), counter);
+        }
+        return new CsvFileSource(newReader(new CountingInputStream(stream, counter, true)));
+    }
+
+    // このメソッドは、ZIP アーカイブ直下の、読み込み対象のエントリー（CSV ファイル、ZIP アーカイブ）をアーカイブ内の順に返します。
+    static List<ZipEntry> listEntries(ZipFile file) {
+        List<ZipEntry> entries = new ArrayList<>();
+        for (var entry : Collections.list(file.entries())) {
+            if (!entry.isDirectory() && (isCsvEntry(entry.getName()) || isZipEntry(entry.getName()))) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    // このメソッドは、入力されたファイルパスのファイルが ZIP アーカイブかどうかを判定します。
+    static boolean isZip(Path path) throws IOException {
+        try (var stream = Files.newInputStream(path)) {
+            var header = stream.readNBytes(ZIP_SIGNATURE.length);
+            return Arrays.equals(header, ZIP_SIGNATURE);
+        }
+    }
+
+    // このメソッドは、エントリー名が CSV ファイルを表すかどうかを判定します。
+    static boolean isCsvEntry(String name) {
+        return name.toLowerCase(Locale.ROOT).endsWith(CSV_EXTENSION);
+    }
+
+    // このメソッドは、エントリー名が ZIP アーカイブを表すかどうかを判定します。
+    static boolean isZipEntry(String name) {
+        return name.toLowerCase(Locale.ROOT).endsWith(ZIP_EXTENSION);
+    }
+
+    // このメソッドは、入力ストリームを UTF-8 のテキストとして読み込むリーダーを生成します。
+    // Files.newBufferedReader() と同様に、不正なバイト列はエラーになります。
+    static BufferedReader newReader(InputStream stream) {
+        return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8.newDecoder()));
+    }
+
+    // このメソッドは、次の CSV ファイルのリーダーを返します。
+    // 読み込む CSV ファイルがなくなった場合は null を返します。
+    // 返されたリーダーは、次にこのメソッドを呼び出すまでの間だけ使用できます。
+    BufferedReader next() throws IOException {
+        if (this.plainReader != null) {
+            if (this.plainReturned) {
+                return null;
+            }
+            this.plainReturned = true;
+            return this.plainReader;
+        }
+
+        while (!this.archives.isEmpty()) {
+            var archive = this.archives.peek();
+            var entry   = archive.getNextEntry();
+            if (entry == null) {
+                // 内側のアーカイブは外側のエントリーの一部なので、閉じずに取り除く
+                if (this.archives.size() > 1) {
+                    this.archives.pop();
+                    continue;
+                }
+                return null;
+            }
+            if (entry.isDirectory()) {
+                continue;
+            }
+            if (isZipEntry(entry.getName())) {
+                this.archives.push(new ZipInputStream(new EntryInputStream(archive)));
+            } else if (isCsvEntry(entry.getName())) {
+                this.entryName = entry.getName();
+                return newReader(new CountingInputStream(new EntryInputStream(archive), this.counter, true));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.plainReader != null) {
+            this.plainReader.close();
+        }
+        // 一番外側のアーカイブを閉じると、ファイルも閉じられる
+        if (!this.archives.isEmpty()) {
+            this.archives.peekLast().close();
+        }
+    }
+
+    // このクラスは、アーカイブのエントリーや、呼び出し元から渡された入力ストリームを読み込む入力ストリームです。
+    // エントリーのリーダーを閉じても、アーカイブ（元の入力ストリーム）が閉じられないようにします。
+    private static final class EntryInputStream extends FilterInputStream {
+        @Override
+        public void close() {
+        }
+
+        private EntryInputStream(InputStream stream) {
+            super(stream);
+        }
+    }
+
+    // このクラスは、読み込んだアーカイブのバイト数と、展開した CSV ファイルのバイト数を数え、展開後のバイト数が上限を超えた時点で IOException をスローします。
+    // 入れ子のアーカイブは外側のアーカイブの一部として展開されるため、一番外側のアーカイブのバイト数と、CSV ファイルのバイト数の合計を比較します。
+    private static final class InflationCounter {
+        private long compressed = 0;
+        private long inflated   = 0;
+
+        private void add(long n, boolean inflated) throws IOException {
+            if (!inflated) {
+                this.compressed += n;
+                return;
+            }
+            this.inflated += n;
+            if (this.inflated > this.compressed * MAX_INFLATION_RATIO + INFLATION_ALLOWANCE_BYTES) {
+                var message = String.format("ZIP アーカイブの展開後のサイズが大きすぎます。(%,d バイトから %,d バイト以上を展開)", this.compressed, this.inflated);
+                throw new IOException(message);
+            }
+        }
+    }
+
+    // このクラスは、読み込んだバイト数を InflationCounter に加算する入力ストリームです。
+    private static final class CountingInputStream extends FilterInputStream {
+        private final InflationCounter counter;
+
+        // 展開した CSV ファイルのバイト数を数えるかどうか（false の場合は、アーカイブのバイト数）
+        private final boolean inflated;
+
+        @Override
+        public int read() throws IOException {
+            var b = super.read();
+            if (b >= 0) {
+                this.counter.add(1, this.inflated);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            var n = super.read(b, off, len);
+            if (n > 0) {
+                this.counter.add(n, this.inflated);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            var skipped = super.skip(n);
+            this.counter.add(skipped, this.inflated);
+            return skipped;
+        }
+
+        // 読み込んだバイト数を正しく数えるため、読み戻しには対応しない
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private CountingInputStream(InputStream stream, InflationCounter counter, boolean inflated) {
+            super(stream);
+            this.counter  = counter;
+            this.inflated = inflated;
+        }
+    }
+
+    private CsvFileSource(BufferedReader reader) {
+        this.plainReader = reader;
+        this.counter     = null;
+    }
+
+    private CsvFileSource(ZipInputStream archive, InflationCounter counter) {
+        this.plainReader = null;
+        this.counter     = counter;
+        this.archives.push(archive);
+    }
+}
@@ -0,0 +1,44 @@
+package domains.parsers;
+
+import java.time.LocalDate;
+
+// このクラスは、列に分割した CSV の1レコードを表します。
+//
+// 列の値は、実際に参照された列についてのみ生成します。
+// 正規化、辞書による共有、日付の解析は、実装クラスで入力データに合わせて効率化できるように、このクラスのメソッドで行います。
+abstract class CsvRecord {
+
+    // このメソッドは、列数を返します。
+    abstract int size();
+
+    // このメソッドは、指定された列の値を返します。
+    abstract String get(int index);
+
+    // このメソッドは、指定された列の値が空、または空白文字のみで構成されているかを判定します。
+    abstract boolean isBlank(int index);
+
+    // このメソッドは、指定された列の値を正規化して返します。
+    String getNormalized(int index) {
+        return TextNormalizer.normalize(this.get(index));
+    }
+
+    // このメソッドは、指定された列の値を、辞書の共有インスタンスに置き換えて返します。
+    String getShared(int index, ValueDictionary dictionary) {
+        return dictionary.intern(this.get(index));
+    }
+
+    // このメソッドは、指定された列の値を正規化し、辞書の共有インスタンスに置き換えて返します。
+    String getSharedNormalized(int index, ValueDictionary dictionary) {
+        return dictionary.intern(this.getNormalized(index));
+    }
+
+    // このメソッドは、指定された列の日付文字列（yyyy-MM-dd）を解析し、辞書の共有インスタンスを返します。
+    LocalDate getDate(int index, ValueDictionary dictionary) {
+        return dictionary.date(this.get(index));
+    }
+
+    // このメソッドは、指定された列の日付文字列（yyyy-MM-dd）を正規化してから解析し、辞書の共有インスタンスを返します。
+    LocalDate getNormalizedDate(int index, ValueDictionary dictionary) {
+        return dictionary.date(this.getNormalized(index));
+    }
+}
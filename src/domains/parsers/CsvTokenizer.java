@@ -0,0 +1,138 @@
+package domains.parsers;
+
+import java.util.Arrays;
+
+// このクラスは、アドレスベースレジストリ形式（RFC 4180）の CSV の1行を列に分割します。
+//
+// String.split() と異なり、列ごとの文字列は生成せず、列の開始・終了位置のみを記録します。
+// 文字列は get() で実際に参照された列についてのみ生成します。
+// 位置を記録する配列はインスタンスごとに再利用するため、1つのインスタンスを1つのスレッドで使い回してください。
+//
+// 引用符（"）で囲まれた列では、区切り文字（,）と改行を値として扱い、連続した引用符（""）を1つの引用符として扱います。
+// 閉じ引用符の後、次の区切り文字までの文字は無視します。
+final class CsvTokenizer extends CsvRecord {
+    // 列の区切り文字
+    private static final char DELIMITER = ',';
+
+    // 列の引用符
+    private static final char QUOTE = '"';
+
+    // 列が引用符で囲まれていることを示すフラグ
+    private static final byte FLAG_QUOTED = 1;
+
+    // 列がエスケープされた引用符（""）を含んでいることを示すフラグ
+    private static final byte FLAG_ESCAPED = 2;
+
+    // 分割対象の行
+    private String line = null;
+
+    // 列数
+    private int size = 0;
+    @Override
+    int size() { return this.size; }
+
+    // 各列の開始位置（引用符を含まない）
+    private int[] starts = new int[64];
+
+    // 各列の終了位置（引用符を含まない）
+    private int[] ends = new int[64];
+
+    // 各列のフラグ
+    private byte[] flags = new byte[64];
+
+    // このメソッドは、入力された行を列に分割します。
+    // 行が引用符で囲まれた列の途中で終わっている場合は false を返します。
+    // その場合は、次の行を改行でつないだ文字列で再度呼び出してください。
+    boolean tokenize(String line) {
+        this.line = line;
+        this.size = 0;
+
+        var length   = line.length();
+        var position = 0;
+        while (true) {
+            this.ensureCapacity(this.size + 1);
+            if (position < length && line.charAt(position) == QUOTE) {
+                // 引用符で囲まれた列
+                var start   = position + 1;
+                var flag    = FLAG_QUOTED;
+                var current = start;
+                while (true) {
+                    var quote = line.indexOf(QUOTE, current);
+                    if (quote < 0) {
+                        return false;
+                    }
+                    if (quote + 1 < length && line.charAt(quote + 1) == QUOTE) {
+                        flag   |= FLAG_ESCAPED;
+                        current = quote + 2;
+                        continue;
+                    }
+                    this.add(start, quote, flag);
+                    position = quote + 1;
+                    break;
+                }
+                var delimiter = line.indexOf(DELIMITER, position);
+                if (delimiter < 0) {
+                    return true;
+                }
+                position = delimiter + 1;
+            } else {
+                // 引用符で囲まれていない列
+                var delimiter = line.indexOf(DELIMITER, position);
+                var end       = delimiter >= 0 ? delimiter : length;
+                this.add(position, end, (byte)0);
+                if (delimiter < 0) {
+                    return true;
+                }
+                position = delimiter + 1;
+            }
+        }
+    }
+
+    // このメソッドは、指定された列の値を返します。
+    // 引用符で囲まれた列の場合は、引用符を除き、エスケープされた引用符を1つの引用符に戻した値を返します。
+    @Override
+    String get(int index) {
+        this.checkIndex(index);
+        var value = this.line.substring(this.starts[index], this.ends[index]);
+        if ((this.flags[index] & FLAG_ESCAPED) != 0) {
+            return value.replace("\"\"", "\"");
+        }
+        return value;
+    }
+
+    // このメソッドは、指定された列の値が空、または空白文字のみで構成されているかを判定します。
+    // String.isBlank() と同じ判定を、文字列を生成せずに行います。
+    @Override
+    boolean isBlank(int index) {
+        this.checkIndex(index);
+        for (var i = this.starts[index]; i < this.ends[index]; i++) {
+            if (!Character.isWhitespace(this.line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(int start, int end, byte flag) {
+        this.starts[this.size] = start;
+        this.ends[this.size]   = end;
+        this.flags[this.size]  = flag;
+        this.size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.starts.length) {
+            return;
+        }
+        var newCapacity = Math.max(capacity, this.starts.length * 2);
+        this.starts = Arrays.copyOf(this.starts, newCapacity);
+        this.ends   = Arrays.copyOf(this.ends, newCapacity);
+        this.flags  = Arrays.copyOf(this.flags, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+}
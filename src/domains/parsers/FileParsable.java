@@ -1,10 +1,17 @@
 package domains.parsers;
 
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import domains.masters.CityMaster;
 import domains.masters.PrefMaster;
+import domains.masters.TownKey;
 import domains.masters.TownMaster;
 
 // このインターフェースは、ファイルパースサービスに実装する各種パースメソッドを定義します。
@@ -13,11 +20,116 @@ public interface FileParsable {
     // 都道府県マスターデータを生成するメソッドを実装してください。
     Collection<PrefMaster> parsePrefFile(Path path) throws FileParserException;
 
+    // 実装クラスでは、入力ストリーム（標準入力や、他のプロセスの出力など）を読み込み、
+    // 都道府県マスターデータを生成するメソッドを実装してください。
+    // 入力ストリームは閉じずに、呼び出し元に閉じさせてください。
+    Collection<PrefMaster> parsePrefFile(InputStream stream) throws FileParserException;
+
+    // 入力されたチャネルを入力ストリームとして読み込み、都道府県マスターデータを生成します。
+    default Collection<PrefMaster> parsePrefFile(ReadableByteChannel channel) throws FileParserException {
+        return parsePrefFile(Channels.newInputStream(channel));
+    }
+
     // 実装クラスでは、入力されたファイルパスのファイルを読み込み、
     // 市区町村マスターデータを生成するメソッドを実装してください。
     Collection<CityMaster> parseCityFile(Path path) throws FileParserException;
 
+    // 実装クラスでは、入力ストリームを読み込み、市区町村マスターデータを生成するメソッドを実装してください。
+    // 入力ストリームは閉じずに、呼び出し元に閉じさせてください。
+    Collection<CityMaster> parseCityFile(InputStream stream) throws FileParserException;
+
+    // 入力されたチャネルを入力ストリームとして読み込み、市区町村マスターデータを生成します。
+    default Collection<CityMaster> parseCityFile(ReadableByteChannel channel) throws FileParserException {
+        return parseCityFile(Channels.newInputStream(channel));
+    }
+
     // 実装クラスでは、入力されたファイルパスのファイルを読み込み、
     // 町字マスターデータを生成するメソッドを実装してください。
     Collection<TownMaster> parseTownFile(Path path) throws FileParserException;
+
+    // 実装クラスでは、入力されたファイルパスのファイルを、入力されたオプションに従って読み込み、
+    // 町字マスターデータを生成するメソッドを実装してください。
+    // 並列にパースする場合でも、マスターデータはファイル内の順序で返してください。
+    // オプションで読み込む項目（射影）が指定された場合は、指定された項目とキー項目のみを読み込み、
+    // それ以外の項目は文字列への変換や検証を行わずに null としてください。
+    // オプションで全国地方公共団体コードの絞り込みが指定された場合は、該当しない行を、できるだけ列に分割する前に読み飛ばしてください。
+    // オプションで遅延生成が指定された場合は、キー項目以外の項目を、参照された時点で生成・検証するマスターデータを返しても構いません。
+    Collection<TownMaster> parseTownFile(Path path, ParseOptions options) throws FileParserException;
+
+    // 実装クラスでは、入力ストリームを、入力されたオプションに従って読み込み、町字マスターデータを生成するメソッドを実装してください。
+    // 入力ストリームは先頭から順にしか読み込めないため、並列数、パース方式、遅延生成の指定は使用せずに、単一スレッドでパースしてください。
+    // 入力ストリームは閉じずに、呼び出し元に閉じさせてください。
+    Collection<TownMaster> parseTownFile(InputStream stream, ParseOptions options) throws FileParserException;
+
+    // 入力されたチャネルを入力ストリームとして、オプションに従って読み込み、町字マスターデータを生成します。
+    default Collection<TownMaster> parseTownFile(ReadableByteChannel channel, ParseOptions options) throws FileParserException {
+        return parseTownFile(Channels.newInputStream(channel), options);
+    }
+
+    // 実装クラスでは、入力された複数のファイル（都道府県別の町字ファイルなど）を、入力されたオプションに従って並行して読み込み、
+    // 町字マスターデータを生成するメソッドを実装してください。
+    // マスターデータは、入力されたファイルの順序、ファイル内の順序で返し、ファイル間の重複も検証してください。
+    // いずれかのファイルでエラーが発生した場合は、他のファイルの読み込みを中止してください。
+    Collection<TownMaster> parseTownFiles(Collection<Path> paths, ParseOptions options) throws FileParserException;
+
+    // 実装クラスでは、入力されたファイルパスのファイルを開き、
+    // 町字マスターデータを1件ずつ読み込むリーダーを生成するメソッドを実装してください。
+    // マスター間の重複は、読み込みながら逐次検証してください。
+    MasterReader<TownMaster> openTownFile(Path path) throws FileParserException;
+
+    // 実装クラスでは、入力されたファイルパスのファイルを、入力されたオプションに従って開き、
+    // 町字マスターデータを1件ずつ読み込むリーダーを生成するメソッドを実装してください。
+    MasterReader<TownMaster> openTownFile(Path path, ParseOptions options) throws FileParserException;
+
+    // 入力された複数のファイル（都道府県別の町字ファイルなど）を、入力されたファイルの順序で1つずつ開き、
+    // 町字マスターデータを1件ずつ読み込むリーダーを生成します。ファイル間の重複も、読み込みながら逐次検証します。
+    // 実装クラスでは、ファイル間で重複の検証を共有するなど、より効率の良い方法で実装しても構いません。
+    default MasterReader<TownMaster> openTownFiles(Collection<Path> paths, ParseOptions options) throws FileParserException {
+        var remaining = List.copyOf(paths).iterator();
+        return new MasterReader<TownMaster>() {
+            private MasterReader<TownMaster> reader = null;
+
+            private final Set<TownKey> keys = new HashSet<>();
+
+            @Override
+            public TownMaster read() throws FileParserException {
+                while (true) {
+                    if (this.reader == null) {
+                        if (!remaining.hasNext()) {
+                            return null;
+                        }
+                        this.reader = openTownFile(remaining.next(), options);
+                    }
+                    var master = this.reader.read();
+                    if (master == null) {
+                        this.reader.close();
+                        this.reader = null;
+                        continue;
+                    }
+                    if (!this.keys.add(master.getTownKey())) {
+                        var message = String.format("[%s] このキーは重複しています。", master.getKey());
+                        throw new FileParserException(message);
+                    }
+                    return master;
+                }
+            }
+
+            @Override
+            public void close() throws FileParserException {
+                if (this.reader != null) {
+                    this.reader.close();
+                }
+            }
+        };
+    }
+
+    // 実装クラスでは、入力ストリームを、入力されたオプションに従って読み込み、
+    // 町字マスターデータを1件ずつ読み込むリーダーを生成するメソッドを実装してください。
+    // リーダーを閉じても、入力ストリームは閉じずに、呼び出し元に閉じさせてください。
+    MasterReader<TownMaster> openTownFile(InputStream stream, ParseOptions options) throws FileParserException;
+
+    // 入力されたチャネルを入力ストリームとして、オプションに従って町字マスターデータを1件ずつ読み込むリーダーを生成します。
+    default MasterReader<TownMaster> openTownFile(ReadableByteChannel channel, ParseOptions options) throws FileParserException {
+        return openTownFile(Channels.newInputStream(channel), options);
+    }
 }
@@ -0,0 +1,273 @@
+package domains.parsers;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import domains.masters.InstantiableTownMaster;
+import domains.masters.InvalidMasterException;
+import domains.masters.TownField;
+import domains.masters.TownKey;
+import domains.masters.TownMaster;
+import domains.masters.ValidationHelper;
+
+// このクラスは、町字ファイルの1レコードのバイト列を保持し、各項目の値を最初に参照された時点で生成する町字マスターを表します。
+//
+// パース時には、キー項目（全国地方公共団体コード、町字ID、住居表示フラグ、効力発生日）のみを取り出して検証し、データキーを生成します。
+// それ以外の項目は、レコードのバイト列と列の開始位置の表のみを保持し、取得メソッドが最初に呼ばれた時点で、
+// InstantiableTownMaster と同じ規則で文字列への変換、正規化、検証を行い、生成した値を保持します。
+// 一部の項目しか参照しない用途では、参照しない項目の文字列の生成、正規化、日付の解析を省略でき、
+// 保持するメモリも、項目ごとの文字列の代わりにレコードのバイト列のみになります。
+//
+// レコードのバイト列は、メモリマップしたファイルを参照せずにコピーして保持します。
+// マップしたファイルを参照し続けると、マスターデータを保持する間はファイルのマッピングが解放されず、
+// Windows ではファイルの削除や置き換えもできなくなるためです。
+//
+// 各項目は参照した時点で検証するため、不正な値の項目を参照すると IllegalStateException（原因は InvalidMasterException）をスローします。
+// 不正な UTF-8 のバイト列を含む項目を参照すると UncheckedIOException をスローします。
+// すべての項目と項目間の関連性をまとめて検証する場合は、validate() を呼び出してください。
+// 複数のスレッドから参照できます。同時に参照された項目は、重複して生成される場合があります。
+public final class LazyTownMaster implements TownMaster {
+    // 列の引用符
+    private static final byte QUOTE = '"';
+
+    // 生成した値が null であることを示す値
+    private static final Object NULL = new Object();
+
+    // 項目（TownField の順序）ごとの列の定義
+    private static final TownColumn[] COLUMNS = new TownColumn[TownField.values().length];
+    static {
+        for (var column : TownColumn.values()) {
+            COLUMNS[column.getField().ordinal()] = column;
+        }
+    }
+
+    // 列の開始位置の表（char）で表せる、レコードの最大バイト数
+    private static final int MAX_RECORD_BYTES = Character.MAX_VALUE - 1;
+
+    private final TownKey key;
+    public String getKey() { return this.key.toString(); }
+    public TownKey getTownKey() { return this.key; }
+
+    // 列の並びの変換処理（同じヘッダーのレコード間で共有）
+    private final TownRecordDecoder decoder;
+
+    // 値を共有する辞書
+    private final ValueDictionary dictionary;
+
+    // レコードのバイト列（引用符を含み、改行コードを含まない）
+    private final byte[] bytes;
+
+    // 列ごとの開始位置（引用符を含む）
+    // 最後の要素は、最後の列の終了位置 + 1 で、列の終了位置は常に「次の列の開始位置 - 1」になります。
+    private final char[] offsets;
+
+    // 生成した値（項目の順序、未生成の項目は null）
+    private Object[] values;
+
+    public String getLgCode() { return (String)this.get(TownField.LgCode); }
+    public String getMachiazaId() { return (String)this.get(TownField.MachiazaId); }
+    public String getMachiazaType() { return (String)this.get(TownField.MachiazaType); }
+    public String getPref() { return (String)this.get(TownField.Pref); }
+    public String getPrefKana() { return (String)this.get(TownField.PrefKana); }
+    public String getPrefRoma() { return (String)this.get(TownField.PrefRoma); }
+    public String getCounty() { return (String)this.get(TownField.County); }
+    public String getCountyKana() { return (String)this.get(TownField.CountyKana); }
+    public String getCountyRoma() { return (String)this.get(TownField.CountyRoma); }
+    public String getCity() { return (String)this.get(TownField.City); }
+    public String getCityKana() { return (String)this.get(TownField.CityKana); }
+    public String getCityRoma() { return (String)this.get(TownField.CityRoma); }
+    public String getWard() { return (String)this.get(TownField.Ward); }
+    public String getWardKana() { return (String)this.get(TownField.WardKana); }
+    public String getWardRoma() { return (String)this.get(TownField.WardRoma); }
+    public String getOazaCho() { return (String)this.get(TownField.OazaCho); }
+    public String getOazaChoKana() { return (String)this.get(TownField.OazaChoKana); }
+    public String getOazaChoRoma() { return (String)this.get(TownField.OazaChoRoma); }
+    public String getChome() { return (String)this.get(TownField.Chome); }
+    public String getChomeKana() { return (String)this.get(TownField.ChomeKana); }
+    public String getChomeNumber() { return (String)this.get(TownField.ChomeNumber); }
+    public String getKoaza() { return (String)this.get(TownField.Koaza); }
+    public String getKoazaKana() { return (String)this.get(TownField.KoazaKana); }
+    public String getKoazaRoma() { return (String)this.get(TownField.KoazaRoma); }
+    public String getMachiazaDist() { return (String)this.get(TownField.MachiazaDist); }
+    public String getRsdtAddrFlg() { return (String)this.get(TownField.RsdtAddrFlg); }
+    public String getRsdtAddrMtdCode() { return (String)this.get(TownField.RsdtAddrMtdCode); }
+    public String getOazaChoAkaFlg() { return (String)this.get(TownField.OazaChoAkaFlg); }
+    public String getKoazaAkaCode() { return (String)this.get(TownField.KoazaAkaCode); }
+    public String getOazaChoGsiUncmn() { return (String)this.get(TownField.OazaChoGsiUncmn); }
+    public String getKoazaGsiUncmn() { return (String)this.get(TownField.KoazaGsiUncmn); }
+    public String getStatusFlg() { return (String)this.get(TownField.StatusFlg); }
+    public String getWakeNumFlg() { return (String)this.get(TownField.WakeNumFlg); }
+    public LocalDate getEfctDate() { return (LocalDate)this.get(TownField.EfctDate); }
+    public LocalDate getAbltDate() { return (LocalDate)this.get(TownField.AbltDate); }
+    public String getSrcCode() { return (String)this.get(TownField.SrcCode); }
+    public String getPostCode() { return (String)this.get(TownField.PostCode); }
+    public String getRemarks() { return (String)this.get(TownField.Remarks); }
+
+    // このメソッドは、指定された項目の値を返します。
+    // 初めて参照された項目は、レコードのバイト列から値を生成して検証します。
+    // 読み込まない項目（ヘッダーにない項目、射影に含まれない項目）の場合は null を返します。
+    public Object get(TownField field) {
+        var values = this.values;
+        if (values == null) {
+            values = new Object[COLUMNS.length];
+            this.values = values;
+        }
+        var value = values[field.ordinal()];
+        if (value == null) {
+            try {
+                value = this.decode(field);
+            } catch (InvalidMasterException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            if (value == null) {
+                value = NULL;
+            }
+            values[field.ordinal()] = value;
+        }
+        return value == NULL ? null : value;
+    }
+
+    // このメソッドは、すべての項目を生成して検証し、項目間の関連性（ValidationHelper.validateMaster）を検証します。
+    // 射影を指定してパースした場合は、関連する項目がそろわないため、項目間の関連性は検証しません。
+    public void validate() throws InvalidMasterException {
+        for (var field : TownField.values()) {
+            try {
+                this.get(field);
+            } catch (IllegalStateException e) {
+                if (e.getCause() instanceof InvalidMasterException) {
+                    throw (InvalidMasterException)e.getCause();
+                }
+                throw e;
+            }
+        }
+        if (!this.decoder.isProjected()) {
+            ValidationHelper.validateMaster(this, this.key);
+        }
+    }
+
+    // このメソッドは、列に分割したレコードから町字マスターを生成します。
+    // キー項目のみを取り出して検証し、レコードのバイト列と列の開始位置をコピーします。
+    // レコードが列の開始位置の表で表せない長さの場合は null を返します。
+    static LazyTownMaster of(Utf8CsvTokenizer record, TownRecordDecoder decoder, ValueDictionary dictionary) throws InvalidMasterException {
+        // 変換処理が参照しない末尾の列はコピーしない
+        var size        = Math.min(record.size(), decoder.getColumnCount());
+        var recordStart = record.rawStart(0);
+        var recordEnd   = size < record.size() ? record.rawStart(size) - 1 : record.rawEnd(size - 1);
+        if (recordEnd - recordStart > MAX_RECORD_BYTES) {
+            return null;
+        }
+
+        var lgCode      = record.getSharedNormalized(decoder.columnIndexOf(TownField.LgCode), dictionary);
+        var machiazaId  = record.getNormalized(decoder.columnIndexOf(TownField.MachiazaId));
+        var rsdtAddrFlg = record.getSharedNormalized(decoder.columnIndexOf(TownField.RsdtAddrFlg), dictionary);
+        var efctDate    = record.getNormalizedDate(decoder.columnIndexOf(TownField.EfctDate), dictionary);
+        var key         = InstantiableTownMaster.createKey(lgCode, machiazaId, rsdtAddrFlg, efctDate);
+
+        ValidationHelper.validateLgCode(lgCode, key);
+        ValidationHelper.validateMachiazaId(machiazaId, key);
+        ValidationHelper.validateRsdtAddrFlg(rsdtAddrFlg, key);
+        ValidationHelper.validateEfctDate(efctDate, key);
+
+        var offsets = new char[size + 1];
+        for (var i = 0; i < size; i++) {
+            offsets[i] = (char)(record.rawStart(i) - recordStart);
+        }
+        offsets[size] = (char)(recordEnd - recordStart + 1);
+        return new LazyTownMaster(key, decoder, dictionary, record.copyRange(recordStart, recordEnd), offsets);
+    }
+
+    // このメソッドは、指定された項目の値を、InstantiableTownMaster と同じ規則で生成して検証します。
+    // キー項目は、生成時に検証済みのため検証しません。
+    private Object decode(TownField field) throws InvalidMasterException {
+        var index = this.decoder.columnIndexOf(field);
+        if (index < 0 || index >= this.offsets.length - 1) {
+            return null;
+        }
+        var column = COLUMNS[field.ordinal()];
+        var raw    = this.decodeColumn(index);
+        if (!column.isRequired() && raw.isBlank()) {
+            return null;
+        }
+        Object value = switch (column.getExtraction()) {
+            case Raw              -> raw;
+            case Normalized       -> TextNormalizer.normalize(raw);
+            case Shared           -> this.dictionary.intern(raw);
+            case SharedNormalized -> this.dictionary.intern(TextNormalizer.normalize(raw));
+            case Date             -> this.dictionary.date(raw);
+            case NormalizedDate   -> this.dictionary.date(TextNormalizer.normalize(raw));
+        };
+        if (!field.isKey() && value instanceof String) {
+            ValidationHelper.validateTownField(field, (String)value, this.getLgCode(), this.getMachiazaId(), this.key);
+        }
+        return value;
+    }
+
+    // このメソッドは、指定された列の値を返します。
+    // 引用符で囲まれた列の場合は、Utf8CsvTokenizer と同様に、引用符を除き、エスケープされた引用符を1つの引用符に戻し、
+    // 列の中の改行を LF にそろえた値を返します。
+    private String decodeColumn(int index) {
+        var start = (int)this.offsets[index];
+        var end   = this.offsets[index + 1] - 1;
+        if (start >= end || this.bytes[start] != QUOTE) {
+            return this.decodeBytes(start, end);
+        }
+
+        // 閉じ引用符を探す（閉じ引用符の後、区切り文字までは無視する）
+        var escaped = false;
+        var current = start + 1;
+        while (current < end) {
+            if (this.bytes[current] != QUOTE) {
+                current++;
+                continue;
+            }
+            if (current + 1 < end && this.bytes[current + 1] == QUOTE) {
+                escaped  = true;
+                current += 2;
+                continue;
+            }
+            break;
+        }
+        var value = this.decodeBytes(start + 1, current);
+        if (escaped) {
+            value = value.replace("\"\"", "\"");
+        }
+        if (value.indexOf('\r') >= 0) {
+            value = value.replace("\r\n", "\n");
+        }
+        return value;
+    }
+
+    private String decodeBytes(int start, int end) {
+        var ascii = true;
+        for (var i = start; i < end; i++) {
+            if (this.bytes[i] < 0) {
+                ascii = false;
+                break;
+            }
+        }
+        if (ascii) {
+            return new String(this.bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        var value = new String(this.bytes, start, end - start, StandardCharsets.UTF_8);
+        // 不正なバイト列は置換文字に置き換えられるため、置換文字を含む場合のみ厳密にデコードし直してエラーを検出する
+        if (value.indexOf('\uFFFD') >= 0) {
+            try {
+                StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(this.bytes, start, end - start));
+            } catch (CharacterCodingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return value;
+    }
+
+    private LazyTownMaster(TownKey key, TownRecordDecoder decoder, ValueDictionary dictionary, byte[] bytes, char[] offsets) {
+        this.key        = key;
+        this.decoder    = decoder;
+        this.dictionary = dictionary;
+        this.bytes      = bytes;
+        this.offsets    = offsets;
+    }
+}
@@ -0,0 +1,131 @@
+package domains.parsers;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+// このクラスは、町字ファイルの読み込み時に、全国地方公共団体コードの前方一致で行を絞り込みます。
+//
+// 指定された前方一致に該当する6桁のコードを、あらかじめ 1,000,000 ビットのビット列に展開しておき、
+// 行の先頭の列（全国地方公共団体コード）を数値として読み取ってビット列を参照します。
+// 列への分割、文字列の生成、正規化の前に、バイト列または行の文字列のまま判定できます。
+//
+// 先頭の列が6桁の半角数字でない場合（全角数字などで正規化が必要な場合）は、行の先頭では判定できないため、
+// 列に分割した後に、正規化したコードで判定します。
+// 引用符を含む行（先頭の列が引用符で囲まれている行を含む）は、引用符で囲まれた列が改行を含み、
+// 次の行と1つのレコードになる可能性があるため、行の先頭では除外しません。
+final class LgCodeFilter {
+    // 全国地方公共団体コードの桁数
+    static final int LG_CODE_LENGTH = 6;
+
+    // 行の先頭で判定できないことを示す値
+    static final int UNKNOWN = -1;
+
+    // 前方一致の一覧
+    private final List<String> prefixes;
+    List<String> getPrefixes() { return this.prefixes; }
+
+    // 前方一致に該当するコードのビット列
+    private final BitSet accepted = new BitSet((int)Math.pow(10, LG_CODE_LENGTH));
+
+    // このメソッドは、入力された前方一致の一覧から絞り込みを生成します。
+    // 前方一致は、1桁から6桁の半角数字で指定してください。（例: 都道府県は "13"、市区町村は "131016"）
+    static LgCodeFilter of(Collection<String> prefixes) throws FileParserException {
+        for (var prefix : prefixes) {
+            if (!isValidPrefix(prefix)) {
+                var message = String.format("全国地方公共団体コードの絞り込みには、1桁から6桁の数字を指定してください。('%s')", prefix);
+                throw new FileParserException(message);
+            }
+        }
+        return new LgCodeFilter(List.copyOf(prefixes));
+    }
+
+    static boolean isValidPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty() || prefix.length() > LG_CODE_LENGTH) {
+            return false;
+        }
+        for (var i = 0; i < prefix.length(); i++) {
+            var c = prefix.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // このメソッドは、正規化した全国地方公共団体コードが絞り込みに該当するかを判定します。
+    boolean matches(String lgCode) {
+        var code = parseCode(lgCode);
+        if (code != UNKNOWN) {
+            return this.accepted.get(code);
+        }
+        // 6桁の数字でないコードは、検証でエラーにするため、前方一致のみで判定する
+        for (var prefix : this.prefixes) {
+            if (lgCode.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // このメソッドは、行の先頭の列から、行を除外できるかを判定します。
+    // 先頭の列が絞り込みに該当しないことが確定し、かつ行が引用符を含まない場合に true を返します。
+    boolean rejects(String line) {
+        var code = parseCode(line);
+        return code != UNKNOWN && !this.accepted.get(code) && line.indexOf('"') < 0;
+    }
+
+    // このメソッドは、バイト列の [start, end) の行の先頭の列から、行を除外できるかを判定します。
+    // 先頭の列が絞り込みに該当しないことが確定し、かつ行が引用符を含まない場合に true を返します。
+    boolean rejects(ByteBuffer buffer, int start, int end) {
+        if (end - start < LG_CODE_LENGTH) {
+            return false;
+        }
+        var code = 0;
+        for (var i = start; i < start + LG_CODE_LENGTH; i++) {
+            var b = buffer.get(i);
+            if (b < '0' || b > '9') {
+                return false;
+            }
+            code = code * 10 + (b - '0');
+        }
+        if (this.accepted.get(code)) {
+            return false;
+        }
+        for (var i = start; i < end; i++) {
+            if (buffer.get(i) == '"') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // このメソッドは、文字列の先頭から6桁の半角数字を読み取り、数値を返します。
+    // 6桁の半角数字でない場合は UNKNOWN を返します。
+    // 7桁目以降は読み取らないため、前方一致（String.startsWith）と同じ結果になります。
+    private static int parseCode(String value) {
+        if (value.length() < LG_CODE_LENGTH) {
+            return UNKNOWN;
+        }
+        var code = 0;
+        for (var i = 0; i < LG_CODE_LENGTH; i++) {
+            var c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return UNKNOWN;
+            }
+            code = code * 10 + (c - '0');
+        }
+        return code;
+    }
+
+    private LgCodeFilter(List<String> prefixes) {
+        this.prefixes = prefixes;
+        for (var prefix : prefixes) {
+            // 前方一致に該当するコードの範囲 [prefix000..., prefix999...] をビット列に設定する
+            var scale = (int)Math.pow(10, LG_CODE_LENGTH - prefix.length());
+            var from  = Integer.parseInt(prefix) * scale;
+            this.accepted.set(from, from + scale);
+        }
+    }
+}
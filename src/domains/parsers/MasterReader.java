@@ -0,0 +1,21 @@
+package domains.parsers;
+
+// このインターフェースは、ファイルからマスターデータを1件ずつ読み込むリーダーを定義します。
+// 全件をコレクションとして保持しないため、ファイルサイズに関わらず一定のメモリで処理できます。
+//
+// 使用方法
+// try (var reader = parser.openTownFile(path)) {
+//     TownMaster master;
+//     while ((master = reader.read()) != null) {
+//         ...
+//     }
+// }
+public interface MasterReader<T> extends AutoCloseable {
+    // 実装クラスでは、次のマスターデータを読み込み、検証済みのデータを返すメソッドを実装してください。
+    // ファイルの終端に達した場合は null を返してください。
+    T read() throws FileParserException;
+
+    // 実装クラスでは、読み込みに使用している資源を解放するメソッドを実装してください。
+    @Override
+    void close() throws FileParserException;
+}
@@ -0,0 +1,16 @@
+package domains.parsers;
+
+// この列挙体は、町字ファイルのパース方式を定義します。
+//
+// Text:  ファイルを文字列に変換してから、列に分割します。
+// Bytes: ファイルを UTF-8 のバイト列のまま列に分割し、実際に参照された列のみを文字列に変換します。
+//        英数字のみの列は、UTF-8 のデコードや正規化を行わずに文字列にします。
+// Vector: Bytes と同様にバイト列のまま列に分割しますが、区切り文字、改行、引用符の位置を 64 バイトのブロックごとの
+//         ビットマップ（構造文字の索引）にまとめて求め、索引から列の位置を求めます。
+//         索引の生成には Vector API（jdk.incubator.vector）を使用し、使用できない場合は1バイトずつ分類します。
+// Bytes, Vector は、ZIP アーカイブ、ストリーミングでの読み込みの場合は、Text と同じ方式でパースします。
+public enum ParseEngine {
+    Text,
+    Bytes,
+    Vector,
+}
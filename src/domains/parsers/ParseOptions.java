@@ -0,0 +1,185 @@
+package domains.parsers;
+
+import java.util.Collection;
+import java.util.List;
+
+import domains.masters.MasterReferenceValidator;
+import domains.masters.ProjectedTownMaster;
+import domains.masters.TownField;
+
+// このクラスは、ファイルパース時のオプションを表します。
+// コンストラクタの代わりに、ビルダーを使用してインスタンスを生成可能です。
+public final class ParseOptions {
+    // 既定のオプション（単一スレッドでのパース）
+    public static final ParseOptions DEFAULT = new ParseOptions.Builder().build();
+
+    // パースに使用するスレッド数
+    // 1 の場合は、ファイルを先頭から順に単一スレッドでパースします。
+    // 2 以上の場合は、ファイルを行単位の範囲に分割し、並列にパースします。
+    private final int parallelism;
+    public int getParallelism() { return this.parallelism; }
+
+    // パース時の統計情報の加算先
+    // null の場合は、統計情報を収集しません。
+    private final ParseStatistics statistics;
+    public ParseStatistics getStatistics() { return this.statistics; }
+
+    // 町字ファイルのパース方式
+    private final ParseEngine engine;
+    public ParseEngine getEngine() { return this.engine; }
+
+    // 町字ファイルから読み込む項目の射影
+    // null の場合は、すべての項目を読み込み、InstantiableTownMaster を生成します。
+    // 指定した場合は、射影に含まれる列のみを文字列に変換・検証し、ProjectedTownMaster を生成します。
+    private final ProjectedTownMaster.Projection projection;
+    public ProjectedTownMaster.Projection getProjection() { return this.projection; }
+
+    // 町字ファイルから読み込む行の絞り込み（全国地方公共団体コードの前方一致）
+    // null の場合は、すべての行を読み込みます。
+    // 指定した場合は、該当しない行を列に分割する前に読み飛ばします。
+    private final LgCodeFilter lgCodeFilter;
+    public List<String> getLgCodes() { return this.lgCodeFilter == null ? null : this.lgCodeFilter.getPrefixes(); }
+    LgCodeFilter getLgCodeFilter() { return this.lgCodeFilter; }
+
+    // 町字マスターデータの各項目を、参照された時点で生成するかどうか
+    // true の場合は、キー項目のみを読み込み、レコードのバイト列を保持する LazyTownMaster を生成します。
+    // それ以外の項目は、取得メソッドが最初に呼ばれた時点で文字列に変換・正規化・検証します。
+    // パース方式が Bytes, Vector で、ZIP アーカイブ以外のファイルをパースする場合のみ有効です。
+    private final boolean lazy;
+    public boolean isLazy() { return this.lazy; }
+
+    // 町字マスターデータの検証に使用するスレッド数
+    // 1 の場合は、項目間の関連性とキーの重複を、1件ごとに読み込み中に検証します。
+    // 2 以上の場合は、読み込み後に TownMasterValidationEngine でまとめて並列に検証します。
+    // 射影、遅延生成を指定した場合、および MasterReader で1件ずつ読み込む場合は、読み込み中に検証します。
+    private final int validationParallelism;
+    public int getValidationParallelism() { return this.validationParallelism; }
+
+    // 町字マスターの参照先（市区町村マスター、都道府県マスター）の検証
+    // null の場合は、検証しません。
+    // 指定した場合は、町字マスターの市区町村が存在し、市区町村の各項目が一致しているかを、読み込み後に先頭から順に検証します。
+    // MasterReader で1件ずつ読み込む場合は、読み込むたびに検証します。
+    private final MasterReferenceValidator references;
+    public MasterReferenceValidator getReferences() { return this.references; }
+
+    // 町字IDの階層（大字・町 → 丁目・小字）の整合性を、読み込み後に検証するかどうか（TownHierarchyValidator）
+    // MasterReader で1件ずつ読み込む場合は、終端に達した時点で検証します。（メモリ上に読み込む場合と同じ結果になります）
+    // 遅延生成した町字マスター（LazyTownMaster）は、検証のために大字・町名などを生成しないように、検証しません。
+    private final boolean hierarchy;
+    public boolean validatesHierarchy() { return this.hierarchy; }
+
+    // MasterReader で1件ずつ読み込む件数の見込み（キーの重複の検証に使用する集合の初期容量）
+    // 0 の場合は、ファイルのバイト数から見積もります。
+    // 先頭の一部のみを読み込む場合（TownMemoryEstimator など）に、ファイル全体の件数分の集合を確保しないように指定します。
+    private final int expectedRecords;
+    public int getExpectedRecords() { return this.expectedRecords; }
+
+    // 検証を読み込み後に行うかどうか
+    boolean defersValidation() { return this.validationParallelism > 1 && this.projection == null && !this.lazy; }
+
+    public static class Builder {
+        private int parallelism = 1;
+        public Builder parallelism(int parallelism) throws FileParserException {
+            if (parallelism < 1) {
+                var message = String.format("並列数は 1 以上を指定してください。(%d)", parallelism);
+                throw new FileParserException(message);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        private ParseStatistics statistics = null;
+        public Builder statistics(ParseStatistics statistics) {
+            this.statistics = statistics;
+            return this;
+        }
+
+        private ParseEngine engine = ParseEngine.Text;
+        public Builder engine(ParseEngine engine) throws FileParserException {
+            if (engine == null) {
+                throw new FileParserException("パース方式を指定してください。");
+            }
+            this.engine = engine;
+            return this;
+        }
+
+        private ProjectedTownMaster.Projection projection = null;
+        public Builder fields(Collection<TownField> fields) throws FileParserException {
+            if (fields == null) {
+                throw new FileParserException("読み込む項目を指定してください。");
+            }
+            for (var field : fields) {
+                if (field == null) {
+                    throw new FileParserException("読み込む項目を指定してください。");
+                }
+            }
+            var projection = ProjectedTownMaster.Projection.of(fields);
+            this.projection = projection.isFull() ? null : projection;
+            return this;
+        }
+
+        private LgCodeFilter lgCodeFilter = null;
+        public Builder lgCodes(Collection<String> prefixes) throws FileParserException {
+            if (prefixes == null || prefixes.isEmpty()) {
+                throw new FileParserException("全国地方公共団体コードの絞り込みを指定してください。");
+            }
+            this.lgCodeFilter = LgCodeFilter.of(prefixes);
+            return this;
+        }
+
+        private boolean lazy = false;
+        public Builder lazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
+        private int validationParallelism = 1;
+        public Builder validationParallelism(int validationParallelism) throws FileParserException {
+            if (validationParallelism < 1) {
+                var message = String.format("検証の並列数は 1 以上を指定してください。(%d)", validationParallelism);
+                throw new FileParserException(message);
+            }
+            this.validationParallelism = validationParallelism;
+            return this;
+        }
+
+        private MasterReferenceValidator references = null;
+        public Builder references(MasterReferenceValidator references) {
+            this.references = references;
+            return this;
+        }
+
+        private boolean hierarchy = false;
+        public Builder validateHierarchy(boolean hierarchy) {
+            this.hierarchy = hierarchy;
+            return this;
+        }
+
+        private int expectedRecords = 0;
+        public Builder expectedRecords(int expectedRecords) throws FileParserException {
+            if (expectedRecords < 0) {
+                var message = String.format("読み込む件数の見込みは 0 以上を指定してください。(%d)", expectedRecords);
+                throw new FileParserException(message);
+            }
+            this.expectedRecords = expectedRecords;
+            return this;
+        }
+
+        public ParseOptions build() {
+            return new ParseOptions(this);
+        }
+    }
+
+    private ParseOptions(Builder builder) {
+        this.parallelism           = builder.parallelism;
+        this.statistics            = builder.statistics;
+        this.engine                = builder.engine;
+        this.projection            = builder.projection;
+        this.lgCodeFilter          = builder.lgCodeFilter;
+        this.lazy                  = builder.lazy;
+        this.validationParallelism = builder.validationParallelism;
+        this.references            = builder.references;
+        this.hierarchy             = builder.hierarchy;
+        this.expectedRecords       = builder.expectedRecords;
+    }
+}
@@ -0,0 +1,47 @@
+package domains.parsers;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// このクラスは、ファイルパース時の統計情報を表します。
+// ParseOptions に設定すると、パースの完了時に各項目が加算されます。
+// 並列パース時に複数のスレッドから加算されても問題ありません。
+public final class ParseStatistics {
+    // 値の辞書に登録された値の種類数
+    private final LongAdder dictionaryEntries = new LongAdder();
+    public long getDictionaryEntries() { return this.dictionaryEntries.sum(); }
+
+    // 値の辞書で共有のインスタンスに置き換えた回数
+    private final LongAdder dictionaryHits = new LongAdder();
+    public long getDictionaryHits() { return this.dictionaryHits.sum(); }
+
+    // 値の辞書で削減したメモリの見積もり（バイト）
+    private final LongAdder dictionarySavedBytes = new LongAdder();
+    public long getDictionarySavedBytes() { return this.dictionarySavedBytes.sum(); }
+
+    // 構造文字の索引の生成に使用したブロック分類の名前
+    // パース方式が Vector 以外の場合は null です。
+    private volatile String blockClassifier = null;
+    public String getBlockClassifier() { return this.blockClassifier; }
+
+    void setBlockClassifier(String blockClassifier) {
+        this.blockClassifier = blockClassifier;
+    }
+
+    void addDictionary(long entries, long hits, long savedBytes) {
+        this.dictionaryEntries.add(entries);
+        this.dictionaryHits.add(hits);
+        this.dictionarySavedBytes.add(savedBytes);
+    }
+
+    @Override
+    public String toString() {
+        var text = String.format("辞書: %,d 種類, %,d 件置換, 約 %,d KB 削減",
+            this.getDictionaryEntries(),
+            this.getDictionaryHits(),
+            this.getDictionarySavedBytes() / 1024);
+        if (this.blockClassifier != null) {
+            text += String.format(", 構造文字の索引: %s", this.blockClassifier);
+        }
+        return text;
+    }
+}
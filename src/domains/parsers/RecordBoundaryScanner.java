@@ -0,0 +1,106 @@
+package domains.parsers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+// このクラスは、ファイルを先頭から順に読み進め、引用符で囲まれた列の外にある改行（レコードの境界）の位置を求めます。
+//
+// 並列パースの範囲の境界を、引用符で囲まれた列の中の改行に置かないようにするために使用します。
+// 引用符の内外は、ファイルの先頭からの引用符の数の偶奇で判定します。（エスケープされた引用符 "" は2つ数えるため、偶奇は変わりません）
+// 一定の大きさずつ読み込み、StructuralIndex で引用符、区切り文字の位置を求めるため、引用符を含まない範囲は 64 バイトずつ読み飛ばせます。
+// 位置は前方に向かってのみ進めます。1つのインスタンスを1つのスレッドで使用してください。
+final class RecordBoundaryScanner {
+    // 1回で読み込むバイト数
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private final BlockClassifier classifier;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BYTES);
+
+    // 読み込み済みの範囲 [chunkStart, chunkStart + buffer.limit()) と、その索引
+    private long chunkStart = -1;
+    private StructuralIndex index;
+
+    // 読み進めた位置と、その位置が引用符で囲まれた列の中かどうか
+    private long position;
+    private boolean quoted = false;
+
+    // このメソッドは、target まで読み進めます。target が現在の位置より前の場合は、何もしません。
+    void skipTo(long target) throws IOException {
+        target = Math.min(target, this.size);
+        while (this.position < target) {
+            this.load(this.position);
+            var end  = (int)Math.min(target - this.chunkStart, this.buffer.limit());
+            var from = (int)(this.position - this.chunkStart);
+            for (var quote = this.index.next(StructuralIndex.QUOTE, from, end); quote >= 0; quote = this.index.next(StructuralIndex.QUOTE, quote + 1, end)) {
+                this.quoted = !this.quoted;
+            }
+            this.position = this.chunkStart + end;
+        }
+    }
+
+    // このメソッドは、現在の位置以降で、引用符で囲まれた列の外にある次の改行まで読み進め、その次の位置（次のレコードの先頭）を返します。
+    // 該当する改行がない場合は、ファイルの終端まで読み進め、ファイルサイズを返します。
+    long nextRecordStart() throws IOException {
+        while (this.position < this.size) {
+            this.load(this.position);
+            var limit = this.buffer.limit();
+            var from  = (int)(this.position - this.chunkStart);
+            var quote = this.index.next(StructuralIndex.QUOTE, from, limit);
+            if (!this.quoted) {
+                var lineEnd = this.nextLineEnd(from, quote >= 0 ? quote : limit);
+                if (lineEnd >= 0) {
+                    this.position = this.chunkStart + lineEnd + 1;
+                    return this.position;
+                }
+            }
+            if (quote < 0) {
+                this.position = this.chunkStart + limit;
+                continue;
+            }
+            this.quoted   = !this.quoted;
+            this.position = this.chunkStart + quote + 1;
+        }
+        return this.size;
+    }
+
+    // [from, end) の範囲で、次の改行の位置を返す（区切り文字の索引には列の区切り文字も含まれるため、改行のみを選ぶ）
+    private int nextLineEnd(int from, int end) {
+        for (var separator = this.index.next(StructuralIndex.SEPARATOR, from, end); separator >= 0; separator = this.index.next(StructuralIndex.SEPARATOR, separator + 1, end)) {
+            if (this.buffer.get(separator) == '\n') {
+                return separator;
+            }
+        }
+        return -1;
+    }
+
+    // 指定された位置を含む範囲を読み込み、索引を生成する
+    private void load(long position) throws IOException {
+        if (this.chunkStart >= 0 && position >= this.chunkStart && position < this.chunkStart + this.buffer.limit()) {
+            return;
+        }
+        this.buffer.clear();
+        while (this.buffer.hasRemaining() && this.channel.read(this.buffer, position + this.buffer.position()) > 0) {
+        }
+        this.buffer.flip();
+        if (!this.buffer.hasRemaining()) {
+            // 読み込み中にファイルが切り詰められた場合
+            throw new IOException("ファイルの終端に達しました。");
+        }
+        this.chunkStart = position;
+        this.index      = new StructuralIndex(this.buffer, this.classifier);
+    }
+
+    // 指定された位置から読み進めるスキャナーを生成します。開始位置は、レコードの先頭（引用符で囲まれた列の外）である必要があります。
+    RecordBoundaryScanner(FileChannel channel, long start, BlockClassifier classifier) throws IOException {
+        this.channel    = channel;
+        this.size       = channel.size();
+        this.classifier = classifier;
+        this.position   = start;
+    }
+}
@@ -0,0 +1,47 @@
+package domains.parsers;
+
+import java.nio.ByteBuffer;
+
+// このクラスは、バイト列を1バイトずつ分類するブロック分類です。
+// Vector API が使用できない場合の代わりとして使用します。
+final class ScalarBlockClassifier implements BlockClassifier {
+
+    @Override
+    public void classify(ByteBuffer buffer, int offset, int length, long[][] masks) {
+        classifyRange(buffer, offset, length, masks, 0);
+    }
+
+    @Override
+    public String name() {
+        return "スカラー";
+    }
+
+    // このメソッドは、バイト列の [offset, offset + length) を分類し、masks の指定されたブロックから格納します。
+    // VectorBlockClassifier で、ブロックに満たない末尾を分類する場合にも使用します。
+    static void classifyRange(ByteBuffer buffer, int offset, int length, long[][] masks, int firstBlock) {
+        var separators = masks[StructuralIndex.SEPARATOR];
+        var quotes     = masks[StructuralIndex.QUOTE];
+        var nonAscii   = masks[StructuralIndex.NON_ASCII];
+        for (var start = 0; start < length; start += BLOCK_SIZE) {
+            var end = Math.min(start + BLOCK_SIZE, length);
+            var s   = 0L;
+            var q   = 0L;
+            var h   = 0L;
+            for (var i = start; i < end; i++) {
+                var b   = buffer.get(offset + i);
+                var bit = 1L << (i - start);
+                if (b == ',' || b == '\n') {
+                    s |= bit;
+                } else if (b == '"') {
+                    q |= bit;
+                } else if (b < 0) {
+                    h |= bit;
+                }
+            }
+            var block = firstBlock + start / BLOCK_SIZE;
+            separators[block] = s;
+            quotes[block]     = q;
+            nonAscii[block]   = h;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package domains.parsers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+import domains.masters.CityMaster;
+import domains.masters.InvalidMasterException;
+import domains.masters.MasterSnapshot;
+import domains.masters.PrefMaster;
+import domains.masters.TownMaster;
+
+// このクラスは、パース結果のスナップショットを使用するファイルパースサービスを表します。
+//
+// ファイルのパース時に、ファイルの内容の SHA-256 ハッシュ値を計算し、同じハッシュ値のスナップショットがあれば、
+// ファイルをパースせずにスナップショットからマスターデータを読み込みます（正規化・検証も行いません）。
+// スナップショットがない場合、または内容が変わった場合は、元のパースサービスでパースし、結果をスナップショットに書き出します。
+// スナップショットは、指定されたディレクトリ（未指定の場合はファイルと同じディレクトリ）に "ファイル名.snapshot" として書き出します。
+//
+// スナップショットはキャッシュのため、読み込み・書き出しに失敗した場合は、エラーにせずにファイルをパースします。
+// 町字ファイルは、オプションで読み込む項目、全国地方公共団体コードの絞り込み、遅延生成を指定していない場合のみ、
+// スナップショットを使用します。入力ストリーム、複数のファイル、1件ずつ読み込むリーダーは、元のパースサービスに委譲します。
+// スナップショットを使用した場合、オプションの統計情報は加算されません。
+public final class SnapshotFileParser implements FileParsable {
+    // スナップショットのファイル名の拡張子
+    public static final String EXTENSION = ".snapshot";
+
+    // ハッシュ値の計算時の読み込みサイズ
+    private static final int HASH_BUFFER_SIZE = 1 << 20;
+
+    // 元のパースサービス
+    private final FileParsable parser;
+
+    // スナップショットを書き出すディレクトリ（null の場合はファイルと同じディレクトリ）
+    private final Path directory;
+
+    public SnapshotFileParser(FileParsable parser) {
+        this(parser, null);
+    }
+
+    public SnapshotFileParser(FileParsable parser, Path directory) {
+        this.parser    = parser;
+        this.directory = directory;
+    }
+
+    // このメソッドは、入力されたファイルパスのファイルを、スナップショットがあればスナップショットから読み込み、都道府県マスターデータを生成します。
+    @Override
+    public Collection<PrefMaster> parsePrefFile(Path path) throws FileParserException {
+        var hash     = hash(path);
+        var snapshot = snapshotPathOf(path);
+        try {
+            var masters = MasterSnapshot.readPrefMasters(snapshot, hash);
+            if (masters != null) {
+                return masters;
+            }
+        } catch (IOException e) {
+            // 壊れたスナップショットは使用せず、パースし直して上書きする
+        }
+        var masters = this.parser.parsePrefFile(path);
+        writeSnapshot(snapshot, temp -> MasterSnapshot.writePrefMasters(temp, hash, masters));
+        return masters;
+    }
+
+    @Override
+    public Collection<PrefMaster> parsePrefFile(InputStream stream) throws FileParserException {
+        return this.parser.parsePrefFile(stream);
+    }
+
+    // このメソッドは、入力されたファイルパスのファイルを、スナップショットがあればスナップショットから読み込み、市区町村マスターデータを生成します。
+    @Override
+    public Collection<CityMaster> parseCityFile(Path path) throws FileParserException {
+        var hash     = hash(path);
+        var snapshot = snapshotPathOf(path);
+        try {
+            var masters = MasterSnapshot.readCityMasters(snapshot, hash);
+            if (masters != null) {
+                return masters;
+            }
+        } catch (IOException e) {
+            // 壊れたスナップショットは使用せず、パースし直して上書きする
+        }
+        var masters = this.parser.parseCityFile(path);
+        writeSnapshot(snapshot, temp -> MasterSnapshot.writeCityMasters(temp, hash, masters));
+        return masters;
+    }
+
+    @Override
+    public Collection<CityMaster> parseCityFile(InputStream stream) throws FileParserException {
+        return this.parser.parseCityFile(stream);
+    }
+
+    @Override
+    public Collection<TownMaster> parseTownFile(Path path) throws FileParserException {
+        return parseTownFile(path, ParseOptions.DEFAULT);
+    }
+
+    // このメソッドは、入力されたファイルパスのファイルを、スナップショットがあればスナップショットから読み込み、町字マスターデータを生成します。
+    // 一部の項目・行のみを読み込むオプションを指定した場合は、スナップショットを使用しません。
+    // 参照先の検証を指定した場合は、スナップショットから読み込んだ町字マスターも検証します。（市区町村ファイルだけが変わった場合があるため）
+    // 階層の検証を指定した場合も、スナップショットを書き出したときに検証していない場合があるため、読み込んだ町字マスターを検証します。
+    @Override
+    public Collection<TownMaster> parseTownFile(Path path, ParseOptions options) throws FileParserException {
+        if (!isFullContent(options)) {
+            return this.parser.parseTownFile(path, options);
+        }
+        var hash     = hash(path);
+        var snapshot = snapshotPathOf(path);
+        try {
+            var masters = MasterSnapshot.readTownMasters(snapshot, hash);
+            if (masters != null) {
+                if (options.getReferences() != null) {
+                    options.getReferences().validate(masters);
+                }
+                AddressBaseRegistryParser.validateHierarchy(masters, options);
+                return masters;
+            }
+        } catch (InvalidMasterException e) {
+            throw new FileParserException(e.getMessage());
+        } catch (IOException e) {
+            // 壊れたスナップショットは使用せず、パースし直して上書きする
+        }
+        var masters = this.parser.parseTownFile(path, options);
+        writeSnapshot(snapshot, temp -> MasterSnapshot.writeTownMasters(temp, hash, masters));
+        return masters;
+    }
+
+    @Override
+    public Collection<TownMaster> parseTownFile(InputStream stream, ParseOptions options) throws FileParserException {
+        return this.parser.parseTownFile(stream, options);
+    }
+
+    @Override
+    public Collection<TownMaster> parseTownFiles(Collection<Path> paths, ParseOptions options) throws FileParserException {
+        return this.parser.parseTownFiles(paths, options);
+    }
+
+    @Override
+    public MasterReader<TownMaster> openTownFile(Path path) throws FileParserException {
+        return this.parser.openTownFile(path);
+    }
+
+    @Override
+    public MasterReader<TownMaster> openTownFile(Path path, ParseOptions options) throws FileParserException {
+        return this.parser.openTownFile(path, options);
+    }
+
+    @Override
+    public MasterReader<TownMaster> openTownFiles(Collection<Path> paths, ParseOptions options) throws FileParserException {
+        return this.parser.openTownFiles(paths, options);
+    }
+
+    @Override
+    public MasterReader<TownMaster> openTownFile(InputStream stream, ParseOptions options) throws FileParserException {
+        return this.parser.openTownFile(stream, options);
+    }
+
+    // このメソッドは、入力されたファイルのスナップショットのパスを返します。
+    public Path snapshotPathOf(Path path) {
+        var name = path.getFileName().toString() + EXTENSION;
+        if (this.directory != null) {
+            return this.directory.resolve(name);
+        }
+        return path.resolveSibling(name);
+    }
+
+    // このメソッドは、入力されたファイルの内容の SHA-256 ハッシュ値を返します。
+    public static byte[] hash(Path path) throws FileParserException {
+        try {
+            return hashInternal(path);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+    private static byte[] hashInternal(Path path) throws IOException, NoSuchAlgorithmException {
+        var digest = MessageDigest.getInstance("SHA-256");
+        var buffer = ByteBuffer.allocateDirect(HASH_BUFFER_SIZE);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    // すべての行・項目を読み込み、InstantiableTownMaster を生成するオプションかどうか
+    private static boolean isFullContent(ParseOptions options) {
+        return options.getProjection() == null
+            && options.getLgCodeFilter() == null
+            && !options.isLazy();
+    }
+
+    // このインターフェースは、一時ファイルへのスナップショットの書き出しを表します。
+    private interface SnapshotWriter {
+        void write(Path temp) throws IOException;
+    }
+
+    // 書き出し途中のスナップショットを読み込まないように、一時ファイルに書き出してから置き換える
+    // スナップショットを書き出せなくても、パース結果はそのまま返すため、例外は無視する
+    private static void writeSnapshot(Path snapshot, SnapshotWriter writer) {
+        Path temp = null;
+        try {
+            var parent = snapshot.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            temp = Files.createTempFile(parent, snapshot.getFileName().toString(), ".tmp");
+            writer.write(temp);
+            Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 何もしない
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    // 何もしない
+                }
+            }
+        }
+    }
+}
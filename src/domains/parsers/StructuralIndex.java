@@ -0,0 +1,70 @@
+package domains.parsers;
+
+import java.nio.ByteBuffer;
+
+// このクラスは、バイト列の構造文字（区切り文字、改行、引用符）と ASCII 以外のバイトの位置を、ビットマップで保持する索引です。
+//
+// バイト列を一定の大きさの窓ごとにまとめて分類し、64 バイトのブロックごとのビットマップを生成します。
+// 次の構造文字の位置は、ビットマップの最下位ビットから求めるため、1バイトずつ比較する必要がありません。
+// 窓は前方に向かって読み進めることを想定しています。1つのインスタンスを1つのスレッドで使用してください。
+final class StructuralIndex {
+    // 分類の種類
+    // SEPARATOR: 区切り文字（,）または改行（\n）
+    // QUOTE:     引用符（"）
+    // NON_ASCII: ASCII 以外のバイト（UTF-8 の複数バイト文字）
+    static final int SEPARATOR = 0;
+    static final int QUOTE     = 1;
+    static final int NON_ASCII = 2;
+
+    // 1回で分類するブロック数（64 KB）
+    private static final int WINDOW_BLOCKS = 1024;
+
+    private final ByteBuffer buffer;
+
+    private final int limit;
+
+    private final BlockClassifier classifier;
+
+    // 分類の種類ごとのビットマップ
+    private final long[][] masks = new long[3][WINDOW_BLOCKS];
+
+    // 分類済みの窓の範囲 [windowStart, windowEnd)
+    private int windowStart = 0;
+    private int windowEnd   = 0;
+
+    // このメソッドは、[from, end) の範囲で、指定された種類の次の位置を返します。
+    // 見つからない場合は -1 を返します。
+    int next(int kind, int from, int end) {
+        while (from < end) {
+            if (from < this.windowStart || from >= this.windowEnd) {
+                this.load(from);
+            }
+            var offset = from - this.windowStart;
+            var block  = offset >>> 6;
+            var bits   = this.masks[kind][block] & (-1L << (offset & 63));
+            if (bits != 0) {
+                var position = this.windowStart + (block << 6) + Long.numberOfTrailingZeros(bits);
+                return position < end ? position : -1;
+            }
+            from = this.windowStart + ((block + 1) << 6);
+        }
+        return -1;
+    }
+
+    // このメソッドは、[from, end) の範囲に、指定された種類のバイトが含まれているかを判定します。
+    boolean contains(int kind, int from, int end) {
+        return this.next(kind, from, end) >= 0;
+    }
+
+    private void load(int from) {
+        this.windowStart = from & ~(BlockClassifier.BLOCK_SIZE - 1);
+        this.windowEnd   = Math.min(this.limit, this.windowStart + WINDOW_BLOCKS * BlockClassifier.BLOCK_SIZE);
+        this.classifier.classify(this.buffer, this.windowStart, this.windowEnd - this.windowStart, this.masks);
+    }
+
+    StructuralIndex(ByteBuffer buffer, BlockClassifier classifier) {
+        this.buffer     = buffer;
+        this.limit      = buffer.limit();
+        this.classifier = classifier;
+    }
+}
@@ -0,0 +1,59 @@
+package domains.parsers;
+
+import java.text.Normalizer;
+import java.util.concurrent.ConcurrentHashMap;
+
+// このクラスは、パース時に文字列項目（英字）、文字列項目（数値）の正規化を行います。
+//
+// 正規化の結果は Normalizer.normalize(value, Normalizer.Form.NFKC) と同一です。
+// 1. 基本ラテン文字（ASCII）のみで構成された文字列は NFKC で変化しないため、正規化せずにそのまま返します。
+// 2. フラグ、コード、日付などの短い文字列は同じ値が繰り返し現れるため、正規化の結果を記憶して再利用します。
+final class TextNormalizer {
+
+    // 文字列の正規化形式
+    // 都道府県名英字、地方公共団体コードなどの、文字列（英字）項目や、文字列（数値）項目に対して正規化を行う形式。
+    // 都道府県名、都道府県名カナなどの、文字列、文字列（全角カナ）項目に対しては使用しない。
+    private static final Normalizer.Form NORMALIZATION_FORM = Normalizer.Form.NFKC;
+
+    // 正規化の結果を記憶する文字列の最大長
+    // フラグ(1桁)、コード(2桁)、日付(10桁)、地方公共団体コード(6桁)などが対象になる長さ。
+    private static final int CACHE_MAX_LENGTH = 10;
+
+    // 正規化の結果を記憶する最大件数
+    // 想定外のデータで記憶する件数が増え続けないように上限を設ける。
+    private static final int CACHE_MAX_SIZE = 4096;
+
+    private static final ConcurrentHashMap<String, String> CACHE = new ConcurrentHashMap<>();
+
+    // このメソッドは、入力された文字列を NFKC で正規化します。
+    static String normalize(String value) {
+        if (isAscii(value)) {
+            return value;
+        }
+        if (value.length() > CACHE_MAX_LENGTH) {
+            return Normalizer.normalize(value, NORMALIZATION_FORM);
+        }
+
+        var normalized = CACHE.get(value);
+        if (normalized != null) {
+            return normalized;
+        }
+        normalized = Normalizer.normalize(value, NORMALIZATION_FORM);
+        if (CACHE.size() < CACHE_MAX_SIZE) {
+            CACHE.putIfAbsent(value, normalized);
+        }
+        return normalized;
+    }
+
+    // このメソッドは、入力された文字列が基本ラテン文字（ASCII）のみで構成されているかを判定します。
+    static boolean isAscii(String value) {
+        for (var i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TextNormalizer() {}
+}
@@ -0,0 +1,100 @@
+package domains.parsers;
+
+import domains.masters.TownField;
+
+// この列挙体は、町字ファイルの列を定義します。
+//
+// 各列は、ヘッダーの列名、値の取り出し方、値を設定する InstantiableTownMaster.Builder のメソッド名を持ちます。
+// 列挙子の名前は、対応する町字マスターの項目（TownField）と同じです。
+// メソッド名が null の列は、Builder のコンストラクタの引数となる必須の列で、ヘッダーに存在しない場合はエラーになります。
+// それ以外の列は、ヘッダーに存在しない場合は null として扱います。
+enum TownColumn {
+    LgCode("lg_code",                       Extraction.SharedNormalized, null),
+    MachiazaId("machiaza_id",               Extraction.Normalized,       null),
+    MachiazaType("machiaza_type",           Extraction.SharedNormalized, null),
+    Pref("pref",                            Extraction.Shared,           null),
+    PrefKana("pref_kana",                   Extraction.Shared,           "prefKana"),
+    PrefRoma("pref_roma",                   Extraction.SharedNormalized, "prefRoma"),
+    County("county",                        Extraction.Shared,           "county"),
+    CountyKana("county_kana",               Extraction.Shared,           "countyKana"),
+    CountyRoma("county_roma",               Extraction.SharedNormalized, "countyRoma"),
+    City("city",                            Extraction.Shared,           null),
+    CityKana("city_kana",                   Extraction.Shared,           "cityKana"),
+    CityRoma("city_roma",                   Extraction.SharedNormalized, "cityRoma"),
+    Ward("ward",                            Extraction.Shared,           "ward"),
+    WardKana("ward_kana",                   Extraction.Shared,           "wardKana"),
+    WardRoma("ward_roma",                   Extraction.SharedNormalized, "wardRoma"),
+    OazaCho("oaza_cho",                     Extraction.Raw,              "oazaCho"),
+    OazaChoKana("oaza_cho_kana",            Extraction.Raw,              "oazaChoKana"),
+    OazaChoRoma("oaza_cho_roma",            Extraction.Normalized,       "oazaChoRoma"),
+    Chome("chome",                          Extraction.Raw,              "chome"),
+    ChomeKana("chome_kana",                 Extraction.Raw,              "chomeKana"),
+    ChomeNumber("chome_number",             Extraction.Normalized,       "chomeNumber"),
+    Koaza("koaza",                          Extraction.Raw,              "koaza"),
+    KoazaKana("koaza_kana",                 Extraction.Raw,              "koazaKana"),
+    KoazaRoma("koaza_roma",                 Extraction.Normalized,       "koazaRoma"),
+    MachiazaDist("machiaza_dist",           Extraction.Raw,              "machiazaDist"),
+    RsdtAddrFlg("rsdt_addr_flg",            Extraction.SharedNormalized, null),
+    RsdtAddrMtdCode("rsdt_addr_mtd_code",   Extraction.SharedNormalized, "rsdtAddrMtdCode"),
+    OazaChoAkaFlg("oaza_cho_aka_flg",       Extraction.SharedNormalized, "oazaChoAkaFlg"),
+    KoazaAkaCode("koaza_aka_code",          Extraction.SharedNormalized, "koazaAkaCode"),
+    OazaChoGsiUncmn("oaza_cho_gsi_uncmn",   Extraction.SharedNormalized, "oazaChoGsiUncmn"),
+    KoazaGsiUncmn("koaza_gsi_uncmn",        Extraction.SharedNormalized, "koazaGsiUncmn"),
+    StatusFlg("status_flg",                 Extraction.SharedNormalized, "statusFlg"),
+    WakeNumFlg("wake_num_flg",              Extraction.SharedNormalized, "wakeNumFlg"),
+    EfctDate("efct_date",                   Extraction.NormalizedDate,   null),
+    AbltDate("ablt_date",                   Extraction.Date,             "abltDate"),
+    SrcCode("src_code",                     Extraction.SharedNormalized, "srcCode"),
+    PostCode("post_code",                   Extraction.Normalized,       "postCode"),
+    Remarks("remarks",                      Extraction.Raw,              "remarks");
+
+    // この列挙体は、列の値の取り出し方を定義します。
+    //
+    // Raw:              値をそのまま取り出します。
+    // Normalized:       値を正規化して取り出します。
+    // Shared:           値を辞書の共有インスタンスに置き換えて取り出します。
+    // SharedNormalized: 値を正規化し、辞書の共有インスタンスに置き換えて取り出します。
+    // Date:             日付文字列を解析して取り出します。
+    // NormalizedDate:   日付文字列を正規化してから解析して取り出します。
+    enum Extraction {
+        Raw,
+        Normalized,
+        Shared,
+        SharedNormalized,
+        Date,
+        NormalizedDate,
+    }
+
+    private final String header;
+    String getHeader() { return this.header; }
+
+    private final Extraction extraction;
+    Extraction getExtraction() { return this.extraction; }
+
+    private final String setter;
+    String getSetter() { return this.setter; }
+
+    boolean isRequired() { return this.setter == null; }
+
+    // 対応する町字マスターの項目
+    private final TownField field;
+    TownField getField() { return this.field; }
+
+    // このメソッドは、ヘッダーの列名に対応する列を返します。
+    // 対応する列がない場合は null を返します。
+    static TownColumn valueOfHeader(String header) {
+        for (var e : TownColumn.values()) {
+            if (e.getHeader().equals(header)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private TownColumn(String header, Extraction extraction, String setter) {
+        this.header     = header;
+        this.extraction = extraction;
+        this.setter     = setter;
+        this.field      = TownField.valueOf(this.name());
+    }
+}
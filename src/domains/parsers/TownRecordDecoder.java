@@ -0,0 +1,441 @@
+package domains.parsers;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import domains.masters.InstantiableTownMaster;
+import domains.masters.InvalidMasterException;
+import domains.masters.ProjectedTownMaster;
+import domains.masters.TownField;
+import domains.masters.TownMaster;
+
+// このクラスは、町字ファイルのヘッダーから列の並びを読み取り、その並び専用のレコードの変換処理を生成します。
+//
+// 各列の値の取り出し（正規化、辞書による共有、空の場合の null）と、InstantiableTownMaster.Builder の対応するメソッドの呼び出しを、
+// MethodHandle で1つの処理に結合します。生成した処理は、列番号などを定数として保持するため、
+// レコードごとに列の対応を調べたり、リフレクションで呼び出したりする必要はありません。
+// 列の並びが変わった場合や、未知の列が追加された場合も、ヘッダーに従って変換できます。
+//
+// 射影（ProjectedTownMaster.Projection）を指定した場合は、射影に含まれる列のみを取り出して ProjectedTownMaster を生成します。
+// 射影に含まれない列は、文字列への変換、正規化、検証のいずれも行いません。
+//
+// 遅延生成（lazy）を指定した場合は、バイト列のまま列に分割したレコード（Utf8CsvTokenizer）から、
+// キー項目のみを取り出した LazyTownMaster を生成します。それ以外の項目は、参照された時点で LazyTownMaster が生成します。
+//
+// 検証の後回し（deferred）を指定した場合は、項目間の関連性を検証せずに InstantiableTownMaster を生成します。
+// 読み込み後に TownMasterValidationEngine でまとめて検証する場合に使用します。射影、遅延生成とは併用できません。
+//
+// 結合した MethodHandle は、ヘッダーの並びごとに隠しクラス（Lookup.defineHiddenClassWithClassData）の定数として保持します。
+// JIT コンパイラは定数の MethodHandle を呼び出し元に展開できるため、変換処理は列ごとの分岐のない1つの処理としてコンパイルされます。
+// 隠しクラスを定義できない場合は、MethodHandle を直接呼び出します。
+//
+// 生成した処理は、ヘッダーの並びごとに保持して再利用します。複数のスレッドから使用できます。
+final class TownRecordDecoder {
+    // Builder のコンストラクタの引数となる列（引数の順序）
+    private static final List<TownColumn> CONSTRUCTOR_COLUMNS = List.of(
+        TownColumn.LgCode,
+        TownColumn.MachiazaId,
+        TownColumn.MachiazaType,
+        TownColumn.Pref,
+        TownColumn.City,
+        TownColumn.RsdtAddrFlg,
+        TownColumn.EfctDate);
+
+    // 保持するヘッダーの並びの最大数
+    private static final int MAX_CACHED_LAYOUTS = 64;
+
+    // ヘッダーの並びと射影ごとの変換処理
+    private static final ConcurrentHashMap<String, TownRecordDecoder> DECODERS = new ConcurrentHashMap<>();
+
+    // UTF-8 の BOM
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    // レコードと辞書から町字マスターデータを生成する処理
+    // (CsvRecord, ValueDictionary) -> TownMaster
+    private final MethodHandle handle;
+
+    // 隠しクラスに定数として保持した変換処理（隠しクラスを定義できない場合は null）
+    private final Specialized specialized;
+
+    // レコードに必要な列数
+    private final int columnCount;
+
+    // 全国地方公共団体コードの列番号
+    private final int lgCodeIndex;
+    int getLgCodeIndex() { return this.lgCodeIndex; }
+
+    // 項目（TownField の順序）ごとの列番号（ヘッダーにない項目、射影に含まれない項目は -1）
+    private final int[] columnIndexes;
+
+    // 射影を指定したかどうか
+    private final boolean projected;
+    boolean isProjected() { return this.projected; }
+
+    // LazyTownMaster を生成するかどうか
+    private final boolean lazy;
+
+    int getColumnCount() { return this.columnCount; }
+
+    // このメソッドは、指定された項目の列番号を返します。
+    // ヘッダーにない項目、射影に含まれない項目の場合は -1 を返します。
+    int columnIndexOf(TownField field) {
+        return this.columnIndexes[field.ordinal()];
+    }
+
+    // このメソッドは、入力されたヘッダー行に対応する、すべての列を読み込む変換処理を返します。
+    static TownRecordDecoder of(String header) throws FileParserException {
+        return of(header, null);
+    }
+
+    // このメソッドは、入力されたヘッダー行と射影に対応する変換処理を返します。
+    // 射影が null の場合は、すべての列を読み込みます。
+    // 必須の列がヘッダーにない場合や、同じ列が重複している場合は、FileParserException をスローします。
+    static TownRecordDecoder of(String header, ProjectedTownMaster.Projection projection) throws FileParserException {
+        return of(header, projection, false);
+    }
+
+    // このメソッドは、入力されたヘッダー行と射影に対応する変換処理を返します。
+    // lazy が true の場合は、バイト列のまま列に分割したレコードから LazyTownMaster を生成します。
+    static TownRecordDecoder of(String header, ProjectedTownMaster.Projection projection, boolean lazy) throws FileParserException {
+        return of(header, projection, lazy, false);
+    }
+
+    // このメソッドは、入力されたヘッダー行と射影に対応する変換処理を返します。
+    // deferred が true の場合は、項目間の関連性を検証せずに町字マスターデータを生成します。（射影、遅延生成を指定した場合は無視します）
+    static TownRecordDecoder of(String header, ProjectedTownMaster.Projection projection, boolean lazy, boolean deferred) throws FileParserException {
+        deferred = deferred && projection == null && !lazy;
+        var cacheKey = (projection == null ? header : header + "\n" + projection.getFields()) + (lazy ? "\nlazy" : "") + (deferred ? "\ndeferred" : "");
+        var decoder  = DECODERS.get(cacheKey);
+        if (decoder != null) {
+            return decoder;
+        }
+        decoder = create(header, projection, lazy, deferred);
+        if (DECODERS.size() < MAX_CACHED_LAYOUTS) {
+            var shared = DECODERS.putIfAbsent(cacheKey, decoder);
+            if (shared != null) {
+                return shared;
+            }
+        }
+        return decoder;
+    }
+
+    // このメソッドは、レコードを変換し、町字マスターデータを生成します。
+    // 遅延生成を指定した場合でも、レコードが Utf8CsvTokenizer でない場合や、LazyTownMaster で保持できない長さの場合は、
+    // すべての項目を読み込んだ町字マスターデータを生成します。
+    TownMaster decode(CsvRecord record, ValueDictionary dictionary) throws InvalidMasterException, FileParserException {
+        if (record.size() < this.columnCount) {
+            var message = String.format("列数が不足しています。(想定:%d, 実際:%d)", this.columnCount, record.size());
+            throw new FileParserException(message);
+        }
+        if (this.lazy && record instanceof Utf8CsvTokenizer) {
+            var master = LazyTownMaster.of((Utf8CsvTokenizer)record, this, dictionary);
+            if (master != null) {
+                return master;
+            }
+        }
+        try {
+            if (this.specialized != null) {
+                return this.specialized.decode(record, dictionary);
+            }
+            return (TownMaster)this.handle.invokeExact(record, dictionary);
+        } catch (InvalidMasterException | FileParserException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+
+    private static TownRecordDecoder create(String header, ProjectedTownMaster.Projection projection, boolean lazy, boolean deferred) throws FileParserException {
+        // ヘッダーの列名から列番号を求める
+        var tokenizer = new CsvTokenizer();
+        if (header == null || !tokenizer.tokenize(header)) {
+            throw new FileParserException("ヘッダーを読み込めません。");
+        }
+        var indexes     = new HashMap<TownColumn, Integer>();
+        var columnCount = 0;
+        for (var i = 0; i < tokenizer.size(); i++) {
+            var name = tokenizer.get(i).strip();
+            if (i == 0 && name.startsWith(BYTE_ORDER_MARK)) {
+                name = name.substring(BYTE_ORDER_MARK.length());
+            }
+            var column = TownColumn.valueOfHeader(name);
+            if (column == null) {
+                // 未知の列は読み飛ばす
+                continue;
+            }
+            if (indexes.putIfAbsent(column, i) != null) {
+                var message = String.format("ヘッダーの '%s' 列が重複しています。", name);
+                throw new FileParserException(message);
+            }
+            columnCount = i + 1;
+        }
+        for (var column : TownColumn.values()) {
+            var required = projection == null ? column.isRequired() : column.getField().isKey() || (column.isRequired() && projection.contains(column.getField()));
+            if (required && !indexes.containsKey(column)) {
+                var message = String.format("ヘッダーに '%s' 列がありません。", column.getHeader());
+                throw new FileParserException(message);
+            }
+        }
+
+        var columnIndexes = new int[TownField.values().length];
+        for (var column : TownColumn.values()) {
+            var loaded = projection == null || projection.contains(column.getField());
+            columnIndexes[column.getField().ordinal()] = loaded ? indexes.getOrDefault(column, -1) : -1;
+        }
+
+        try {
+            var handle = projection == null ? createHandle(indexes, deferred) : createProjectedHandle(indexes, projection);
+            return new TownRecordDecoder(handle.asType(MethodType.methodType(TownMaster.class, CsvRecord.class, ValueDictionary.class)), columnCount, columnIndexes, projection != null, lazy);
+        } catch (ReflectiveOperationException e) {
+            throw new FileParserException(e.getMessage());
+        }
+    }
+
+    // このメソッドは、列番号に従って、レコードから町字マスターデータを生成する処理を結合します。
+    // deferred が true の場合は、build() の代わりに buildWithoutRelationValidation() を結合します。
+    private static MethodHandle createHandle(HashMap<TownColumn, Integer> indexes, boolean deferred) throws ReflectiveOperationException {
+        var lookup = MethodHandles.lookup();
+        var recordParameters = new Class<?>[] { CsvRecord.class, ValueDictionary.class };
+
+        // Builder のコンストラクタの各引数を、列の値の取り出しに置き換える
+        // (String, String, String, String, String, String, LocalDate) -> Builder
+        //   => (CsvRecord, ValueDictionary) -> Builder
+        var constructorTypes = new Class<?>[CONSTRUCTOR_COLUMNS.size()];
+        for (var i = 0; i < constructorTypes.length; i++) {
+            constructorTypes[i] = valueType(CONSTRUCTOR_COLUMNS.get(i));
+        }
+        var builder = lookup.findConstructor(InstantiableTownMaster.Builder.class, MethodType.methodType(void.class, constructorTypes));
+        for (var i = CONSTRUCTOR_COLUMNS.size() - 1; i >= 0; i--) {
+            var column = CONSTRUCTOR_COLUMNS.get(i);
+            builder = MethodHandles.collectArguments(builder, i, extractor(lookup, column, indexes.get(column), false));
+        }
+        builder = MethodHandles.permuteArguments(builder,
+            MethodType.methodType(InstantiableTownMaster.Builder.class, recordParameters),
+            repeat(CONSTRUCTOR_COLUMNS.size()));
+
+        // Builder のメソッドの呼び出しを、ヘッダーの列の順に連結する
+        // (Builder, CsvRecord, ValueDictionary) -> Builder
+        var steps = new ArrayList<MethodHandle>();
+        for (var column : TownColumn.values()) {
+            if (column.isRequired() || !indexes.containsKey(column)) {
+                continue;
+            }
+            var setter = lookup.findVirtual(InstantiableTownMaster.Builder.class, column.getSetter(),
+                MethodType.methodType(InstantiableTownMaster.Builder.class, valueType(column)));
+            steps.add(MethodHandles.collectArguments(setter, 1, extractor(lookup, column, indexes.get(column), true)));
+        }
+        var chain = sequence(InstantiableTownMaster.Builder.class, steps, 0, steps.size());
+
+        // コンストラクタ、メソッドの呼び出し、build() を結合する
+        // (CsvRecord, ValueDictionary) -> InstantiableTownMaster
+        var handle = MethodHandles.collectArguments(chain, 0, builder);
+        handle = MethodHandles.permuteArguments(handle,
+            MethodType.methodType(InstantiableTownMaster.Builder.class, recordParameters),
+            0, 1, 0, 1);
+        // buildWithoutRelationValidation() は公開されていないため、Builder のクラスの権限で参照する
+        // 生成した町字マスターは、AddressBaseRegistryParser が返す前に TownMasterValidationEngine で検証する
+        var build = deferred
+            ? MethodHandles.privateLookupIn(InstantiableTownMaster.Builder.class, lookup).findVirtual(InstantiableTownMaster.Builder.class, "buildWithoutRelationValidation", MethodType.methodType(InstantiableTownMaster.class))
+            : lookup.findVirtual(InstantiableTownMaster.Builder.class, "build", MethodType.methodType(InstantiableTownMaster.class));
+        return MethodHandles.filterReturnValue(handle, build);
+    }
+
+    // このメソッドは、射影に含まれる列のみを取り出して、ProjectedTownMaster を生成する処理を結合します。
+    private static MethodHandle createProjectedHandle(HashMap<TownColumn, Integer> indexes, ProjectedTownMaster.Projection projection) throws ReflectiveOperationException {
+        var lookup = MethodHandles.lookup();
+        var recordParameters = new Class<?>[] { CsvRecord.class, ValueDictionary.class };
+        var builderType      = ProjectedTownMaster.Builder.class;
+
+        // キー項目をコンストラクタの引数として取り出す
+        // (CsvRecord, ValueDictionary) -> Builder
+        var keyColumns = new ArrayList<TownColumn>();
+        for (var column : TownColumn.values()) {
+            if (column.getField().isKey()) {
+                keyColumns.add(column);
+            }
+        }
+        var constructorTypes = new Class<?>[keyColumns.size()];
+        for (var i = 0; i < constructorTypes.length; i++) {
+            constructorTypes[i] = valueType(keyColumns.get(i));
+        }
+        var builder = lookup.findConstructor(builderType,
+            MethodType.methodType(void.class, ProjectedTownMaster.Projection.class).appendParameterTypes(constructorTypes));
+        builder = MethodHandles.insertArguments(builder, 0, projection);
+        for (var i = keyColumns.size() - 1; i >= 0; i--) {
+            var column = keyColumns.get(i);
+            builder = MethodHandles.collectArguments(builder, i, extractor(lookup, column, indexes.get(column), false));
+        }
+        builder = MethodHandles.permuteArguments(builder,
+            MethodType.methodType(builderType, recordParameters),
+            repeat(keyColumns.size()));
+
+        // 射影に含まれる列の値の設定を連結する
+        // (Builder, CsvRecord, ValueDictionary) -> Builder
+        var steps = new ArrayList<MethodHandle>();
+        for (var column : TownColumn.values()) {
+            var field = column.getField();
+            if (field.isKey() || !projection.contains(field) || !indexes.containsKey(column)) {
+                continue;
+            }
+            MethodHandle setter;
+            if (valueType(column) == LocalDate.class) {
+                setter = lookup.findVirtual(builderType, column.getSetter(), MethodType.methodType(builderType, LocalDate.class));
+            } else {
+                setter = lookup.findVirtual(builderType, "value", MethodType.methodType(builderType, TownField.class, String.class));
+                setter = MethodHandles.insertArguments(setter, 1, field);
+            }
+            steps.add(MethodHandles.collectArguments(setter, 1, extractor(lookup, column, indexes.get(column), true)));
+        }
+        var chain = sequence(builderType, steps, 0, steps.size());
+
+        // コンストラクタ、値の設定、build() を結合する
+        // (CsvRecord, ValueDictionary) -> ProjectedTownMaster
+        var handle = MethodHandles.collectArguments(chain, 0, builder);
+        handle = MethodHandles.permuteArguments(handle,
+            MethodType.methodType(builderType, recordParameters),
+            0, 1, 0, 1);
+        var build = lookup.findVirtual(builderType, "build", MethodType.methodType(ProjectedTownMaster.class));
+        return MethodHandles.filterReturnValue(handle, build);
+    }
+
+    // このメソッドは、steps の [from, to) の処理を順に呼び出す処理を返します。
+    // (Builder, CsvRecord, ValueDictionary) -> Builder
+    // 先頭から順に結合すると入れ子が列数分深くなり、JIT コンパイラのインライン展開の深さの上限を超えるため、
+    // 二分して結合し、入れ子の深さを列数の対数に抑えます。
+    private static MethodHandle sequence(Class<?> builderType, List<MethodHandle> steps, int from, int to) {
+        if (from == to) {
+            return MethodHandles.dropArguments(MethodHandles.identity(builderType), 1, CsvRecord.class, ValueDictionary.class);
+        }
+        if (to - from == 1) {
+            return steps.get(from);
+        }
+        var middle = (from + to) >>> 1;
+        var chain  = MethodHandles.collectArguments(sequence(builderType, steps, middle, to), 0, sequence(builderType, steps, from, middle));
+        return MethodHandles.permuteArguments(chain,
+            MethodType.methodType(builderType, builderType, CsvRecord.class, ValueDictionary.class),
+            0, 1, 2, 1, 2);
+    }
+
+    // このメソッドは、列の値を取り出す処理を生成します。
+    // (CsvRecord, ValueDictionary) -> String または LocalDate
+    // nullable が true の場合は、値が空、または空白文字のみの場合に null を返します。
+    private static MethodHandle extractor(MethodHandles.Lookup lookup, TownColumn column, int index, boolean nullable) throws ReflectiveOperationException {
+        var type = valueType(column);
+        var name = switch (column.getExtraction()) {
+            case Raw              -> "raw";
+            case Normalized       -> "normalized";
+            case Shared           -> "shared";
+            case SharedNormalized -> "sharedNormalized";
+            case Date             -> "date";
+            case NormalizedDate   -> "normalizedDate";
+        };
+        var extractor = lookup.findStatic(TownRecordDecoder.class, name,
+            MethodType.methodType(type, CsvRecord.class, int.class, ValueDictionary.class));
+        extractor = MethodHandles.insertArguments(extractor, 1, index);
+        if (!nullable) {
+            return extractor;
+        }
+        var isBlank = lookup.findStatic(TownRecordDecoder.class, "isBlank",
+            MethodType.methodType(boolean.class, CsvRecord.class, int.class));
+        isBlank = MethodHandles.insertArguments(isBlank, 1, index);
+        var none = MethodHandles.dropArguments(MethodHandles.constant(type, null), 0, CsvRecord.class, ValueDictionary.class);
+        return MethodHandles.guardWithTest(isBlank, none, extractor);
+    }
+
+    private static Class<?> valueType(TownColumn column) {
+        return switch (column.getExtraction()) {
+            case Date, NormalizedDate -> LocalDate.class;
+            default                   -> String.class;
+        };
+    }
+
+    // このメソッドは、(CsvRecord, ValueDictionary) を count 回繰り返す引数の並び替えを返します。
+    private static int[] repeat(int count) {
+        var reorder = new int[count * 2];
+        for (var i = 0; i < count; i++) {
+            reorder[i * 2]     = 0;
+            reorder[i * 2 + 1] = 1;
+        }
+        return reorder;
+    }
+
+    private static boolean isBlank(CsvRecord record, int index) {
+        return record.isBlank(index);
+    }
+    private static String raw(CsvRecord record, int index, ValueDictionary dictionary) {
+        return record.get(index);
+    }
+    private static String normalized(CsvRecord record, int index, ValueDictionary dictionary) {
+        return record.getNormalized(index);
+    }
+    private static String shared(CsvRecord record, int index, ValueDictionary dictionary) {
+        return record.getShared(index, dictionary);
+    }
+    private static String sharedNormalized(CsvRecord record, int index, ValueDictionary dictionary) {
+        return record.getSharedNormalized(index, dictionary);
+    }
+    private static LocalDate date(CsvRecord record, int index, ValueDictionary dictionary) {
+        return record.getDate(index, dictionary);
+    }
+    private static LocalDate normalizedDate(CsvRecord record, int index, ValueDictionary dictionary) {
+        return record.getNormalizedDate(index, dictionary);
+    }
+
+    // このメソッドは、変換処理を定数として保持する隠しクラスを定義します。
+    // SpecializedTemplate のクラスファイルを雛形として、変換処理をクラスデータに設定します。
+    private static Specialized specialize(MethodHandle handle) {
+        try (var stream = TownRecordDecoder.class.getResourceAsStream("TownRecordDecoder$SpecializedTemplate.class")) {
+            if (stream == null) {
+                return null;
+            }
+            var lookup      = MethodHandles.lookup().defineHiddenClassWithClassData(stream.readAllBytes(), handle, true);
+            var constructor = lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class));
+            return (Specialized)constructor.invoke();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+    // このインターフェースは、隠しクラスに定義した変換処理を表します。
+    interface Specialized {
+        TownMaster decode(CsvRecord record, ValueDictionary dictionary) throws Throwable;
+    }
+
+    // このクラスは、隠しクラスの雛形です。このクラス自体は使用しません。
+    // 隠しクラスとして定義すると、クラスデータに設定された変換処理を static final の定数として保持します。
+    static final class SpecializedTemplate implements Specialized {
+        private static final MethodHandle HANDLE;
+        static {
+            try {
+                HANDLE = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @Override
+        public TownMaster decode(CsvRecord record, ValueDictionary dictionary) throws Throwable {
+            return (TownMaster)HANDLE.invokeExact(record, dictionary);
+        }
+
+        SpecializedTemplate() {
+        }
+    }
+
+    private TownRecordDecoder(MethodHandle handle, int columnCount, int[] columnIndexes, boolean projected, boolean lazy) {
+        this.handle        = handle;
+        this.specialized   = specialize(handle);
+        this.columnCount   = columnCount;
+        this.lgCodeIndex   = columnIndexes[TownField.LgCode.ordinal()];
+        this.columnIndexes = columnIndexes;
+        this.projected     = projected;
+        this.lazy          = lazy;
+    }
+}
@@ -0,0 +1,452 @@
+package domains.parsers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// このクラスは、UTF-8 のバイト列のままの CSV の1行を列に分割します。
+//
+// CsvTokenizer と同じ規則（RFC 4180）で分割しますが、行を文字列に変換せず、バイト列上の列の開始・終了位置のみを記録します。
+// UTF-8 の複数バイト文字は区切り文字（,）、引用符（"）と同じバイトを含まないため、バイト単位で走査できます。
+//
+// 文字列は実際に参照された列についてのみ生成し、生成方法は列の内容によって使い分けます。
+// - 英数字のみ（ASCII）の列は、UTF-8 のデコードを行わずにバイト列から直接文字列を生成します。NFKC の正規化も不要です。
+// - 日付の列は、yyyy-MM-dd 形式であれば、文字列を生成せずにバイト列から直接解析します。
+// - 辞書で共有する列は、直前の行と同じバイト列であれば、文字列を生成せずに直前の行の値を再利用します。
+//   町字ファイルは市区町村ごとに並んでいるため、都道府県名や市区町村名などの日本語の列はほとんどデコードせずに済みます。
+//
+// 位置を記録する配列はインスタンスごとに再利用するため、1つのインスタンスを1つのスレッドで使い回してください。
+final class Utf8CsvTokenizer extends CsvRecord {
+    // 列の区切り文字
+    private static final byte DELIMITER = ',';
+
+    // 列の引用符
+    private static final byte QUOTE = '"';
+
+    // 列が引用符で囲まれていることを示すフラグ
+    private static final byte FLAG_QUOTED = 1;
+
+    // 列がエスケープされた引用符（""）を含んでいることを示すフラグ
+    private static final byte FLAG_ESCAPED = 2;
+
+    // 列が ASCII 以外のバイトを含んでいることを示すフラグ
+    private static final byte FLAG_NON_ASCII = 4;
+
+    // 日付文字列（yyyy-MM-dd）のバイト数
+    private static final int DATE_LENGTH = 10;
+
+    // 分割対象のバイト列
+    private final ByteBuffer buffer;
+
+    // 不正なバイト列を検出するためのデコーダー
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder();
+
+    // 列数
+    private int size = 0;
+    @Override
+    int size() { return this.size; }
+
+    // 各列の開始位置（引用符を含まない）
+    private int[] starts = new int[64];
+
+    // 各列の終了位置（引用符を含まない）
+    private int[] ends = new int[64];
+
+    // 各列のフラグ
+    private byte[] flags = new byte[64];
+
+    // 列のバイト列をコピーする作業領域
+    private byte[] scratch = new byte[256];
+
+    // 辞書で共有した列の、直前の行のバイト列と値
+    private ColumnCache[] sharedCaches = new ColumnCache[64];
+
+    // 正規化してから辞書で共有した列の、直前の行のバイト列と値
+    private ColumnCache[] normalizedCaches = new ColumnCache[64];
+
+    // このメソッドは、バイト列の指定された範囲 [start, end) を1行として列に分割します。
+    // 範囲には改行コードを含めないでください。
+    // 行が引用符で囲まれた列の途中で終わっている場合は false を返します。
+    // その場合は、次の行までを含めた範囲で再度呼び出してください。
+    boolean tokenize(int start, int end) {
+        this.size = 0;
+
+        var position = start;
+        while (true) {
+            this.ensureCapacity(this.size + 1);
+            if (position < end && this.buffer.get(position) == QUOTE) {
+                // 引用符で囲まれた列
+                var fieldStart = position + 1;
+                var flag       = FLAG_QUOTED;
+                var current    = fieldStart;
+                while (true) {
+                    if (current >= end) {
+                        return false;
+                    }
+                    var b = this.buffer.get(current);
+                    if (b != QUOTE) {
+                        if (b < 0) {
+                            flag |= FLAG_NON_ASCII;
+                        }
+                        current++;
+                        continue;
+                    }
+                    if (current + 1 < end && this.buffer.get(current + 1) == QUOTE) {
+                        flag   |= FLAG_ESCAPED;
+                        current += 2;
+                        continue;
+                    }
+                    this.add(fieldStart, current, flag);
+                    position = current + 1;
+                    break;
+                }
+                var delimiter = this.indexOfDelimiter(position, end);
+                if (delimiter < 0) {
+                    return true;
+                }
+                position = delimiter + 1;
+            } else {
+                // 引用符で囲まれていない列
+                var flag    = (byte)0;
+                var current = position;
+                while (current < end) {
+                    var b = this.buffer.get(current);
+                    if (b == DELIMITER) {
+                        break;
+                    }
+                    if (b < 0) {
+                        flag |= FLAG_NON_ASCII;
+                    }
+                    current++;
+                }
+                this.add(position, current, flag);
+                if (current >= end) {
+                    return true;
+                }
+                position = current + 1;
+            }
+        }
+    }
+
+    // このメソッドは、構造文字の索引を使用して、バイト列の start から始まる1レコードを列に分割します。
+    // レコードの終わりの改行の位置（ファイルの終端の場合はバイト列の終端）を返します。
+    // 引用符で囲まれた列の中の改行は、値として扱います。
+    // バイト列の終端までに引用符が閉じられていない場合は -1 を返します。
+    int tokenize(StructuralIndex index, int start) {
+        this.size = 0;
+
+        var limit    = this.buffer.limit();
+        var position = start;
+        while (true) {
+            this.ensureCapacity(this.size + 1);
+            int separator;
+            if (position < limit && this.buffer.get(position) == QUOTE) {
+                // 引用符で囲まれた列
+                var fieldStart = position + 1;
+                var flag       = FLAG_QUOTED;
+                var current    = fieldStart;
+                while (true) {
+                    var quote = index.next(StructuralIndex.QUOTE, current, limit);
+                    if (quote < 0) {
+                        return -1;
+                    }
+                    if (quote + 1 < limit && this.buffer.get(quote + 1) == QUOTE) {
+                        flag   |= FLAG_ESCAPED;
+                        current = quote + 2;
+                        continue;
+                    }
+                    if (index.contains(StructuralIndex.NON_ASCII, fieldStart, quote)) {
+                        flag |= FLAG_NON_ASCII;
+                    }
+                    this.add(fieldStart, quote, flag);
+                    position = quote + 1;
+                    break;
+                }
+                // 閉じ引用符の後、次の区切り文字までは無視する
+                separator = index.next(StructuralIndex.SEPARATOR, position, limit);
+            } else {
+                // 引用符で囲まれていない列
+                separator = index.next(StructuralIndex.SEPARATOR, position, limit);
+                var end   = separator >= 0 ? separator : limit;
+                if (end == limit || this.buffer.get(end) == '\n') {
+                    // 改行コードが CRLF の場合は、CR を取り除く
+                    if (end > position && this.buffer.get(end - 1) == '\r') {
+                        end--;
+                    }
+                }
+                var flag = index.contains(StructuralIndex.NON_ASCII, position, end) ? FLAG_NON_ASCII : (byte)0;
+                this.add(position, end, flag);
+            }
+            if (separator < 0) {
+                return limit;
+            }
+            if (this.buffer.get(separator) == '\n') {
+                return separator;
+            }
+            position = separator + 1;
+        }
+    }
+
+    // このメソッドは、指定された列の値を返します。
+    // 引用符で囲まれた列の場合は、引用符を除き、エスケープされた引用符を1つの引用符に戻した値を返します。
+    // 不正な UTF-8 のバイト列を含む場合は、UncheckedIOException をスローします。
+    @Override
+    String get(int index) {
+        this.checkIndex(index);
+        var flag  = this.flags[index];
+        var value = (flag & FLAG_NON_ASCII) == 0 ? this.decodeAscii(index) : this.decodeUtf8(index);
+        if ((flag & FLAG_ESCAPED) != 0) {
+            value = value.replace("\"\"", "\"");
+        }
+        // 引用符で囲まれた列の中の改行は、テキストでのパースと同様に LF にそろえる
+        if ((flag & FLAG_QUOTED) != 0 && value.indexOf('\r') >= 0) {
+            value = value.replace("\r\n", "\n");
+        }
+        return value;
+    }
+
+    // このメソッドは、指定された列の値が空、または空白文字のみで構成されているかを判定します。
+    // String.isBlank() と同じ判定を行います。ASCII のみの列は、文字列を生成せずに判定します。
+    @Override
+    boolean isBlank(int index) {
+        this.checkIndex(index);
+        if ((this.flags[index] & FLAG_NON_ASCII) != 0) {
+            return this.get(index).isBlank();
+        }
+        for (var i = this.starts[index]; i < this.ends[index]; i++) {
+            if (!Character.isWhitespace(this.buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // このメソッドは、指定された列の値を正規化して返します。
+    // ASCII のみの列は、正規化しても変わらないため、そのまま返します。
+    @Override
+    String getNormalized(int index) {
+        this.checkIndex(index);
+        if ((this.flags[index] & FLAG_NON_ASCII) == 0) {
+            return this.get(index);
+        }
+        return super.getNormalized(index);
+    }
+
+    // このメソッドは、指定された列の値を、辞書の共有インスタンスに置き換えて返します。
+    // 直前の行と同じバイト列の場合は、文字列を生成せずに直前の行の値を返します。
+    @Override
+    String getShared(int index, ValueDictionary dictionary) {
+        this.checkIndex(index);
+        this.sharedCaches = ensureCacheCapacity(this.sharedCaches, index + 1);
+        return this.getCached(index, dictionary, this.sharedCaches, false);
+    }
+
+    // このメソッドは、指定された列の値を正規化し、辞書の共有インスタンスに置き換えて返します。
+    // 直前の行と同じバイト列の場合は、文字列を生成せずに直前の行の値を返します。
+    @Override
+    String getSharedNormalized(int index, ValueDictionary dictionary) {
+        this.checkIndex(index);
+        this.normalizedCaches = ensureCacheCapacity(this.normalizedCaches, index + 1);
+        return this.getCached(index, dictionary, this.normalizedCaches, true);
+    }
+
+    // このメソッドは、指定された列の日付文字列（yyyy-MM-dd）を解析し、辞書の共有インスタンスを返します。
+    // yyyy-MM-dd 形式の場合は、文字列を生成せずにバイト列から直接解析します。
+    @Override
+    LocalDate getDate(int index, ValueDictionary dictionary) {
+        var date = this.parseDate(index, dictionary);
+        return date != null ? date : super.getDate(index, dictionary);
+    }
+
+    // このメソッドは、指定された列の日付文字列（yyyy-MM-dd）を正規化してから解析し、辞書の共有インスタンスを返します。
+    // yyyy-MM-dd 形式の場合は、正規化しても変わらないため、文字列を生成せずにバイト列から直接解析します。
+    @Override
+    LocalDate getNormalizedDate(int index, ValueDictionary dictionary) {
+        var date = this.parseDate(index, dictionary);
+        return date != null ? date : super.getNormalizedDate(index, dictionary);
+    }
+
+    // このメソッドは、指定された列の、引用符を含む開始位置を返します。
+    int rawStart(int index) {
+        this.checkIndex(index);
+        return (this.flags[index] & FLAG_QUOTED) != 0 ? this.starts[index] - 1 : this.starts[index];
+    }
+
+    // このメソッドは、指定された列の、引用符を含む終了位置を返します。
+    int rawEnd(int index) {
+        this.checkIndex(index);
+        return (this.flags[index] & FLAG_QUOTED) != 0 ? this.ends[index] + 1 : this.ends[index];
+    }
+
+    // このメソッドは、分割対象のバイト列の [start, end) をコピーして返します。
+    byte[] copyRange(int start, int end) {
+        var bytes = new byte[end - start];
+        this.buffer.get(start, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    // このメソッドは、yyyy-MM-dd 形式の列をバイト列から解析します。
+    // 形式が異なる場合や、存在しない日付の場合は null を返します。
+    // その場合は、文字列から解析することで、テキストでのパースと同じエラーにします。
+    private LocalDate parseDate(int index, ValueDictionary dictionary) {
+        this.checkIndex(index);
+        var start = this.starts[index];
+        if (this.flags[index] != 0 || this.ends[index] - start != DATE_LENGTH) {
+            return null;
+        }
+        if (this.buffer.get(start + 4) != '-' || this.buffer.get(start + 7) != '-') {
+            return null;
+        }
+        var year  = this.parseDigits(start, 4);
+        var month = this.parseDigits(start + 5, 2);
+        var day   = this.parseDigits(start + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return null;
+        }
+        try {
+            return dictionary.date(year, month, day);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+    private int parseDigits(int start, int length) {
+        var value = 0;
+        for (var i = start; i < start + length; i++) {
+            var b = this.buffer.get(i);
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private String getCached(int index, ValueDictionary dictionary, ColumnCache[] caches, boolean normalize) {
+        var start  = this.starts[index];
+        var length = this.ends[index] - start;
+        var cache  = caches[index];
+        if (cache != null && cache.flag == this.flags[index] && cache.matches(this.buffer, start, length)) {
+            // 辞書の統計情報を揃えるため、辞書は経由する（値は共有インスタンスのため、比較は参照の比較で終わる）
+            return dictionary.intern(cache.value);
+        }
+        var value = dictionary.intern(normalize ? this.getNormalized(index) : this.get(index));
+        if (cache == null) {
+            cache = new ColumnCache();
+            caches[index] = cache;
+        }
+        cache.update(this.buffer, start, length, this.flags[index], value);
+        return value;
+    }
+
+    private String decodeAscii(int index) {
+        var length = this.copy(index);
+        return new String(this.scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    private String decodeUtf8(int index) {
+        var length = this.copy(index);
+        var value  = new String(this.scratch, 0, length, StandardCharsets.UTF_8);
+        // 不正なバイト列は置換文字に置き換えられるため、置換文字を含む場合のみ厳密にデコードし直してエラーを検出する
+        if (value.indexOf('\uFFFD') >= 0) {
+            try {
+                this.decoder.reset();
+                this.decoder.decode(ByteBuffer.wrap(this.scratch, 0, length));
+            } catch (CharacterCodingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return value;
+    }
+
+    private int copy(int index) {
+        var start  = this.starts[index];
+        var length = this.ends[index] - start;
+        if (this.scratch.length < length) {
+            this.scratch = new byte[Math.max(length, this.scratch.length * 2)];
+        }
+        this.buffer.get(start, this.scratch, 0, length);
+        return length;
+    }
+
+    private int indexOfDelimiter(int position, int end) {
+        for (var i = position; i < end; i++) {
+            if (this.buffer.get(i) == DELIMITER) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void add(int start, int end, byte flag) {
+        this.starts[this.size] = start;
+        this.ends[this.size]   = end;
+        this.flags[this.size]  = flag;
+        this.size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= this.starts.length) {
+            return;
+        }
+        var newCapacity = Math.max(capacity, this.starts.length * 2);
+        this.starts = Arrays.copyOf(this.starts, newCapacity);
+        this.ends   = Arrays.copyOf(this.ends, newCapacity);
+        this.flags  = Arrays.copyOf(this.flags, newCapacity);
+    }
+
+    private static ColumnCache[] ensureCacheCapacity(ColumnCache[] caches, int capacity) {
+        if (capacity <= caches.length) {
+            return caches;
+        }
+        return Arrays.copyOf(caches, Math.max(capacity, caches.length * 2));
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    // このクラスは、列ごとの直前の行のバイト列と値を保持します。
+    private static final class ColumnCache {
+        private byte[] bytes = new byte[64];
+
+        private int length = 0;
+
+        private byte flag = 0;
+
+        private String value = null;
+
+        private boolean matches(ByteBuffer buffer, int start, int length) {
+            if (this.length != length) {
+                return false;
+            }
+            for (var i = 0; i < length; i++) {
+                if (this.bytes[i] != buffer.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void update(ByteBuffer buffer, int start, int length, byte flag, String value) {
+            if (this.bytes.length < length) {
+                this.bytes = new byte[Math.max(length, this.bytes.length * 2)];
+            }
+            buffer.get(start, this.bytes, 0, length);
+            this.length = length;
+            this.flag   = flag;
+            this.value  = value;
+        }
+    }
+
+    Utf8CsvTokenizer(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+}
@@ -0,0 +1,95 @@
+package domains.parsers;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// このクラスは、1回の取り込みの間、繰り返し現れる値を共有のインスタンスに置き換える辞書です。
+//
+// 都道府県名、市区町村名、フラグ、効力発生日などは、町字ファイル全体でも数千種類の値しかありません。
+// 同じ値を持つ文字列や日付を1つのインスタンスにまとめることで、パース後のマスターデータが保持するメモリを削減します。
+// 並列パース時に複数のスレッドから使用できます。
+final class ValueDictionary {
+
+    // 日付のフォーマット
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ISO_DATE;
+
+    // 64ビット JVM（圧縮参照あり）でのオブジェクトサイズの見積もり
+    // String 本体 24 バイト + byte[] のヘッダー 16 バイト + 文字データ、LocalDate 24 バイト。
+    private static final int STRING_HEADER_BYTES = 24 + 16;
+    private static final int LOCAL_DATE_BYTES    = 24;
+
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, LocalDate> dates = new ConcurrentHashMap<>();
+
+    // 年月日を yyyyMMdd の数値にまとめたキーの日付
+    private final ConcurrentHashMap<Integer, LocalDate> packedDates = new ConcurrentHashMap<>();
+
+    // 辞書の値で置き換えた回数
+    private final LongAdder hits = new LongAdder();
+
+    // 置き換えによって削減したメモリの見積もり（バイト）
+    private final LongAdder savedBytes = new LongAdder();
+
+    // このメソッドは、入力された文字列と同じ値を持つ共有の文字列を返します。
+    // null の場合は null を返します。
+    String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        var shared = this.strings.putIfAbsent(value, value);
+        if (shared == null) {
+            return value;
+        }
+        this.hits.increment();
+        this.savedBytes.add(estimateStringBytes(value));
+        return shared;
+    }
+
+    // このメソッドは、入力された日付文字列（yyyy-MM-dd）を解析し、同じ日付を持つ共有の日付を返します。
+    // 同じ日付文字列の解析結果は再利用するため、解析は日付の種類ごとに1回だけ行われます。
+    LocalDate date(String value) {
+        var shared = this.dates.get(value);
+        if (shared != null) {
+            this.hits.increment();
+            this.savedBytes.add(LOCAL_DATE_BYTES);
+            return shared;
+        }
+        var date = LocalDate.parse(value, DATE_TIME_FORMATTER);
+        shared = this.dates.putIfAbsent(value, date);
+        return shared != null ? shared : date;
+    }
+
+    // このメソッドは、入力された年月日の日付と同じ日付を持つ共有の日付を返します。
+    // 日付文字列を生成せずに解析した場合に使用します。存在しない日付の場合は DateTimeException をスローします。
+    LocalDate date(int year, int month, int day) {
+        var key    = (year * 100 + month) * 100 + day;
+        var shared = this.packedDates.get(key);
+        if (shared != null) {
+            this.hits.increment();
+            this.savedBytes.add(LOCAL_DATE_BYTES);
+            return shared;
+        }
+        var date = LocalDate.of(year, month, day);
+        shared = this.packedDates.putIfAbsent(key, date);
+        return shared != null ? shared : date;
+    }
+
+    // このメソッドは、辞書の使用状況を統計情報に加算します。
+    void report(ParseStatistics statistics) {
+        if (statistics == null) {
+            return;
+        }
+        statistics.addDictionary(this.strings.size() + this.dates.size() + this.packedDates.size(), this.hits.sum(), this.savedBytes.sum());
+    }
+
+    private static long estimateStringBytes(String value) {
+        // 基本ラテン文字のみの文字列は1文字1バイト、それ以外は1文字2バイトで保持される（Compact Strings）
+        var bytesPerChar = TextNormalizer.isAscii(value) ? 1 : 2;
+        var bytes = STRING_HEADER_BYTES + (long)value.length() * bytesPerChar;
+        // 8バイト境界に揃える
+        return (bytes + 7) & ~7L;
+    }
+}
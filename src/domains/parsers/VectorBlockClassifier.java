@@ -0,0 +1,63 @@
+package domains.parsers;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// このクラスは、Vector API（jdk.incubator.vector）を使用して、64 バイトのブロックを SIMD 命令でまとめて分類するブロック分類です。
+//
+// ブロックを CPU のベクトル長ごとに読み込み、区切り文字、改行、引用符、ASCII 以外のバイトと比較した結果のマスクを
+// ビットマップに変換します（simdjson と同じ方式です）。
+// このクラスは jdk.incubator.vector モジュールに依存するため、BlockClassifier.load() からリフレクションで生成します。
+// コンパイル時、実行時ともに --add-modules jdk.incubator.vector を指定してください。
+final class VectorBlockClassifier implements BlockClassifier {
+    // 使用するベクトルの種類（CPU が効率よく扱える最大のベクトル長）
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    // 1ブロックあたりのベクトルの読み込み回数
+    private static final int LOADS_PER_BLOCK = BLOCK_SIZE / SPECIES.length();
+
+    @Override
+    public void classify(ByteBuffer buffer, int offset, int length, long[][] masks) {
+        var separators = masks[StructuralIndex.SEPARATOR];
+        var quotes     = masks[StructuralIndex.QUOTE];
+        var nonAscii   = masks[StructuralIndex.NON_ASCII];
+        var blocks     = length / BLOCK_SIZE;
+        var lanes      = SPECIES.length();
+        for (var block = 0; block < blocks; block++) {
+            var base = offset + block * BLOCK_SIZE;
+            var s    = 0L;
+            var q    = 0L;
+            var h    = 0L;
+            for (var i = 0; i < LOADS_PER_BLOCK; i++) {
+                var shift  = i * lanes;
+                var vector = ByteVector.fromByteBuffer(SPECIES, buffer, base + shift, ByteOrder.LITTLE_ENDIAN);
+                s |= vector.eq((byte)',').or(vector.eq((byte)'\n')).toLong() << shift;
+                q |= vector.eq((byte)'"').toLong() << shift;
+                h |= vector.lt((byte)0).toLong() << shift;
+            }
+            separators[block] = s;
+            quotes[block]     = q;
+            nonAscii[block]   = h;
+        }
+        // ブロックに満たない末尾は1バイトずつ分類する
+        var rest = length - blocks * BLOCK_SIZE;
+        if (rest > 0) {
+            ScalarBlockClassifier.classifyRange(buffer, offset + blocks * BLOCK_SIZE, rest, masks, blocks);
+        }
+    }
+
+    @Override
+    public String name() {
+        return String.format("Vector API (%d ビット)", SPECIES.vectorBitSize());
+    }
+
+    VectorBlockClassifier() {
+        // ベクトル長がブロックより大きい CPU はないが、念のため確認する
+        if (SPECIES.length() > BLOCK_SIZE || BLOCK_SIZE % SPECIES.length() != 0) {
+            throw new IllegalStateException("ベクトル長がブロックのサイズに合いません。");
+        }
+    }
+}
@@ -69,4 +69,11 @@ CREATE TABLE mt_town (
     post_code VARCHAR(80) NULL,
     remarks VARCHAR(256) NULL,
     PRIMARY KEY (lg_code, machiaza_id, rsdt_addr_flg, efct_date)
+);
+
+/* 取り込み情報（前回の取り込み時の、対象ごとの内容のハッシュ値） */
+/* target は、テーブル名（mt_pref, mt_city）、または町字テーブルの都道府県（mt_town:13 など） */
+CREATE TABLE mt_import (
+    target VARCHAR(16) NOT NULL PRIMARY KEY,
+    checksum VARCHAR(64) NOT NULL
 )
\ No newline at end of file
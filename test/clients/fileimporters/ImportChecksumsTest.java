@@ -0,0 +1,112 @@
+package clients.fileimporters;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import domains.databases.MasterWriter;
+import domains.masters.TownMaster;
+import domains.parsers.AddressBaseRegistryParser;
+import domains.parsers.ParseOptions;
+import tests.Fixtures;
+
+// このクラスは、取り込み情報テーブルに記録する町字テーブルの都道府県ごとのハッシュ値を検証します。
+public final class ImportChecksumsTest {
+    public static void main(String[] args) throws Exception {
+        sameChecksumsForAllInputForms();
+        changesOnlyTheChangedSlice();
+        checksumOfContinuesAfterReading();
+        System.out.println("ImportChecksumsTest: OK");
+    }
+
+    // CSV ファイル、ZIP アーカイブ、都道府県別のファイル、1件ずつの書き込みのいずれでも、同じハッシュ値になること
+    private static void sameChecksumsForAllInputForms() throws Exception {
+        var rows     = rowsOf("");
+        var csv      = Fixtures.writeTownFile(rows);
+        var parser   = new AddressBaseRegistryParser();
+        var expected = ImportChecksums.ofTownMasters(parser.parseTownFile(csv));
+        assertEquals(List.of("01", "13"), new ArrayList<>(expected.keySet()), "都道府県ごとのハッシュ値");
+
+        var zip = Files.createTempFile("mkaddrs-test", ".zip");
+        zip.toFile().deleteOnExit();
+        try (var out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("mt_town_all.csv"));
+            out.write(Files.readAllBytes(csv));
+            out.closeEntry();
+        }
+        assertEquals(expected, ImportChecksums.ofTownMasters(parser.parseTownFile(zip)), "ZIP アーカイブ");
+
+        var hokkaido = Fixtures.writeTownFile(rows.subList(0, 10));
+        var tokyo    = Fixtures.writeTownFile(rows.subList(10, rows.size()));
+        assertEquals(expected, ImportChecksums.ofTownMasters(parser.parseTownFiles(List.of(hokkaido, tokyo), ParseOptions.DEFAULT)), "都道府県別のファイル");
+
+        assertEquals(expected, streamedChecksumsOf(csv), "1件ずつの書き込み");
+    }
+
+    // ある都道府県の町字が変わった場合、その都道府県のハッシュ値のみが変わること
+    private static void changesOnlyTheChangedSlice() throws Exception {
+        var parser  = new AddressBaseRegistryParser();
+        var before  = ImportChecksums.ofTownMasters(parser.parseTownFile(Fixtures.writeTownFile(rowsOf(""))));
+        var rows    = rowsOf("");
+        rows.set(3, rows.get(3).replaceFirst(",$", ",変更"));
+        var after   = ImportChecksums.ofTownMasters(parser.parseTownFile(Fixtures.writeTownFile(rows)));
+        assertTrue(!before.get("01").equals(after.get("01")), "変更した都道府県のハッシュ値が変わること");
+        assertEquals(before.get("13"), after.get("13"), "他の都道府県のハッシュ値が変わらないこと");
+    }
+
+    // 途中で求めたハッシュ値は、それまでの町字のハッシュ値と同じで、その後も続けて計算できること
+    private static void checksumOfContinuesAfterReading() throws Exception {
+        var parser  = new AddressBaseRegistryParser();
+        var masters = new ArrayList<>(parser.parseTownFile(Fixtures.writeTownFile(rowsOf(""))));
+        var slices  = new ImportChecksums.TownSlices();
+        for (var master : masters.subList(0, 10)) {
+            slices.add(master);
+        }
+        var hokkaido = slices.checksumOf("01");
+        assertEquals(ImportChecksums.ofTownMasters(masters.subList(0, 10)).get("01"), hokkaido, "途中のハッシュ値");
+        assertEquals(null, slices.checksumOf("13"), "まだ受け取っていない都道府県");
+        for (var master : masters.subList(10, masters.size())) {
+            slices.add(master);
+        }
+        assertEquals(ImportChecksums.ofTownMasters(masters), slices.toChecksums(), "続けて計算したハッシュ値");
+        assertEquals(hokkaido, slices.checksumOf("01"), "他の都道府県を受け取っても変わらないこと");
+    }
+
+    // 北海道（011002）の町字10件と、東京都の町字20件の行
+    private static List<String> rowsOf(String remarks) {
+        List<String> rows = new ArrayList<>();
+        for (var i = 1; i <= 10; i++) {
+            rows.add(Fixtures.townRow("011002", String.format("%04d000", i), "町" + i, "1", "2019-01-01", remarks));
+        }
+        rows.addAll(Fixtures.townRows(20, remarks));
+        return rows;
+    }
+
+    private static Map<String, String> streamedChecksumsOf(Path path) throws Exception {
+        var parser = new AddressBaseRegistryParser();
+        var writer = new ImportChecksums.TownSliceWriter(new MasterWriter<TownMaster>() {
+            @Override
+            public void write(TownMaster master) {
+            }
+
+            @Override
+            public void close() {
+            }
+        });
+        try (var reader = parser.openTownFile(path)) {
+            for (var master = reader.read(); master != null; master = reader.read()) {
+                writer.write(master);
+            }
+        }
+        writer.close();
+        return writer.getSlices().toChecksums();
+    }
+}
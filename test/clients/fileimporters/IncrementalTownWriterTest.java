@@ -0,0 +1,207 @@
+package clients.fileimporters;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import domains.databases.DatabaseManageable;
+import domains.databases.MasterWriter;
+import domains.masters.CityMaster;
+import domains.masters.PrefMaster;
+import domains.masters.TownMaster;
+import domains.parsers.AddressBaseRegistryParser;
+import tests.Fixtures;
+
+// このクラスは、町字ファイルを1度だけ読み込みながら、内容が変わった都道府県のみを書き換えるライターを検証します。
+// セーブポイントに対応した、メモリ上の町字テーブルで検証します。
+public final class IncrementalTownWriterTest {
+    public static void main(String[] args) throws Exception {
+        rewritesOnlyChangedSlices();
+        keepsSlicesThatReappear();
+        removesMissingSlices();
+        System.out.println("IncrementalTownWriterTest: OK");
+    }
+
+    // 内容が変わった都道府県のみを書き換え、同じ都道府県の書き換えは取り消すこと
+    private static void rewritesOnlyChangedSlices() throws Exception {
+        var before = parse(List.of(row("011002", "0001000", "旧"), row("131016", "0001000", "旧")));
+        var after  = parse(List.of(row("011002", "0001000", "旧"), row("131016", "0001000", "新")));
+        var table  = new TownTable(before);
+
+        var writer = write(table, checksumsOf(before), after);
+        assertEquals(Set.of("13"), writer.getRewritten(), "書き換えた都道府県");
+        assertEquals(rowsOf(after), table.rows(), "書き換え後の行");
+        assertEquals(ImportChecksums.ofTownMasters(after), writer.getSlices().toChecksums(), "一括で計算したハッシュ値と同じであること");
+        assertEquals(1, table.rollbacks, "変わっていない都道府県はロールバックすること");
+    }
+
+    // 同じ都道府県が離れて現れた場合も、全体が正しく書き込まれること（1回目をロールバックした場合を含む）
+    private static void keepsSlicesThatReappear() throws Exception {
+        var before = parse(List.of(row("011002", "0001000", "")));
+        var after  = parse(List.of(row("011002", "0001000", ""), row("131016", "0001000", ""), row("011002", "0002000", "")));
+        var table  = new TownTable(before);
+
+        var writer = write(table, checksumsOf(before), after);
+        assertEquals(rowsOf(after), table.rows(), "書き換え後の行");
+        assertEquals(Set.of("01", "13"), writer.getRewritten(), "書き換えた都道府県");
+    }
+
+    // 前回のみに含まれる都道府県の行を削除すること
+    private static void removesMissingSlices() throws Exception {
+        var before = parse(List.of(row("011002", "0001000", ""), row("131016", "0001000", "")));
+        var after  = parse(List.of(row("131016", "0001000", "")));
+        var table  = new TownTable(before);
+
+        var writer = write(table, checksumsOf(before), after);
+        assertEquals(rowsOf(after), table.rows(), "書き換え後の行");
+        assertEquals(Set.of("01"), writer.getRewritten(), "書き換えた都道府県");
+    }
+
+    private static String row(String lgCode, String machiazaId, String remarks) {
+        return Fixtures.townRow(lgCode, machiazaId, "町", "1", "2019-01-01", remarks);
+    }
+
+    private static List<TownMaster> parse(List<String> rows) throws Exception {
+        return new ArrayList<>(new AddressBaseRegistryParser().parseTownFile(Fixtures.writeTownFile(rows)));
+    }
+
+    private static Map<String, String> checksumsOf(List<TownMaster> masters) {
+        return ImportChecksums.ofTownMasters(masters);
+    }
+
+    private static IncrementalTownWriter write(TownTable table, Map<String, String> previous, List<TownMaster> masters) throws Exception {
+        var writer = new IncrementalTownWriter(table, null, previous);
+        try (writer) {
+            for (var master : masters) {
+                writer.write(master);
+            }
+        }
+        return writer;
+    }
+
+    private static Set<String> rowsOf(Collection<TownMaster> masters) {
+        var rows = new TreeSet<String>();
+        for (var master : masters) {
+            rows.add(TownTable.rowOf(master));
+        }
+        return rows;
+    }
+
+    // このクラスは、セーブポイントに対応した、メモリ上の町字テーブルです。
+    // ライターは、閉じるまで書き込みを実行しません。（未実行の書き込みがロールバックで失われないことも検証します）
+    private static final class TownTable implements DatabaseManageable {
+        private Set<String> rows = new TreeSet<>();
+
+        private final Deque<Set<String>> savepoints = new ArrayDeque<>();
+
+        private int rollbacks = 0;
+
+        private Set<String> rows() {
+            return this.rows;
+        }
+
+        private static String rowOf(TownMaster master) {
+            return master.getLgCode() + "-" + master.getMachiazaId() + "-" + master.getRemarks();
+        }
+
+        @Override
+        public MasterWriter<TownMaster> openTownMasterWriter(Connection connection) {
+            return new MasterWriter<TownMaster>() {
+                private final List<String> pending = new ArrayList<>();
+
+                @Override
+                public void write(TownMaster master) {
+                    this.pending.add(rowOf(master));
+                }
+
+                @Override
+                public void close() {
+                    TownTable.this.rows.addAll(this.pending);
+                }
+            };
+        }
+
+        @Override
+        public void clearTownMasters(Connection connection, Collection<String> lgCodePrefixes) {
+            this.rows.removeIf(row -> lgCodePrefixes.stream().anyMatch(row::startsWith));
+        }
+
+        @Override
+        public Savepoint setSavepoint(Connection connection) {
+            this.savepoints.push(new TreeSet<>(this.rows));
+            return null;
+        }
+
+        @Override
+        public void rollbackToSavepoint(Connection connection, Savepoint savepoint) {
+            this.rows = this.savepoints.pop();
+            this.rollbacks++;
+        }
+
+        @Override
+        public void releaseSavepoint(Connection connection, Savepoint savepoint) {
+            this.savepoints.pop();
+        }
+
+        @Override
+        public Connection getConnection() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void createPrefMasters(Connection connection, Collection<PrefMaster> masters) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void createCityMasters(Connection connection, Collection<CityMaster> masters) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void createTownMasters(Connection connection, Collection<TownMaster> masters) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clearPrefMasters(Connection connection) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clearCityMasters(Connection connection) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clearTownMasters(Connection connection) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, String> readImportChecksums(Connection connection) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void updateImportChecksums(Connection connection, Map<String, String> checksums) {
+            throw new UnsupportedOperationException();
+        }
+
+        private TownTable(Collection<TownMaster> masters) {
+            for (var master : masters) {
+                this.rows.add(rowOf(master));
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package clients.fileimporters;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+// このクラスは、入力ストリームのサイズの上限を検証します。
+public final class LimitedInputStreamTest {
+    public static void main(String[] args) throws Exception {
+        readsUpToLimit();
+        failsBeyondLimit();
+        System.out.println("LimitedInputStreamTest: OK");
+    }
+
+    // 上限ちょうどのバイト数は読み込めること
+    private static void readsUpToLimit() throws Exception {
+        try (var stream = new LimitedInputStream(new ByteArrayInputStream(new byte[100]), "テスト", 100)) {
+            assertEquals(100, stream.readAllBytes().length, "読み込んだバイト数");
+        }
+    }
+
+    // 上限を超えた時点で、入力の名前と上限を含む IOException になること（1バイトずつ、まとめて、読み飛ばしのいずれも）
+    private static void failsBeyondLimit() throws Exception {
+        var e = assertThrows(IOException.class, () -> {
+            try (var stream = new LimitedInputStream(new ByteArrayInputStream(new byte[101]), "テスト", 100)) {
+                stream.readAllBytes();
+            }
+        }, "まとめて読み込んだ場合");
+        assertTrue(e.getMessage().contains("テスト") && e.getMessage().contains("100"), "エラーメッセージ: " + e.getMessage());
+
+        assertThrows(IOException.class, () -> {
+            try (var stream = new LimitedInputStream(new ByteArrayInputStream(new byte[101]), "テスト", 100)) {
+                while (stream.read() >= 0) {
+                }
+            }
+        }, "1バイトずつ読み込んだ場合");
+
+        assertThrows(IOException.class, () -> {
+            try (var stream = new LimitedInputStream(new ByteArrayInputStream(new byte[101]), "テスト", 100)) {
+                stream.skip(101);
+            }
+        }, "読み飛ばした場合");
+    }
+}
@@ -0,0 +1,76 @@
+package domains.databases;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// このクラスは、取り込み情報テーブル（mt_import）がない既存のデータベースでも、ハッシュ値の読み込み・更新ができることを検証します。
+// JDBC ドライバを使用せずに、mt_import の作成前の SELECT, DELETE, INSERT がエラーになる接続で検証します。
+public final class ImportTableTest {
+    public static void main(String[] args) throws Exception {
+        createsMissingTable();
+        System.out.println("ImportTableTest: OK");
+    }
+
+    private static void createsMissingTable() throws Exception {
+        var database = new TablelessDatabase();
+        var manager  = new DatabaseManager() {
+            @Override
+            public Connection getConnection() {
+                return database.connection();
+            }
+        };
+        try (var connection = manager.getConnection()) {
+            assertEquals(Map.of(), manager.readImportChecksums(connection), "テーブルがない場合のハッシュ値");
+            manager.updateImportChecksums(connection, Map.of("mt_pref", "abc"));
+        }
+        assertTrue(database.statements.get(0).startsWith("CREATE TABLE IF NOT EXISTS mt_import"), "最初にテーブルを作成すること: " + database.statements);
+    }
+
+    // mt_import を作成するまで、mt_import への SQL がエラーになるデータベース
+    private static final class TablelessDatabase {
+        private final List<String> statements = new ArrayList<>();
+
+        private boolean created = false;
+
+        private Connection connection() {
+            return (Connection)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                if (method.getName().equals("prepareStatement")) {
+                    return this.statement((String)args[0]);
+                }
+                return null;
+            });
+        }
+
+        private PreparedStatement statement(String sql) {
+            return (PreparedStatement)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "executeUpdate", "executeQuery", "executeBatch" -> {
+                        this.statements.add(sql);
+                        if (sql.startsWith("CREATE TABLE IF NOT EXISTS mt_import")) {
+                            this.created = true;
+                        } else if (!this.created) {
+                            throw new SQLException("no such table: mt_import");
+                        }
+                        return method.getName().equals("executeQuery") ? emptyResultSet() : method.getName().equals("executeBatch") ? new int[0] : 0;
+                    }
+                    default -> {
+                        return null;
+                    }
+                }
+            });
+        }
+
+        private ResultSet emptyResultSet() {
+            return (ResultSet)Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class }, (proxy, method, args) -> method.getName().equals("next") ? false : null);
+        }
+    }
+}
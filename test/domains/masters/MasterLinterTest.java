@@ -0,0 +1,97 @@
+package domains.masters;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import domains.parsers.AddressBaseRegistryLinter;
+import domains.parsers.AddressBaseRegistryParser;
+import domains.parsers.FileParserException;
+import tests.Fixtures;
+
+// このクラスは、マスターデータの検証（MasterLinter）が、すべての違反を規則・行番号とともに記録することを検証します。
+public final class MasterLinterTest {
+    public static void main(String[] args) throws Exception {
+        reportsEveryTownViolation();
+        reportsNothingForValidFiles();
+        checksCountyFieldsLikeBuilder();
+        System.out.println("MasterLinterTest: OK");
+    }
+
+    // 違反のある行をすべて、規則と行番号（ヘッダーを1行目とした番号）とともに記録すること
+    private static void reportsEveryTownViolation() throws Exception {
+        var rows = new ArrayList<>(Fixtures.townRows(30, ""));
+        rows.set(3, rows.get(3).replace(",1,1,0,,0,,,", ",9,1,0,,0,,,"));   // 住居表示フラグ
+        rows.set(6, rows.get(6).replaceFirst(",2,東京都", ",1,東京都"));     // 町字区分コードと丁目の関連性
+        rows.set(12, rows.get(0));                                            // キーの重複
+        rows.set(15, "131024,0004000,1");                                     // 列数の不足
+        rows.set(20, rows.get(20).replace("2019-01-01", "2019-13-01"));       // 効力発生日の形式
+
+        var report = lint(Fixtures.cityRows(), rows);
+        assertEquals(new TreeMap<>(Map.of(
+                "town.rsdtAddrFlg", 5L,
+                "town.relation", 8L,
+                "town.duplicate", 14L,
+                "town.record", 17L,
+                "town.efctDate", 22L)),
+            violationRows(report), "違反の規則と行番号");
+        assertEquals(5L, report.getViolationCount(), "違反の件数");
+        assertEquals(30L, report.getRecordCounts().get(MasterLinter.TOWN), "検証した町字の件数");
+        for (var violation : report.getViolations()) {
+            assertEquals("town.csv", violation.getFile(), "違反のファイル名");
+        }
+        assertEquals(1L, report.getLgCodeCounts().get("-"), "全国地方公共団体コードがない違反");
+
+        // 違反が集計されない規則も、検証回数は数えること
+        var oazaCho = report.getRules().stream().filter(rule -> rule.getName().equals("town.oazaCho")).findFirst().orElseThrow();
+        assertEquals(0L, oazaCho.getViolations(), "town.oazaCho の違反");
+        assertEquals(29L, oazaCho.getChecks(), "town.oazaCho の検証回数");
+    }
+
+    private static void reportsNothingForValidFiles() throws Exception {
+        var report = lint(Fixtures.cityRows(), Fixtures.townRows(30, ""));
+        assertEquals(0L, report.getViolationCount(), "違反がないファイル");
+        assertEquals(2L, report.getRecordCounts().get(MasterLinter.CITY), "検証した市区町村の件数");
+    }
+
+    // 郡名カナ・郡名英字は、InstantiableCityMaster.Builder と同じく郡名の規則で検証すること
+    // （英字の '-gun' は求めず、郡名の長さの上限を適用する）
+    private static void checksCountyFieldsLikeBuilder() throws Exception {
+        var longKana = "ア".repeat(25);
+        var cities   = List.of(
+            Fixtures.cityRows().get(0).replace("Tokyo,,,,千代田区,", "Tokyo,千代田郡,チヨダグン,Chiyoda,千代田区,"),
+            Fixtures.cityRows().get(1).replace("Tokyo,,,,中央区,", "Tokyo,中央郡," + longKana + ",,中央区,"));
+
+        var report = lint(cities, Fixtures.townRows(0, ""));
+        assertEquals(new TreeMap<>(Map.of("city.countyKana", 3L)), violationRows(report), "郡名カナ・郡名英字の違反");
+
+        var parser = new AddressBaseRegistryParser();
+        parser.parseCityFile(Fixtures.write("city.csv", Fixtures.CITY_HEADER, cities.subList(0, 1)));
+        assertThrows(FileParserException.class,
+            () -> parser.parseCityFile(Fixtures.write("city.csv", Fixtures.CITY_HEADER, cities.subList(1, 2))),
+            "Builder も郡名カナの長さで違反とすること");
+    }
+
+    private static LintReport lint(List<String> cityRows, List<String> townRows) throws Exception {
+        var report = new LintReport();
+        var linter = new AddressBaseRegistryLinter(new MasterLinter(report));
+        linter.lintPrefFile(Fixtures.write("pref.csv", Fixtures.PREF_HEADER, Fixtures.prefRows()));
+        linter.lintCityFile(Fixtures.write("city.csv", Fixtures.CITY_HEADER, cityRows));
+        linter.lintTownFile(Fixtures.writeTownFile(townRows));
+        return report;
+    }
+
+    // 規則ごとの、違反の行番号
+    private static TreeMap<String, Long> violationRows(LintReport report) {
+        var rows = new TreeMap<String, Long>();
+        for (var violation : report.getViolations()) {
+            assertTrue(rows.put(violation.getRule(), violation.getRow()) == null, "規則ごとに1件の違反: " + violation);
+        }
+        return rows;
+    }
+}
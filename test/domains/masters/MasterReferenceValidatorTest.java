@@ -0,0 +1,74 @@
+package domains.masters;
+
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import domains.parsers.AddressBaseRegistryParser;
+import domains.parsers.ParseOptions;
+import tests.Fixtures;
+
+// このクラスは、ファイルをまたいだマスター間の参照（町字 → 市区町村 → 都道府県）の検証を検証します。
+public final class MasterReferenceValidatorTest {
+    public static void main(String[] args) throws Exception {
+        acceptsMatchingReferences();
+        rejectsUnknownCity();
+        rejectsMismatchedCityName();
+        rejectsCityOfUnknownPref();
+        comparesOnlyProjectedFields();
+        System.out.println("MasterReferenceValidatorTest: OK");
+    }
+
+    private static void acceptsMatchingReferences() throws Exception {
+        validatorOf(Fixtures.cityRows()).validate(towns(Fixtures.townRows(20, "")));
+    }
+
+    // 町字の全国地方公共団体コードの市区町村が、市区町村マスターにない場合
+    private static void rejectsUnknownCity() throws Exception {
+        var validator = validatorOf(Fixtures.cityRows().subList(0, 1));
+        var e = assertThrows(InvalidMasterException.class, () -> validator.validate(towns(Fixtures.townRows(20, ""))), "市区町村がない町字");
+        assertTrue(e.getMessage().contains("131024-0001000") && e.getMessage().contains(":lgCode]"), "最初の違反の町字: " + e.getMessage());
+    }
+
+    // 町字の市区町村名が、市区町村マスターの値と異なる場合
+    private static void rejectsMismatchedCityName() throws Exception {
+        var cities = List.of(Fixtures.cityRows().get(0), Fixtures.cityRows().get(1).replace("中央区,", "中野区,"));
+        var validator = validatorOf(cities);
+        var e = assertThrows(InvalidMasterException.class, () -> validator.validate(towns(Fixtures.townRows(20, ""))), "市区町村名が異なる町字");
+        assertTrue(e.getMessage().contains(":city]") && e.getMessage().contains("'中央区'"), "違反の項目: " + e.getMessage());
+    }
+
+    // 市区町村の都道府県が、都道府県マスターにない場合
+    private static void rejectsCityOfUnknownPref() throws Exception {
+        var cities = new ArrayList<>(Fixtures.cityRows());
+        cities.add("011002,北海道,ホッカイドウ,Hokkaido,,,,札幌市,サッポロシ,Sapporo-shi,,,,1972-04-01,,");
+        var parser = new AddressBaseRegistryParser();
+        var prefs  = parser.parsePrefFile(Fixtures.write("pref.csv", Fixtures.PREF_HEADER, Fixtures.prefRows()));
+        var city   = parser.parseCityFile(Fixtures.write("city.csv", Fixtures.CITY_HEADER, cities));
+        var e = assertThrows(InvalidMasterException.class, () -> MasterReferenceValidator.of(prefs, city), "都道府県がない市区町村");
+        assertTrue(e.getMessage().contains("011002"), "違反の市区町村: " + e.getMessage());
+    }
+
+    // 射影した町字マスターは、射影に含まれる項目のみを突き合わせること
+    private static void comparesOnlyProjectedFields() throws Exception {
+        var cities    = List.of(Fixtures.cityRows().get(0), Fixtures.cityRows().get(1).replace("中央区,", "中野区,"));
+        var validator = validatorOf(cities);
+        var options   = new ParseOptions.Builder().fields(List.of(TownField.LgCode, TownField.MachiazaId, TownField.Pref)).build();
+        var masters   = new AddressBaseRegistryParser().parseTownFile(Fixtures.writeTownFile(Fixtures.townRows(20, "")), options);
+        validator.validate(masters);
+    }
+
+    private static MasterReferenceValidator validatorOf(List<String> cityRows) throws Exception {
+        var parser = new AddressBaseRegistryParser();
+        var prefs  = parser.parsePrefFile(Fixtures.write("pref.csv", Fixtures.PREF_HEADER, Fixtures.prefRows()));
+        var cities = parser.parseCityFile(Fixtures.write("city.csv", Fixtures.CITY_HEADER, cityRows));
+        return MasterReferenceValidator.of(prefs, cities);
+    }
+
+    private static Collection<TownMaster> towns(List<String> rows) throws Exception {
+        return new AddressBaseRegistryParser().parseTownFile(Fixtures.writeTownFile(rows));
+    }
+}
@@ -0,0 +1,110 @@
+package domains.masters;
+
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import domains.parsers.AddressBaseRegistryParser;
+import tests.Fixtures;
+
+// このクラスは、町字IDの階層（大字・町 → 丁目・小字）の整合性の検証を検証します。
+public final class TownHierarchyValidatorTest {
+    public static void main(String[] args) throws Exception {
+        acceptsValidHierarchy();
+        acceptsChildOfAnyParentVersion();
+        rejectsChildMatchingNoParentVersion();
+        rejectsMissingParent();
+        rejectsChomeNumberMismatch();
+        acceptsChildBeforeParent();
+        reportsFirstPendingViolation();
+        System.out.println("TownHierarchyValidatorTest: OK");
+    }
+
+    // 大字・町と、その下の丁目の一覧は、違反にならないこと
+    private static void acceptsValidHierarchy() throws Exception {
+        TownHierarchyValidator.validate(parse(Fixtures.townRows(100, "")));
+    }
+
+    // 大字・町名の変更前後のレコードが両方ある場合、いずれかの名称と一致する丁目は違反にならないこと
+    private static void acceptsChildOfAnyParentVersion() throws Exception {
+        var rows = List.of(
+            Fixtures.townRow("131016", "0001000", "新町", "1", "2020-01-01", ""),
+            Fixtures.townRow("131016", "0001000", "旧町", "1", "2000-01-01", ""),
+            Fixtures.townRow("131016", "0001001", "旧町", "1", "2000-01-01", ""),
+            Fixtures.townRow("131016", "0001002", "新町", "1", "2020-01-01", ""),
+            Fixtures.townRow("131016", "0001000", "旧町", "0", "1990-01-01", ""),
+            Fixtures.townRow("131016", "0001003", "旧町", "0", "1990-01-01", ""));
+        TownHierarchyValidator.validate(parse(rows));
+    }
+
+    // いずれの親のレコードとも一致しない場合は、最初の親のレコードとの違反を報告すること
+    private static void rejectsChildMatchingNoParentVersion() throws Exception {
+        var rows = List.of(
+            Fixtures.townRow("131016", "0001000", "新町", "1", "2020-01-01", ""),
+            Fixtures.townRow("131016", "0001000", "旧町", "1", "2000-01-01", ""),
+            Fixtures.townRow("131016", "0001001", "別町", "1", "2020-01-01", ""));
+        var e = assertThrows(InvalidMasterException.class, () -> TownHierarchyValidator.validate(parse(rows)), "一致しない大字・町名");
+        assertTrue(e.getMessage().contains("131016-0001001-1-20200101:oazaCho"), "違反のキー: " + e.getMessage());
+        assertTrue(e.getMessage().contains("'別町'") && e.getMessage().contains("'新町'"), "比較した値: " + e.getMessage());
+    }
+
+    // 親となる大字・町のレコードがない丁目は違反になること（他の市区町村の同じ大字・町コードは親にならないこと）
+    private static void rejectsMissingParent() throws Exception {
+        var rows = List.of(
+            Fixtures.townRow("131024", "0001000", "町1", "1", "2019-01-01", ""),
+            Fixtures.townRow("131016", "0001001", "町1", "1", "2019-01-01", ""));
+        var e = assertThrows(InvalidMasterException.class, () -> TownHierarchyValidator.validate(parse(rows)), "親のない丁目");
+        assertTrue(e.getMessage().contains("0001000"), "親の町字ID: " + e.getMessage());
+    }
+
+    // 丁目名の数字が丁目コードと一致しない場合は違反になること
+    private static void rejectsChomeNumberMismatch() throws Exception {
+        var row  = Fixtures.townRow("131016", "0001002", "町1", "1", "2019-01-01", "");
+        var rows = List.of(
+            Fixtures.townRow("131016", "0001000", "町1", "1", "2019-01-01", ""),
+            row.replace("二丁目,チョウメ,2", "二丁目,チョウメ,3"));
+        var e = assertThrows(InvalidMasterException.class, () -> TownHierarchyValidator.validate(parse(rows)), "丁目名の数字");
+        assertTrue(e.getMessage().contains(":chomeNumber]"), "違反の項目: " + e.getMessage());
+    }
+
+    // 1件ずつ追加する場合、親のレコードより前にある丁目・小字も、後から追加された親のレコードと突き合わせること
+    private static void acceptsChildBeforeParent() throws Exception {
+        var rows = List.of(
+            Fixtures.townRow("131016", "0001001", "旧町", "1", "2000-01-01", ""),
+            Fixtures.townRow("131016", "0001000", "新町", "1", "2020-01-01", ""),
+            Fixtures.townRow("131016", "0001000", "旧町", "1", "2000-01-01", ""));
+        var validator = new TownHierarchyValidator();
+        for (var master : parse(rows)) {
+            validator.add(master);
+        }
+        validator.finish();
+
+        // 索引の容量を超えて追加しても、すべての親のレコードを引けること
+        var many = new TownHierarchyValidator();
+        for (var master : parse(Fixtures.townRows(2000, ""))) {
+            many.add(master);
+        }
+        many.finish();
+    }
+
+    // 保持した丁目・小字の違反が複数ある場合は、一覧の先頭に最も近いレコードの違反を報告すること
+    private static void reportsFirstPendingViolation() throws Exception {
+        var rows = List.of(
+            Fixtures.townRow("131016", "0002001", "町2", "1", "2019-01-01", ""),
+            Fixtures.townRow("131016", "0001001", "別町", "1", "2019-01-01", ""),
+            Fixtures.townRow("131016", "0001000", "町1", "1", "2019-01-01", ""));
+        var validator = new TownHierarchyValidator();
+        for (var master : parse(rows)) {
+            validator.add(master);
+        }
+        var e = assertThrows(InvalidMasterException.class, validator::finish, "保持した丁目の違反");
+        assertTrue(e.getMessage().contains("0002000"), "最初の違反: " + e.getMessage());
+    }
+
+    private static Collection<TownMaster> parse(List<String> rows) throws Exception {
+        return new ArrayList<>(new AddressBaseRegistryParser().parseTownFile(Fixtures.writeTownFile(rows)));
+    }
+}
@@ -0,0 +1,64 @@
+package domains.masters;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+// このクラスは、データキーの集合（オープンアドレス法のハッシュ集合）を検証します。
+public final class TownKeySetTest {
+    private static final LocalDate DATE = LocalDate.of(2019, 1, 1);
+
+    public static void main(String[] args) throws Exception {
+        addsAndGrows();
+        mergeReportsFirstAddedDuplicate();
+        System.out.println("TownKeySetTest: OK");
+    }
+
+    // 初期容量を超えて追加しても、すべてのキーを保持し、重複を判定できること
+    private static void addsAndGrows() {
+        var keys = new TownKeySet(4);
+        for (var i = 0; i < 10000; i++) {
+            assertTrue(keys.add(keyOf(i)), "追加 " + i);
+        }
+        assertTrue(keys.add(TownKey.of("13101X", "0000001", "1", DATE)), "詰められないキーの追加");
+        assertEquals(10001, keys.size(), "件数");
+        for (var i = 0; i < 10000; i++) {
+            assertTrue(keys.contains(keyOf(i)), "含まれていること " + i);
+            assertTrue(!keys.add(keyOf(i)), "重複 " + i);
+        }
+        assertTrue(!keys.add(TownKey.of("13101X", "0000001", "1", DATE)), "詰められないキーの重複");
+        assertTrue(!keys.contains(keyOf(10000)), "含まれていないこと");
+    }
+
+    // 重複が複数ある場合、他の集合に最も先に追加されたキーを返すこと（ハッシュ値の順によらないこと）
+    private static void mergeReportsFirstAddedDuplicate() {
+        for (var first = 0; first < 50; first++) {
+            var earlier = new TownKeySet();
+            for (var i = 0; i < 100; i++) {
+                earlier.add(keyOf(i));
+            }
+            var later = new TownKeySet();
+            later.add(keyOf(1000));
+            later.add(keyOf(first));
+            for (var i = 99; i > first; i--) {
+                later.add(keyOf(i));
+            }
+            assertEquals(keyOf(first), earlier.merge(later), "最初の重複 " + first);
+            assertEquals(101, earlier.size(), "まとめた件数 " + first);
+        }
+
+        var earlier = new TownKeySet();
+        earlier.add(keyOf(1));
+        earlier.add(TownKey.of("13101X", "0000001", "1", DATE));
+        var later = new TownKeySet();
+        later.add(TownKey.of("13101X", "0000001", "1", DATE));
+        later.add(keyOf(1));
+        assertEquals(TownKey.of("13101X", "0000001", "1", DATE), earlier.merge(later), "詰められないキーが先の重複");
+        assertEquals(null, new TownKeySet().merge(later), "重複がない場合");
+    }
+
+    private static TownKey keyOf(int index) {
+        return TownKey.of("131016", String.format("%07d", index), "1", DATE);
+    }
+}
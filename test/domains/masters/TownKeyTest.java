@@ -0,0 +1,71 @@
+package domains.masters;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// このクラスは、町字マスターのデータキー（キー項目を詰めたもの）を検証します。
+public final class TownKeyTest {
+    private static final LocalDate DATE = LocalDate.of(2019, 1, 1);
+
+    public static void main(String[] args) throws Exception {
+        packsKeyFields();
+        sortsLikeStringKeys();
+        fallsBackToStringKey();
+        System.out.println("TownKeyTest: OK");
+    }
+
+    // キー項目を詰めて保持し、文字列のキー、各項目の数値を復元できること
+    private static void packsKeyFields() {
+        var key = TownKey.of("131016", "0001002", "1", DATE);
+        assertTrue(key.isPacked(), "詰めて保持すること");
+        assertEquals("131016-0001002-1-20190101", key.toString(), "文字列のキー");
+        assertEquals(131016, key.getLgCodeValue(), "全国地方公共団体コード");
+        assertEquals(1002, key.getMachiazaIdValue(), "町字ID");
+        assertEquals(DATE.toEpochDay(), key.getEfctEpochDay(), "効力発生日");
+        assertTrue(key.isOazaCho() && key.isChome() && !key.isKoaza(), "大字・町、丁目の判定");
+        assertEquals(key, TownKey.of("131016", "0001002", "1", DATE), "同じキー項目のキーが等しいこと");
+        assertEquals(key.hashCode(), TownKey.of("131016", "0001002", "1", DATE).hashCode(), "同じキー項目のハッシュ値");
+        assertTrue(!key.equals(TownKey.of("131016", "0001002", "0", DATE)), "住居表示フラグが異なるキー");
+        assertTrue(!key.equals(TownKey.of("131016", "0001002", "1", DATE.plusDays(1))), "効力発生日が異なるキー");
+    }
+
+    // 並び順が、文字列のキーの辞書順と同じであること
+    private static void sortsLikeStringKeys() {
+        List<TownKey> keys = new ArrayList<>();
+        keys.add(TownKey.of("131024", "0001000", "1", DATE));
+        keys.add(TownKey.of("131016", "0002000", "0", DATE));
+        keys.add(TownKey.of("131016", "0001101", "1", DATE));
+        keys.add(TownKey.of("131016", "0001000", "1", DATE.plusDays(1)));
+        keys.add(TownKey.of("131016", "0001000", "1", DATE));
+        keys.add(TownKey.of("011002", "9999999", "9", DATE));
+
+        List<String> expected = new ArrayList<>();
+        for (var key : keys) {
+            expected.add(key.toString());
+        }
+        Collections.sort(expected);
+        Collections.sort(keys);
+        List<String> actual = new ArrayList<>();
+        for (var key : keys) {
+            actual.add(key.toString());
+        }
+        assertEquals(expected, actual, "並び順");
+    }
+
+    // キー項目が不正な場合は、文字列のキーを保持し、数値の参照は IllegalStateException になること
+    private static void fallsBackToStringKey() {
+        var key = TownKey.of("13101X", "0001000", "1", DATE);
+        assertTrue(!key.isPacked(), "詰めずに保持すること");
+        assertEquals("13101X-0001000-1-20190101", key.toString(), "文字列のキー");
+        assertEquals(key, TownKey.of("13101X", "0001000", "1", DATE), "同じキー項目のキーが等しいこと");
+        assertTrue(!key.equals(TownKey.of("131016", "0001000", "1", DATE)), "詰めたキーと等しくないこと");
+        assertEquals("131016-00010-1-null", TownKey.of("131016", "00010", "1", null).toString(), "桁数、効力発生日が不正な場合");
+        assertThrows(IllegalStateException.class, key::getMachiazaIdValue, "未検証のキーの町字ID");
+    }
+}
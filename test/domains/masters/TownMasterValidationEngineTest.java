@@ -0,0 +1,71 @@
+package domains.masters;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import domains.parsers.AddressBaseRegistryParser;
+import domains.parsers.FileParserException;
+import domains.parsers.ParseOptions;
+import tests.Fixtures;
+
+// このクラスは、読み込み後にまとめて並列に検証した場合に、読み込み中に1件ずつ検証した場合と同じエラーになることを検証します。
+public final class TownMasterValidationEngineTest {
+    // 範囲の分割（2048件）とシャードをまたぐ件数
+    private static final int ROWS = 6000;
+
+    public static void main(String[] args) throws Exception {
+        acceptsValidMasters();
+        reportsEarlierDuplicateBeforeRelation();
+        reportsEarlierRelationBeforeDuplicate();
+        reportsFirstOfManyDuplicates();
+        System.out.println("TownMasterValidationEngineTest: OK");
+    }
+
+    private static void acceptsValidMasters() throws Exception {
+        var masters = new AddressBaseRegistryParser().parseTownFile(Fixtures.writeTownFile(Fixtures.townRows(ROWS, "")));
+        new TownMasterValidationEngine(4).validate(masters);
+    }
+
+    // キーの重複が、項目間の関連性の違反より先頭に近い場合
+    private static void reportsEarlierDuplicateBeforeRelation() throws Exception {
+        var rows = new ArrayList<>(Fixtures.townRows(ROWS, ""));
+        rows.set(4500, rows.get(100));
+        rows.set(5001, violateRelation(rows.get(5001)));
+        assertSameError(rows);
+    }
+
+    // 項目間の関連性の違反が、キーの重複より先頭に近い場合
+    private static void reportsEarlierRelationBeforeDuplicate() throws Exception {
+        var rows = new ArrayList<>(Fixtures.townRows(ROWS, ""));
+        rows.set(301, violateRelation(rows.get(301)));
+        rows.set(5000, rows.get(100));
+        assertSameError(rows);
+    }
+
+    // 異なるシャードに入る複数の重複のうち、先頭に最も近い重複を報告すること
+    private static void reportsFirstOfManyDuplicates() throws Exception {
+        var rows = new ArrayList<>(Fixtures.townRows(ROWS, ""));
+        for (var i = 0; i < 20; i++) {
+            rows.set(ROWS - 1 - i * 50, rows.get(i * 10));
+        }
+        assertSameError(rows);
+    }
+
+    // 丁目の町字の町字区分コードを大字・町にする
+    private static String violateRelation(String row) {
+        return row.replaceFirst(",2,東京都", ",1,東京都");
+    }
+
+    private static void assertSameError(List<String> rows) throws Exception {
+        var file     = Fixtures.writeTownFile(rows);
+        var parser   = new AddressBaseRegistryParser();
+        var single   = new ParseOptions.Builder().build();
+        var parallel = new ParseOptions.Builder().validationParallelism(4).build();
+        var expected = assertThrows(FileParserException.class, () -> parser.parseTownFile(file, single), "読み込み中の検証");
+        var actual   = assertThrows(FileParserException.class, () -> parser.parseTownFile(file, parallel), "並列の検証");
+        assertEquals(expected.getMessage(), actual.getMessage(), "並列の検証のエラー");
+    }
+}
@@ -0,0 +1,74 @@
+package domains.masters;
+
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+// このクラスは、町字マスターの項目間の関連性の検証を検証します。
+public final class ValidationHelperTest {
+    public static void main(String[] args) throws Exception {
+        validatesRelationOfMachiazaIdAndChome();
+        rejectsUnpackedMachiazaId();
+        System.out.println("ValidationHelperTest: OK");
+    }
+
+    // 町字IDが丁目を示す場合、丁目の各項目が必須であること
+    private static void validatesRelationOfMachiazaIdAndChome() throws Exception {
+        ValidationHelper.validateMaster(townMasterOf(chomeValuesOf("0001001")), "chome");
+
+        var values = chomeValuesOf("0001001");
+        values.put("getChome", null);
+        var e = assertThrows(InvalidMasterException.class, () -> ValidationHelper.validateMaster(townMasterOf(values), "chome"), "丁目がない丁目");
+        assertTrue(e.getMessage().contains("131016-0001001-1-20190101"), "エラーメッセージのキー: " + e.getMessage());
+    }
+
+    // キー項目が未検証で詰められていない町字IDの場合も、IllegalStateException ではなく InvalidMasterException になること
+    private static void rejectsUnpackedMachiazaId() {
+        var e = assertThrows(InvalidMasterException.class, () -> ValidationHelper.validateMaster(townMasterOf(chomeValuesOf("00010X1")), "chome"), "不正な町字ID");
+        assertTrue(e.getMessage().contains("00010X1"), "エラーメッセージの町字ID: " + e.getMessage());
+    }
+
+    // 丁目の町字マスターの各項目の値（メソッド名と値）
+    private static Map<String, Object> chomeValuesOf(String machiazaId) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("getLgCode", "131016");
+        values.put("getMachiazaId", machiazaId);
+        values.put("getMachiazaType", "2");
+        values.put("getRsdtAddrFlg", "1");
+        values.put("getEfctDate", LocalDate.of(2019, 1, 1));
+        values.put("getOazaCho", "町1");
+        values.put("getChome", "一丁目");
+        values.put("getChomeKana", "イッチョウメ");
+        values.put("getChomeNumber", "1");
+        values.put("getOazaChoGsiUncmn", "0");
+        values.put("getKoazaGsiUncmn", "0");
+        values.put("getKoazaAkaCode", "0");
+        return values;
+    }
+
+    // 指定された値を返す町字マスター（値のない項目は null）
+    // データキーは、インターフェースの既定の実装と同様に、キー項目から生成します。
+    private static TownMaster townMasterOf(Map<String, Object> values) {
+        return (TownMaster)Proxy.newProxyInstance(TownMaster.class.getClassLoader(), new Class<?>[] { TownMaster.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getTownKey":
+                    return TownKey.of((String)values.get("getLgCode"), (String)values.get("getMachiazaId"),
+                        (String)values.get("getRsdtAddrFlg"), (LocalDate)values.get("getEfctDate"));
+                case "getKey":
+                    return ((TownMaster)proxy).getTownKey().toString();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "TownMaster" + values;
+                default:
+                    return values.get(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package domains.parsers;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+// このクラスは、CSV ファイル、ZIP アーカイブ（入れ子を含む）の読み込みと、展開後のサイズの上限を検証します。
+public final class CsvFileSourceTest {
+    public static void main(String[] args) throws Exception {
+        readsNestedArchives();
+        rejectsHighlyCompressedEntries();
+        System.out.println("CsvFileSourceTest: OK");
+    }
+
+    // 入れ子の ZIP アーカイブ内の CSV ファイルも、アーカイブ内の順に読み込めること
+    private static void readsNestedArchives() throws Exception {
+        var inner = zip("b.csv", "b\n".getBytes(StandardCharsets.UTF_8));
+        var outer = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(outer)) {
+            zip.putNextEntry(new ZipEntry("a.csv"));
+            zip.write("a\n".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("inner.zip"));
+            zip.write(inner);
+            zip.putNextEntry(new ZipEntry("readme.txt"));
+            zip.write("x".getBytes(StandardCharsets.UTF_8));
+        }
+        try (var source = CsvFileSource.open(new ByteArrayInputStream(outer.toByteArray()))) {
+            assertEquals("a", source.next().readLine(), "1つ目の CSV ファイル");
+            assertEquals("a.csv", source.getEntryName(), "1つ目のエントリー名");
+            assertEquals("b", source.next().readLine(), "入れ子のアーカイブ内の CSV ファイル");
+            assertEquals("b.csv", source.getEntryName(), "2つ目のエントリー名");
+            assertEquals(null, source.next(), "CSV ファイル以外は読み込まない");
+        }
+    }
+
+    // 圧縮率が極端に高いエントリー（ZIP 爆弾など）は、入力ストリーム、ファイル、並列読み込み用のエントリーのいずれでもエラーになること
+    private static void rejectsHighlyCompressedEntries() throws Exception {
+        var bomb = zip("bomb.csv", new byte[64 << 20]);
+        assertTrue(bomb.length * 200L + (1 << 20) < (64 << 20), "圧縮率の前提");
+
+        var e = assertThrows(IOException.class, () -> readAll(CsvFileSource.open(new ByteArrayInputStream(bomb))), "入力ストリーム");
+        assertTrue(e.getMessage().contains("展開後のサイズ"), "エラーメッセージ: " + e.getMessage());
+
+        var path = Files.createTempFile("bomb", ".zip");
+        try {
+            Files.write(path, bomb);
+            assertThrows(IOException.class, () -> readAll(CsvFileSource.open(path)), "ファイル");
+            try (var file = new ZipFile(path.toFile())) {
+                var entry = CsvFileSource.listEntries(file).get(0);
+                assertThrows(IOException.class, () -> readAll(CsvFileSource.open(file, entry)), "エントリー");
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    private static byte[] zip(String name, byte[] content) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void readAll(CsvFileSource source) throws IOException {
+        try (source) {
+            var buffer = new char[8192];
+            for (var reader = source.next(); reader != null; reader = source.next()) {
+                while (reader.read(buffer) >= 0) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package domains.parsers;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// このクラスは、CSV の1行を列に分割するトークナイザー（文字列、UTF-8 のバイト列、構造文字の索引）を検証します。
+// 各方式が、同じ行から同じ列の値を返すことを確認します。
+public final class CsvTokenizerTest {
+    // 行と、分割した列の値
+    private static final String[][] CASES = {
+        { "a,b,c",                  "a", "b", "c" },
+        { "",                       "" },
+        { "a,,c,",                  "a", "", "c", "" },
+        { "\"a,b\",c",              "a,b", "c" },
+        { "\"a\"\"b\",\"\"\"\"",    "a\"b", "\"" },
+        { "\"\",x",                 "", "x" },
+        { "\"a\"junk,b",            "a", "b" },
+        { "東京都,\"千代田区,丸の内\"", "東京都", "千代田区,丸の内" },
+        { "\"1行目\n2行目\",z",       "1行目\n2行目", "z" },
+    };
+
+    public static void main(String[] args) throws Exception {
+        splitsText();
+        splitsBytes();
+        splitsIndexed();
+        detectsUnclosedQuote();
+        detectsBlankColumns();
+        System.out.println("CsvTokenizerTest: OK");
+    }
+
+    private static void splitsText() {
+        var tokenizer = new CsvTokenizer();
+        for (var c : CASES) {
+            assertTrue(tokenizer.tokenize(c[0]), "分割できること: " + c[0]);
+            assertEquals(expectedOf(c), valuesOf(tokenizer), "文字列の分割: " + c[0]);
+        }
+    }
+
+    private static void splitsBytes() {
+        for (var c : CASES) {
+            var bytes     = c[0].getBytes(StandardCharsets.UTF_8);
+            var tokenizer = new Utf8CsvTokenizer(ByteBuffer.wrap(bytes));
+            assertTrue(tokenizer.tokenize(0, bytes.length), "分割できること: " + c[0]);
+            assertEquals(expectedOf(c), valuesOf(tokenizer), "バイト列の分割: " + c[0]);
+        }
+    }
+
+    // 構造文字の索引を使用した分割（複数行のバイト列から1レコードずつ分割し、行末の CR を取り除くこと）
+    private static void splitsIndexed() {
+        for (var newline : new String[] { "\n", "\r\n" }) {
+            var text = new StringBuilder();
+            for (var c : CASES) {
+                text.append(c[0]).append(newline);
+            }
+            var buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            for (var classifier : new BlockClassifier[] { new ScalarBlockClassifier(), BlockClassifier.load() }) {
+                var index     = new StructuralIndex(buffer, classifier);
+                var tokenizer = new Utf8CsvTokenizer(buffer);
+                var position  = 0;
+                for (var c : CASES) {
+                    var end = tokenizer.tokenize(index, position);
+                    assertTrue(end >= 0, "分割できること: " + c[0]);
+                    assertEquals(expectedOf(c), valuesOf(tokenizer),
+                        String.format("索引による分割 (%s): %s", classifier.getClass().getSimpleName(), c[0]));
+                    position = end + 1;
+                }
+                assertEquals(buffer.limit(), position, "すべてのレコードを分割すること");
+            }
+        }
+    }
+
+    // 引用符で囲まれた列が閉じられていない場合は、続きの行が必要であることを返すこと
+    private static void detectsUnclosedQuote() {
+        var line = "a,\"b";
+        assertTrue(!new CsvTokenizer().tokenize(line), "文字列の閉じられていない引用符");
+        var bytes = line.getBytes(StandardCharsets.UTF_8);
+        assertTrue(!new Utf8CsvTokenizer(ByteBuffer.wrap(bytes)).tokenize(0, bytes.length), "バイト列の閉じられていない引用符");
+        var buffer = ByteBuffer.wrap(bytes);
+        assertEquals(-1, new Utf8CsvTokenizer(buffer).tokenize(new StructuralIndex(buffer, new ScalarBlockClassifier()), 0), "索引の閉じられていない引用符");
+    }
+
+    // 空白のみの列を、String.isBlank() と同じく判定すること
+    private static void detectsBlankColumns() {
+        var line  = "a, ,,　,\" \"";
+        var text  = new CsvTokenizer();
+        text.tokenize(line);
+        var bytes = line.getBytes(StandardCharsets.UTF_8);
+        var utf8  = new Utf8CsvTokenizer(ByteBuffer.wrap(bytes));
+        utf8.tokenize(0, bytes.length);
+        for (var i = 0; i < text.size(); i++) {
+            var expected = text.get(i).isBlank();
+            assertEquals(expected, text.isBlank(i), "文字列の空白判定 " + i);
+            assertEquals(expected, utf8.isBlank(i), "バイト列の空白判定 " + i);
+        }
+    }
+
+    private static List<String> expectedOf(String[] c) {
+        List<String> result = new ArrayList<>();
+        for (var i = 1; i < c.length; i++) {
+            result.add(c[i]);
+        }
+        return result;
+    }
+
+    private static List<String> valuesOf(CsvRecord record) {
+        List<String> result = new ArrayList<>();
+        for (var i = 0; i < record.size(); i++) {
+            result.add(record.get(i));
+        }
+        return result;
+    }
+}
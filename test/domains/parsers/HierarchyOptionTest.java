@@ -0,0 +1,93 @@
+package domains.parsers;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import domains.masters.TownMaster;
+import tests.Fixtures;
+
+// このクラスは、階層の検証のオプション（ParseOptions.validateHierarchy()）を検証します。
+public final class HierarchyOptionTest {
+    public static void main(String[] args) throws Exception {
+        validatesOnlyWhenRequested();
+        skipsLazyMasters();
+        validatesWhileReading();
+        System.out.println("HierarchyOptionTest: OK");
+    }
+
+    // 既定では検証せず、指定した場合のみ、すべてのパース方式・並列数で検証すること
+    private static void validatesOnlyWhenRequested() throws Exception {
+        var path   = Fixtures.writeTownFile(orphanRows());
+        var parser = new AddressBaseRegistryParser();
+        assertEquals(orphanRows().size(), parser.parseTownFile(path).size(), "既定では検証しないこと");
+
+        for (var engine : ParseEngine.values()) {
+            for (var parallelism : new int[] { 1, 4 }) {
+                var options = new ParseOptions.Builder().engine(engine).parallelism(parallelism).validateHierarchy(true).build();
+                var e = assertThrows(FileParserException.class, () -> parser.parseTownFile(path, options),
+                    String.format("階層の検証 (engine=%s, parallelism=%d)", engine, parallelism));
+                assertTrue(e.getMessage().contains("0009000"), "親の町字ID: " + e.getMessage());
+            }
+        }
+        var options = new ParseOptions.Builder().validateHierarchy(true).build();
+        assertThrows(FileParserException.class, () -> parser.parseTownFiles(List.of(path), options), "都道府県別の町字ファイルの階層の検証");
+    }
+
+    // 遅延生成した町字マスターは、階層を検証しないこと（大字・町名などを生成しないこと）
+    private static void skipsLazyMasters() throws Exception {
+        var path    = Fixtures.writeTownFile(orphanRows());
+        var parser  = new AddressBaseRegistryParser();
+        var options = new ParseOptions.Builder().engine(ParseEngine.Bytes).lazy(true).validateHierarchy(true).build();
+        var masters = parser.parseTownFile(path, options);
+        assertTrue(masters.stream().allMatch(LazyTownMaster.class::isInstance), "遅延生成されていること");
+        assertEquals(orphanRows().size(), masters.size(), "遅延生成の場合は検証しないこと");
+
+        // 遅延生成が適用されないパース方式の場合は検証すること
+        var text = new ParseOptions.Builder().engine(ParseEngine.Text).lazy(true).validateHierarchy(true).build();
+        assertThrows(FileParserException.class, () -> parser.parseTownFile(path, text), "遅延生成されない場合の階層の検証");
+    }
+
+    // 1件ずつ読み込む場合も、終端に達した時点で、メモリ上に読み込む場合と同じ違反になること
+    private static void validatesWhileReading() throws Exception {
+        var path     = Fixtures.writeTownFile(orphanRows());
+        var parser   = new AddressBaseRegistryParser();
+        var options  = new ParseOptions.Builder().validateHierarchy(true).build();
+        var expected = assertThrows(FileParserException.class, () -> parser.parseTownFile(path, options), "メモリ上での階層の検証").getMessage();
+
+        assertEquals(expected, readAll(parser.openTownFile(path, options)), "1件ずつ読み込む場合の階層の検証");
+        assertEquals(expected, readAll(parser.openTownFiles(List.of(path), options)), "都道府県別の町字ファイルの階層の検証");
+        try (var stream = Files.newInputStream(path)) {
+            assertEquals(expected, readAll(parser.openTownFile(stream, options)), "標準入力の階層の検証");
+        }
+        assertEquals(null, readAll(parser.openTownFile(path)), "既定では検証しないこと");
+
+        // 親となる大字・町より前にある丁目は、違反にならないこと
+        List<String> rows = new ArrayList<>(Fixtures.townRows(2000, ""));
+        rows.add(0, rows.remove(1));
+        assertEquals(null, readAll(parser.openTownFile(Fixtures.writeTownFile(rows), options)), "親より前にある丁目");
+    }
+
+    // 終端まで読み込み、エラーのメッセージを返す（エラーがない場合は null）
+    private static String readAll(MasterReader<TownMaster> reader) throws Exception {
+        try (reader) {
+            while (reader.read() != null) {
+                // 読み飛ばす
+            }
+            return null;
+        } catch (FileParserException e) {
+            return e.getMessage();
+        }
+    }
+
+    // 親となる大字・町のレコードがない丁目を含む町字の行
+    private static List<String> orphanRows() {
+        List<String> rows = new ArrayList<>(Fixtures.townRows(20, ""));
+        rows.add(Fixtures.townRow("131016", "0009001", "町9", "1", "2019-01-01", ""));
+        return rows;
+    }
+}
@@ -0,0 +1,131 @@
+package domains.parsers;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import domains.masters.TownMaster;
+import tests.Fixtures;
+
+// このクラスは、町字ファイルの並列パース（範囲に分割したパース）が、単一スレッドでのパースと同じ結果になることを検証します。
+public final class ParallelParseTest {
+    public static void main(String[] args) throws Exception {
+        quotedNewlinesDoNotBreakRanges();
+        reportsSameDuplicateAsSingleThread();
+        reportsEarlierOfDuplicateAndError();
+        reportsFirstRangeErrorWhenLaterRangesFail();
+        reportsFirstEntryErrorInArchive();
+        System.out.println("ParallelParseTest: OK");
+    }
+
+    // 引用符で囲まれた列の中の改行が範囲の境界の近くにあっても、レコードが分断されないこと
+    private static void quotedNewlinesDoNotBreakRanges() throws Exception {
+        var rows   = Fixtures.townRows(3000, "\"備考1行目\n備考2行目\"");
+        var path   = Fixtures.writeTownFile(rows);
+        var parser = new AddressBaseRegistryParser();
+        var expected = remarksOf(parser.parseTownFile(path));
+        assertEquals(3000, expected.size(), "単一スレッドでの件数");
+        assertTrue(expected.stream().allMatch(remarks -> remarks.equals("備考1行目\n備考2行目")), "改行を含む備考");
+
+        for (var engine : ParseEngine.values()) {
+            for (var parallelism : new int[] { 2, 7, 16 }) {
+                var options = new ParseOptions.Builder().parallelism(parallelism).engine(engine).build();
+                var actual  = remarksOf(parser.parseTownFile(path, options));
+                assertEquals(expected, actual, String.format("並列パースの結果 (engine=%s, parallelism=%d)", engine, parallelism));
+            }
+        }
+    }
+
+    // 範囲をまたいだ重複が複数ある場合も、単一スレッドでのパースと同じ（ファイル内で最も前の行の）重複を報告すること
+    private static void reportsSameDuplicateAsSingleThread() throws Exception {
+        List<String> rows = new ArrayList<>(Fixtures.townRows(3000, ""));
+        // 後ろの範囲の重複と、同じ範囲内で連続する重複（ハッシュ値の順と行の順が異なるもの）
+        rows.add(2900, rows.get(5));
+        for (var i = 0; i < 20; i++) {
+            rows.add(1500, rows.get(100 + i));
+        }
+        assertSameErrorAsSingleThread(Fixtures.writeTownFile(rows), "131016-0024004-1-20190101");
+    }
+
+    // 範囲をまたいだ重複と他のエラーのうち、ファイル内で前の行のエラーを報告すること
+    private static void reportsEarlierOfDuplicateAndError() throws Exception {
+        var invalid = Fixtures.townRow("131016", "9999001", "町9999", "X", "2019-01-01", "");
+
+        List<String> rows = new ArrayList<>(Fixtures.townRows(3000, ""));
+        rows.add(2500, rows.get(20));
+        rows.set(1200, invalid);
+        assertSameErrorAsSingleThread(Fixtures.writeTownFile(rows), "9999001");
+
+        rows = new ArrayList<>(Fixtures.townRows(3000, ""));
+        rows.set(2500, invalid);
+        rows.add(1200, rows.get(20));
+        assertSameErrorAsSingleThread(Fixtures.writeTownFile(rows), "131024-0005000-1-20190101");
+    }
+
+    // 後ろの範囲のエラーで他の範囲の読み込みを中止しても、ファイル内で最も前の範囲のエラーを報告すること
+    // （エラーのある範囲より前の範囲は中止しないこと）
+    private static void reportsFirstRangeErrorWhenLaterRangesFail() throws Exception {
+        List<String> rows = new ArrayList<>(Fixtures.townRows(3000, ""));
+        for (var i = 0; i < 10; i++) {
+            rows.set(2990 - i * 100, Fixtures.townRow("131016", String.format("99%02d001", i), "町99", "X", "2019-01-01", ""));
+        }
+        rows.set(400, Fixtures.townRow("131016", "9899001", "町98", "X", "2019-01-01", ""));
+        assertSameErrorAsSingleThread(Fixtures.writeTownFile(rows), "9899001");
+    }
+
+    // ZIP アーカイブのエントリーを並列に読み込む場合も、アーカイブ内で最も前のエントリーのエラーを報告すること
+    // （エラーのあるエントリーより後ろのエントリーは読み込みを中止するが、前のエントリーのエラーが優先されること）
+    private static void reportsFirstEntryErrorInArchive() throws Exception {
+        var invalid = Fixtures.townRow("131016", "9999001", "町9999", "X", "2019-01-01", "");
+        List<List<String>> entries = new ArrayList<>();
+        for (var i = 0; i < 6; i++) {
+            entries.add(new ArrayList<>(Fixtures.townRows(3000, "").subList(i * 500, i * 500 + 500)));
+        }
+        entries.get(1).set(400, invalid);
+        entries.get(4).set(0, Fixtures.townRow("131016", "9999002", "町9999", "X", "2019-01-01", ""));
+
+        var path = Files.createTempFile("mkaddrs-test", ".zip");
+        path.toFile().deleteOnExit();
+        try (var zip = new ZipOutputStream(Files.newOutputStream(path))) {
+            for (var i = 0; i < entries.size(); i++) {
+                zip.putNextEntry(new ZipEntry(String.format("mt_town_pref%02d.csv", i + 1)));
+                var lines = new ArrayList<String>();
+                lines.add(Fixtures.TOWN_HEADER);
+                lines.addAll(entries.get(i));
+                zip.write((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        assertSameErrorAsSingleThread(path, "9999001");
+    }
+
+    private static void assertSameErrorAsSingleThread(Path path, String expectedKey) throws Exception {
+        var parser   = new AddressBaseRegistryParser();
+        var expected = assertThrows(FileParserException.class, () -> parser.parseTownFile(path), "単一スレッドでのエラー").getMessage();
+        assertTrue(expected.contains(expectedKey), "単一スレッドでのエラー: " + expected);
+        for (var engine : ParseEngine.values()) {
+            for (var parallelism : new int[] { 2, 7, 16 }) {
+                var options = new ParseOptions.Builder().parallelism(parallelism).engine(engine).build();
+                var actual  = assertThrows(FileParserException.class, () -> parser.parseTownFile(path, options), "並列パースのエラー").getMessage();
+                assertEquals(expected, actual, String.format("並列パースのエラー (engine=%s, parallelism=%d)", engine, parallelism));
+            }
+        }
+    }
+
+    private static List<String> remarksOf(Collection<TownMaster> masters) {
+        List<String> result = new ArrayList<>();
+        for (var master : masters) {
+            result.add(master.getRemarks());
+        }
+        return result;
+    }
+}
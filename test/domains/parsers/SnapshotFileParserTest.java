@@ -0,0 +1,131 @@
+package domains.parsers;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import domains.masters.CityMaster;
+import domains.masters.TownField;
+import domains.masters.TownMaster;
+import tests.Fixtures;
+
+// このクラスは、スナップショットの書き出し・読み込みと、壊れたスナップショットの場合にファイルをパースし直すことを検証します。
+public final class SnapshotFileParserTest {
+    public static void main(String[] args) throws Exception {
+        readsWrittenSnapshot();
+        reparsesCorruptSnapshot();
+        reparsesTruncatedSnapshot();
+        System.out.println("SnapshotFileParserTest: OK");
+    }
+
+    // 2回目以降は、元のパースサービスを呼び出さずに、パースした場合と同じマスターデータを読み込むこと
+    private static void readsWrittenSnapshot() throws Exception {
+        var town   = Fixtures.writeTownFile(Fixtures.townRows(50, ""));
+        var city   = Fixtures.write("city.csv", Fixtures.CITY_HEADER, Fixtures.cityRows());
+        var parses = new AtomicInteger();
+        var parser = new SnapshotFileParser(countingParser(parses));
+
+        var parsedTowns  = parser.parseTownFile(town);
+        var parsedCities = parser.parseCityFile(city);
+        assertEquals(2, parses.get(), "初回はパースすること");
+        assertTrue(Files.exists(parser.snapshotPathOf(town)), "スナップショットを書き出すこと");
+
+        assertTownsEqual(parsedTowns, parser.parseTownFile(town));
+        assertCitiesEqual(parsedCities, parser.parseCityFile(city));
+        assertEquals(2, parses.get(), "スナップショットから読み込むこと");
+    }
+
+    // 読み込める形式のまま内容が壊れたスナップショットは使用せず、パースし直して上書きすること
+    private static void reparsesCorruptSnapshot() throws Exception {
+        var city   = Fixtures.write("city.csv", Fixtures.CITY_HEADER, Fixtures.cityRows());
+        var parses = new AtomicInteger();
+        var parser = new SnapshotFileParser(countingParser(parses));
+        var parsed = parser.parseCityFile(city);
+
+        // 文字列表の市区町村名（ローマ字）の1文字を書き換える（チェックサムがなければ、そのまま読み込める）
+        var snapshot = parser.snapshotPathOf(city);
+        var bytes    = Files.readAllBytes(snapshot);
+        var offset   = indexOf(bytes, "Chiyoda-ku".getBytes(StandardCharsets.UTF_8));
+        assertTrue(offset > 0, "スナップショットの文字列表");
+        bytes[offset] = 'X';
+        Files.write(snapshot, bytes);
+
+        assertCitiesEqual(parsed, parser.parseCityFile(city));
+        assertEquals(2, parses.get(), "壊れたスナップショットはパースし直すこと");
+        assertCitiesEqual(parsed, parser.parseCityFile(city));
+        assertEquals(2, parses.get(), "スナップショットを上書きすること");
+    }
+
+    // 途中までのスナップショットは使用せず、パースし直すこと
+    private static void reparsesTruncatedSnapshot() throws Exception {
+        var town   = Fixtures.writeTownFile(Fixtures.townRows(50, ""));
+        var parses = new AtomicInteger();
+        var parser = new SnapshotFileParser(countingParser(parses));
+        var parsed = parser.parseTownFile(town);
+
+        var snapshot = parser.snapshotPathOf(town);
+        var bytes    = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertTownsEqual(parsed, parser.parseTownFile(town));
+        assertEquals(2, parses.get(), "途中までのスナップショットはパースし直すこと");
+    }
+
+    // パースの回数を数えるパースサービス
+    private static FileParsable countingParser(AtomicInteger parses) {
+        var parser = new AddressBaseRegistryParser();
+        return (FileParsable)Proxy.newProxyInstance(FileParsable.class.getClassLoader(), new Class<?>[] { FileParsable.class }, (proxy, method, args) -> {
+            if (method.getName().startsWith("parse")) {
+                parses.incrementAndGet();
+            }
+            try {
+                return method.invoke(parser, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private static void assertTownsEqual(Collection<TownMaster> expected, Collection<TownMaster> actual) {
+        assertEquals(expected.size(), actual.size(), "町字の件数");
+        List<TownMaster> actualList = new ArrayList<>(actual);
+        var i = 0;
+        for (var master : expected) {
+            for (var field : TownField.values()) {
+                assertEquals(field.get(master), field.get(actualList.get(i)), "町字の項目 " + field);
+            }
+            i++;
+        }
+    }
+
+    private static void assertCitiesEqual(Collection<CityMaster> expected, Collection<CityMaster> actual) {
+        assertEquals(expected.size(), actual.size(), "市区町村の件数");
+        List<CityMaster> actualList = new ArrayList<>(actual);
+        var i = 0;
+        for (var master : expected) {
+            var other = actualList.get(i++);
+            assertEquals(master.getLgCode(), other.getLgCode(), "市区町村の全国地方公共団体コード");
+            assertEquals(master.getCity(), other.getCity(), "市区町村名");
+            assertEquals(master.getCityRoma(), other.getCityRoma(), "市区町村名（ローマ字）");
+            assertEquals(master.getEfctDate(), other.getEfctDate(), "市区町村の施行日");
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (var i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
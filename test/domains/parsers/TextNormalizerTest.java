@@ -0,0 +1,41 @@
+package domains.parsers;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertTrue;
+
+import java.text.Normalizer;
+
+// このクラスは、文字列項目の正規化（NFKC）を検証します。
+public final class TextNormalizerTest {
+    private static final String[] VALUES = {
+        "", "1", "Tokyo", "2019-01-01", "１", "１３１０１６", "２０１９－０１－０１", "Ｔｏｋｙｏ", "ｶﾞ", "㈱", "①",
+        "Chiyoda-ku　Ｍａｒｕｎｏｕｃｈｉ", "ＡＢＣＤＥＦＧＨＩＪＫＬ", "東京都", "ﾄｳｷｮｳﾄ ﾁﾖﾀﾞｸ ﾏﾙﾉｳﾁ",
+    };
+
+    public static void main(String[] args) throws Exception {
+        normalizesLikeNfkc();
+        returnsAsciiAsIs();
+        System.out.println("TextNormalizerTest: OK");
+    }
+
+    // 記憶した結果を再利用する場合（2回目以降）も含めて、NFKC と同じ結果になること
+    private static void normalizesLikeNfkc() {
+        for (var round = 0; round < 2; round++) {
+            for (var value : VALUES) {
+                var expected = Normalizer.normalize(value, Normalizer.Form.NFKC);
+                assertEquals(expected, TextNormalizer.normalize(value), String.format("正規化 (%d回目): %s", round + 1, value));
+                assertEquals(expected, TextNormalizer.normalize(new String(value)), "同じ内容の別のインスタンス: " + value);
+            }
+        }
+    }
+
+    // ASCII のみの文字列は、正規化せずに同じインスタンスを返すこと
+    private static void returnsAsciiAsIs() {
+        for (var value : new String[] { "", "131016", "Chiyoda-ku", "a\tb" }) {
+            assertTrue(TextNormalizer.isAscii(value), "ASCII の判定: " + value);
+            assertTrue(TextNormalizer.normalize(value) == value, "同じインスタンス: " + value);
+        }
+        assertTrue(!TextNormalizer.isAscii("１"), "全角数字");
+        assertTrue(!TextNormalizer.isAscii("é"), "ラテン1補助");
+    }
+}
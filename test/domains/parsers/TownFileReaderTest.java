@@ -0,0 +1,61 @@
+package domains.parsers;
+
+import static tests.Assertions.assertEquals;
+import static tests.Assertions.assertThrows;
+import static tests.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import domains.masters.TownMaster;
+import tests.Fixtures;
+
+// このクラスは、町字ファイルを1件ずつ読み込むリーダー（複数のファイルを順に読み込む場合を含む）を検証します。
+public final class TownFileReaderTest {
+    public static void main(String[] args) throws Exception {
+        readsFilesInOrder();
+        detectsDuplicatesAcrossFiles();
+        System.out.println("TownFileReaderTest: OK");
+    }
+
+    // 複数のファイルを、入力された順序、ファイル内の順序で読み込み、一括でのパースと同じ結果になること
+    private static void readsFilesInOrder() throws Exception {
+        var rows   = Fixtures.townRows(30, "");
+        var first  = Fixtures.writeTownFile(rows.subList(0, 10));
+        var second = Fixtures.writeTownFile(rows.subList(10, 30));
+        var parser = new AddressBaseRegistryParser();
+
+        var expected = keysOf(parser.parseTownFiles(List.of(first, second), ParseOptions.DEFAULT));
+        List<String> actual = new ArrayList<>();
+        try (var reader = parser.openTownFiles(List.of(first, second), ParseOptions.DEFAULT)) {
+            for (var master = reader.read(); master != null; master = reader.read()) {
+                actual.add(master.getKey());
+            }
+        }
+        assertEquals(30, actual.size(), "読み込んだ件数");
+        assertEquals(expected, actual, "読み込んだ順序");
+    }
+
+    // 異なるファイルにある同じキーの町字も、重複としてエラーになること
+    private static void detectsDuplicatesAcrossFiles() throws Exception {
+        var rows   = Fixtures.townRows(10, "");
+        var first  = Fixtures.writeTownFile(rows);
+        var second = Fixtures.writeTownFile(rows.subList(5, 6));
+        var parser = new AddressBaseRegistryParser();
+        var e = assertThrows(FileParserException.class, () -> {
+            try (var reader = parser.openTownFiles(List.of(first, second), ParseOptions.DEFAULT)) {
+                while (reader.read() != null) {
+                }
+            }
+        }, "ファイル間の重複");
+        assertTrue(e.getMessage().contains("重複"), "エラーメッセージ: " + e.getMessage());
+    }
+
+    private static List<String> keysOf(Iterable<TownMaster> masters) {
+        List<String> keys = new ArrayList<>();
+        for (var master : masters) {
+            keys.add(master.getKey());
+        }
+        return keys;
+    }
+}
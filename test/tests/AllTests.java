@@ -0,0 +1,26 @@
+package tests;
+
+// このクラスは、すべてのテストを順に実行します。
+// いずれかのテストが失敗した場合は、AssertionError などの例外で終了します。
+public final class AllTests {
+    public static void main(String[] args) throws Exception {
+        domains.masters.TownKeyTest.main(args);
+        domains.masters.TownKeySetTest.main(args);
+        domains.masters.TownHierarchyValidatorTest.main(args);
+        domains.masters.ValidationHelperTest.main(args);
+        domains.masters.MasterReferenceValidatorTest.main(args);
+        domains.masters.MasterLinterTest.main(args);
+        domains.masters.TownMasterValidationEngineTest.main(args);
+        domains.parsers.CsvTokenizerTest.main(args);
+        domains.parsers.TextNormalizerTest.main(args);
+        domains.parsers.CsvFileSourceTest.main(args);
+        domains.parsers.ParallelParseTest.main(args);
+        domains.parsers.TownFileReaderTest.main(args);
+        domains.parsers.HierarchyOptionTest.main(args);
+        domains.parsers.SnapshotFileParserTest.main(args);
+        domains.databases.ImportTableTest.main(args);
+        clients.fileimporters.IncrementalTownWriterTest.main(args);
+        clients.fileimporters.ImportChecksumsTest.main(args);
+        clients.fileimporters.LimitedInputStreamTest.main(args);
+    }
+}
@@ -0,0 +1,39 @@
+package tests;
+
+import java.util.Objects;
+
+// このクラスは、テストで使用する検証メソッドを提供します。
+// 検証に失敗した場合は AssertionError をスローします。
+public final class Assertions {
+    // このインターフェースは、例外をスローする可能性のある処理を表します。
+    public interface Executable {
+        void execute() throws Exception;
+    }
+
+    private Assertions() {}
+
+    public static void assertTrue(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void assertEquals(Object expected, Object actual, String message) {
+        if (!Objects.equals(expected, actual)) {
+            throw new AssertionError(String.format("%s (想定:<%s>, 実際:<%s>)", message, expected, actual));
+        }
+    }
+
+    // このメソッドは、処理が指定された例外をスローすることを検証し、その例外を返します。
+    public static <E extends Throwable> E assertThrows(Class<E> type, Executable executable, String message) {
+        try {
+            executable.execute();
+        } catch (Throwable e) {
+            if (type.isInstance(e)) {
+                return type.cast(e);
+            }
+            throw new AssertionError(String.format("%s (想定:%s, 実際:%s)", message, type.getSimpleName(), e), e);
+        }
+        throw new AssertionError(String.format("%s (想定:%s, 実際:例外なし)", message, type.getSimpleName()));
+    }
+}
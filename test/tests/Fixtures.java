@@ -0,0 +1,100 @@
+package tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// このクラスは、テストで使用するアドレスベースレジストリの CSV ファイルを生成します。
+// 都道府県は東京都、市区町村は中央区（131024）と千代田区（131016）です。
+public final class Fixtures {
+    public static final String PREF_HEADER = "lg_code,pref,pref_kana,pref_roma,efct_date,ablt_date,remarks";
+
+    public static final String CITY_HEADER = "lg_code,pref,pref_kana,pref_roma,county,county_kana,county_roma,city,city_kana,city_roma,"
+        + "ward,ward_kana,ward_roma,efct_date,ablt_date,remarks";
+
+    public static final String TOWN_HEADER = "lg_code,machiaza_id,machiaza_type,pref,pref_kana,pref_roma,county,county_kana,county_roma,"
+        + "city,city_kana,city_roma,ward,ward_kana,ward_roma,oaza_cho,oaza_cho_kana,oaza_cho_roma,chome,chome_kana,chome_number,"
+        + "koaza,koaza_kana,koaza_roma,machiaza_dist,rsdt_addr_flg,rsdt_addr_mtd_code,oaza_cho_aka_flg,koaza_aka_code,"
+        + "oaza_cho_gsi_uncmn,koaza_gsi_uncmn,status_flg,wake_num_flg,efct_date,ablt_date,src_code,post_code,remarks";
+
+    private static final String[] KANJI_DIGITS = { "〇", "一", "二", "三", "四", "五", "六", "七", "八", "九" };
+
+    private Fixtures() {}
+
+    public static List<String> prefRows() {
+        return List.of("130001,東京都,トウキョウト,Tokyo,1947-04-17,,");
+    }
+
+    public static List<String> cityRows() {
+        return List.of(
+            "131016,東京都,トウキョウト,Tokyo,,,,千代田区,チヨダク,Chiyoda-ku,,,,1947-05-03,,",
+            "131024,東京都,トウキョウト,Tokyo,,,,中央区,チュウオウク,Chuo-ku,,,,1947-05-03,,");
+    }
+
+    // このメソッドは、町字ファイルの1行を生成します。
+    // 町字IDの下3桁が 000 の場合は大字・町、001～100 の場合は丁目、101 以上の場合は小字の行です。
+    // remarks は CSV の列としてそのまま出力するため、引用符で囲む場合は呼び出し側で囲んでください。
+    public static String townRow(String lgCode, String machiazaId, String oazaCho, String rsdtAddrFlg, String efctDate, String remarks) {
+        var chomeKoaza = Integer.parseInt(machiazaId.substring(4));
+        var city       = lgCode.equals("131016") ? "千代田区,チヨダク,Chiyoda-ku" : "中央区,チュウオウク,Chuo-ku";
+        String type;
+        String chome;
+        String koaza;
+        if (chomeKoaza == 0) {
+            type  = "1";
+            chome = ",,";
+            koaza = ",,";
+        } else if (chomeKoaza <= 100) {
+            type  = "2";
+            chome = kanjiOf(chomeKoaza) + "丁目,チョウメ," + chomeKoaza;
+            koaza = ",,";
+        } else {
+            type  = "3";
+            chome = ",,";
+            koaza = "小字" + chomeKoaza + ",,";
+        }
+        return String.join(",", lgCode, machiazaId, type, "東京都,トウキョウト,Tokyo", ",,", city, ",,",
+            oazaCho + ",マチ,Machi", chome, koaza, "", rsdtAddrFlg, "1,0,,0,,,", efctDate, "", "1,1000001", remarks);
+    }
+
+    // このメソッドは、大字・町と、その下の丁目の行を、指定された件数分生成します。（大字・町1件ごとに丁目4件）
+    public static List<String> townRows(int count, String remarks) {
+        List<String> rows = new ArrayList<>();
+        for (var oaza = 1; rows.size() < count; oaza++) {
+            var lgCode = oaza % 2 == 0 ? "131016" : "131024";
+            rows.add(townRow(lgCode, String.format("%04d000", oaza), "町" + oaza, "1", "2019-01-01", remarks));
+            for (var chome = 1; chome <= 4 && rows.size() < count; chome++) {
+                rows.add(townRow(lgCode, String.format("%04d%03d", oaza, chome), "町" + oaza, "1", "2019-01-01", remarks));
+            }
+        }
+        return rows;
+    }
+
+    // このメソッドは、ヘッダーと行からなる CSV ファイルを、一時ディレクトリに作成します。
+    public static Path write(String name, String header, List<String> rows) throws IOException {
+        var directory = Files.createTempDirectory("mkaddrs-test");
+        var path      = directory.resolve(name);
+        var lines     = new ArrayList<String>();
+        lines.add(header);
+        lines.addAll(rows);
+        Files.writeString(path, String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+        path.toFile().deleteOnExit();
+        directory.toFile().deleteOnExit();
+        return path;
+    }
+
+    public static Path writeTownFile(List<String> rows) throws IOException {
+        return write("town.csv", TOWN_HEADER, rows);
+    }
+
+    private static String kanjiOf(int value) {
+        var builder = new StringBuilder();
+        for (var c : Integer.toString(value).toCharArray()) {
+            builder.append(KANJI_DIGITS[c - '0']);
+        }
+        return builder.toString();
+    }
+}